@@ -95,6 +95,38 @@ java {
 	modularity.inferModulePath.set(false)
 }
 
+// Source Sets
+// The optional Vector API kernels (see Settings.UNITS__VECTOR_API) live in src/vector and are compiled on their own,
+// as only they need the incubating jdk.incubator.vector module, which makes javac warn on every compile that adds it.
+// JMH benchmarks live in src/jmh and run against the main classes with the "jmh" task
+sourceSets {
+	val vector = create("vector")
+
+	main {
+		compileClasspath += vector.output
+		runtimeClasspath += vector.output
+	}
+
+	test {
+		runtimeClasspath += vector.output
+	}
+
+	create("jmh") {
+		compileClasspath += sourceSets.main.get().output + vector.output
+		runtimeClasspath += sourceSets.main.get().output + vector.output
+	}
+}
+
+val vectorImplementation: Configuration by configurations.getting
+
+val jmhImplementation: Configuration by configurations.getting {
+	extendsFrom(configurations.implementation.get())
+}
+
+val jmhRuntimeOnly: Configuration by configurations.getting {
+	extendsFrom(configurations.runtimeOnly.get())
+}
+
 // JavaFX Plugin
 // As JavaFX is considered a library, it's version is defined in gradle/libs.version.toml
 javafx {
@@ -110,11 +142,15 @@ dependencies {
 	implementation(libs.playwright)
 	// JetBrains Annotations
 	implementation(libs.jetbrains.annotations)
+	vectorImplementation(libs.jetbrains.annotations)
 	// Log4J (at runtime only)
 	implementation(libs.bundles.log4j)
 	// JUnit (in test module only)
     testImplementation(libs.junit.jupiter)
 	testRuntimeOnly(libs.junit.platform.launcher)
+	// JMH (in jmh module only)
+	jmhImplementation(libs.jmh.core)
+	jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
 
 // Gradle Task Configuration
@@ -133,6 +169,11 @@ tasks {
 		options.encoding = "UTF-8"
 	}
 
+	// Only the Vector API kernels need the incubating module (see Settings.UNITS__VECTOR_API)
+	named<JavaCompile>("compileVectorJava") {
+		options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+	}
+
 	// Configure JAR building
 	jar {
 		// Configure MANIFEST.MF
@@ -147,13 +188,53 @@ tasks {
 		from(licenseFile) {
 			rename { "${it}_${archivesBaseName}" }
 		}
+
+		// Include the separately compiled Vector API kernels
+		from(sourceSets["vector"].output)
+	}
+
+	named<Jar>("sourcesJar") {
+		from(sourceSets["vector"].allSource)
 	}
 
 	named("shadowJar", com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar::class) {
+		from(sourceSets["vector"].output)
 		archiveClassifier = "shadow"
 		minimize()
 	}
 
+	// Benchmarking
+	// Pass -Pjmh.includes=<regex> to only run matching benchmarks
+	register<JavaExec>("jmh") {
+		group = "benchmark"
+		description = "Runs the JMH benchmarks and writes the results to build/results/jmh/results.json."
+
+		val results = layout.buildDirectory.file("results/jmh/results.json")
+		outputs.file(results)
+		outputs.upToDateWhen { false }
+
+		classpath = sourceSets["jmh"].runtimeClasspath
+		mainClass = "org.openjdk.jmh.Main"
+		jvmArgs("--add-modules", "jdk.incubator.vector")
+		args("-prof", "gc", "-rf", "json", "-rff", results.get().asFile.absolutePath)
+		project.findProperty("jmh.includes")?.let { args(it as String) }
+
+		doFirst {
+			results.get().asFile.parentFile.mkdirs()
+		}
+	}
+
+	// Load Testing
+	// Pass -Pload.args="--locations 5000 --duration 3600" to override the harness defaults
+	register<JavaExec>("loadTest") {
+		group = "benchmark"
+		description = "Runs the load and soak harness against the mock data provider."
+
+		classpath = sourceSets["jmh"].runtimeClasspath
+		mainClass = "dev.quinnlane.cloudy.load.LoadHarness"
+		project.findProperty("load.args")?.let { args((it as String).split(" ").filter { arg -> arg.isNotBlank() }) }
+	}
+
 	// Unit Testing
 	test {
 		// Use JUnit
@@ -0,0 +1,45 @@
+package dev.quinnlane.cloudy.backend.cache;
+
+import dev.quinnlane.cloudy.backend.dataproviders.providers.MockDataProvider;
+import dev.quinnlane.cloudy.common.datatypes.RenderedSnapshot;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a snapshot for every request against serving it from a {@link RenderCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderCacheBenchmark {
+	@Param({"SI", "CUSTOMARY"})
+	public UnitLocales locale;
+
+	private WeatherSnapshot snapshot;
+	private final RenderCache cache = new RenderCache();
+
+	@Setup
+	public void setup() {
+		MockDataProvider.setSeed(42L);
+		MockDataProvider provider = new MockDataProvider();
+		provider.refreshData();
+		this.snapshot = provider.createSnapshot(1);
+	}
+
+	@Benchmark
+	public RenderedSnapshot renderPerRequest() {
+		return RenderedSnapshot.render(this.snapshot, this.locale);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public RenderedSnapshot cached() {
+		return this.cache.get(this.snapshot, this.locale);
+	}
+}
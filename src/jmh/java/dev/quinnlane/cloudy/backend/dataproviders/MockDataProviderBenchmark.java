@@ -0,0 +1,39 @@
+package dev.quinnlane.cloudy.backend.dataproviders;
+
+import dev.quinnlane.cloudy.backend.dataproviders.providers.MockDataProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of {@link MockDataProvider#refreshData()}, optionally followed by capturing
+ * a snapshot of the refreshed data.
+ * <p>
+ * The mock provider has no rate limit, so every invocation performs a full refresh. Logging is
+ * reduced to warnings by the benchmark Log4J configuration, so it does not dominate the result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MockDataProviderBenchmark {
+	@Param({"false", "true"})
+	public boolean snapshot;
+
+	private MockDataProvider provider;
+	private long sequence;
+
+	@Setup
+	public void setup() {
+		MockDataProvider.setSeed(42L);
+		this.provider = new MockDataProvider();
+	}
+
+	@Benchmark
+	public Object refreshData() {
+		this.provider.refreshData();
+		return this.snapshot ? this.provider.createSnapshot(this.sequence++) : this.provider.getCurrentTemperature();
+	}
+}
@@ -0,0 +1,107 @@
+package dev.quinnlane.cloudy.backend.dataproviders;
+
+import dev.quinnlane.cloudy.backend.dataproviders.providers.MockDataProvider;
+import dev.quinnlane.cloudy.backend.dataproviders.providers.ReplayDataProvider;
+import dev.quinnlane.cloudy.backend.dataproviders.replay.Recording;
+import dev.quinnlane.cloudy.backend.dataproviders.replay.RecordingWriter;
+import dev.quinnlane.cloudy.backend.dataproviders.replay.VirtualClock;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a recording of a day of refreshes of many locations, looking up the snapshot
+ * of a location at an instant, and a full refresh of a {@link ReplayDataProvider}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+	private static final Instant START = Instant.parse("2025-06-21T00:00:00Z");
+
+	/**
+	 * The interval between two recorded refreshes of a location.
+	 */
+	private static final Duration INTERVAL = Duration.ofMinutes(15);
+
+	@Param({"10", "100"})
+	public int locations;
+
+	private Path path;
+	private Recording recording;
+	private EarthCoordinates[] coordinates;
+	private Instant[] instants;
+	private ReplayDataProvider provider;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException {
+		MockDataProvider.setSeed(42L);
+		SplittableRandom random = new SplittableRandom(42);
+		this.coordinates = new EarthCoordinates[this.locations];
+		MockDataProvider[] providers = new MockDataProvider[this.locations];
+		for (int i = 0; i < this.locations; i++) {
+			this.coordinates[i] = new EarthCoordinates(random.nextDouble(-65, 65), random.nextDouble(-180, 180));
+			providers[i] = new MockDataProvider();
+			providers[i].setLocation(this.coordinates[i]);
+		}
+
+		this.path = Files.createTempFile("cloudy-replay", ".rec");
+		try (RecordingWriter writer = new RecordingWriter(this.path, MockDataProvider.FEATURES)) {
+			for (Instant time = START; time.isBefore(START.plus(Duration.ofDays(1))); time = time.plus(INTERVAL)) {
+				for (MockDataProvider provider : providers) {
+					provider.setLastUpdate(Instant.EPOCH);
+					provider.refreshData();
+					WeatherSnapshot snapshot = provider.createSnapshot(0);
+					writer.write(new WeatherSnapshot(0, snapshot.providerClass(), snapshot.location(), time, snapshot.currentTemperature(), snapshot.relativeTemperature(), snapshot.highTemperature(), snapshot.lowTemperature(), snapshot.humidity(), snapshot.wind(), snapshot.pressure(), snapshot.uvIndex(), snapshot.airQualityIndex(), snapshot.sunrise(), snapshot.sunset(), snapshot.hourlyForecast(), snapshot.dailyForecast()));
+				}
+			}
+		}
+
+		this.recording = Recording.read(this.path);
+		this.instants = new Instant[1024];
+		for (int i = 0; i < this.instants.length; i++) this.instants[i] = START.plusSeconds(random.nextLong(86_400));
+
+		ReplayDataProvider.load(this.recording, new VirtualClock(START, 1000));
+		this.provider = new ReplayDataProvider();
+		this.provider.setLocation(this.coordinates[0]);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(this.path);
+	}
+
+	@Benchmark
+	public WeatherSnapshot lookup() {
+		int i = this.next++;
+		return this.recording.latest(this.coordinates[i % this.locations], this.instants[i & 1023]);
+	}
+
+	@Benchmark
+	public WeatherSnapshot refresh() {
+		this.provider.setLastUpdate(Instant.EPOCH);
+		this.provider.refreshData();
+		return this.provider.createSnapshot(this.next++);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 5)
+	@Measurement(iterations = 10)
+	public Recording read() throws IOException {
+		return Recording.read(this.path);
+	}
+}
@@ -0,0 +1,70 @@
+package dev.quinnlane.cloudy.common.astronomy;
+
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures computing a sunrise exactly with {@link SolarCalculator}, computing the yearly
+ * {@link SunTable} of one and of many locations, and looking a sunrise up in a table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SunTableBenchmark {
+	private static final int YEAR = 2025;
+
+	@Param({"1000", "10000"})
+	public int locations;
+
+	private List<EarthCoordinates> coordinates;
+	private SunTable table;
+	private LocalDate[] dates;
+	private int next;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		this.coordinates = new ArrayList<>(this.locations);
+		for (int i = 0; i < this.locations; i++) {
+			this.coordinates.add(new EarthCoordinates(random.nextDouble(-65, 65), random.nextDouble(-180, 180)));
+		}
+		this.table = SunTable.compute(this.coordinates.getFirst(), YEAR);
+		this.dates = new LocalDate[365];
+		for (int i = 0; i < this.dates.length; i++) this.dates[i] = LocalDate.ofYearDay(YEAR, i + 1);
+	}
+
+	@Benchmark
+	public double exactSunrise() {
+		EarthCoordinates location = this.coordinates.get(this.next++ % this.locations);
+		return SolarCalculator.dawn(location.getLatitudeAsDouble(), location.getLongitudeAsDouble(), this.dates[this.next % 365].toEpochDay(), Twilight.OFFICIAL);
+	}
+
+	@Benchmark
+	public Instant lookupSunrise() {
+		return this.table.getSunrise(this.dates[this.next++ % 365]);
+	}
+
+	@Benchmark
+	public SunTable computeTable() {
+		return SunTable.compute(this.coordinates.get(this.next++ % this.locations), YEAR);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 5)
+	@Measurement(iterations = 10)
+	public List<SunTable> computeAllTables() {
+		return SunTable.computeAll(this.coordinates, YEAR);
+	}
+}
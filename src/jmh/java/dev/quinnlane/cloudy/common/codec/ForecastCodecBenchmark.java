@@ -0,0 +1,55 @@
+package dev.quinnlane.cloudy.common.codec;
+
+import dev.quinnlane.cloudy.backend.dataproviders.providers.MockDataProvider;
+import dev.quinnlane.cloudy.backend.streaming.SnapshotJson;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding snapshots with {@link ForecastCodec} against encoding them as JSON with
+ * {@link SnapshotJson}, which is what the event stream sends.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ForecastCodecBenchmark {
+	private WeatherSnapshot snapshot;
+	private ByteBuffer buffer;
+	private ByteBuffer encoded;
+
+	@Setup
+	public void setup() {
+		MockDataProvider provider = new MockDataProvider();
+		provider.refreshData();
+		this.snapshot = provider.createSnapshot(1);
+
+		this.buffer = ByteBuffer.allocate(ForecastCodec.maxSnapshotSize(this.snapshot));
+		this.encoded = ByteBuffer.allocate(this.buffer.capacity());
+		ForecastCodec.writeSnapshot(this.encoded, this.snapshot);
+		this.encoded.flip();
+	}
+
+	@Benchmark
+	public ByteBuffer encodeBinary() {
+		this.buffer.clear();
+		ForecastCodec.writeSnapshot(this.buffer, this.snapshot);
+		return this.buffer;
+	}
+
+	@Benchmark
+	public byte[] encodeJson() {
+		return SnapshotJson.encode(this.snapshot).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public WeatherSnapshot decodeBinary() {
+		return ForecastCodec.readSnapshot(this.encoded.duplicate());
+	}
+}
@@ -0,0 +1,33 @@
+package dev.quinnlane.cloudy.common.configuration;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a setting from the {@link RuntimeConfiguration}, compared with reading a
+ * compile-time constant of {@link MockConfiguration}, alone and from several threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigurationBenchmark {
+	@Benchmark
+	public int constant() {
+		return MockConfiguration.DATA_PROVIDER__UPDATE_INTERVAL;
+	}
+
+	@Benchmark
+	public int runtime() {
+		return RuntimeConfiguration.get(Settings.DATA_PROVIDER__UPDATE_INTERVAL);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public int runtimeContended() {
+		return RuntimeConfiguration.get(Settings.DATA_PROVIDER__UPDATE_INTERVAL);
+	}
+}
@@ -0,0 +1,47 @@
+package dev.quinnlane.cloudy.common.datagen;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.text.DecimalFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating a rounded floating-point value and a whole number with a seeded
+ * {@link MockDataGenerator}, against the former approach of creating a {@link Random} and a
+ * {@link DecimalFormat} on every call and rounding by formatting and parsing the value back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MockDataGeneratorBenchmark {
+	@Param({"TEMPERATURE_WARM", "PRESSURE_NORMAL", "HUMIDITY_MEDIUM"})
+	public DataPresets preset;
+
+	private MockDataGenerator generator;
+
+	@Setup
+	public void setup() {
+		this.generator = new MockDataGenerator(42L);
+	}
+
+	@Benchmark
+	public double formatAndParse() {
+		Random random = new Random();
+		if (this.preset.isFloatingPoint()) return Double.parseDouble(new DecimalFormat(this.preset.getPrecision()).format(random.nextDouble(this.preset.getMinimum(), this.preset.getMaximum())));
+		return random.nextInt((int) this.preset.getMinimum(), (int) this.preset.getMaximum() + 1);
+	}
+
+	@Benchmark
+	public double nextDouble() {
+		return this.generator.nextDouble(this.preset);
+	}
+
+	@Benchmark
+	public int nextInt() {
+		return this.generator.nextInt(this.preset);
+	}
+}
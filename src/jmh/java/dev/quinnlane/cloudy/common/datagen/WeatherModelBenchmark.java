@@ -0,0 +1,59 @@
+package dev.quinnlane.cloudy.common.datagen;
+
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the cost per sample of continuing a synthetic weather series in chunks with a
+ * {@link WeatherSimulation}, and of streaming a month of hourly history for many locations in
+ * parallel with {@link WeatherModel}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WeatherModelBenchmark {
+	private static final int CHUNK = 4096;
+	private static final int HOURS_PER_MONTH = 720;
+	private static final int LOCATIONS = 1000;
+
+	private final WeatherModel model = new WeatherModel();
+	private final WeatherSeries series = new WeatherSeries(CHUNK);
+	private final List<EarthCoordinates> locations = new ArrayList<>(LOCATIONS);
+	private WeatherSimulation simulation;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < LOCATIONS; i++) {
+			this.locations.add(new EarthCoordinates(random.nextDouble(-60, 60), random.nextDouble(-180, 180)));
+		}
+		this.simulation = this.model.simulate(this.locations.getFirst(), Instant.EPOCH, Duration.ofHours(1), random.split());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CHUNK)
+	public WeatherSeries fillChunk() {
+		return this.simulation.fill(this.series);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOCATIONS * HOURS_PER_MONTH)
+	public long streamMonthOfHistory() {
+		LongAdder precipitating = new LongAdder();
+		this.model.generateAll(this.locations, Instant.EPOCH, Duration.ofHours(1), HOURS_PER_MONTH, 42, HOURS_PER_MONTH, (location, series) -> {
+			for (double amount : series.getPrecipitationAmount()) if (amount > 0) precipitating.increment();
+		});
+		return precipitating.sum();
+	}
+}
@@ -0,0 +1,62 @@
+package dev.quinnlane.cloudy.common.format;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link FixedPrecision} and {@link Formatting} against the shared {@link DecimalFormat}
+ * and {@link SimpleDateFormat} instances they replace. Run with {@code -prof gc} to see the
+ * allocation rate of each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormattingBenchmark {
+	@Param({"21.37", "-0.0004", "1013.25", "42.123456"})
+	public double value;
+
+	private final DecimalFormat decimalFormat = new DecimalFormat("#.###");
+	private final SimpleDateFormat timeFormat = new SimpleDateFormat("h:mma");
+	private final FixedPrecision precision = FixedPrecision.of(3);
+	private final StringBuilder builder = new StringBuilder(64);
+	private final ZoneId zone = ZoneId.systemDefault();
+	private Instant instant;
+	private Date date;
+
+	@Setup
+	public void setup() {
+		this.instant = Instant.ofEpochSecond(1_700_000_000L + (long) (this.value * 60));
+		this.date = Date.from(this.instant);
+	}
+
+	@Benchmark
+	public String decimalFormat() {
+		return String.format("%s %s", this.decimalFormat.format(this.value), "mb");
+	}
+
+	@Benchmark
+	public StringBuilder fixedPrecision() {
+		this.builder.setLength(0);
+		return this.precision.appendTo(this.builder, this.value).append(' ').append("mb");
+	}
+
+	@Benchmark
+	public String simpleDateFormat() {
+		return this.timeFormat.format(this.date);
+	}
+
+	@Benchmark
+	public StringBuilder formattingTime() {
+		this.builder.setLength(0);
+		return Formatting.appendTime(this.builder, this.instant, this.zone);
+	}
+}
@@ -0,0 +1,59 @@
+package dev.quinnlane.cloudy.common.geo;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing coordinates with {@link CoordinateParser}: single pairs in every supported
+ * form, compared with the {@code BigDecimal} parsing of
+ * {@link EarthCoordinates#EarthCoordinates(String, String)}, and a whole CSV-like buffer of
+ * decimal pairs parsed line by line into columns. Results of the bulk case are per line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CoordinateParserBenchmark {
+	private static final int LINES = 100_000;
+
+	@Param({"40.4461, -79.9822", "40.4461°N, 79.9822°W", "40° 26' 46\"N, 79° 58' 56\"W"})
+	public String text;
+
+	private final CoordinateParser parser = new CoordinateParser();
+	private byte[] buffer;
+	private final double[] latitudes = new double[LINES];
+	private final double[] longitudes = new double[LINES];
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		StringBuilder builder = new StringBuilder(LINES * 24);
+		for (int i = 0; i < LINES; i++) {
+			builder.append(BigDecimal.valueOf(random.nextLong(-90_000_000, 90_000_000), 6)).append(", ")
+					.append(BigDecimal.valueOf(random.nextLong(-180_000_000, 180_000_000), 6)).append('\n');
+		}
+		this.buffer = builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public double parse() {
+		return this.parser.parse(this.text).getLatitude();
+	}
+
+	@Benchmark
+	public EarthCoordinates bigDecimalBaseline() {
+		return new EarthCoordinates("40.4461", "-79.9822");
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LINES)
+	public int parseLines() {
+		return this.parser.parseLines(this.buffer, 0, this.buffer.length, this.latitudes, this.longitudes, 0);
+	}
+}
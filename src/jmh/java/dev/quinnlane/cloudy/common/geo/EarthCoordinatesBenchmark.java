@@ -0,0 +1,64 @@
+package dev.quinnlane.cloudy.common.geo;
+
+import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of constructing coordinates from decimal and double values, of converting
+ * decimal degrees to degrees, minutes, and seconds with
+ * {@link EarthCoordinates#decimalDegreesToDMS(BigDecimal)} and with the primitive path behind
+ * {@link EarthCoordinates.DisplayFormat#DEGREES_MINUTES_SECONDS}, and of materializing the
+ * {@code BigDecimal} values of coordinates constructed from doubles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EarthCoordinatesBenchmark {
+	@Param({"0", "45.5", "-122.6765", "179.9999999"})
+	public String degrees;
+
+	private BigDecimal decimalDegrees;
+	private double doubleDegrees;
+	private EarthCoordinates dmsCoordinates;
+	private final StringBuilder builder = new StringBuilder();
+
+	@Setup
+	public void setup() {
+		this.decimalDegrees = new BigDecimal(this.degrees);
+		this.doubleDegrees = Double.parseDouble(this.degrees);
+		this.dmsCoordinates = new EarthCoordinates(this.doubleDegrees, this.doubleDegrees);
+		this.dmsCoordinates.setDisplayFormat(EarthCoordinates.DisplayFormat.DEGREES_MINUTES_SECONDS);
+	}
+
+	@Benchmark
+	public EarthCoordinates constructFromString() {
+		return new EarthCoordinates(this.degrees, this.degrees);
+	}
+
+	@Benchmark
+	public EarthCoordinates constructFromDouble() {
+		return new EarthCoordinates(this.doubleDegrees, this.doubleDegrees);
+	}
+
+	@Benchmark
+	public BigDecimal materializeDecimal() {
+		return new EarthCoordinates(this.doubleDegrees, this.doubleDegrees).getLatitude();
+	}
+
+	@Benchmark
+	public OrderedTriplet<Integer, Integer, BigDecimal> decimalDegreesToDMS() {
+		return EarthCoordinates.decimalDegreesToDMS(this.decimalDegrees);
+	}
+
+	@Benchmark
+	public StringBuilder appendDMS() {
+		this.builder.setLength(0);
+		return this.dmsCoordinates.appendTo(this.builder);
+	}
+}
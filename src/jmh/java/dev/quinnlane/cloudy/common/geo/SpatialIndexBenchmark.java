@@ -0,0 +1,81 @@
+package dev.quinnlane.cloudy.common.geo;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a {@link SpatialIndex} over uniformly distributed points, answering nearest
+ * neighbour and radius queries against it, and computing the distances to every point in bulk
+ * with {@link GreatCircle#distances(double, double, double[], double[], double[])} as the brute
+ * force alternative.
+ * <p>
+ * Queries are drawn from a fixed, pre-generated table so that every invocation searches around
+ * a different location.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpatialIndexBenchmark {
+	private static final int QUERIES = 1024;
+
+	@Param({"10000", "100000", "1000000"})
+	public int points;
+
+	private List<EarthCoordinates> locations;
+	private double[] latitudes;
+	private double[] longitudes;
+	private double[] distances;
+	private SpatialIndex<EarthCoordinates> index;
+	private final EarthCoordinates[] queries = new EarthCoordinates[QUERIES];
+	private int next;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		this.locations = new ArrayList<>(this.points);
+		this.latitudes = new double[this.points];
+		this.longitudes = new double[this.points];
+		this.distances = new double[this.points];
+		for (int i = 0; i < this.points; i++) {
+			this.latitudes[i] = Math.toDegrees(Math.asin(random.nextDouble(-1, 1)));
+			this.longitudes[i] = random.nextDouble(-180, 180);
+			this.locations.add(new EarthCoordinates(this.latitudes[i], this.longitudes[i]));
+		}
+		for (int i = 0; i < QUERIES; i++) {
+			this.queries[i] = new EarthCoordinates(Math.toDegrees(Math.asin(random.nextDouble(-1, 1))), random.nextDouble(-180, 180));
+		}
+		this.index = SpatialIndex.of(this.locations);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 5)
+	@Measurement(iterations = 10)
+	public SpatialIndex<EarthCoordinates> build() {
+		return SpatialIndex.of(this.locations);
+	}
+
+	@Benchmark
+	public List<SpatialIndex.Neighbor<EarthCoordinates>> nearestTen() {
+		return this.index.nearest(this.queries[this.next++ & (QUERIES - 1)], 10, Double.POSITIVE_INFINITY);
+	}
+
+	@Benchmark
+	public List<SpatialIndex.Neighbor<EarthCoordinates>> withinHundredKilometres() {
+		return this.index.within(this.queries[this.next++ & (QUERIES - 1)], 100);
+	}
+
+	@Benchmark
+	public double[] bruteForceDistances() {
+		EarthCoordinates query = this.queries[this.next++ & (QUERIES - 1)];
+		return GreatCircle.distances(query.getLatitudeAsDouble(), query.getLongitudeAsDouble(), this.latitudes, this.longitudes, this.distances);
+	}
+}
@@ -0,0 +1,79 @@
+package dev.quinnlane.cloudy.common.series;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of downsampling three months of readings at one point per minute to the
+ * width of a chart, from every point and from the level of detail a chart would select, and the
+ * cost of building the levels from scratch and of keeping them up to date as readings arrive.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DownsamplingBenchmark {
+	private static final int READINGS = 90 * 24 * 60;
+
+	@Param({"800", "1600"})
+	public int pixels;
+
+	private final TimeSeries series = new TimeSeries();
+	private TimeSeries.View[] levels;
+	private long[] times;
+	private double[] values;
+
+	private final TimeSeries growing = new TimeSeries();
+	private LevelOfDetail growingLevels;
+	private long nextTime;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		long time = 1_700_000_000_000L;
+		double temperature = 15;
+		for (int i = 0; i < READINGS; i++) {
+			temperature += random.nextDouble(-0.1, 0.1);
+			this.series.append(time, temperature + 8 * Math.sin(i * 2 * Math.PI / 1_440));
+			time += TimeUnit.MINUTES.toMillis(1);
+		}
+		this.levels = new LevelOfDetail(this.series).getLevels();
+		this.times = new long[this.pixels];
+		this.values = new double[this.pixels];
+
+		TimeSeries.View view = this.series.view();
+		this.growing.appendAll(view.times(), view.values(), 0, view.size());
+		this.growingLevels = new LevelOfDetail(this.growing);
+		this.growingLevels.getLevels();
+		this.nextTime = time;
+	}
+
+	@Benchmark
+	public int everyPoint() {
+		TimeSeries.View view = this.levels[0];
+		return Downsampling.lttb(view.times(), view.values(), 0, view.size(), this.pixels, this.times, this.values);
+	}
+
+	@Benchmark
+	public int levelOfDetail() {
+		TimeSeries.View raw = this.levels[0];
+		TimeSeries.View view = this.levels[LevelOfDetail.select(this.levels, raw.getStart(), raw.getEnd(), this.pixels)];
+		return Downsampling.lttb(view.times(), view.values(), 0, view.size(), this.pixels, this.times, this.values);
+	}
+
+	@Benchmark
+	public TimeSeries.View[] buildLevels() {
+		return new LevelOfDetail(this.series).getLevels();
+	}
+
+	@Benchmark
+	public TimeSeries.View[] extendLevels() {
+		this.growing.append(this.nextTime, 15);
+		this.nextTime += TimeUnit.MINUTES.toMillis(1);
+		return this.growingLevels.getLevels();
+	}
+}
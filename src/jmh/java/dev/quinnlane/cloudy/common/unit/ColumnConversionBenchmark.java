@@ -0,0 +1,79 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import dev.quinnlane.cloudy.common.unit.units.Temperature;
+import dev.quinnlane.cloudy.common.unit.units.WindSpeed;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting a column of values to customary units one unit object at a time against
+ * the bulk kernels of {@link DoubleConversion} and {@link IntConversion}, with and without the
+ * Vector API. A size of 19 is a single location's 12 hourly and 7 daily records; the larger sizes
+ * stand for the same columns batched over many locations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class ColumnConversionBenchmark {
+	@Param({"19", "1024", "65536"})
+	public int size;
+
+	private Temperature[] temperatures;
+	private WindSpeed[] windSpeeds;
+	private double[] temperatureColumn;
+	private int[] windSpeedColumn;
+	private double[] convertedTemperatures;
+	private int[] convertedWindSpeeds;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		this.temperatures = new Temperature[this.size];
+		this.windSpeeds = new WindSpeed[this.size];
+		this.temperatureColumn = new double[this.size];
+		this.windSpeedColumn = new int[this.size];
+		for (int i = 0; i < this.size; i++) {
+			this.temperatureColumn[i] = random.nextDouble(-30, 45);
+			this.windSpeedColumn[i] = random.nextInt(0, 120);
+			this.temperatures[i] = new Temperature(this.temperatureColumn[i], UnitLocales.SI);
+			this.windSpeeds[i] = new WindSpeed(this.windSpeedColumn[i], UnitLocales.SI);
+		}
+		this.convertedTemperatures = new double[this.size];
+		this.convertedWindSpeeds = new int[this.size];
+	}
+
+	@Benchmark
+	public double[] temperaturePerObject() {
+		for (int i = 0; i < this.size; i++) this.convertedTemperatures[i] = this.temperatures[i].getAsDouble(UnitLocales.CUSTOMARY);
+		return this.convertedTemperatures;
+	}
+
+	@Benchmark
+	public double[] temperatureKernel() {
+		DoubleConversion.TEMPERATURE.convertScalar(this.temperatureColumn, 0, this.convertedTemperatures, 0, this.size);
+		return this.convertedTemperatures;
+	}
+
+	@Benchmark
+	public double[] temperatureVectorKernel() {
+		VectorConversions.convert(this.temperatureColumn, 0, this.convertedTemperatures, 0, this.size, 9 / 5d, 1, 32);
+		return this.convertedTemperatures;
+	}
+
+	@Benchmark
+	public int[] windSpeedPerObject() {
+		for (int i = 0; i < this.size; i++) this.convertedWindSpeeds[i] = this.windSpeeds[i].getAsInt(UnitLocales.CUSTOMARY);
+		return this.convertedWindSpeeds;
+	}
+
+	@Benchmark
+	public int[] windSpeedKernel() {
+		IntConversion.WIND_SPEED.convert(this.windSpeedColumn, UnitLocales.CUSTOMARY, this.convertedWindSpeeds);
+		return this.convertedWindSpeeds;
+	}
+}
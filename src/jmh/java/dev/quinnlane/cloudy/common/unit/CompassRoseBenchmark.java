@@ -0,0 +1,50 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of binning bearings into compass directions, one at a time with
+ * {@link CompassRose#fromBearing(double, CompassRose.Specificity)} and as a whole column with
+ * {@link CompassRose#binBearings(double[], CompassRose.Specificity, int[])}.
+ * <p>
+ * Bearings are drawn from a fixed, pre-generated table so that every invocation sees a
+ * different bearing without paying for random number generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompassRoseBenchmark {
+	private static final int BEARINGS = 1024;
+
+	@Param({"CARDINAL", "ORDINAL", "HALF_WIND", "QUARTER_WIND"})
+	public CompassRose.Specificity specificity;
+
+	private final double[] bearings = new double[BEARINGS];
+	private final int[] ordinals = new int[BEARINGS];
+	private int next;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < BEARINGS; i++) this.bearings[i] = random.nextDouble(-360, 720);
+	}
+
+	@Benchmark
+	public CompassRose fromBearing() {
+		return CompassRose.fromBearing(this.bearings[this.next++ & (BEARINGS - 1)], this.specificity);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BEARINGS)
+	public int[] binBearings() {
+		CompassRose.binBearings(this.bearings, this.specificity, this.ordinals);
+		return this.ordinals;
+	}
+}
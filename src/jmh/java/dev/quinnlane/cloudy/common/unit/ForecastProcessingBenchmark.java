@@ -0,0 +1,72 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import dev.quinnlane.cloudy.backend.dataproviders.providers.MockDataProvider;
+import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
+import dev.quinnlane.cloudy.common.datatypes.HourlyForecast;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading every unit of the hourly and daily forecasts through the boxed
+ * {@link Unit#getValue(UnitLocales)} adapter against the primitive {@link DoubleUnit#getAsDouble(UnitLocales)}
+ * and {@link IntUnit#getAsInt(UnitLocales)} accessors. Run with {@code -prof gc} to compare the
+ * allocation rate of both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ForecastProcessingBenchmark {
+	@Param({"SI", "CUSTOMARY", "MIXED"})
+	public UnitLocales locale;
+
+	private HourlyForecast[] hourlyForecast;
+	private DailyForecast[] dailyForecast;
+
+	@Setup
+	public void setup() {
+		MockDataProvider provider = new MockDataProvider();
+		provider.refreshData();
+		this.hourlyForecast = provider.getHourlyForecast();
+		this.dailyForecast = provider.getDailyForecast();
+	}
+
+	@Benchmark
+	public double boxed() {
+		double sum = 0;
+		for (HourlyForecast forecast : this.hourlyForecast) {
+			sum += forecast.temperature().getValue(this.locale);
+			sum += forecast.relativeTemperature().getValue(this.locale);
+			sum += forecast.wind().z().getValue(this.locale);
+			sum += forecast.precipitation().y().getValue(this.locale);
+		}
+		for (DailyForecast forecast : this.dailyForecast) {
+			sum += forecast.highTemperature().getValue(this.locale);
+			sum += forecast.lowTemperature().getValue(this.locale);
+			sum += forecast.wind().z().getValue(this.locale);
+			sum += forecast.precipitation().y().getValue(this.locale);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double primitive() {
+		double sum = 0;
+		for (HourlyForecast forecast : this.hourlyForecast) {
+			sum += forecast.temperature().getAsDouble(this.locale);
+			sum += forecast.relativeTemperature().getAsDouble(this.locale);
+			sum += forecast.wind().z().getAsInt(this.locale);
+			sum += forecast.precipitation().y().getAsDouble(this.locale);
+		}
+		for (DailyForecast forecast : this.dailyForecast) {
+			sum += forecast.highTemperature().getAsDouble(this.locale);
+			sum += forecast.lowTemperature().getAsDouble(this.locale);
+			sum += forecast.wind().z().getAsInt(this.locale);
+			sum += forecast.precipitation().y().getAsDouble(this.locale);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,52 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import dev.quinnlane.cloudy.common.unit.units.PrecipitationAmount;
+import dev.quinnlane.cloudy.common.unit.units.Pressure;
+import dev.quinnlane.cloudy.common.unit.units.Speed;
+import dev.quinnlane.cloudy.common.unit.units.Temperature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of rendering units for display, either as a new string with
+ * {@link Unit#toString()} or into a reused builder with {@link Unit#appendTo(StringBuilder, UnitLocales)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnitBenchmark {
+	@Param({"TEMPERATURE", "SPEED", "PRESSURE", "PRECIPITATION"})
+	public String unit;
+
+	@Param({"SI", "CUSTOMARY", "MIXED"})
+	public UnitLocales locale;
+
+	private Unit<?> value;
+	private final StringBuilder builder = new StringBuilder(64);
+
+	@Setup
+	public void setup() {
+		this.value = switch (this.unit) {
+			case "TEMPERATURE" -> new Temperature(21.37, this.locale);
+			case "SPEED" -> new Speed(27, this.locale);
+			case "PRESSURE" -> new Pressure(1013.25, this.locale);
+			case "PRECIPITATION" -> new PrecipitationAmount(3.81, this.locale);
+			default -> throw new IllegalArgumentException("Unknown unit " + this.unit);
+		};
+	}
+
+	@Benchmark
+	public String toStringValue() {
+		return this.value.toString();
+	}
+
+	@Benchmark
+	public StringBuilder appendTo() {
+		this.builder.setLength(0);
+		return this.value.appendTo(this.builder, this.locale);
+	}
+}
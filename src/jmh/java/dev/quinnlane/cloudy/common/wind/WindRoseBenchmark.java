@@ -0,0 +1,52 @@
+package dev.quinnlane.cloudy.common.wind;
+
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of binning a wind history into a {@link WindRose}, on a single thread and
+ * with the fork/join aggregation of {@link WindRoseAggregator}. Results are per reading.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindRoseBenchmark {
+	private static final int READINGS = 1_048_576;
+
+	@Param({"HALF_WIND", "QUARTER_WIND"})
+	public CompassRose.Specificity specificity;
+
+	private final double[] bearings = new double[READINGS];
+	private final int[] speeds = new int[READINGS];
+	private WindRoseAggregator aggregator;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < READINGS; i++) {
+			this.bearings[i] = random.nextDouble(0, 360);
+			this.speeds[i] = random.nextInt(0, 130);
+		}
+		this.aggregator = new WindRoseAggregator(this.specificity, WindRose.BEAUFORT_BANDS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READINGS)
+	public WindRose sequential() {
+		WindRose rose = new WindRose(this.specificity, WindRose.BEAUFORT_BANDS);
+		rose.addAll(this.bearings, this.speeds, 0, READINGS);
+		return rose;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READINGS)
+	public WindRose parallel() {
+		return this.aggregator.aggregate(this.bearings, this.speeds);
+	}
+}
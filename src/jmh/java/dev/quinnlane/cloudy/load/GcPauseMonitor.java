@@ -0,0 +1,88 @@
+package dev.quinnlane.cloudy.load;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import dev.quinnlane.cloudy.backend.metrics.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the duration of every stop-the-world garbage collection pause into a histogram.
+ * <p>
+ * Pauses are collected from the notifications the platform garbage collector MBeans send after
+ * every collection. Notifications from collectors that run concurrently with the application,
+ * such as the G1 and ZGC concurrent cycles, are ignored, as their duration is not a pause.
+ */
+public class GcPauseMonitor implements NotificationListener, AutoCloseable {
+	/**
+	 * Every pause recorded since the monitor was started.
+	 */
+	private final LatencyHistogram total = new LatencyHistogram();
+
+	/**
+	 * The pauses recorded since the last call to {@link #resetWindow()}.
+	 */
+	private final LatencyHistogram window = new LatencyHistogram();
+
+	/**
+	 * Starts listening for garbage collection notifications.
+	 */
+	public GcPauseMonitor() {
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (collector instanceof NotificationEmitter emitter) emitter.addNotificationListener(this, null, null);
+		}
+	}
+
+	@Override
+	public void handleNotification(@NotNull Notification notification, Object handback) {
+		if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) return;
+
+		GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+		String name = info.getGcName();
+		if (name.contains("Concurrent") || name.contains("Cycles")) return;
+
+		long nanos = TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration());
+		this.total.record(nanos);
+		this.window.record(nanos);
+	}
+
+	/**
+	 * @return the histogram of every pause since the monitor was started
+	 */
+	public @NotNull LatencyHistogram getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * @return the histogram of the pauses since the last window reset
+	 */
+	public @NotNull LatencyHistogram getWindow() {
+		return this.window;
+	}
+
+	/**
+	 * Starts a new reporting window.
+	 */
+	public void resetWindow() {
+		this.window.reset();
+	}
+
+	@Override
+	public void close() {
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (!(collector instanceof NotificationEmitter emitter)) continue;
+			try {
+				emitter.removeNotificationListener(this);
+			} catch (ListenerNotFoundException ignored) {
+				// The collector was added after the monitor was started
+			}
+		}
+	}
+}
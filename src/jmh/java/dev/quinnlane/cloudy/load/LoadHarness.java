@@ -0,0 +1,457 @@
+package dev.quinnlane.cloudy.load;
+
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.backend.batch.LocationResult;
+import dev.quinnlane.cloudy.backend.dataproviders.faults.FaultInjector;
+import dev.quinnlane.cloudy.backend.dataproviders.faults.FaultProfile;
+import dev.quinnlane.cloudy.backend.dataproviders.faults.LatencyDistribution;
+import dev.quinnlane.cloudy.backend.dataproviders.providers.MockDataProvider;
+import dev.quinnlane.cloudy.backend.metrics.LatencyHistogram;
+import dev.quinnlane.cloudy.backend.streaming.SnapshotEventStream;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A load and soak harness that drives the backend with many simulated locations.
+ * <p>
+ * The harness runs three kinds of load at the same time, all against {@link MockDataProvider}
+ * with a configurable simulated latency and injected faults:
+ * <ul>
+ *     <li><b>Refreshes</b>: every location is invalidated and fetched again once per refresh
+ *     interval, spread evenly over the interval.</li>
+ *     <li><b>Reads</b>: a number of reader threads repeatedly query random locations, as clients
+ *     of the batch API would, mostly answered from the snapshot cache.</li>
+ *     <li><b>Streaming</b>: optionally, a number of clients stay connected to the snapshot event
+ *     stream while the active provider refreshes automatically. The time between the backend
+ *     publishing a snapshot and every client receiving its event is recorded as the fan-out
+ *     latency.</li>
+ * </ul>
+ * Every report interval, and once more at the end, the harness prints the throughput and
+ * latency percentiles of refreshes, reads, and stream fan-out, the heap occupancy after the last garbage
+ * collection, and the garbage collection pauses. The post-collection heap is used rather than
+ * the current heap, as it only grows if something is being retained, making leaks visible as a
+ * steady positive slope over a long run.
+ * <p>
+ * Options are passed as {@code --name value} pairs; see {@link #main(String[])} for the list.
+ */
+public class LoadHarness {
+	/**
+	 * The interval at which due refreshes are issued.
+	 */
+	private static final Duration TICK = Duration.ofMillis(100);
+
+	/**
+	 * The number of bytes in a megabyte, for reporting.
+	 */
+	private static final double MEGABYTE = 1024 * 1024;
+
+	/**
+	 * The number of most recent publish times kept to match stream events against. Events of
+	 * older snapshots are still counted, but their latency is not recorded.
+	 */
+	private static final int PUBLISH_TIMES_KEPT = 64;
+
+	private final int locationCount;
+	private final Duration refreshInterval;
+	private final int readers;
+	private final Duration readThinkTime;
+	private final Duration duration;
+	private final Duration reportInterval;
+	private final int streamClients;
+	private final long seed;
+
+	private final LatencyHistogram refreshLatency = new LatencyHistogram();
+	private final LatencyHistogram refreshWindow = new LatencyHistogram();
+	private final LatencyHistogram readLatency = new LatencyHistogram();
+	private final LatencyHistogram readWindow = new LatencyHistogram();
+	private final LongAdder refreshErrors = new LongAdder();
+	private final LongAdder readErrors = new LongAdder();
+	private final LongAdder readMisses = new LongAdder();
+	private final LongAdder streamEvents = new LongAdder();
+	private final LatencyHistogram fanoutLatency = new LatencyHistogram();
+	private final LatencyHistogram fanoutWindow = new LatencyHistogram();
+
+	/**
+	 * The {@link System#nanoTime()} at which every recently published snapshot was published, by sequence number.
+	 */
+	private final ConcurrentSkipListMap<Long, Long> publishTimes = new ConcurrentSkipListMap<>();
+	private final AtomicInteger refreshesInFlight = new AtomicInteger();
+
+	/**
+	 * The post-collection heap occupancy, in bytes, sampled at every report, paired with the
+	 * number of seconds since the start of the run.
+	 */
+	private final List<double[]> heapSamples = new ArrayList<>();
+
+	private final GcPauseMonitor gcPauses = new GcPauseMonitor();
+
+	/**
+	 * Constructs a new LoadHarness from parsed command line options.
+	 *
+	 * @param options the options, keyed by name without the leading dashes
+	 */
+	private LoadHarness(@NotNull Map<String, String> options) {
+		this.locationCount = Integer.parseInt(options.getOrDefault("locations", "1000"));
+		this.refreshInterval = Duration.ofSeconds(Long.parseLong(options.getOrDefault("refresh-interval", "30")));
+		this.readers = Integer.parseInt(options.getOrDefault("readers", "16"));
+		this.readThinkTime = Duration.ofMillis(Long.parseLong(options.getOrDefault("read-think", "10")));
+		this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "300")));
+		this.reportInterval = Duration.ofSeconds(Long.parseLong(options.getOrDefault("report-interval", "10")));
+		this.streamClients = Integer.parseInt(options.getOrDefault("stream-clients", "0"));
+		this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+		MockDataProvider.setSeed(this.seed);
+		MockDataProvider.setSimulatedLatency(
+				Duration.ofMillis(Long.parseLong(options.getOrDefault("latency", "50"))),
+				Duration.ofMillis(Long.parseLong(options.getOrDefault("jitter", "25")))
+		);
+
+		FaultInjector faults = MockDataProvider.getFaultInjector();
+		FaultProfile profile = faults.getDefaultProfile();
+		faults.setDefaultProfile(profile
+				.withLatency(LatencyDistribution.withSpikes(profile.latency(), Double.parseDouble(options.getOrDefault("spike-rate", "0")), Duration.ofMillis(Long.parseLong(options.getOrDefault("spike", "1000")))))
+				.withErrorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")))
+				.withTimeouts(Double.parseDouble(options.getOrDefault("timeout-rate", "0")), Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout", "2000"))))
+				.withPartialRate(Double.parseDouble(options.getOrDefault("partial-rate", "0")))
+				.withRateLimitRate(Double.parseDouble(options.getOrDefault("rate-limit-rate", "0"))));
+	}
+
+	/**
+	 * Runs the harness.
+	 * <p>
+	 * Supported options, with their defaults:
+	 * <ul>
+	 *     <li>{@code --locations 1000}: the number of simulated locations.</li>
+	 *     <li>{@code --refresh-interval 30}: the seconds between two refreshes of the same location.</li>
+	 *     <li>{@code --readers 16}: the number of concurrent reader threads.</li>
+	 *     <li>{@code --read-think 10}: the milliseconds a reader waits between two reads.</li>
+	 *     <li>{@code --latency 50}: the simulated provider latency, in milliseconds.</li>
+	 *     <li>{@code --jitter 25}: the largest random latency added on top, in milliseconds.</li>
+	 *     <li>{@code --spike-rate 0}: the probability of a refresh taking a latency spike.</li>
+	 *     <li>{@code --spike 1000}: the latency added by a spike, in milliseconds.</li>
+	 *     <li>{@code --error-rate 0}: the probability of a refresh failing.</li>
+	 *     <li>{@code --timeout-rate 0}: the probability of a refresh timing out.</li>
+	 *     <li>{@code --timeout 2000}: how long a timing out refresh hangs, in milliseconds.</li>
+	 *     <li>{@code --partial-rate 0}: the probability of a refresh returning partial data.</li>
+	 *     <li>{@code --rate-limit-rate 0}: the probability of a refresh being rate limited.</li>
+	 *     <li>{@code --stream-clients 0}: the number of event stream clients to keep connected.</li>
+	 *     <li>{@code --duration 300}: the length of the run, in seconds.</li>
+	 *     <li>{@code --report-interval 10}: the seconds between two reports.</li>
+	 *     <li>{@code --seed 42}: the seed used to generate the locations and their mock data.</li>
+	 * </ul>
+	 *
+	 * @param args the command line options
+	 */
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (!args[i].startsWith("--") || i + 1 >= args.length) throw new IllegalArgumentException("Expected --name value pairs, but got \"" + args[i] + "\"!");
+			options.put(args[i].substring(2), args[++i]);
+		}
+
+		new LoadHarness(options).run();
+	}
+
+	/**
+	 * Runs the load until the configured duration has elapsed, then prints the final report.
+	 */
+	private void run() throws IOException, InterruptedException {
+		Backend backend = new Backend();
+		backend.setProvider(MockDataProvider.class);
+
+		List<EarthCoordinates> locations = this.generateLocations();
+		System.out.printf("Driving %d locations, refreshed every %ds, with %d readers and %d stream clients for %ds.%n",
+				this.locationCount, this.refreshInterval.toSeconds(), this.readers, this.streamClients, this.duration.toSeconds());
+
+		SnapshotEventStream stream = null;
+		HttpClient streamClient = null;
+		if (this.streamClients > 0) {
+			stream = new SnapshotEventStream(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), Duration.ofSeconds(15));
+			// Registered before the stream, so that the publish time is taken before the event is queued
+			backend.addSnapshotListener(snapshot -> {
+				this.publishTimes.put(snapshot.sequence(), System.nanoTime());
+				while (this.publishTimes.size() > PUBLISH_TIMES_KEPT) this.publishTimes.pollFirstEntry();
+			});
+			stream.start(backend);
+			streamClient = this.connectStreamClients(stream.getAddress());
+			backend.startAutoRefresh(1, TimeUnit.SECONDS);
+		}
+
+		long start = System.nanoTime();
+		long deadline = start + this.duration.toNanos();
+
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			// Refreshes, spread evenly over the refresh interval
+			double perTick = (double) this.locationCount * TICK.toNanos() / this.refreshInterval.toNanos();
+			double[] due = {0};
+			int[] cursor = {0};
+			scheduler.scheduleAtFixedRate(() -> {
+				due[0] += perTick;
+				for (; due[0] >= 1; due[0]--) {
+					EarthCoordinates location = locations.get(cursor[0]);
+					cursor[0] = (cursor[0] + 1) % locations.size();
+					workers.execute(() -> this.refresh(backend, location));
+				}
+			}, 0, TICK.toNanos(), TimeUnit.NANOSECONDS);
+
+			// Readers
+			for (int i = 0; i < this.readers; i++) {
+				workers.execute(() -> this.read(backend, locations, deadline));
+			}
+
+			// Reports
+			long nextReport = start + this.reportInterval.toNanos();
+			while (System.nanoTime() < deadline) {
+				Thread.sleep(Duration.ofNanos(Math.max(0, Math.min(nextReport, deadline) - System.nanoTime())));
+				if (System.nanoTime() >= nextReport) {
+					this.report(start, stream);
+					nextReport += this.reportInterval.toNanos();
+				}
+			}
+		} finally {
+			scheduler.shutdownNow();
+		}
+
+		backend.stopAutoRefresh();
+		if (stream != null) stream.close();
+		if (streamClient != null) streamClient.shutdownNow();
+		this.gcPauses.close();
+
+		this.finalReport(start);
+	}
+
+	/**
+	 * Generates the simulated locations, evenly distributed over the globe.
+	 *
+	 * @return the locations, in refresh order
+	 */
+	private @NotNull List<EarthCoordinates> generateLocations() {
+		SplittableRandom random = new SplittableRandom(this.seed);
+		List<EarthCoordinates> locations = new ArrayList<>(this.locationCount);
+		for (int i = 0; i < this.locationCount; i++) {
+			double latitude = Math.toDegrees(Math.asin(random.nextDouble(-1, 1)));
+			double longitude = random.nextDouble(-180, 180);
+			locations.add(new EarthCoordinates(
+					BigDecimal.valueOf(latitude).setScale(4, RoundingMode.HALF_EVEN),
+					BigDecimal.valueOf(longitude).setScale(4, RoundingMode.HALF_EVEN)
+			));
+		}
+		return locations;
+	}
+
+	/**
+	 * Refreshes a single location by invalidating its cached snapshot and querying it again.
+	 *
+	 * @param backend  the backend under load
+	 * @param location the location to refresh
+	 */
+	private void refresh(@NotNull Backend backend, @NotNull EarthCoordinates location) {
+		this.refreshesInFlight.incrementAndGet();
+		long start = System.nanoTime();
+		try {
+			backend.getSnapshotCache().invalidate(location);
+			LocationResult result = backend.queryLocations(List.of(location), null).getFirst();
+			if (!result.isSuccess()) this.refreshErrors.increment();
+		} catch (Exception e) {
+			this.refreshErrors.increment();
+		} finally {
+			long nanos = System.nanoTime() - start;
+			this.refreshLatency.record(nanos);
+			this.refreshWindow.record(nanos);
+			this.refreshesInFlight.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Repeatedly reads random locations until the deadline.
+	 *
+	 * @param backend   the backend under load
+	 * @param locations the locations to read from
+	 * @param deadline  the {@link System#nanoTime()} at which to stop
+	 */
+	private void read(@NotNull Backend backend, @NotNull List<EarthCoordinates> locations, long deadline) {
+		while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+			EarthCoordinates location = locations.get(ThreadLocalRandom.current().nextInt(locations.size()));
+			long start = System.nanoTime();
+			try {
+				LocationResult result = backend.queryLocations(List.of(location), null).getFirst();
+				if (!result.isSuccess()) this.readErrors.increment();
+				else if (!result.cached()) this.readMisses.increment();
+			} catch (InterruptedException e) {
+				return;
+			} catch (Exception e) {
+				this.readErrors.increment();
+			}
+
+			long nanos = System.nanoTime() - start;
+			this.readLatency.record(nanos);
+			this.readWindow.record(nanos);
+
+			try {
+				if (!this.readThinkTime.isZero()) Thread.sleep(this.readThinkTime);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Connects the configured number of clients to the event stream, counting every event they
+	 * receive and recording the time since the snapshot of the event was published.
+	 *
+	 * @param address the address the event stream listens on
+	 * @return the HTTP client the connections were made with
+	 */
+	private @NotNull HttpClient connectStreamClients(@NotNull InetSocketAddress address) {
+		HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://" + address.getHostString() + ":" + address.getPort() + SnapshotEventStream.PATH + "?mode=delta")).build();
+
+		for (int i = 0; i < this.streamClients; i++) {
+			// The ID of the event being read, which precedes its data
+			long[] id = {-1};
+			client.sendAsync(request, HttpResponse.BodyHandlers.ofLines()).thenAccept(response -> response.body().forEach(line -> {
+				if (line.startsWith("id:")) {
+					id[0] = Long.parseLong(line.substring(3).trim());
+				} else if (line.startsWith("data:")) {
+					long received = System.nanoTime();
+					this.streamEvents.increment();
+					Long published = this.publishTimes.get(id[0]);
+					if (published != null) {
+						this.fanoutLatency.record(received - published);
+						this.fanoutWindow.record(received - published);
+					}
+				}
+			}));
+		}
+		return client;
+	}
+
+	/**
+	 * Prints the report of the current window and starts a new one.
+	 *
+	 * @param start  the {@link System#nanoTime()} at which the run started
+	 * @param stream the event stream, or null if streaming is disabled
+	 */
+	private void report(long start, SnapshotEventStream stream) {
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		double heap = postCollectionHeap();
+		this.heapSamples.add(new double[] {elapsed, heap});
+
+		System.out.printf("[%6.0fs] refresh %7.1f/s %s | read %8.1f/s %s | in-flight %4d | heap %7.1f MB | gc %s%s%n",
+				elapsed,
+				(double) this.refreshWindow.getCount() / this.reportInterval.toSeconds(), percentiles(this.refreshWindow),
+				(double) this.readWindow.getCount() / this.reportInterval.toSeconds(), percentiles(this.readWindow),
+				this.refreshesInFlight.get(),
+				heap / MEGABYTE,
+				percentiles(this.gcPauses.getWindow()),
+				stream == null ? "" : String.format(" | stream %d clients, %d events, fan-out %s", stream.getClientCount(), this.streamEvents.sum(), percentiles(this.fanoutWindow)));
+
+		this.refreshWindow.reset();
+		this.readWindow.reset();
+		this.fanoutWindow.reset();
+		this.gcPauses.resetWindow();
+	}
+
+	/**
+	 * Prints the totals of the entire run.
+	 *
+	 * @param start the {@link System#nanoTime()} at which the run started
+	 */
+	private void finalReport(long start) {
+		double elapsed = (System.nanoTime() - start) / 1e9;
+
+		System.out.println();
+		System.out.printf("Run finished after %.0fs.%n", elapsed);
+		System.out.printf("Refreshes: %d (%.1f/s), %d errors, latency %s%n",
+				this.refreshLatency.getCount(), this.refreshLatency.getCount() / elapsed, this.refreshErrors.sum(), percentiles(this.refreshLatency));
+		System.out.printf("Reads:     %d (%.1f/s), %d errors, %d cache misses, latency %s%n",
+				this.readLatency.getCount(), this.readLatency.getCount() / elapsed, this.readErrors.sum(), this.readMisses.sum(), percentiles(this.readLatency));
+		System.out.printf("GC pauses: %d, %s%n", this.gcPauses.getTotal().getCount(), percentiles(this.gcPauses.getTotal()));
+		if (this.streamClients > 0) System.out.printf("Stream:    %d events received by %d clients, fan-out latency %s%n", this.streamEvents.sum(), this.streamClients, percentiles(this.fanoutLatency));
+
+		if (this.heapSamples.size() >= 2) {
+			double[] first = this.heapSamples.getFirst();
+			double[] last = this.heapSamples.getLast();
+			System.out.printf("Heap after GC: %.1f MB -> %.1f MB, trend %+.2f MB/min%n", first[1] / MEGABYTE, last[1] / MEGABYTE, heapTrend() / MEGABYTE * 60);
+		}
+	}
+
+	/**
+	 * Fits a least-squares line through the post-collection heap samples.
+	 *
+	 * @return the slope of the line, in bytes per second
+	 */
+	private double heapTrend() {
+		double n = this.heapSamples.size();
+		double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+		for (double[] sample : this.heapSamples) {
+			sumX += sample[0];
+			sumY += sample[1];
+			sumXY += sample[0] * sample[1];
+			sumXX += sample[0] * sample[0];
+		}
+
+		double denominator = n * sumXX - sumX * sumX;
+		return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+	}
+
+	/**
+	 * Determines how much of the heap was still in use after the most recent collection of
+	 * every heap pool, falling back to the current usage of pools that do not report it.
+	 *
+	 * @return the heap occupancy in bytes
+	 */
+	private static double postCollectionHeap() {
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() != MemoryType.HEAP) continue;
+
+			MemoryUsage usage = pool.getCollectionUsage();
+			used += usage != null ? usage.getUsed() : pool.getUsage().getUsed();
+		}
+		return used;
+	}
+
+	/**
+	 * Formats the common percentiles of a histogram.
+	 *
+	 * @param histogram the histogram
+	 * @return the p50, p99, p99.9, and max in milliseconds
+	 */
+	private static @NotNull String percentiles(@NotNull LatencyHistogram histogram) {
+		return String.format("p50 %.2f p99 %.2f p999 %.2f max %.2f ms",
+				histogram.getValueAtPercentile(50) / 1e6,
+				histogram.getValueAtPercentile(99) / 1e6,
+				histogram.getValueAtPercentile(99.9) / 1e6,
+				histogram.getMax() / 1e6);
+	}
+}
@@ -1,14 +1,27 @@
 package dev.quinnlane.cloudy;
 
 import dev.quinnlane.cloudy.backend.Backend;
-import dev.quinnlane.cloudy.common.configuration.MockConfiguration;
+import dev.quinnlane.cloudy.backend.cache.SnapshotStore;
+import dev.quinnlane.cloudy.backend.streaming.SnapshotEventStream;
+import dev.quinnlane.cloudy.common.configuration.Configuration;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
 import dev.quinnlane.cloudy.frontend.Frontend;
+import dev.quinnlane.cloudy.startup.Startup;
+import dev.quinnlane.cloudy.startup.StartupTimeline;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class Cloudy {
 	/**
@@ -26,11 +39,26 @@ public class Cloudy {
 	 */
 	private static Frontend frontend;
 
+	/**
+	 * This field stores the orchestrator of the launch of Cloudy.
+	 */
+	private static Startup startup;
+
 	/**
 	 * THis field stores the version of Cloudy that is currently running.
 	 */
 	private static String VERSION = "X.X.X";
 
+	/**
+	 * The system property holding the path of the configuration file.
+	 */
+	public static final String CONFIGURATION_PROPERTY = "cloudy.config";
+
+	/**
+	 * The path of the configuration file if {@link #CONFIGURATION_PROPERTY} is not set.
+	 */
+	public static final String CONFIGURATION_FILE = "cloudy.properties";
+
 	/**
 	 * Initializes a new instance of Log4J for use across this entrypoint class and all common classes.
 	 */
@@ -72,9 +100,87 @@ public class Cloudy {
 		return VERSION;
 	}
 
+	/**
+	 * Retrieves the orchestrator of the launch of Cloudy.
+	 *
+	 * @return the startup orchestrator, or null before Cloudy has been started
+	 */
+	public static Startup getStartup() {
+		return startup;
+	}
+
 	// Entrypoint method
     public static void main(String[] args) {
+		startup = new Startup();
+		StartupTimeline timeline = startup.getTimeline();
+
 		// -- Load the program version at runtime from version.properties
+		timeline.time("version", Cloudy::loadVersion);
+
+		// -- Start Cloudy
+		logger.info("Starting Cloudy v%s...", VERSION);
+		arguments = args;
+
+		// Load the configuration file, if there is one, and follow its changes
+		timeline.time("configuration", Cloudy::loadConfiguration);
+		Configuration configuration = RuntimeConfiguration.get();
+		String snapshotFile = configuration.get(Settings.CACHE__SNAPSHOT_FILE);
+
+		// Scan for providers and read the persisted snapshot while the JavaFX toolkit starts
+		CompletableFuture<Void> providerRegistry = startup.runAsync("provider registry", Backend::registerDefaultProviders);
+		CompletableFuture<WeatherSnapshot> persistedSnapshot = startup.supplyAsync("persisted snapshot", () -> snapshotFile.isBlank() ? null : SnapshotStore.read(Path.of(snapshotFile)));
+		frontend = timeline.time("frontend", Frontend::new);
+
+		// Initialize backend
+		providerRegistry.join();
+		backend = timeline.time("backend", Backend::new);
+		persistedSnapshot.thenAccept(snapshot -> {
+			if (snapshot != null) timeline.time("restore snapshot", () -> backend.restoreSnapshot(snapshot));
+		}).whenComplete((ignored, error) -> startup.backendReady(backend));
+
+		// Persist every published snapshot for the next launch
+		if (!snapshotFile.isBlank()) {
+			Path snapshotPath = Path.of(snapshotFile);
+			backend.addSnapshotListener(snapshot -> {
+				try {
+					SnapshotStore.write(snapshotPath, snapshot);
+				} catch (IOException e) {
+					logger.error("Failed to persist snapshot #%d to %s!", snapshot.sequence(), snapshotPath, e);
+				}
+			});
+		}
+
+		// Load data provider from configuration, refreshing it for the first time in the background
+		CompletableFuture<Void> firstRefresh = startup.runAsync("first refresh", () -> backend.setProvider(configuration.get(Settings.DATA_PROVIDER__CURRENT_PROVIDER)));
+		firstRefresh.exceptionally(error -> {
+			logger.error("The first refresh failed! The next scheduled refresh will try again.", error);
+			return null;
+		});
+		backend.startAutoRefresh(configuration.get(Settings.DATA_PROVIDER__UPDATE_INTERVAL), TimeUnit.SECONDS);
+
+		// Re-tune the backend whenever the configuration changes
+		RuntimeConfiguration.addListener(Settings.DATA_PROVIDER__CURRENT_PROVIDER, backend::setProvider);
+		RuntimeConfiguration.addListener(Settings.DATA_PROVIDER__UPDATE_INTERVAL, interval -> backend.startAutoRefresh(interval, TimeUnit.SECONDS));
+		RuntimeConfiguration.addListener(Settings.CACHE__SNAPSHOT_TTL, ttl -> backend.getSnapshotCache().setTimeToLive(Duration.ofSeconds(ttl)));
+
+		// Stream snapshots to external clients if enabled
+		if (configuration.get(Settings.STREAMING__ENABLED)) {
+			int port = configuration.get(Settings.STREAMING__PORT);
+			try {
+				new SnapshotEventStream(new InetSocketAddress(port), Duration.ofSeconds(configuration.get(Settings.STREAMING__HEARTBEAT_INTERVAL))).start(backend);
+			} catch (IOException e) {
+				logger.error("Failed to start the snapshot event stream on port %d!", port, e);
+			}
+		}
+
+		startup.finish(firstRefresh);
+		logger.info("Cloudy has been started!");
+    }
+
+	/**
+	 * Loads the program version from the version.properties file.
+	 */
+	private static void loadVersion() {
 		logger.debug("Loading version from version.properties file...");
 		String version = VERSION;
 		Properties props = new Properties();
@@ -89,18 +195,21 @@ public class Cloudy {
 		}
 
 		VERSION = version;
+	}
 
-		// -- Start Cloudy
-		logger.info("Starting Cloudy v%s...", VERSION);
-		arguments = args;
-
-		// Initialize backend and frontend
-		backend = new Backend();
-		frontend = new Frontend();
-
-		// Load data provider from configuration
-		backend.setProvider(MockConfiguration.DATA_PROVIDER__CURRENT_PROVIDER);
-
-		logger.info("Cloudy has been started!");
-    }
+	/**
+	 * Loads the configuration file, if there is one, and follows its changes.
+	 */
+	private static void loadConfiguration() {
+		Path configurationPath = Path.of(System.getProperty(CONFIGURATION_PROPERTY, CONFIGURATION_FILE));
+		if (Files.isRegularFile(configurationPath)) {
+			try {
+				RuntimeConfiguration.watch(configurationPath);
+			} catch (IOException e) {
+				logger.error("Failed to watch the configuration file %s! Changes to it will not be applied until Cloudy is restarted.", configurationPath, e);
+			}
+		} else {
+			logger.info("No configuration file found at %s, using the default configuration.", configurationPath);
+		}
+	}
 }
@@ -1,8 +1,29 @@
 package dev.quinnlane.cloudy.backend;
 
 import dev.quinnlane.cloudy.Cloudy;
+import dev.quinnlane.cloudy.backend.batch.BatchQuery;
+import dev.quinnlane.cloudy.backend.batch.LocationResult;
+import dev.quinnlane.cloudy.backend.cache.RenderCache;
+import dev.quinnlane.cloudy.backend.cache.SnapshotCache;
+import dev.quinnlane.cloudy.backend.cache.SunTableCache;
 import dev.quinnlane.cloudy.backend.dataproviders.DataProvider;
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
+import dev.quinnlane.cloudy.backend.dataproviders.replay.RecordingDataProvider;
+import dev.quinnlane.cloudy.backend.metrics.LocationMetrics;
+import dev.quinnlane.cloudy.backend.metrics.MetricsRegistry;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.datatypes.RenderedSnapshot;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.diagnostics.FetchEvent;
+import dev.quinnlane.cloudy.common.diagnostics.ParseEvent;
+import dev.quinnlane.cloudy.common.diagnostics.ProviderRefreshEvent;
+import dev.quinnlane.cloudy.common.diagnostics.SnapshotPublishEvent;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
 import dev.quinnlane.cloudy.common.reflection.PackageUtils;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import dev.quinnlane.cloudy.common.wind.WindRose;
+import dev.quinnlane.cloudy.common.wind.WindRoseAggregator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -10,16 +31,90 @@ import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public class Backend {
 	public static final Logger logger = LogManager.getFormatterLogger("Cloudy > Backend");
 
 	private static final ArrayList<Class<? extends DataProvider>> providers = new ArrayList<>();
+	private static boolean defaultProvidersRegistered;
 
-	private DataProvider provider;
+	/**
+	 * The active provider, set from a startup worker and read from the application thread.
+	 */
+	private volatile DataProvider provider;
+
+	/**
+	 * Holds every listener that should be notified whenever a refresh completes and a new
+	 * {@link WeatherSnapshot} is published. A copy-on-write list is used as listeners are
+	 * rarely added but iterated on every refresh, potentially from multiple threads.
+	 */
+	private final CopyOnWriteArrayList<Consumer<WeatherSnapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Generates the sequence numbers assigned to published snapshots.
+	 */
+	private final AtomicLong snapshotSequence = new AtomicLong();
+
+	/**
+	 * The most recently published snapshot, or null if no refresh has completed yet.
+	 */
+	private final AtomicReference<WeatherSnapshot> latestSnapshot = new AtomicReference<>();
+
+	/**
+	 * Caches the most recent snapshot of every location, shared by the active provider and batch queries.
+	 */
+	private final SnapshotCache snapshotCache = new SnapshotCache(Duration.ofSeconds(RuntimeConfiguration.get(Settings.CACHE__SNAPSHOT_TTL)));
+
+	/**
+	 * Caches the display strings of the most recent snapshot of every location, once per locale.
+	 */
+	private final RenderCache renderCache = new RenderCache();
+
+	/**
+	 * Aggregates the current wind of every published snapshot into a wind rose.
+	 */
+	private final WindRoseAggregator windRose = new WindRoseAggregator(RuntimeConfiguration.get(Settings.CUSTOMIZATION__MAX_WIND_DIRECTION_SPECIFICITY), WindRose.BEAUFORT_BANDS);
+
+	/**
+	 * Holds the yearly sun tables used to fill in the sunrise and sunset of providers that do not report them.
+	 */
+	private final SunTableCache sunTables = new SunTableCache();
+
+	/**
+	 * Answers multi-location queries, assigning its snapshots sequence numbers from the same counter as published ones.
+	 */
+	private final BatchQuery batchQuery = new BatchQuery(this.snapshotCache, this.snapshotSequence::incrementAndGet, this.sunTables);
+
+	/**
+	 * The scheduler that drives periodic refreshes, lazily created by {@link #startAutoRefresh(long, TimeUnit)}.
+	 */
+	private ScheduledExecutorService refreshScheduler;
+
+	/**
+	 * The handle of the currently scheduled periodic refresh task, if any.
+	 */
+	private ScheduledFuture<?> refreshTask;
+
+	/**
+	 * Guards the refresh schedule, separately from the refreshes themselves, so that rescheduling
+	 * never waits for a refresh in progress.
+	 */
+	private final Object scheduleLock = new Object();
 
 	public Backend() {
 		logger.trace("Backend class constructor called from thread '%s'", Thread.currentThread().getName());
@@ -29,6 +124,18 @@ public class Backend {
 		}
 
 		logger.info("Initializing backend...");
+		Backend.registerDefaultProviders();
+		logger.info("Backend has been initialized!");
+	}
+
+	/**
+	 * Registers every data provider in the default providers package, unless they have already
+	 * been registered. Scanning the classpath is one of the slower steps of startup, so it can be
+	 * done ahead of constructing the backend, on another thread.
+	 */
+	public static synchronized void registerDefaultProviders() {
+		if (defaultProvidersRegistered) return;
+		defaultProvidersRegistered = true;
 
 		logger.debug("Registering all default data providers...");
 		try {
@@ -38,8 +145,6 @@ public class Backend {
 		} catch (Exception e) {
 			logger.error("Failed to register all default data providers!", e);
 		}
-
-		logger.info("Backend has been initialized!");
 	}
 
 	/**
@@ -117,6 +222,282 @@ public class Backend {
 			return;
 		}
 
-		provider.refreshData();
+		this.refreshData();
+	}
+
+	/**
+	 * Sets an already created provider as the active provider and refreshes it. This allows
+	 * providers that wrap another one, such as a {@link RecordingDataProvider}, to be used.
+	 *
+	 * @param provider the provider; must not be null
+	 */
+	public void setProvider(@NotNull DataProvider provider) {
+		logger.info("Setting active provider to %s...", provider.getClass().getSimpleName());
+		this.provider = provider;
+		this.refreshData();
+	}
+
+	/**
+	 * Refreshes the active provider and, if the refresh went through, publishes a new
+	 * {@link WeatherSnapshot} to every registered listener.
+	 *
+	 * @return the newly published snapshot, or null if there is no provider or it refused to refresh
+	 */
+	public synchronized @Nullable WeatherSnapshot refreshData() {
+		// Read once, so that a provider swapped in meanwhile is only used from the next refresh on
+		DataProvider provider = this.provider;
+		if (provider == null) {
+			logger.error("No provider has been set! Please set one before refreshing data.", new NullPointerException());
+			return null;
+		}
+
+		LocationMetrics metrics = MetricsRegistry.forLocation(provider);
+		ProviderRefreshEvent refreshEvent = new ProviderRefreshEvent();
+		FetchEvent fetchEvent = new FetchEvent();
+		ParseEvent parseEvent = new ParseEvent();
+		WeatherSnapshot snapshot;
+
+		refreshEvent.begin();
+		try {
+			Instant previousUpdate = provider.getLastUpdate();
+			long start = System.nanoTime();
+			fetchEvent.begin();
+			provider.refreshData();
+			fetchEvent.end();
+			if (previousUpdate.equals(provider.getLastUpdate())) {
+				metrics.recordRateLimitRejection();
+				return null;
+			}
+			long refreshed = System.nanoTime();
+			metrics.recordRefresh(refreshed - start);
+
+			parseEvent.begin();
+			snapshot = provider.createSnapshot(this.snapshotSequence.incrementAndGet());
+			snapshot = this.sunTables.complete(snapshot, provider.getProviderFeatures());
+			parseEvent.end();
+			metrics.recordParse(System.nanoTime() - refreshed);
+		} catch (RuntimeException e) {
+			metrics.recordError();
+			throw e;
+		}
+
+		this.publishSnapshot(provider.getClass(), snapshot);
+		refreshEvent.end();
+
+		if (fetchEvent.shouldCommit()) {
+			fetchEvent.describe(provider.getClass(), snapshot.location(), snapshot);
+			fetchEvent.commit();
+		}
+		if (parseEvent.shouldCommit()) {
+			parseEvent.describe(provider.getClass(), snapshot.location(), snapshot);
+			parseEvent.commit();
+		}
+		if (refreshEvent.shouldCommit()) {
+			refreshEvent.describe(provider.getClass(), snapshot.location(), snapshot);
+			refreshEvent.commit();
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Stores the given snapshot as the latest one and notifies every registered listener.
+	 * A failing listener is logged and does not prevent the remaining listeners from being notified.
+	 *
+	 * @param providerClass the class of the provider the snapshot was created by; must not be null
+	 * @param snapshot      the snapshot to publish; must not be null
+	 */
+	private void publishSnapshot(@NotNull Class<? extends DataProvider> providerClass, @NotNull WeatherSnapshot snapshot) {
+		SnapshotPublishEvent event = new SnapshotPublishEvent();
+		event.begin();
+
+		this.latestSnapshot.set(snapshot);
+		this.snapshotCache.put(snapshot);
+		this.windRose.add(snapshot);
+
+		int listeners = 0;
+		for (Consumer<WeatherSnapshot> listener : this.snapshotListeners) {
+			try {
+				listener.accept(snapshot);
+			} catch (Exception e) {
+				logger.error("A snapshot listener failed while handling snapshot #%d!", snapshot.sequence(), e);
+			}
+			listeners++;
+		}
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.describe(providerClass, snapshot.location(), snapshot);
+			event.listeners = listeners;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Shows a snapshot persisted by a previous run as the latest snapshot until the first refresh
+	 * completes. Listeners are not notified, and the snapshot is not cached for its location, as
+	 * it may be long outdated. Snapshots published from then on are numbered after it.
+	 *
+	 * @param snapshot the persisted snapshot; must not be null
+	 * @return true if the snapshot was restored, false if a snapshot has already been published
+	 */
+	public boolean restoreSnapshot(@NotNull WeatherSnapshot snapshot) {
+		// Does not take the refresh lock, so that the first frame never waits for a slow first refresh
+		this.snapshotSequence.accumulateAndGet(snapshot.sequence(), Math::max);
+		if (!this.latestSnapshot.compareAndSet(null, snapshot)) return false;
+
+		logger.info("Restored snapshot #%d captured at %s.", snapshot.sequence(), snapshot.capturedAt());
+		return true;
+	}
+
+	/**
+	 * Retrieves the most recently published snapshot.
+	 *
+	 * @return the latest {@link WeatherSnapshot}, or null if no refresh has completed yet
+	 */
+	public @Nullable WeatherSnapshot getLatestSnapshot() {
+		return this.latestSnapshot.get();
+	}
+
+	/**
+	 * Retrieves the cache holding the most recent snapshot of every location.
+	 *
+	 * @return the snapshot cache
+	 */
+	public @NotNull SnapshotCache getSnapshotCache() {
+		return this.snapshotCache;
+	}
+
+	/**
+	 * Retrieves the most recently published snapshot, rendered for display in a locale. The
+	 * snapshot is rendered once per locale and shared by every caller asking for that locale.
+	 *
+	 * @param locale the locale to render the snapshot in; must not be null
+	 * @return the rendered latest snapshot, or null if no refresh has completed yet
+	 */
+	public @Nullable RenderedSnapshot getRenderedSnapshot(@NotNull UnitLocales locale) {
+		WeatherSnapshot snapshot = this.latestSnapshot.get();
+		return snapshot == null ? null : this.renderCache.get(snapshot, locale);
+	}
+
+	/**
+	 * Retrieves the cache holding the rendered snapshots of every location and locale.
+	 *
+	 * @return the render cache
+	 */
+	public @NotNull RenderCache getRenderCache() {
+		return this.renderCache;
+	}
+
+	/**
+	 * Retrieves the cache holding the yearly sun tables of every location.
+	 *
+	 * @return the sun table cache
+	 */
+	public @NotNull SunTableCache getSunTables() {
+		return this.sunTables;
+	}
+
+	/**
+	 * Retrieves the wind rose aggregating the current wind of every published snapshot. Historical
+	 * readings can be added to it in bulk with {@link WindRoseAggregator#addAll(double[], int[])}.
+	 *
+	 * @return the wind rose aggregator
+	 */
+	public @NotNull WindRoseAggregator getWindRose() {
+		return this.windRose;
+	}
+
+	/**
+	 * Queries many locations at once using the same provider class as the active provider, or
+	 * the configured default provider if none has been set. A recorded provider is queried
+	 * through the class it records, without recording the batch.
+	 *
+	 * @param locations the locations to query; must not be null
+	 * @param features  the features to include in every snapshot, or null or empty for all of them
+	 * @return one result per input location, in the same order as the input
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for the batch
+	 * @see BatchQuery
+	 */
+	public @NotNull List<LocationResult> queryLocations(@NotNull List<EarthCoordinates> locations, @Nullable Set<ProviderFeatures> features) throws InterruptedException {
+		DataProvider provider = this.provider instanceof RecordingDataProvider recording ? recording.getDelegate() : this.provider;
+		Class<? extends DataProvider> providerClass = provider != null ? provider.getClass() : RuntimeConfiguration.get(Settings.DATA_PROVIDER__CURRENT_PROVIDER);
+		return this.queryLocations(providerClass, locations, features);
+	}
+
+	/**
+	 * Queries many locations at once using the specified provider class.
+	 *
+	 * @param providerClass the provider to fetch locations that are not cached from; must be registered
+	 * @param locations     the locations to query; must not be null
+	 * @param features      the features to include in every snapshot, or null or empty for all of them
+	 * @return one result per input location, in the same order as the input
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for the batch
+	 * @see BatchQuery
+	 */
+	public @NotNull List<LocationResult> queryLocations(@NotNull Class<? extends DataProvider> providerClass, @NotNull List<EarthCoordinates> locations, @Nullable Set<ProviderFeatures> features) throws InterruptedException {
+		if (!Backend.hasProvider(providerClass)) {
+			logger.error("The specified provider is not registered! Please register it before querying it.", new IllegalArgumentException());
+		}
+		return this.batchQuery.execute(providerClass, locations, features);
+	}
+
+	/**
+	 * Registers a listener that is called with every snapshot published after a successful refresh.
+	 * Listeners are called on the refreshing thread, so they should hand off any long-running work.
+	 *
+	 * @param listener the listener to register; must not be null
+	 */
+	public void addSnapshotListener(@NotNull Consumer<WeatherSnapshot> listener) {
+		this.snapshotListeners.add(listener);
+	}
+
+	/**
+	 * Unregisters a previously registered snapshot listener.
+	 *
+	 * @param listener the listener to unregister
+	 */
+	public void removeSnapshotListener(@NotNull Consumer<WeatherSnapshot> listener) {
+		this.snapshotListeners.remove(listener);
+	}
+
+	/**
+	 * Starts refreshing the active provider periodically. Calling this again replaces the previous schedule.
+	 *
+	 * @param interval the time between two refreshes; must be positive
+	 * @param unit     the unit of the interval
+	 */
+	public void startAutoRefresh(long interval, @NotNull TimeUnit unit) {
+		if (interval <= 0) throw new IllegalArgumentException("The refresh interval must be positive!");
+		synchronized (this.scheduleLock) {
+			if (this.refreshScheduler == null) {
+				this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "Cloudy Refresh Scheduler");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			if (this.refreshTask != null) this.refreshTask.cancel(false);
+
+			logger.info("Refreshing data automatically every %d %s.", interval, unit.name().toLowerCase());
+			this.refreshTask = this.refreshScheduler.scheduleWithFixedDelay(() -> {
+				try {
+					this.refreshData();
+				} catch (Exception e) {
+					logger.error("Scheduled refresh failed!", e);
+				}
+			}, interval, interval, unit);
+		}
+	}
+
+	/**
+	 * Stops refreshing the active provider periodically, if it was started.
+	 */
+	public void stopAutoRefresh() {
+		synchronized (this.scheduleLock) {
+			if (this.refreshTask == null) return;
+			this.refreshTask.cancel(false);
+			this.refreshTask = null;
+		}
+		logger.info("Automatic refreshing has been stopped.");
 	}
 }
@@ -0,0 +1,245 @@
+package dev.quinnlane.cloudy.backend.batch;
+
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.backend.cache.SnapshotCache;
+import dev.quinnlane.cloudy.backend.cache.SunTableCache;
+import dev.quinnlane.cloudy.backend.dataproviders.DataProvider;
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
+import dev.quinnlane.cloudy.backend.metrics.LocationMetrics;
+import dev.quinnlane.cloudy.backend.metrics.MetricsRegistry;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.diagnostics.CacheLookupEvent;
+import dev.quinnlane.cloudy.common.diagnostics.FetchEvent;
+import dev.quinnlane.cloudy.common.diagnostics.ParseEvent;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.LongSupplier;
+
+/**
+ * Answers queries for many locations at once.
+ * <p>
+ * A batch is processed in two phases. First, every location is looked up in the
+ * {@link SnapshotCache}, and the distinct locations that missed are collected, so a location
+ * that appears several times in the batch is only fetched once. Then, every miss is fetched on
+ * its own virtual thread, using a fresh provider instance per location. How many of those
+ * fetches may run at the same time is limited per provider class by
+ * {@link Settings#DATA_PROVIDER__MAX_CONCURRENT_REQUESTS}, a limit that is shared by
+ * every batch running at the same time and follows changes of the setting immediately.
+ * <p>
+ * Results are returned in the order of the input locations. A location that fails to load is
+ * reported as a failed {@link LocationResult} rather than failing the entire batch.
+ */
+public class BatchQuery {
+	/**
+	 * The concurrency limits shared by every batch, keyed by provider class.
+	 */
+	private static final ConcurrentHashMap<Class<? extends DataProvider>, ConcurrencyLimit> CONCURRENCY_LIMITS = new ConcurrentHashMap<>();
+
+	static {
+		RuntimeConfiguration.addListener(Settings.DATA_PROVIDER__MAX_CONCURRENT_REQUESTS, limit -> {
+			for (ConcurrencyLimit concurrencyLimit : CONCURRENCY_LIMITS.values()) concurrencyLimit.resize(limit);
+		});
+	}
+
+	/**
+	 * A semaphore whose number of permits can be changed while it is in use. Fetches that are
+	 * running when the limit is lowered complete, and new fetches wait until the number of running
+	 * fetches has dropped below the new limit.
+	 */
+	private static final class ConcurrencyLimit extends Semaphore {
+		private int limit;
+
+		ConcurrencyLimit(int limit) {
+			super(limit);
+			this.limit = limit;
+		}
+
+		synchronized void resize(int limit) {
+			if (limit > this.limit) this.release(limit - this.limit);
+			else if (limit < this.limit) this.reducePermits(this.limit - limit);
+			this.limit = limit;
+		}
+	}
+
+	/**
+	 * The cache consulted before, and filled after, fetching from a provider.
+	 */
+	private final SnapshotCache cache;
+
+	/**
+	 * Supplies the sequence numbers assigned to freshly fetched snapshots.
+	 */
+	private final LongSupplier sequence;
+
+	/**
+	 * Fills in the sunrise and sunset of fetched snapshots whose provider does not report them.
+	 */
+	private final SunTableCache sunTables;
+
+	/**
+	 * Constructs a new BatchQuery backed by the specified cache.
+	 *
+	 * @param cache    the cache to consult and fill; must not be null
+	 * @param sequence the supplier of sequence numbers for fetched snapshots; must not be null
+	 */
+	public BatchQuery(@NotNull SnapshotCache cache, @NotNull LongSupplier sequence) {
+		this(cache, sequence, new SunTableCache());
+	}
+
+	/**
+	 * Constructs a new BatchQuery backed by the specified caches.
+	 *
+	 * @param cache     the cache to consult and fill; must not be null
+	 * @param sequence  the supplier of sequence numbers for fetched snapshots; must not be null
+	 * @param sunTables the sun tables completing fetched snapshots; must not be null
+	 */
+	public BatchQuery(@NotNull SnapshotCache cache, @NotNull LongSupplier sequence, @NotNull SunTableCache sunTables) {
+		this.cache = cache;
+		this.sequence = sequence;
+		this.sunTables = sunTables;
+	}
+
+	/**
+	 * Queries the given provider for every location in the batch.
+	 *
+	 * @param providerClass the provider to fetch cache misses from; must not be null
+	 * @param locations     the locations to query; must not be null
+	 * @param features      the features to project every snapshot onto, or null or empty for all of them
+	 * @return one result per input location, in the same order as the input
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for the batch
+	 */
+	public @NotNull List<LocationResult> execute(@NotNull Class<? extends DataProvider> providerClass, @NotNull List<EarthCoordinates> locations, @Nullable Set<ProviderFeatures> features) throws InterruptedException {
+		// Group the batch into cache hits and distinct misses
+		Map<EarthCoordinates, WeatherSnapshot> hits = new HashMap<>();
+		Set<EarthCoordinates> misses = new LinkedHashSet<>();
+		for (EarthCoordinates location : locations) {
+			if (location == null || hits.containsKey(location) || misses.contains(location)) continue;
+
+			CacheLookupEvent event = new CacheLookupEvent();
+			event.begin();
+			WeatherSnapshot cached = this.cache.get(location);
+			event.end();
+			if (event.shouldCommit()) {
+				event.describe(providerClass, location, cached);
+				event.hit = cached != null;
+				event.commit();
+			}
+
+			MetricsRegistry.forLocation(providerClass, location).recordCacheLookup(cached != null);
+			if (cached != null) hits.put(location, cached);
+			else misses.add(location);
+		}
+
+		Backend.logger.debug("Batch of %d locations: %d cache hits, %d distinct misses.", locations.size(), hits.size(), misses.size());
+
+		// Fan the misses out, bounded by the provider's concurrency limit
+		Map<EarthCoordinates, Future<WeatherSnapshot>> fetches = new HashMap<>();
+		Semaphore limit = CONCURRENCY_LIMITS.computeIfAbsent(providerClass, ignored -> new ConcurrencyLimit(RuntimeConfiguration.get(Settings.DATA_PROVIDER__MAX_CONCURRENT_REQUESTS)));
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (EarthCoordinates location : misses) {
+				fetches.put(location, executor.submit(() -> this.fetch(providerClass, location, limit)));
+			}
+
+			// Collect the results in input order
+			List<LocationResult> results = new ArrayList<>(locations.size());
+			for (EarthCoordinates location : locations) {
+				if (location == null) {
+					results.add(new LocationResult(null, null, new IllegalArgumentException("The location cannot be null!"), false));
+					continue;
+				}
+
+				WeatherSnapshot cached = hits.get(location);
+				if (cached != null) {
+					results.add(new LocationResult(location, SnapshotProjection.project(cached, features), null, true));
+					continue;
+				}
+
+				try {
+					WeatherSnapshot fetched = fetches.get(location).get();
+					results.add(new LocationResult(location, SnapshotProjection.project(fetched, features), null, false));
+				} catch (ExecutionException e) {
+					results.add(new LocationResult(location, null, e.getCause(), false));
+				}
+			}
+			return results;
+		}
+	}
+
+	/**
+	 * Fetches a fresh snapshot for a single location and caches it.
+	 *
+	 * @param providerClass the provider to fetch from
+	 * @param location      the location to fetch
+	 * @param limit         the concurrency limit of the provider
+	 * @return the fetched snapshot
+	 * @throws Exception if the provider cannot be created or refuses to refresh
+	 */
+	private @NotNull WeatherSnapshot fetch(@NotNull Class<? extends DataProvider> providerClass, @NotNull EarthCoordinates location, @NotNull Semaphore limit) throws Exception {
+		LocationMetrics metrics = MetricsRegistry.forLocation(providerClass, location);
+		FetchEvent fetchEvent = new FetchEvent();
+		ParseEvent parseEvent = new ParseEvent();
+		WeatherSnapshot snapshot = null;
+
+		limit.acquire();
+		try {
+			DataProvider provider = providerClass.getDeclaredConstructor().newInstance();
+			provider.setLocation(location);
+
+			Instant previousUpdate = provider.getLastUpdate();
+			long start = System.nanoTime();
+			fetchEvent.begin();
+			provider.refreshData();
+			fetchEvent.end();
+			if (!previousUpdate.equals(provider.getLastUpdate())) {
+				long refreshed = System.nanoTime();
+				metrics.recordRefresh(refreshed - start);
+
+				parseEvent.begin();
+				snapshot = provider.createSnapshot(this.sequence.getAsLong());
+				snapshot = this.sunTables.complete(snapshot, provider.getProviderFeatures());
+				parseEvent.end();
+				metrics.recordParse(System.nanoTime() - refreshed);
+			}
+		} catch (Exception e) {
+			metrics.recordError();
+			throw e;
+		} finally {
+			limit.release();
+		}
+
+		if (snapshot == null) {
+			metrics.recordRateLimitRejection();
+			throw new IllegalStateException(providerClass.getSimpleName() + " refused to refresh data for " + location + "!");
+		}
+
+		if (fetchEvent.shouldCommit()) {
+			fetchEvent.describe(providerClass, location, snapshot);
+			fetchEvent.commit();
+		}
+		if (parseEvent.shouldCommit()) {
+			parseEvent.describe(providerClass, location, snapshot);
+			parseEvent.commit();
+		}
+
+		this.cache.put(snapshot);
+		return snapshot;
+	}
+}
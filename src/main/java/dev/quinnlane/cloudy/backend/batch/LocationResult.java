@@ -0,0 +1,27 @@
+package dev.quinnlane.cloudy.backend.batch;
+
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the outcome of a batch query for a single location.
+ * <p>
+ * Exactly one of {@code snapshot} and {@code error} is set, so a failure for one location
+ * never prevents the others in the same batch from being reported.
+ *
+ * @param location the location that was queried
+ * @param snapshot the projected snapshot for the location, or null if the query failed
+ * @param error    the reason the query failed, or null if it succeeded
+ * @param cached   whether the snapshot was served from the cache instead of the provider
+ */
+public record LocationResult(EarthCoordinates location, @Nullable WeatherSnapshot snapshot, @Nullable Throwable error, boolean cached) {
+	/**
+	 * Determines whether the query for this location succeeded.
+	 *
+	 * @return true if a snapshot is available, otherwise false
+	 */
+	public boolean isSuccess() {
+		return this.snapshot != null;
+	}
+}
@@ -0,0 +1,70 @@
+package dev.quinnlane.cloudy.backend.batch;
+
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
+import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
+import dev.quinnlane.cloudy.common.datatypes.HourlyForecast;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * Reduces a {@link WeatherSnapshot} to the fields covered by a set of {@link ProviderFeatures}.
+ * <p>
+ * Fields are mapped to features as follows; fields whose feature was not requested are set to
+ * null (or zero, for primitive fields):
+ * <ul>
+ *     <li>{@link ProviderFeatures#LIVE_TEMPERATURE}: the current and relative temperatures.</li>
+ *     <li>{@link ProviderFeatures#HIGH_TEMPERATURE} and {@link ProviderFeatures#LOW_TEMPERATURE}: the high and low temperatures.</li>
+ *     <li>{@link ProviderFeatures#PRESSURE}: the pressure.</li>
+ *     <li>{@link ProviderFeatures#HUMIDITY}: the humidity.</li>
+ *     <li>{@link ProviderFeatures#WIND_SPEED} or any wind direction feature: the wind.</li>
+ *     <li>{@link ProviderFeatures#SUNRISE} and {@link ProviderFeatures#SUNSET}: the sunrise and sunset.</li>
+ *     <li>{@link ProviderFeatures#PRECIPITATION} or {@link ProviderFeatures#PRECIPITATION_PROBABILITY}: the hourly
+ *     and daily forecasts, as that is the only place precipitation is reported.</li>
+ * </ul>
+ * Fields that no feature describes, such as the UV and air quality indices, the location, and
+ * the metadata, are always kept.
+ */
+public class SnapshotProjection {
+	/**
+	 * Projects a snapshot onto the given features.
+	 *
+	 * @param snapshot the snapshot to project; must not be null
+	 * @param features the features to keep, or null or empty to keep the snapshot as it is
+	 * @return the projected snapshot, which is the given snapshot itself if nothing had to be removed
+	 */
+	public static @NotNull WeatherSnapshot project(@NotNull WeatherSnapshot snapshot, @Nullable Set<ProviderFeatures> features) {
+		if (features == null || features.isEmpty()) return snapshot;
+
+		boolean wind = features.contains(ProviderFeatures.WIND_SPEED)
+				|| features.contains(ProviderFeatures.WIND_DIRECTION_DEGREES)
+				|| features.contains(ProviderFeatures.WIND_DIRECTION_CARDINALS_4)
+				|| features.contains(ProviderFeatures.WIND_DIRECTION_CARDINALS_8)
+				|| features.contains(ProviderFeatures.WIND_DIRECTION_CARDINALS_16)
+				|| features.contains(ProviderFeatures.WIND_DIRECTION_CARDINALS_32);
+		boolean forecasts = features.contains(ProviderFeatures.PRECIPITATION) || features.contains(ProviderFeatures.PRECIPITATION_PROBABILITY);
+		boolean live = features.contains(ProviderFeatures.LIVE_TEMPERATURE);
+
+		return new WeatherSnapshot(
+				snapshot.sequence(),
+				snapshot.providerClass(),
+				snapshot.location(),
+				snapshot.capturedAt(),
+				live ? snapshot.currentTemperature() : null,
+				live ? snapshot.relativeTemperature() : null,
+				features.contains(ProviderFeatures.HIGH_TEMPERATURE) ? snapshot.highTemperature() : null,
+				features.contains(ProviderFeatures.LOW_TEMPERATURE) ? snapshot.lowTemperature() : null,
+				features.contains(ProviderFeatures.HUMIDITY) ? snapshot.humidity() : 0,
+				wind ? snapshot.wind() : null,
+				features.contains(ProviderFeatures.PRESSURE) ? snapshot.pressure() : null,
+				snapshot.uvIndex(),
+				snapshot.airQualityIndex(),
+				features.contains(ProviderFeatures.SUNRISE) ? snapshot.sunrise() : null,
+				features.contains(ProviderFeatures.SUNSET) ? snapshot.sunset() : null,
+				forecasts ? snapshot.hourlyForecast() : new HourlyForecast[0],
+				forecasts ? snapshot.dailyForecast() : new DailyForecast[0]
+		);
+	}
+}
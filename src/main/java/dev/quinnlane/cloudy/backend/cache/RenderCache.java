@@ -0,0 +1,95 @@
+package dev.quinnlane.cloudy.backend.cache;
+
+import dev.quinnlane.cloudy.common.datatypes.RenderedSnapshot;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe cache of {@link RenderedSnapshot}s, holding the most recent render of every
+ * location in every locale.
+ * <p>
+ * A snapshot is rendered at most once per locale: concurrent requests for the same snapshot and
+ * locale wait for a single render and share its result. Once a newer snapshot of a location is
+ * rendered, the older render is replaced, so the cache never holds more than one entry per
+ * location and locale. Requests for a snapshot older than the cached one are rendered without
+ * being cached.
+ */
+public class RenderCache {
+	/**
+	 * Identifies the renders of a location in a locale.
+	 *
+	 * @param location the location, or null for snapshots without one
+	 * @param locale   the locale
+	 */
+	private record Key(EarthCoordinates location, UnitLocales locale) {}
+
+	private final ConcurrentHashMap<Key, RenderedSnapshot> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of renders performed, cached or not.
+	 */
+	private final LongAdder renders = new LongAdder();
+
+	/**
+	 * Retrieves the render of a snapshot in a locale, rendering it if it has not been yet.
+	 *
+	 * @param snapshot the snapshot to render; must not be null
+	 * @param locale   the locale to render the snapshot in; must not be null
+	 * @return the rendered snapshot
+	 */
+	public @NotNull RenderedSnapshot get(@NotNull WeatherSnapshot snapshot, @NotNull UnitLocales locale) {
+		Key key = new Key(snapshot.location(), locale);
+		RenderedSnapshot cached = this.entries.get(key);
+		if (cached != null && cached.sequence() == snapshot.sequence()) return cached;
+
+		RenderedSnapshot result = this.entries.compute(key, (ignored, existing) -> {
+			if (existing != null && existing.sequence() >= snapshot.sequence()) return existing;
+			this.renders.increment();
+			return RenderedSnapshot.render(snapshot, locale);
+		});
+		if (result.sequence() == snapshot.sequence()) return result;
+
+		this.renders.increment();
+		return RenderedSnapshot.render(snapshot, locale);
+	}
+
+	/**
+	 * Removes every render of a location, in every locale.
+	 *
+	 * @param location the location to invalidate, or null for snapshots without one
+	 */
+	public void invalidate(EarthCoordinates location) {
+		for (UnitLocales locale : UnitLocales.values()) this.entries.remove(new Key(location, locale));
+	}
+
+	/**
+	 * Removes every cached render.
+	 */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * Retrieves the number of cached renders.
+	 *
+	 * @return the number of cached renders
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Retrieves the number of renders performed since the cache was created, including renders of
+	 * older snapshots that were not cached.
+	 *
+	 * @return the number of renders
+	 */
+	public long getRenderCount() {
+		return this.renders.sum();
+	}
+}
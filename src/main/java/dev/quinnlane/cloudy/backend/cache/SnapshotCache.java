@@ -0,0 +1,126 @@
+package dev.quinnlane.cloudy.backend.cache;
+
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import dev.quinnlane.cloudy.common.geo.SpatialIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe cache of the most recent {@link WeatherSnapshot} for each location.
+ * <p>
+ * Entries expire after a time-to-live, after which they are treated as missing and
+ * removed on their next lookup. Snapshots without a location are never cached.
+ */
+public class SnapshotCache {
+	/**
+	 * Represents a cached snapshot and the time, in {@link System#nanoTime()} terms, it expires at.
+	 *
+	 * @param snapshot       the cached snapshot
+	 * @param expiresAtNanos the time the entry stops being valid
+	 */
+	private record Entry(WeatherSnapshot snapshot, long expiresAtNanos) {}
+
+	/**
+	 * The cached entries, keyed by the location of their snapshot.
+	 */
+	private final ConcurrentHashMap<EarthCoordinates, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * The time-to-live of every entry cached from now on, in nanoseconds.
+	 */
+	private volatile long timeToLiveNanos;
+
+	/**
+	 * Constructs a new, empty SnapshotCache.
+	 *
+	 * @param timeToLive how long a snapshot stays valid after being cached; must be positive
+	 */
+	public SnapshotCache(@NotNull Duration timeToLive) {
+		this.setTimeToLive(timeToLive);
+	}
+
+	/**
+	 * Changes the time-to-live of every snapshot cached from now on. Snapshots that are already
+	 * cached keep the time they expire at.
+	 *
+	 * @param timeToLive how long a snapshot stays valid after being cached; must be positive
+	 */
+	public void setTimeToLive(@NotNull Duration timeToLive) {
+		if (timeToLive.isNegative() || timeToLive.isZero()) throw new IllegalArgumentException("The time-to-live must be positive!");
+		this.timeToLiveNanos = timeToLive.toNanos();
+	}
+
+	/**
+	 * Retrieves the cached snapshot for a location, if there is one that has not expired yet.
+	 *
+	 * @param location the location to look up; must not be null
+	 * @return the cached snapshot, or null if there is none or it has expired
+	 */
+	public @Nullable WeatherSnapshot get(@NotNull EarthCoordinates location) {
+		Entry entry = this.entries.get(location);
+		if (entry == null) return null;
+
+		if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+			this.entries.remove(location, entry);
+			return null;
+		}
+		return entry.snapshot();
+	}
+
+	/**
+	 * Caches a snapshot under its location, replacing any previous snapshot for that location.
+	 *
+	 * @param snapshot the snapshot to cache; snapshots without a location are ignored
+	 */
+	public void put(@NotNull WeatherSnapshot snapshot) {
+		if (snapshot.location() == null) return;
+		this.entries.put(snapshot.location(), new Entry(snapshot, System.nanoTime() + this.timeToLiveNanos));
+	}
+
+	/**
+	 * Removes the cached snapshot for a location, if there is one.
+	 *
+	 * @param location the location to invalidate; must not be null
+	 */
+	public void invalidate(@NotNull EarthCoordinates location) {
+		this.entries.remove(location);
+	}
+
+	/**
+	 * Removes every cached snapshot.
+	 */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * Builds a spatial index of every cached snapshot that has not expired yet, to find the cached
+	 * locations nearest to a location that is not cached itself. The index is a point-in-time copy
+	 * and is not updated as snapshots are cached or expire.
+	 *
+	 * @return the index of the cached snapshots, by location
+	 */
+	public @NotNull SpatialIndex<WeatherSnapshot> index() {
+		long now = System.nanoTime();
+		List<WeatherSnapshot> snapshots = new ArrayList<>(this.entries.size());
+		for (Entry entry : this.entries.values()) {
+			if (now - entry.expiresAtNanos() < 0) snapshots.add(entry.snapshot());
+		}
+		return SpatialIndex.build(snapshots, WeatherSnapshot::location);
+	}
+
+	/**
+	 * Retrieves the number of cached entries, including any expired ones that have not been removed yet.
+	 *
+	 * @return the number of cached entries
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+}
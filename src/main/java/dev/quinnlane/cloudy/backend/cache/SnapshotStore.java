@@ -0,0 +1,61 @@
+package dev.quinnlane.cloudy.backend.cache;
+
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.common.codec.ForecastCodec;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Persists the latest published snapshot in a file, encoded with {@link ForecastCodec}, so that
+ * the next launch can show the last known weather before its provider has refreshed once.
+ * <p>
+ * The file is replaced atomically on every write, so a crash while writing leaves the previous
+ * snapshot in place rather than a truncated one.
+ */
+public final class SnapshotStore {
+	private SnapshotStore() {}
+
+	/**
+	 * Reads the persisted snapshot.
+	 *
+	 * @param path the path of the file; must not be null
+	 * @return the snapshot, or null if the file does not exist or does not hold a readable snapshot
+	 */
+	public static @Nullable WeatherSnapshot read(@NotNull Path path) {
+		try {
+			return ForecastCodec.readSnapshot(ByteBuffer.wrap(Files.readAllBytes(path)));
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+			Backend.logger.warn("Failed to read the persisted snapshot from %s! Starting without it.", path, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Persists a snapshot, replacing the previously persisted one.
+	 *
+	 * @param path     the path of the file; must not be null
+	 * @param snapshot the snapshot; must not be null
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(@NotNull Path path, @NotNull WeatherSnapshot snapshot) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(ForecastCodec.maxSnapshotSize(snapshot));
+		ForecastCodec.writeSnapshot(buffer, snapshot);
+
+		Path file = path.toAbsolutePath();
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(temporary, Arrays.copyOf(buffer.array(), buffer.position()));
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
@@ -0,0 +1,222 @@
+package dev.quinnlane.cloudy.backend.cache;
+
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
+import dev.quinnlane.cloudy.common.astronomy.SunTable;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A thread-safe cache of the {@link SunTable} of every location and year, used to fill in the
+ * sunrise and sunset of snapshots whose provider does not report them.
+ * <p>
+ * Sun times only depend on the location and date, so they are computed locally instead of being
+ * fetched, once per location and year. Batch queries may span any number of locations, so the
+ * cache holds at most a fixed number of tables; beyond that, the least recently used tables are
+ * evicted and computed again if they are needed later.
+ */
+public class SunTableCache {
+	/**
+	 * Identifies the table of a location and year.
+	 *
+	 * @param location the location of the table
+	 * @param year     the year of the table
+	 */
+	private record Key(EarthCoordinates location, int year) {}
+
+	/**
+	 * The computed tables, from the least to the most recently used. Lookups reorder the map, so
+	 * every access holds its lock; tables are computed outside of it.
+	 */
+	private final LinkedHashMap<Key, SunTable> tables;
+
+	/**
+	 * The largest number of tables held at once.
+	 */
+	private final int maxSize;
+
+	/**
+	 * Constructs an empty cache holding at most {@link Settings#CACHE__MAX_SUN_TABLES} tables.
+	 */
+	public SunTableCache() {
+		this(RuntimeConfiguration.get(Settings.CACHE__MAX_SUN_TABLES));
+	}
+
+	/**
+	 * Constructs an empty cache.
+	 *
+	 * @param maxSize the largest number of tables held at once; must be positive
+	 */
+	public SunTableCache(int maxSize) {
+		if (maxSize <= 0) throw new IllegalArgumentException("The maximum number of sun tables must be positive!");
+		this.maxSize = maxSize;
+		this.tables = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, SunTable> eldest) {
+				return this.size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Retrieves the table of a location and year, computing it if it is not cached. Concurrent
+	 * misses of the same table may both compute it; the first one to finish is kept.
+	 *
+	 * @param location the location; must not be null
+	 * @param year     the year
+	 * @return the table
+	 */
+	public @NotNull SunTable get(@NotNull EarthCoordinates location, int year) {
+		Key key = new Key(location, year);
+		synchronized (this.tables) {
+			SunTable cached = this.tables.get(key);
+			if (cached != null) return cached;
+		}
+
+		SunTable computed = SunTable.compute(location, year);
+		synchronized (this.tables) {
+			SunTable existing = this.tables.putIfAbsent(key, computed);
+			return existing != null ? existing : computed;
+		}
+	}
+
+	/**
+	 * Computes the tables of many locations for a year in parallel, skipping those already computed.
+	 *
+	 * @param locations the locations; must not be null
+	 * @param year      the year
+	 */
+	public void precompute(@NotNull Collection<EarthCoordinates> locations, int year) {
+		List<EarthCoordinates> missing = new ArrayList<>();
+		synchronized (this.tables) {
+			for (EarthCoordinates location : locations) {
+				if (location != null && !this.tables.containsKey(new Key(location, year))) missing.add(location);
+			}
+		}
+
+		List<SunTable> computed = SunTable.computeAll(missing, year);
+		synchronized (this.tables) {
+			for (SunTable table : computed) this.tables.putIfAbsent(new Key(table.getLocation(), year), table);
+		}
+	}
+
+	/**
+	 * Fills in the sunrise and sunset of a snapshot and of its daily forecasts, wherever the
+	 * provider does not support them or left them out. The first daily forecast is taken to be
+	 * the date of the snapshot, as it is lived at its location.
+	 *
+	 * @param snapshot the snapshot to complete; must not be null
+	 * @param features the features of the provider that created the snapshot; must not be null
+	 * @return the completed snapshot, which is the given snapshot itself if nothing had to be filled in
+	 */
+	public @NotNull WeatherSnapshot complete(@NotNull WeatherSnapshot snapshot, ProviderFeatures @NotNull [] features) {
+		EarthCoordinates location = snapshot.location();
+		if (location == null || snapshot.capturedAt() == null) return snapshot;
+
+		List<ProviderFeatures> supported = Arrays.asList(features);
+		boolean fillSunrise = !supported.contains(ProviderFeatures.SUNRISE);
+		boolean fillSunset = !supported.contains(ProviderFeatures.SUNSET);
+
+		// Sun times belong to the solar day, which starts four minutes later per degree west
+		long solarSecond = snapshot.capturedAt().getEpochSecond() + Math.round(location.getLongitudeAsDouble() * 240);
+		LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(solarSecond, 86_400));
+
+		Instant sunrise = snapshot.sunrise() == null || fillSunrise ? this.getSunrise(location, date) : snapshot.sunrise();
+		Instant sunset = snapshot.sunset() == null || fillSunset ? this.getSunset(location, date) : snapshot.sunset();
+		boolean changed = sunrise != snapshot.sunrise() || sunset != snapshot.sunset();
+
+		DailyForecast[] dailyForecast = snapshot.dailyForecast();
+		if (dailyForecast != null) {
+			for (int i = 0; i < dailyForecast.length; i++) {
+				DailyForecast day = dailyForecast[i];
+				if (day == null) continue;
+
+				LocalDate forecastDate = date.plusDays(i);
+				Instant daySunrise = day.sunrise() == null || fillSunrise ? this.getSunrise(location, forecastDate) : day.sunrise();
+				Instant daySunset = day.sunset() == null || fillSunset ? this.getSunset(location, forecastDate) : day.sunset();
+				if (daySunrise == day.sunrise() && daySunset == day.sunset()) continue;
+
+				if (dailyForecast == snapshot.dailyForecast()) dailyForecast = dailyForecast.clone();
+				dailyForecast[i] = new DailyForecast(day.highTemperature(), day.lowTemperature(), day.precipitation(), day.wind(), day.cloudCover(), day.humidity(), day.uvIndex(), daySunrise, daySunset);
+				changed = true;
+			}
+		}
+
+		if (!changed) return snapshot;
+		return new WeatherSnapshot(
+				snapshot.sequence(),
+				snapshot.providerClass(),
+				location,
+				snapshot.capturedAt(),
+				snapshot.currentTemperature(),
+				snapshot.relativeTemperature(),
+				snapshot.highTemperature(),
+				snapshot.lowTemperature(),
+				snapshot.humidity(),
+				snapshot.wind(),
+				snapshot.pressure(),
+				snapshot.uvIndex(),
+				snapshot.airQualityIndex(),
+				sunrise,
+				sunset,
+				snapshot.hourlyForecast(),
+				dailyForecast
+		);
+	}
+
+	/**
+	 * Removes every table of a location.
+	 *
+	 * @param location the location to invalidate; must not be null
+	 */
+	public void invalidate(@NotNull EarthCoordinates location) {
+		synchronized (this.tables) {
+			this.tables.keySet().removeIf(key -> key.location().equals(location));
+		}
+	}
+
+	/**
+	 * Removes every table.
+	 */
+	public void clear() {
+		synchronized (this.tables) {
+			this.tables.clear();
+		}
+	}
+
+	/**
+	 * @return the number of cached tables
+	 */
+	public int size() {
+		synchronized (this.tables) {
+			return this.tables.size();
+		}
+	}
+
+	/**
+	 * @return the largest number of tables held at once
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	private Instant getSunrise(@NotNull EarthCoordinates location, @NotNull LocalDate date) {
+		return this.get(location, date.getYear()).getSunrise(date);
+	}
+
+	private Instant getSunset(@NotNull EarthCoordinates location, @NotNull LocalDate date) {
+		return this.get(location, date.getYear()).getSunset(date);
+	}
+}
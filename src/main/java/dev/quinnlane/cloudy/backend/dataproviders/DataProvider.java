@@ -5,6 +5,8 @@ import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
 import dev.quinnlane.cloudy.common.datatypes.HourlyForecast;
 import dev.quinnlane.cloudy.common.datatypes.OrderedPair;
 import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
 import dev.quinnlane.cloudy.common.unit.units.CompassRose;
 import dev.quinnlane.cloudy.common.unit.units.Pressure;
 import dev.quinnlane.cloudy.common.unit.units.Temperature;
@@ -41,6 +43,40 @@ public interface DataProvider {
 		return true;
 	}
 
+	/**
+	 * Captures the data currently held by the provider as an immutable {@link WeatherSnapshot}.
+	 * <p>
+	 * This should be called after {@link #refreshData()} has completed, as the snapshot only
+	 * reflects whatever the provider reported at the time of capture.
+	 *
+	 * @param sequence the sequence number the backend assigns to the snapshot
+	 * @return a new {@link WeatherSnapshot} containing the provider's current data
+	 */
+	default @NotNull WeatherSnapshot createSnapshot(long sequence) {
+		HourlyForecast[] hourlyForecast = this.getHourlyForecast();
+		DailyForecast[] dailyForecast = this.getDailyForecast();
+
+		return new WeatherSnapshot(
+				sequence,
+				this.getClass().getSimpleName(),
+				this.getLocation(),
+				Instant.now(),
+				this.getCurrentTemperature(),
+				this.getRelativeTemperature(),
+				this.getHighTemperature(),
+				this.getLowTemperature(),
+				this.getHumidity(),
+				this.getWind(),
+				this.getPressure(),
+				this.getUVIndex(),
+				this.getAirQualityIndex(),
+				this.getSunrise(),
+				this.getSunset(),
+				hourlyForecast == null ? new HourlyForecast[0] : hourlyForecast.clone(),
+				dailyForecast == null ? new DailyForecast[0] : dailyForecast.clone()
+		);
+	}
+
 	/**
 	 * Retrieves detailed information about the data provider, including metadata
 	 * such as type, class name, friendly name, owner, URL, and the last update timestamp.
@@ -80,6 +116,21 @@ public interface DataProvider {
 	 */
 	void setLastUpdate(Instant lastUpdate);
 
+	/**
+	 * Retrieves the location the data provider reports data for.
+	 *
+	 * @return the {@link EarthCoordinates} of the location, or null if no location has been set
+	 */
+	EarthCoordinates getLocation();
+
+	/**
+	 * Sets the location the data provider should report data for.
+	 * The new location takes effect on the next call to {@link #refreshData()}.
+	 *
+	 * @param location the {@link EarthCoordinates} of the location
+	 */
+	void setLocation(EarthCoordinates location);
+
 	/**
 	 * Pulls the latest data from the provider.
 	 * <p>
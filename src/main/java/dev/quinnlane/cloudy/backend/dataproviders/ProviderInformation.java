@@ -1,10 +1,10 @@
 package dev.quinnlane.cloudy.backend.dataproviders;
 
+import dev.quinnlane.cloudy.common.format.Formatting;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 
 /**
@@ -32,6 +32,8 @@ public record ProviderInformation(ProviderType type, String className, String fr
 	@Override
 	public @NotNull String toString() {
 		if (this.updatedOn == null) return String.format("%s - Data provided by %s", this.friendlyName, this.owner);
-		return String.format("%s - Data provided by %s (Updated on %s)", this.friendlyName, this.owner, new SimpleDateFormat("yyyy-MM-dd").format(this.updatedOn));
+		StringBuilder builder = Formatting.borrowBuilder()
+				.append(this.friendlyName).append(" - Data provided by ").append(this.owner).append(" (Updated on ");
+		return Formatting.release(Formatting.appendIsoDate(builder, this.updatedOn.toLocalDate()).append(')'));
 	}
 }
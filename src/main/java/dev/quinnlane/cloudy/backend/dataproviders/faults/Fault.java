@@ -0,0 +1,15 @@
+package dev.quinnlane.cloudy.backend.dataproviders.faults;
+
+/**
+ * Represents the outcome injected into a single refresh of a simulated provider.
+ * <ul>
+ *     <li>NONE - The refresh succeeds with complete data.</li>
+ *     <li>ERROR - The refresh fails with an I/O error, as if the server returned an error response.</li>
+ *     <li>TIMEOUT - The refresh hangs for the timeout of its {@link FaultProfile} and then fails with a socket timeout.</li>
+ *     <li>PARTIAL - The refresh succeeds, but some fields and forecast entries are missing.</li>
+ *     <li>RATE_LIMIT - The refresh is refused without data, as if the server rate limited the request.</li>
+ * </ul>
+ */
+public enum Fault {
+	NONE, ERROR, TIMEOUT, PARTIAL, RATE_LIMIT
+}
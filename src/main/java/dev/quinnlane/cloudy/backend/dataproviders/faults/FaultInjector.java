@@ -0,0 +1,128 @@
+package dev.quinnlane.cloudy.backend.dataproviders.faults;
+
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.random.RandomGenerator;
+
+/**
+ * A thread-safe registry deciding the latency and {@link Fault} of every refresh of a simulated
+ * provider, by location.
+ * <p>
+ * Every location follows the default {@link FaultProfile} unless it was given its own. On top of
+ * the profiles, a script of faults can be queued for a location, which its next refreshes take in
+ * order before falling back to drawing from their profile again; for example, scripting
+ * {@link Fault#TIMEOUT} twice and then {@link Fault#NONE} makes the next two refreshes time out and
+ * the third one succeed, whatever the profile.
+ */
+public class FaultInjector {
+	/**
+	 * The decision taken for a single refresh.
+	 *
+	 * @param fault        the fault to inject
+	 * @param latencyNanos how long the refresh takes before its outcome, in nanoseconds
+	 * @param timeout      how long the refresh hangs if the fault is {@link Fault#TIMEOUT}
+	 */
+	public record Injection(@NotNull Fault fault, long latencyNanos, @NotNull Duration timeout) {}
+
+	private volatile FaultProfile defaultProfile;
+
+	/**
+	 * The profiles of the locations that do not follow the default profile.
+	 */
+	private final ConcurrentHashMap<EarthCoordinates, FaultProfile> profiles = new ConcurrentHashMap<>();
+
+	/**
+	 * The scripted faults of every location, in the order they will be injected.
+	 */
+	private final ConcurrentHashMap<EarthCoordinates, Queue<Fault>> scripts = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a new FaultInjector.
+	 *
+	 * @param defaultProfile the profile of every location that is not given its own; must not be null
+	 */
+	public FaultInjector(@NotNull FaultProfile defaultProfile) {
+		this.defaultProfile = defaultProfile;
+	}
+
+	/**
+	 * @return the profile of every location that is not given its own
+	 */
+	public @NotNull FaultProfile getDefaultProfile() {
+		return this.defaultProfile;
+	}
+
+	/**
+	 * Sets the profile of every location that is not given its own.
+	 *
+	 * @param profile the profile; must not be null
+	 */
+	public void setDefaultProfile(@NotNull FaultProfile profile) {
+		this.defaultProfile = profile;
+	}
+
+	/**
+	 * Retrieves the profile a location follows.
+	 *
+	 * @param location the location, or null for a provider without a location
+	 * @return the profile of the location, or the default profile if it has none
+	 */
+	public @NotNull FaultProfile getProfile(@Nullable EarthCoordinates location) {
+		FaultProfile profile = location == null ? null : this.profiles.get(location);
+		return profile == null ? this.defaultProfile : profile;
+	}
+
+	/**
+	 * Gives a location its own profile, or makes it follow the default profile again.
+	 *
+	 * @param location the location; must not be null
+	 * @param profile  the profile, or null to follow the default profile
+	 */
+	public void setProfile(@NotNull EarthCoordinates location, @Nullable FaultProfile profile) {
+		if (profile == null) this.profiles.remove(location);
+		else this.profiles.put(location, profile);
+	}
+
+	/**
+	 * Queues faults to be injected into the next refreshes of a location, after any already queued.
+	 *
+	 * @param location the location; must not be null
+	 * @param faults   the faults, in order; must not be null
+	 */
+	public void script(@NotNull EarthCoordinates location, Fault @NotNull ... faults) {
+		this.scripts.computeIfAbsent(location, ignored -> new ConcurrentLinkedQueue<>()).addAll(List.of(faults));
+	}
+
+	/**
+	 * Removes every location profile and script, and makes the default profile inject nothing.
+	 */
+	public void clear() {
+		this.defaultProfile = FaultProfile.NONE;
+		this.profiles.clear();
+		this.scripts.clear();
+	}
+
+	/**
+	 * Decides the latency and fault of the next refresh of a location, taking the next scripted
+	 * fault if there is one.
+	 *
+	 * @param location the location, or null for a provider without a location
+	 * @param random   the source of randomness; must not be null
+	 * @return the decision
+	 */
+	public @NotNull Injection next(@Nullable EarthCoordinates location, @NotNull RandomGenerator random) {
+		FaultProfile profile = this.getProfile(location);
+		Queue<Fault> script = location == null ? null : this.scripts.get(location);
+		Fault scripted = script == null ? null : script.poll();
+
+		Fault fault = scripted != null ? scripted : profile.draw(random);
+		return new Injection(fault, profile.latency().sample(random), profile.timeout());
+	}
+}
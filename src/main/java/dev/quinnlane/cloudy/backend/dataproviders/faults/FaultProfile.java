@@ -0,0 +1,89 @@
+package dev.quinnlane.cloudy.backend.dataproviders.faults;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Describes how a simulated provider misbehaves: how long it takes to respond, and how often each
+ * {@link Fault} is injected into a refresh. Every refresh draws one fault, with the probabilities
+ * below, or {@link Fault#NONE} otherwise.
+ *
+ * @param latency       the distribution of the time every refresh takes before its outcome
+ * @param errorRate     the probability of {@link Fault#ERROR}
+ * @param timeoutRate   the probability of {@link Fault#TIMEOUT}
+ * @param timeout       how long a refresh hangs before timing out
+ * @param partialRate   the probability of {@link Fault#PARTIAL}
+ * @param rateLimitRate the probability of {@link Fault#RATE_LIMIT}
+ */
+public record FaultProfile(@NotNull LatencyDistribution latency, double errorRate, double timeoutRate, @NotNull Duration timeout, double partialRate, double rateLimitRate) {
+	/**
+	 * A profile that responds immediately and never fails.
+	 */
+	public static final FaultProfile NONE = new FaultProfile(LatencyDistribution.NONE, 0, 0, Duration.ofSeconds(30), 0, 0);
+
+	public FaultProfile {
+		if (!(errorRate >= 0 && timeoutRate >= 0 && partialRate >= 0 && rateLimitRate >= 0)) throw new IllegalArgumentException("The fault rates cannot be negative!");
+		if (errorRate + timeoutRate + partialRate + rateLimitRate > 1) throw new IllegalArgumentException("The fault rates cannot add up to more than 1!");
+		if (timeout.isNegative()) throw new IllegalArgumentException("The timeout cannot be negative!");
+	}
+
+	/**
+	 * @param latency the new latency distribution; must not be null
+	 * @return a copy of this profile with another latency distribution
+	 */
+	public @NotNull FaultProfile withLatency(@NotNull LatencyDistribution latency) {
+		return new FaultProfile(latency, this.errorRate, this.timeoutRate, this.timeout, this.partialRate, this.rateLimitRate);
+	}
+
+	/**
+	 * @param errorRate the new probability of {@link Fault#ERROR}
+	 * @return a copy of this profile with another error rate
+	 */
+	public @NotNull FaultProfile withErrorRate(double errorRate) {
+		return new FaultProfile(this.latency, errorRate, this.timeoutRate, this.timeout, this.partialRate, this.rateLimitRate);
+	}
+
+	/**
+	 * @param timeoutRate the new probability of {@link Fault#TIMEOUT}
+	 * @param timeout     how long a refresh hangs before timing out; must not be negative
+	 * @return a copy of this profile with another timeout rate and timeout
+	 */
+	public @NotNull FaultProfile withTimeouts(double timeoutRate, @NotNull Duration timeout) {
+		return new FaultProfile(this.latency, this.errorRate, timeoutRate, timeout, this.partialRate, this.rateLimitRate);
+	}
+
+	/**
+	 * @param partialRate the new probability of {@link Fault#PARTIAL}
+	 * @return a copy of this profile with another partial data rate
+	 */
+	public @NotNull FaultProfile withPartialRate(double partialRate) {
+		return new FaultProfile(this.latency, this.errorRate, this.timeoutRate, this.timeout, partialRate, this.rateLimitRate);
+	}
+
+	/**
+	 * @param rateLimitRate the new probability of {@link Fault#RATE_LIMIT}
+	 * @return a copy of this profile with another rate limit rate
+	 */
+	public @NotNull FaultProfile withRateLimitRate(double rateLimitRate) {
+		return new FaultProfile(this.latency, this.errorRate, this.timeoutRate, this.timeout, this.partialRate, rateLimitRate);
+	}
+
+	/**
+	 * Draws the fault of a refresh.
+	 *
+	 * @param random the source of randomness; must not be null
+	 * @return the fault
+	 */
+	public @NotNull Fault draw(@NotNull RandomGenerator random) {
+		if (this.errorRate + this.timeoutRate + this.partialRate + this.rateLimitRate == 0) return Fault.NONE;
+
+		double roll = random.nextDouble();
+		if ((roll -= this.errorRate) < 0) return Fault.ERROR;
+		if ((roll -= this.timeoutRate) < 0) return Fault.TIMEOUT;
+		if ((roll -= this.partialRate) < 0) return Fault.PARTIAL;
+		if (roll - this.rateLimitRate < 0) return Fault.RATE_LIMIT;
+		return Fault.NONE;
+	}
+}
@@ -0,0 +1,142 @@
+package dev.quinnlane.cloudy.backend.dataproviders.faults;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * A distribution of the time a simulated provider takes to respond.
+ */
+public sealed interface LatencyDistribution {
+	/**
+	 * A distribution that always responds immediately.
+	 */
+	LatencyDistribution NONE = new Fixed(Duration.ZERO);
+
+	/**
+	 * Draws a latency from this distribution.
+	 *
+	 * @param random the source of randomness; must not be null
+	 * @return the latency, in nanoseconds
+	 */
+	long sample(@NotNull RandomGenerator random);
+
+	/**
+	 * Creates a distribution that always takes the same time.
+	 *
+	 * @param latency the latency; must not be negative
+	 * @return the distribution
+	 */
+	static @NotNull LatencyDistribution fixed(@NotNull Duration latency) {
+		return new Fixed(latency);
+	}
+
+	/**
+	 * Creates a distribution that takes any time between two bounds with equal probability.
+	 *
+	 * @param minimum the shortest latency; must not be negative
+	 * @param maximum the longest latency; must not be shorter than the minimum
+	 * @return the distribution
+	 */
+	static @NotNull LatencyDistribution uniform(@NotNull Duration minimum, @NotNull Duration maximum) {
+		return new Uniform(minimum, maximum);
+	}
+
+	/**
+	 * Creates a log-normal distribution, whose long right tail resembles the latency of real network requests.
+	 *
+	 * @param median the median latency; must be positive
+	 * @param sigma  the standard deviation of the logarithm of the latency; must not be negative
+	 * @return the distribution
+	 */
+	static @NotNull LatencyDistribution logNormal(@NotNull Duration median, double sigma) {
+		return new LogNormal(median, sigma);
+	}
+
+	/**
+	 * Creates a distribution that usually follows another one but occasionally spikes.
+	 *
+	 * @param base        the usual distribution; must not be null
+	 * @param probability the probability of a spike, from 0 to 1
+	 * @param spike       the latency added by a spike; must not be negative
+	 * @return the distribution
+	 */
+	static @NotNull LatencyDistribution withSpikes(@NotNull LatencyDistribution base, double probability, @NotNull Duration spike) {
+		return new Spiky(base, probability, spike);
+	}
+
+	/**
+	 * Always takes the same time.
+	 *
+	 * @param latency the latency
+	 */
+	record Fixed(@NotNull Duration latency) implements LatencyDistribution {
+		public Fixed {
+			if (latency.isNegative()) throw new IllegalArgumentException("The latency cannot be negative!");
+		}
+
+		@Override
+		public long sample(@NotNull RandomGenerator random) {
+			return this.latency.toNanos();
+		}
+	}
+
+	/**
+	 * Takes any time between two bounds with equal probability.
+	 *
+	 * @param minimum the shortest latency
+	 * @param maximum the longest latency
+	 */
+	record Uniform(@NotNull Duration minimum, @NotNull Duration maximum) implements LatencyDistribution {
+		public Uniform {
+			if (minimum.isNegative()) throw new IllegalArgumentException("The latency cannot be negative!");
+			if (maximum.compareTo(minimum) < 0) throw new IllegalArgumentException("The maximum latency cannot be shorter than the minimum!");
+		}
+
+		@Override
+		public long sample(@NotNull RandomGenerator random) {
+			long minimum = this.minimum.toNanos();
+			long maximum = this.maximum.toNanos();
+			return minimum == maximum ? minimum : random.nextLong(minimum, maximum + 1);
+		}
+	}
+
+	/**
+	 * Takes a log-normally distributed time.
+	 *
+	 * @param median the median latency
+	 * @param sigma  the standard deviation of the logarithm of the latency
+	 */
+	record LogNormal(@NotNull Duration median, double sigma) implements LatencyDistribution {
+		public LogNormal {
+			if (median.isNegative() || median.isZero()) throw new IllegalArgumentException("The median latency must be positive!");
+			if (!(sigma >= 0)) throw new IllegalArgumentException("The sigma cannot be negative!");
+		}
+
+		@Override
+		public long sample(@NotNull RandomGenerator random) {
+			return (long) (this.median.toNanos() * Math.exp(this.sigma * random.nextGaussian()));
+		}
+	}
+
+	/**
+	 * Usually follows another distribution but occasionally spikes.
+	 *
+	 * @param base        the usual distribution
+	 * @param probability the probability of a spike
+	 * @param spike       the latency added by a spike
+	 */
+	record Spiky(@NotNull LatencyDistribution base, double probability, @NotNull Duration spike) implements LatencyDistribution {
+		public Spiky {
+			if (!(probability >= 0 && probability <= 1)) throw new IllegalArgumentException("The probability must be between 0 and 1!");
+			if (spike.isNegative()) throw new IllegalArgumentException("The spike cannot be negative!");
+		}
+
+		@Override
+		public long sample(@NotNull RandomGenerator random) {
+			long latency = this.base.sample(random);
+			return random.nextDouble() < this.probability ? latency + this.spike.toNanos() : latency;
+		}
+	}
+}
@@ -5,22 +5,41 @@ import dev.quinnlane.cloudy.backend.dataproviders.DataProvider;
 import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
 import dev.quinnlane.cloudy.backend.dataproviders.ProviderInformation;
 import dev.quinnlane.cloudy.backend.dataproviders.ProviderType;
-import dev.quinnlane.cloudy.common.configuration.MockConfiguration;
+import dev.quinnlane.cloudy.backend.dataproviders.faults.Fault;
+import dev.quinnlane.cloudy.backend.dataproviders.faults.FaultInjector;
+import dev.quinnlane.cloudy.backend.dataproviders.faults.FaultProfile;
+import dev.quinnlane.cloudy.backend.dataproviders.faults.LatencyDistribution;
+import dev.quinnlane.cloudy.common.configuration.Configuration;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Setting;
+import dev.quinnlane.cloudy.common.configuration.Settings;
 import dev.quinnlane.cloudy.common.datagen.DataPresets;
 import dev.quinnlane.cloudy.common.datagen.MockDataGenerator;
 import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
 import dev.quinnlane.cloudy.common.datatypes.HourlyForecast;
 import dev.quinnlane.cloudy.common.datatypes.OrderedPair;
 import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
 import dev.quinnlane.cloudy.common.unit.UnitLocales;
 import dev.quinnlane.cloudy.common.unit.units.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class MockDataProvider implements DataProvider {
 	/**
@@ -72,14 +91,70 @@ public class MockDataProvider implements DataProvider {
 	public static final OrderedPair<Long, TemporalUnit> RATE_LIMIT = new OrderedPair<>(-1L, ChronoUnit.SECONDS);
 
 	/**
-	 * A constant that represents the timestamp of the last update.
+	 * The settings the default fault profile is made of.
+	 */
+	private static final List<Setting<?>> FAULT_SETTINGS = List.of(
+			Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY,
+			Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY_JITTER,
+			Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__ERROR_RATE,
+			Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT_RATE,
+			Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT,
+			Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PARTIAL_RATE,
+			Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__RATE_LIMIT_RATE
+	);
+
+	/**
+	 * Decides the latency and injected fault of every refresh of every instance, initialized from
+	 * the latency and fault rates of the {@link RuntimeConfiguration}.
+	 */
+	private static final FaultInjector FAULTS = new FaultInjector(faultProfile(RuntimeConfiguration.get()));
+
+	static {
+		// Follow changes of the fault settings, keeping any latency set by hand unless the latency settings changed
+		RuntimeConfiguration.addListener((previous, configuration) -> {
+			if (FAULT_SETTINGS.stream().noneMatch(setting -> previous.differs(setting, configuration))) return;
+
+			FaultProfile profile = faultProfile(configuration);
+			if (!previous.differs(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY, configuration) && !previous.differs(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY_JITTER, configuration)) {
+				profile = profile.withLatency(FAULTS.getDefaultProfile().latency());
+			}
+			FAULTS.setDefaultProfile(profile);
+		});
+	}
+
+	/**
+	 * The seed every new instance derives the seed of its generator from, or null to seed
+	 * generators randomly.
+	 */
+	private static volatile Long seed;
+
+	/**
+	 * Represents the timestamp of the last update of this provider instance.
 	 * It is initialized to the epoch constant, which represents
 	 * the beginning of the Unix epoch time (1970-01-01T00:00:00Z).
 	 * This variable is updated every time {@link #refreshData()}
 	 * is successfully called and is used to determine if the provider
-	 * can be polled for new data.
+	 * can be polled for new data. It is tracked per instance, as every
+	 * instance serves its own location.
+	 */
+	private volatile Instant lastUpdate = Instant.EPOCH;
+
+	/**
+	 * Represents the location this provider instance reports data for,
+	 * or null if no location has been set.
 	 */
-	public static Instant LAST_UPDATE = Instant.EPOCH;
+	private volatile EarthCoordinates location;
+
+	/**
+	 * Generates the data of this provider instance. Created on the first refresh after the
+	 * location is set, so that a seeded instance always produces the same data for a location.
+	 */
+	private MockDataGenerator generator;
+
+	/**
+	 * The source of randomness of the faults injected into this provider instance, created along with {@link #generator}.
+	 */
+	private RandomGenerator faultRandom;
 
 	/**
 	 * Represents the current temperature reading of a specific environment or system.
@@ -229,7 +304,7 @@ public class MockDataProvider implements DataProvider {
 	 */
 	@Override
 	public Instant getLastUpdate() {
-		return LAST_UPDATE;
+		return this.lastUpdate;
 	}
 
 	/**
@@ -239,7 +314,29 @@ public class MockDataProvider implements DataProvider {
 	 */
 	@Override
 	public void setLastUpdate(Instant lastUpdate) {
-		LAST_UPDATE = lastUpdate;
+		this.lastUpdate = lastUpdate;
+	}
+
+	/**
+	 * Retrieves the location this provider reports data for.
+	 *
+	 * @return the {@link EarthCoordinates} of the location, or null if no location has been set
+	 */
+	@Override
+	public EarthCoordinates getLocation() {
+		return this.location;
+	}
+
+	/**
+	 * Sets the location this provider should report data for. The new location takes effect
+	 * on the next call to {@link #refreshData()}.
+	 *
+	 * @param location the {@link EarthCoordinates} of the location
+	 */
+	@Override
+	public void setLocation(EarthCoordinates location) {
+		this.location = location;
+		this.generator = null;
 	}
 
 	/**
@@ -255,64 +352,89 @@ public class MockDataProvider implements DataProvider {
 	 */
 	@Override
 	public void refreshData() {
+		if (this.generator == null) this.createGenerators();
+		FaultInjector.Injection injection = FAULTS.next(this.location, this.faultRandom);
+
+		// A rate limited request is refused before it counts as an update
+		if (injection.fault() == Fault.RATE_LIMIT) {
+			sleep(injection.latencyNanos());
+			Backend.logger.error("Failed to refresh %s! The request was rate limited (injected).", getClass().getSimpleName());
+			return;
+		}
+
 		// Check if data can be refreshed
 		if (!DataProvider.canRefreshData(this)) return;
 
+		// Simulate the time spent waiting for a response
+		sleep(injection.latencyNanos());
+		if (injection.fault() == Fault.ERROR) {
+			throw new UncheckedIOException(new IOException("Injected failure while refreshing data for " + this.location + "!"));
+		}
+		if (injection.fault() == Fault.TIMEOUT) {
+			sleep(injection.timeout().toNanos());
+			throw new UncheckedIOException(new SocketTimeoutException("Injected timeout after " + injection.timeout().toMillis() + " ms while refreshing data for " + this.location + "!"));
+		}
+
+		// Read every setting from the same configuration, even if it is reloaded during the refresh
+		Configuration config = RuntimeConfiguration.get();
+		UnitLocales locale = config.get(Settings.CUSTOMIZATION__LOCALE);
+		CompassRose.Specificity specificity = config.get(Settings.CUSTOMIZATION__MAX_WIND_DIRECTION_SPECIFICITY);
+
 		// Temperature
-		this.currentTemperature = new Temperature((Double) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH), MockConfiguration.CUSTOMIZATION__LOCALE);
-		this.relativeTemperature = new Temperature(this.currentTemperature.getValue(UnitLocales.SI) - 2d, MockConfiguration.CUSTOMIZATION__LOCALE);
-		this.highTemperature = new Temperature(this.currentTemperature.getValue(UnitLocales.SI) + 7d, MockConfiguration.CUSTOMIZATION__LOCALE);
-		this.lowTemperature = new Temperature((Double) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__COLDNESS), MockConfiguration.CUSTOMIZATION__LOCALE);
+		this.currentTemperature = new Temperature(this.generator.nextDouble(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH)), locale);
+		this.relativeTemperature = new Temperature(this.currentTemperature.getAsDouble(UnitLocales.SI) - 2d, locale);
+		this.highTemperature = new Temperature(this.currentTemperature.getAsDouble(UnitLocales.SI) + 7d, locale);
+		this.lowTemperature = new Temperature(this.generator.nextDouble(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__COLDNESS)), locale);
 
 		// Humidity
-		this.humidity = (int) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY);
+		this.humidity = this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY));
 
 		// Wind
-		double windDirection = (int) MockDataGenerator.generateData(DataPresets.WIND_DIRECTION);
-		this.wind = new OrderedTriplet<>(windDirection, CompassRose.fromBearing(windDirection, MockConfiguration.CUSTOMIZATION__MAX_WIND_DIRECTION_SPECIFICITY), new WindSpeed((Integer) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED), MockConfiguration.CUSTOMIZATION__LOCALE));
+		double windDirection = this.generator.nextInt(DataPresets.WIND_DIRECTION);
+		this.wind = new OrderedTriplet<>(windDirection, CompassRose.fromBearing(windDirection, specificity), new WindSpeed(this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED)), locale));
 
 		// Pressure
-		this.pressure = new Pressure((Double) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRESSURE), MockConfiguration.CUSTOMIZATION__LOCALE);
+		this.pressure = new Pressure(this.generator.nextDouble(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRESSURE)), locale);
 
 		// UV Index
-		this.uvIndex = (int) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__UV_INDEX);
+		this.uvIndex = this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__UV_INDEX));
 
 		// Air Quality Index
-		this.airQualityIndex = (int) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__AIR_QUALITY);
+		this.airQualityIndex = this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__AIR_QUALITY));
 
 		this.sunrise = Instant.now()
 				.minus(Calendar.HOUR_OF_DAY, ChronoUnit.HOURS)
 				.minus(Calendar.MINUTE, ChronoUnit.MINUTES)
 				.minus(Calendar.SECOND, ChronoUnit.SECONDS)
-				.plus((Integer) MockDataGenerator.generateData(DataPresets.SUNRISE_HOUR), ChronoUnit.HOURS)
-				.plus((Integer) MockDataGenerator.generateData(DataPresets.TIME_MINUTE), ChronoUnit.MINUTES);
+				.plus(this.generator.nextInt(DataPresets.SUNRISE_HOUR), ChronoUnit.HOURS)
+				.plus(this.generator.nextInt(DataPresets.TIME_MINUTE), ChronoUnit.MINUTES);
 
 		this.sunset = Instant.now()
 				.minus(Calendar.HOUR_OF_DAY, ChronoUnit.HOURS)
 				.minus(Calendar.MINUTE, ChronoUnit.MINUTES)
 				.minus(Calendar.SECOND, ChronoUnit.SECONDS)
-				.plus((Integer) MockDataGenerator.generateData(DataPresets.SUNSET_HOUR), ChronoUnit.HOURS)
-				.plus((Integer) MockDataGenerator.generateData(DataPresets.TIME_MINUTE), ChronoUnit.MINUTES);
+				.plus(this.generator.nextInt(DataPresets.SUNSET_HOUR), ChronoUnit.HOURS)
+				.plus(this.generator.nextInt(DataPresets.TIME_MINUTE), ChronoUnit.MINUTES);
 
 		// Hourly Forecast
 		ArrayList<HourlyForecast> hourlyForecastList = new ArrayList<>();
-		for (int i = 0; i < MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HOURLY_FORECAST_COUNT; i++) {
-			OrderedPair<Integer, PrecipitationAmount> precipitation = MockDataGenerator.generatePrecipitationData();
+		for (int i = 0; i < config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HOURLY_FORECAST_COUNT); i++) {
+			OrderedPair<Integer, PrecipitationAmount> precipitation = this.generator.generatePrecipitationData(config);
 
-			int cloudCover = (int) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__CLOUD_COVER);
+			int cloudCover = this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__CLOUD_COVER));
 
 			if (i == 0) {
 				hourlyForecastList.add(new HourlyForecast(this.currentTemperature, this.relativeTemperature, precipitation, this.wind, cloudCover, this.humidity));
 				continue;
 			}
 
-			Temperature temperature = new Temperature((Double) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH), MockConfiguration.CUSTOMIZATION__LOCALE);
-			Temperature relativeTemperature = new Temperature(temperature.getValue(UnitLocales.SI) - 2d, MockConfiguration.CUSTOMIZATION__LOCALE);
+			Temperature temperature = new Temperature(this.generator.nextDouble(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH)), locale);
+			Temperature relativeTemperature = new Temperature(temperature.getAsDouble(UnitLocales.SI) - 2d, locale);
 
-			double hourlyWindDirection = (int) MockDataGenerator.generateData(DataPresets.WIND_DIRECTION);
-			OrderedTriplet<Double, CompassRose, WindSpeed> wind = new OrderedTriplet<>(hourlyWindDirection, CompassRose.fromBearing(hourlyWindDirection, MockConfiguration.CUSTOMIZATION__MAX_WIND_DIRECTION_SPECIFICITY), new WindSpeed((Integer) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED), MockConfiguration.CUSTOMIZATION__LOCALE));
+			double hourlyWindDirection = this.generator.nextInt(DataPresets.WIND_DIRECTION);
+			OrderedTriplet<Double, CompassRose, WindSpeed> wind = new OrderedTriplet<>(hourlyWindDirection, CompassRose.fromBearing(hourlyWindDirection, specificity), new WindSpeed(this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED)), locale));
 
-			int humidity = (int) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY);
+			int humidity = this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY));
 
 			hourlyForecastList.add(new HourlyForecast(temperature, relativeTemperature, precipitation, wind, cloudCover, humidity));
 		}
@@ -320,49 +442,149 @@ public class MockDataProvider implements DataProvider {
 
 		// Daily Forecast
 		ArrayList<DailyForecast> dailyForecastList = new ArrayList<>();
-		for (int i = 0; i < MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__DAILY_FORECAST_COUNT; i++) {
-			OrderedPair<Integer, PrecipitationAmount> precipitation = MockDataGenerator.generatePrecipitationData();
+		for (int i = 0; i < config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__DAILY_FORECAST_COUNT); i++) {
+			OrderedPair<Integer, PrecipitationAmount> precipitation = this.generator.generatePrecipitationData(config);
 
-			int cloudCover = (int) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__CLOUD_COVER);
+			int cloudCover = this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__CLOUD_COVER));
 
 			if (i == 0) {
 				dailyForecastList.add(new DailyForecast(this.highTemperature, this.lowTemperature, precipitation, this.wind, cloudCover, this.humidity, this.uvIndex, this.sunrise, this.sunset));
 				continue;
 			}
 
-			Temperature highTemperature = new Temperature((Double) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH) + 7d, MockConfiguration.CUSTOMIZATION__LOCALE);
-			Temperature lowTemperature = new Temperature((Double) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__COLDNESS), MockConfiguration.CUSTOMIZATION__LOCALE);
+			Temperature highTemperature = new Temperature(this.generator.nextDouble(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH)) + 7d, locale);
+			Temperature lowTemperature = new Temperature(this.generator.nextDouble(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__COLDNESS)), locale);
 
-			double dailyWindDirection = (int) MockDataGenerator.generateData(DataPresets.WIND_DIRECTION);
-			OrderedTriplet<Double, CompassRose, WindSpeed> wind = new OrderedTriplet<>(dailyWindDirection, CompassRose.fromBearing(dailyWindDirection, MockConfiguration.CUSTOMIZATION__MAX_WIND_DIRECTION_SPECIFICITY), new WindSpeed((Integer) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED), MockConfiguration.CUSTOMIZATION__LOCALE));
+			double dailyWindDirection = this.generator.nextInt(DataPresets.WIND_DIRECTION);
+			OrderedTriplet<Double, CompassRose, WindSpeed> wind = new OrderedTriplet<>(dailyWindDirection, CompassRose.fromBearing(dailyWindDirection, specificity), new WindSpeed(this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED)), locale));
 
-			int humidity = (int) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY);
+			int humidity = this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY));
 
-			int uvIndex = (int) MockDataGenerator.generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__UV_INDEX);
+			int uvIndex = this.generator.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__UV_INDEX));
 
 			Instant sunrise = Instant.now()
 					.minus(Calendar.HOUR_OF_DAY, ChronoUnit.HOURS)
 					.minus(Calendar.MINUTE, ChronoUnit.MINUTES)
 					.minus(Calendar.SECOND, ChronoUnit.SECONDS)
 					.plus(i, ChronoUnit.DAYS)
-					.plus((Integer) MockDataGenerator.generateData(DataPresets.SUNRISE_HOUR), ChronoUnit.HOURS)
-					.plus((Integer) MockDataGenerator.generateData(DataPresets.TIME_MINUTE), ChronoUnit.MINUTES);
+					.plus(this.generator.nextInt(DataPresets.SUNRISE_HOUR), ChronoUnit.HOURS)
+					.plus(this.generator.nextInt(DataPresets.TIME_MINUTE), ChronoUnit.MINUTES);
 
 			Instant sunset = Instant.now()
 					.minus(Calendar.HOUR_OF_DAY, ChronoUnit.HOURS)
 					.minus(Calendar.MINUTE, ChronoUnit.MINUTES)
 					.minus(Calendar.SECOND, ChronoUnit.SECONDS)
 					.plus(i, ChronoUnit.DAYS)
-					.plus((Integer) MockDataGenerator.generateData(DataPresets.SUNSET_HOUR), ChronoUnit.HOURS)
-					.plus((Integer) MockDataGenerator.generateData(DataPresets.TIME_MINUTE), ChronoUnit.MINUTES);
+					.plus(this.generator.nextInt(DataPresets.SUNSET_HOUR), ChronoUnit.HOURS)
+					.plus(this.generator.nextInt(DataPresets.TIME_MINUTE), ChronoUnit.MINUTES);
 
 			dailyForecastList.add(new DailyForecast(highTemperature, lowTemperature, precipitation, wind, cloudCover, humidity, uvIndex, sunrise, sunset));
 		}
 		this.dailyForecast = dailyForecastList.toArray(new DailyForecast[0]);
 
+		if (injection.fault() == Fault.PARTIAL) this.dropData();
+
 		Backend.logger.info("Data has been successfully refreshed for %s.", getClass().getSimpleName());
 	}
 
+	/**
+	 * Sets the latency simulated by every refresh of every instance following the default fault
+	 * profile. Each refresh waits for the base latency plus a uniformly distributed amount between
+	 * zero and the jitter. Other latency distributions can be set through {@link #getFaultInjector()}.
+	 *
+	 * @param latency the base latency; must not be negative
+	 * @param jitter  the largest additional latency; must not be negative
+	 */
+	public static void setSimulatedLatency(@NotNull Duration latency, @NotNull Duration jitter) {
+		if (latency.isNegative() || jitter.isNegative()) throw new IllegalArgumentException("The simulated latency cannot be negative!");
+		FAULTS.setDefaultProfile(FAULTS.getDefaultProfile().withLatency(latency(latency, jitter)));
+	}
+
+	/**
+	 * Retrieves the registry deciding the latency and faults injected into the refreshes of every
+	 * instance, by location. Faults surface as they would from a real provider: errors and
+	 * timeouts as an {@link UncheckedIOException}, rate limiting as a refresh that does not
+	 * update {@link #getLastUpdate()}, and partial data as missing fields and forecast entries.
+	 *
+	 * @return the fault injector
+	 */
+	public static @NotNull FaultInjector getFaultInjector() {
+		return FAULTS;
+	}
+
+	/**
+	 * Sets the seed of the data generated by every instance created or moved to another location
+	 * afterward. Seeded instances produce the same data, and draw the same faults, for the same
+	 * location on every run, which makes benchmarks and load tests reproducible.
+	 *
+	 * @param seed the seed, or null to generate different data on every run
+	 */
+	public static void setSeed(@Nullable Long seed) {
+		MockDataProvider.seed = seed;
+	}
+
+	/**
+	 * Creates the generators of this instance, mixing the location into the seed so that every
+	 * location gets its own data.
+	 */
+	private void createGenerators() {
+		Long seed = MockDataProvider.seed;
+		SplittableRandom random = seed == null ? new SplittableRandom() : new SplittableRandom(seed * 0x9E3779B97F4A7C15L + Objects.hashCode(this.location));
+		this.faultRandom = random.split();
+		this.generator = new MockDataGenerator(random);
+	}
+
+	/**
+	 * Creates the default fault profile described by a configuration.
+	 *
+	 * @param configuration the configuration; must not be null
+	 * @return the fault profile
+	 */
+	private static @NotNull FaultProfile faultProfile(@NotNull Configuration configuration) {
+		return new FaultProfile(
+				latency(Duration.ofMillis(configuration.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY)), Duration.ofMillis(configuration.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY_JITTER))),
+				configuration.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__ERROR_RATE),
+				configuration.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT_RATE),
+				Duration.ofMillis(configuration.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT)),
+				configuration.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PARTIAL_RATE),
+				configuration.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__RATE_LIMIT_RATE)
+		);
+	}
+
+	private static @NotNull LatencyDistribution latency(@NotNull Duration latency, @NotNull Duration jitter) {
+		return jitter.isZero() ? LatencyDistribution.fixed(latency) : LatencyDistribution.uniform(latency, latency.plus(jitter));
+	}
+
+	/**
+	 * Waits for some time, if there is any. An interrupt ends the wait early and is preserved
+	 * for the caller to handle.
+	 *
+	 * @param nanos the time to wait, in nanoseconds
+	 */
+	private static void sleep(long nanos) {
+		if (nanos <= 0) return;
+
+		try {
+			Thread.sleep(Duration.ofNanos(nanos));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Removes about half of the optional fields and truncates the forecasts, as a provider
+	 * returning partial data would.
+	 */
+	private void dropData() {
+		if (this.faultRandom.nextBoolean()) this.relativeTemperature = null;
+		if (this.faultRandom.nextBoolean()) this.pressure = null;
+		if (this.faultRandom.nextBoolean()) this.wind = null;
+		if (this.faultRandom.nextBoolean()) this.sunrise = null;
+		if (this.faultRandom.nextBoolean()) this.sunset = null;
+		this.hourlyForecast = Arrays.copyOf(this.hourlyForecast, this.faultRandom.nextInt(this.hourlyForecast.length + 1));
+		this.dailyForecast = Arrays.copyOf(this.dailyForecast, this.faultRandom.nextInt(this.dailyForecast.length + 1));
+	}
+
 	/**
 	 * Gets the current temperature at the desired location.
 	 *
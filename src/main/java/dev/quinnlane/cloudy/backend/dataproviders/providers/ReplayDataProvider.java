@@ -0,0 +1,318 @@
+package dev.quinnlane.cloudy.backend.dataproviders.providers;
+
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.backend.dataproviders.DataProvider;
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderInformation;
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderType;
+import dev.quinnlane.cloudy.backend.dataproviders.replay.Recording;
+import dev.quinnlane.cloudy.backend.dataproviders.replay.RecordingDataProvider;
+import dev.quinnlane.cloudy.backend.dataproviders.replay.VirtualClock;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
+import dev.quinnlane.cloudy.common.datatypes.HourlyForecast;
+import dev.quinnlane.cloudy.common.datatypes.OrderedPair;
+import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import dev.quinnlane.cloudy.common.unit.units.Pressure;
+import dev.quinnlane.cloudy.common.unit.units.Temperature;
+import dev.quinnlane.cloudy.common.unit.units.WindSpeed;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * Serves the snapshots of a {@link Recording}, made by a {@link RecordingDataProvider}, as they
+ * were at the time of a {@link VirtualClock}.
+ * <p>
+ * Every refresh serves the last snapshot recorded for the location at or before the current
+ * virtual time, so a recorded day plays back at the speed of the clock: at 1 for realistic runs,
+ * or at 1000 and more to stress the backend and frontend with a day of changes in minutes.
+ * Locations that were not recorded are served by the nearest recorded location.
+ * <p>
+ * The recording and clock are shared by every instance. They are set with
+ * {@link #load(Recording, VirtualClock)}, or otherwise loaded on the first refresh from the file
+ * and speed of the {@link RuntimeConfiguration}.
+ */
+public class ReplayDataProvider implements DataProvider {
+	/**
+	 * A constant variable that represents the information about a specific provider.
+	 * This includes the provider's type, name, description, functionality, documentation URI,
+	 * and the date this provider information was created or last updated.
+	 */
+	public static final ProviderInformation INFORMATION = new ProviderInformation(ProviderType.MOCK, "ReplayDataProvider", "Replay Data Provider", "recorded snapshots", Backend.stringToURI("https://docs.oracle.com/en/java/javase/23/docs/api/index.html"), Backend.stringToLocalDateTime("2026-10-18T12:00:00"));
+
+	/**
+	 * A constant that represents the rate limit configuration for a particular operation.
+	 * A value of -1 indicates no rate limiting is enforced, as the recording is read from memory.
+	 */
+	public static final OrderedPair<Long, TemporalUnit> RATE_LIMIT = new OrderedPair<>(-1L, ChronoUnit.SECONDS);
+
+	private static volatile Recording recording;
+	private static volatile VirtualClock clock;
+
+	/**
+	 * Represents the timestamp of the last update of this provider instance.
+	 */
+	private volatile Instant lastUpdate = Instant.EPOCH;
+
+	/**
+	 * Represents the location this provider instance reports data for,
+	 * or null to report the data of any recorded location.
+	 */
+	private volatile EarthCoordinates location;
+
+	/**
+	 * The recorded snapshot served by the last refresh, or null before the first refresh.
+	 */
+	private volatile WeatherSnapshot snapshot;
+
+	/**
+	 * The virtual time of the last refresh.
+	 */
+	private volatile Instant replayedAt;
+
+	/**
+	 * Sets the recording and clock of every instance. Instances serve the new recording from their next refresh on.
+	 *
+	 * @param recording the recording; must not be null
+	 * @param clock     the clock the recording is played back by; must not be null
+	 */
+	public static synchronized void load(@NotNull Recording recording, @NotNull VirtualClock clock) {
+		ReplayDataProvider.recording = recording;
+		ReplayDataProvider.clock = clock;
+		Backend.logger.info("Loaded a recording of %d snapshots over %s, played back at %sx.", recording.size(), recording.getDuration(), clock.getSpeed());
+	}
+
+	/**
+	 * Reads a recording and plays it back from its start.
+	 *
+	 * @param path  the path of the recording; must not be null
+	 * @param speed how many times faster than real time the recording is played back; must not be negative
+	 * @return the clock the recording is played back by, to change its speed or advance it by hand
+	 * @throws IOException if the recording cannot be read
+	 */
+	public static @NotNull VirtualClock load(@NotNull Path path, double speed) throws IOException {
+		Recording recording = Recording.read(path);
+		VirtualClock clock = new VirtualClock(recording.size() == 0 ? Instant.now() : recording.getStart(), speed);
+		load(recording, clock);
+		return clock;
+	}
+
+	/**
+	 * @return the recording served by every instance, or null if none has been loaded yet
+	 */
+	public static @Nullable Recording getRecording() {
+		return recording;
+	}
+
+	/**
+	 * @return the clock the recording is played back by, or null if no recording has been loaded yet
+	 */
+	public static @Nullable VirtualClock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Loads the recording of the {@link RuntimeConfiguration} if no recording has been loaded yet.
+	 *
+	 * @throws IllegalStateException if no recording has been loaded or configured
+	 * @throws UncheckedIOException if the configured recording cannot be read
+	 */
+	private static synchronized void ensureLoaded() {
+		if (recording != null) return;
+		String path = RuntimeConfiguration.get(Settings.DATA_PROVIDERS__REPLAY_DATA_PROVIDER__RECORDING);
+		if (path.isBlank()) {
+			throw new IllegalStateException("No recording has been loaded or configured for the ReplayDataProvider!");
+		}
+
+		try {
+			load(Path.of(path), RuntimeConfiguration.get(Settings.DATA_PROVIDERS__REPLAY_DATA_PROVIDER__SPEED));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public ProviderInformation getProviderInformation() {
+		return INFORMATION;
+	}
+
+	/**
+	 * Retrieves the features of the recorded provider.
+	 *
+	 * @return the features of the loaded recording, or no features if none has been loaded yet
+	 */
+	@Override
+	public ProviderFeatures[] getProviderFeatures() {
+		Recording recording = ReplayDataProvider.recording;
+		return recording == null ? new ProviderFeatures[0] : recording.getFeatures();
+	}
+
+	@Override
+	public OrderedPair<Long, TemporalUnit> getRefreshRateLimit() {
+		return RATE_LIMIT;
+	}
+
+	@Override
+	public Instant getLastUpdate() {
+		return this.lastUpdate;
+	}
+
+	@Override
+	public void setLastUpdate(Instant lastUpdate) {
+		this.lastUpdate = lastUpdate;
+	}
+
+	@Override
+	public EarthCoordinates getLocation() {
+		return this.location;
+	}
+
+	/**
+	 * Sets the location this provider should report data for. The new location takes effect
+	 * on the next call to {@link #refreshData()}.
+	 *
+	 * @param location the {@link EarthCoordinates} of the location, or null to report any recorded location
+	 */
+	@Override
+	public void setLocation(EarthCoordinates location) {
+		this.location = location;
+	}
+
+	/**
+	 * Serves the snapshot recorded for the location at the current virtual time. Before the start
+	 * of the recording, the first snapshot is served, and after its end, the last one.
+	 *
+	 * @throws IllegalStateException if no recording has been loaded or configured
+	 */
+	@Override
+	public void refreshData() {
+		ensureLoaded();
+		if (!DataProvider.canRefreshData(this)) return;
+
+		Instant now = clock.now();
+		this.snapshot = recording.latest(this.location, now);
+		this.replayedAt = now;
+
+		Backend.logger.info("Data has been successfully replayed for %s at %s.", getClass().getSimpleName(), now);
+	}
+
+	/**
+	 * Captures the served snapshot as it is seen at the virtual time of the last refresh, for the
+	 * location of this provider.
+	 */
+	@Override
+	public @NotNull WeatherSnapshot createSnapshot(long sequence) {
+		WeatherSnapshot snapshot = this.snapshot;
+		if (snapshot == null) return DataProvider.super.createSnapshot(sequence);
+
+		EarthCoordinates location = this.location;
+		return new WeatherSnapshot(
+				sequence,
+				getClass().getSimpleName(),
+				location == null ? snapshot.location() : location,
+				this.replayedAt,
+				snapshot.currentTemperature(),
+				snapshot.relativeTemperature(),
+				snapshot.highTemperature(),
+				snapshot.lowTemperature(),
+				snapshot.humidity(),
+				snapshot.wind(),
+				snapshot.pressure(),
+				snapshot.uvIndex(),
+				snapshot.airQualityIndex(),
+				snapshot.sunrise(),
+				snapshot.sunset(),
+				snapshot.hourlyForecast().clone(),
+				snapshot.dailyForecast().clone()
+		);
+	}
+
+	@Override
+	public Temperature getCurrentTemperature() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.currentTemperature();
+	}
+
+	@Override
+	public Temperature getRelativeTemperature() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.relativeTemperature();
+	}
+
+	@Override
+	public Temperature getHighTemperature() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.highTemperature();
+	}
+
+	@Override
+	public Temperature getLowTemperature() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.lowTemperature();
+	}
+
+	@Override
+	public int getHumidity() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? 0 : snapshot.humidity();
+	}
+
+	@Override
+	public OrderedTriplet<Double, CompassRose, WindSpeed> getWind() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.wind();
+	}
+
+	@Override
+	public Pressure getPressure() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.pressure();
+	}
+
+	@Override
+	public int getUVIndex() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? 0 : snapshot.uvIndex();
+	}
+
+	@Override
+	public int getAirQualityIndex() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? 0 : snapshot.airQualityIndex();
+	}
+
+	@Override
+	public Instant getSunrise() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.sunrise();
+	}
+
+	@Override
+	public Instant getSunset() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.sunset();
+	}
+
+	@Override
+	public HourlyForecast[] getHourlyForecast() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.hourlyForecast();
+	}
+
+	@Override
+	public DailyForecast[] getDailyForecast() {
+		WeatherSnapshot snapshot = this.snapshot;
+		return snapshot == null ? null : snapshot.dailyForecast();
+	}
+}
@@ -0,0 +1,224 @@
+package dev.quinnlane.cloudy.backend.dataproviders.replay;
+
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
+import dev.quinnlane.cloudy.common.codec.ForecastCodec;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import dev.quinnlane.cloudy.common.geo.SpatialIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, fully decoded recording written by a {@link RecordingWriter}.
+ * <p>
+ * Snapshots are kept in order of capture, both for the whole recording and for every recorded
+ * location, so that the snapshot current at any instant is found with a binary search. Locations
+ * that were not recorded are served by the nearest recorded location.
+ */
+public final class Recording {
+	/**
+	 * The snapshots of a location, or of the whole recording, in order of capture.
+	 *
+	 * @param times     the capture times of the snapshots, in milliseconds since the epoch
+	 * @param snapshots the snapshots
+	 */
+	private record Timeline(long[] times, WeatherSnapshot[] snapshots) {
+		/**
+		 * Finds the last snapshot captured at or before an instant, or the first snapshot if the
+		 * instant comes before all of them.
+		 */
+		WeatherSnapshot at(long millis) {
+			int index = Arrays.binarySearch(this.times, millis);
+			if (index < 0) index = -index - 2;
+			else while (index + 1 < this.times.length && this.times[index + 1] == millis) index++;
+			return this.snapshots[Math.max(index, 0)];
+		}
+	}
+
+	private final ProviderFeatures[] features;
+	private final Timeline all;
+	private final Map<EarthCoordinates, Timeline> locations;
+	private final SpatialIndex<EarthCoordinates> index;
+
+	private Recording(ProviderFeatures[] features, Timeline all, Map<EarthCoordinates, Timeline> locations) {
+		this.features = features;
+		this.all = all;
+		this.locations = locations;
+		this.index = SpatialIndex.of(locations.keySet());
+	}
+
+	/**
+	 * Reads and decodes a whole recording.
+	 *
+	 * @param path the path of the recording; must not be null
+	 * @return the recording
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a recording, was written by an unsupported version, or is truncated
+	 */
+	public static @NotNull Recording read(@NotNull Path path) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try {
+			return decode(buffer);
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("The recording " + path + " is truncated!", e);
+		}
+	}
+
+	private static @NotNull Recording decode(@NotNull ByteBuffer buffer) {
+		if (buffer.remaining() < 5 || buffer.getInt() != RecordingWriter.MAGIC) throw new IllegalArgumentException("The file is not a recording!");
+		byte version = buffer.get();
+		if (version != RecordingWriter.VERSION) throw new IllegalArgumentException("Unsupported recording version " + version + "!");
+
+		ProviderFeatures[] values = ProviderFeatures.values();
+		ProviderFeatures[] features = new ProviderFeatures[(int) ForecastCodec.readVarLong(buffer)];
+		for (int i = 0; i < features.length; i++) {
+			int ordinal = (int) ForecastCodec.readVarLong(buffer);
+			if (ordinal >= values.length) throw new IllegalArgumentException("Unknown provider feature " + ordinal + "!");
+			features[i] = values[ordinal];
+		}
+
+		List<Long> times = new ArrayList<>();
+		List<WeatherSnapshot> snapshots = new ArrayList<>();
+		long millis = 0;
+		while (buffer.hasRemaining()) {
+			millis += ForecastCodec.readSignedVarLong(buffer);
+			int length = (int) ForecastCodec.readVarLong(buffer);
+			if (length > buffer.remaining()) throw new BufferUnderflowException();
+
+			ByteBuffer frame = buffer.slice(buffer.position(), length);
+			buffer.position(buffer.position() + length);
+			times.add(millis);
+			snapshots.add(ForecastCodec.readSnapshot(frame));
+		}
+
+		// Frames are written in order of capture, except when refreshes raced each other
+		Integer[] order = new Integer[times.size()];
+		Arrays.setAll(order, i -> i);
+		Arrays.sort(order, Comparator.comparingLong(times::get));
+
+		long[] sortedTimes = new long[order.length];
+		WeatherSnapshot[] sortedSnapshots = new WeatherSnapshot[order.length];
+		Map<EarthCoordinates, List<Integer>> byLocation = new LinkedHashMap<>();
+		for (int i = 0; i < order.length; i++) {
+			sortedTimes[i] = times.get(order[i]);
+			sortedSnapshots[i] = snapshots.get(order[i]);
+			EarthCoordinates location = sortedSnapshots[i].location();
+			if (location != null) byLocation.computeIfAbsent(location, ignored -> new ArrayList<>()).add(i);
+		}
+
+		Map<EarthCoordinates, Timeline> locations = new HashMap<>();
+		byLocation.forEach((location, indices) -> {
+			long[] locationTimes = new long[indices.size()];
+			WeatherSnapshot[] locationSnapshots = new WeatherSnapshot[indices.size()];
+			for (int i = 0; i < locationTimes.length; i++) {
+				locationTimes[i] = sortedTimes[indices.get(i)];
+				locationSnapshots[i] = sortedSnapshots[indices.get(i)];
+			}
+			locations.put(location, new Timeline(locationTimes, locationSnapshots));
+		});
+
+		return new Recording(features, new Timeline(sortedTimes, sortedSnapshots), locations);
+	}
+
+	/**
+	 * Finds the snapshot that was current at an instant: the last one captured at or before it,
+	 * or the first one if the instant comes before the recording.
+	 *
+	 * @param location the location to find a snapshot for, which is served by the nearest recorded
+	 *                 location if it was not recorded itself, or null for a snapshot of any location
+	 * @param at       the instant; must not be null
+	 * @return the snapshot, or null if the recording is empty
+	 */
+	public @Nullable WeatherSnapshot latest(@Nullable EarthCoordinates location, @NotNull Instant at) {
+		if (this.all.times().length == 0) return null;
+
+		Timeline timeline = this.all;
+		if (location != null && !this.locations.isEmpty()) {
+			timeline = this.locations.get(location);
+			if (timeline == null) timeline = this.locations.get(this.index.nearest(location).location());
+		}
+		return timeline.at(at.toEpochMilli());
+	}
+
+	/**
+	 * @param index the index of the snapshot, in order of capture
+	 * @return the snapshot
+	 * @throws ArrayIndexOutOfBoundsException if there is no such snapshot
+	 */
+	public @NotNull WeatherSnapshot get(int index) {
+		return this.all.snapshots()[index];
+	}
+
+	/**
+	 * @param index the index of the snapshot, in order of capture
+	 * @return the time the snapshot was captured at
+	 * @throws ArrayIndexOutOfBoundsException if there is no such snapshot
+	 */
+	public @NotNull Instant getTime(int index) {
+		return Instant.ofEpochMilli(this.all.times()[index]);
+	}
+
+	/**
+	 * @return the number of recorded snapshots
+	 */
+	public int size() {
+		return this.all.times().length;
+	}
+
+	/**
+	 * @return the capture time of the first snapshot, or null if the recording is empty
+	 */
+	public @Nullable Instant getStart() {
+		return this.size() == 0 ? null : this.getTime(0);
+	}
+
+	/**
+	 * @return the capture time of the last snapshot, or null if the recording is empty
+	 */
+	public @Nullable Instant getEnd() {
+		return this.size() == 0 ? null : this.getTime(this.size() - 1);
+	}
+
+	/**
+	 * @return the time between the first and last snapshot
+	 */
+	public @NotNull Duration getDuration() {
+		return this.size() == 0 ? Duration.ZERO : Duration.between(this.getStart(), this.getEnd());
+	}
+
+	/**
+	 * @return the features of the recorded provider
+	 */
+	public ProviderFeatures @NotNull [] getFeatures() {
+		return this.features.clone();
+	}
+
+	/**
+	 * @return every recorded location
+	 */
+	public @NotNull Set<EarthCoordinates> getLocations() {
+		return Collections.unmodifiableSet(this.locations.keySet());
+	}
+}
@@ -0,0 +1,208 @@
+package dev.quinnlane.cloudy.backend.dataproviders.replay;
+
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.backend.dataproviders.DataProvider;
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderInformation;
+import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
+import dev.quinnlane.cloudy.common.datatypes.HourlyForecast;
+import dev.quinnlane.cloudy.common.datatypes.OrderedPair;
+import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import dev.quinnlane.cloudy.common.unit.units.Pressure;
+import dev.quinnlane.cloudy.common.unit.units.Temperature;
+import dev.quinnlane.cloudy.common.unit.units.WindSpeed;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * Wraps any {@link DataProvider} and records a snapshot of every refresh that went through to a
+ * {@link RecordingWriter}, to be replayed later by the
+ * {@link dev.quinnlane.cloudy.backend.dataproviders.providers.ReplayDataProvider ReplayDataProvider}.
+ * <p>
+ * Every other call is passed through to the wrapped provider, so the recording provider behaves
+ * exactly like it. A recording that fails to be written is logged and does not fail the refresh.
+ * Several recording providers, for example one per location, may share a writer.
+ */
+public class RecordingDataProvider implements DataProvider, Closeable {
+	private final DataProvider delegate;
+	private final RecordingWriter writer;
+
+	/**
+	 * Constructs a new RecordingDataProvider.
+	 *
+	 * @param delegate the provider to record; must not be null
+	 * @param writer   the recording to write to; must not be null
+	 */
+	public RecordingDataProvider(@NotNull DataProvider delegate, @NotNull RecordingWriter writer) {
+		this.delegate = delegate;
+		this.writer = writer;
+	}
+
+	/**
+	 * Wraps a provider and records it to a new file.
+	 *
+	 * @param delegate the provider to record; must not be null
+	 * @param path     the path of the recording, which is replaced if it exists; must not be null
+	 * @return the recording provider, which must be closed to write the end of the recording
+	 * @throws IOException if the file cannot be created
+	 */
+	public static @NotNull RecordingDataProvider record(@NotNull DataProvider delegate, @NotNull Path path) throws IOException {
+		return new RecordingDataProvider(delegate, new RecordingWriter(path, delegate.getProviderFeatures()));
+	}
+
+	/**
+	 * @return the recorded provider
+	 */
+	public @NotNull DataProvider getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * @return the recording this provider writes to
+	 */
+	public @NotNull RecordingWriter getWriter() {
+		return this.writer;
+	}
+
+	/**
+	 * Refreshes the recorded provider and, if the refresh went through, records a snapshot of its data.
+	 */
+	@Override
+	public void refreshData() {
+		Instant previousUpdate = this.delegate.getLastUpdate();
+		this.delegate.refreshData();
+		if (previousUpdate.equals(this.delegate.getLastUpdate())) return;
+
+		try {
+			this.writer.write(this.delegate.createSnapshot(0));
+		} catch (IOException | IllegalStateException e) {
+			Backend.logger.error("Failed to record a refresh of %s!", this.delegate.getClass().getSimpleName(), e);
+		}
+	}
+
+	/**
+	 * Captures a snapshot of the recorded provider, under the name of the recorded provider.
+	 */
+	@Override
+	public @NotNull WeatherSnapshot createSnapshot(long sequence) {
+		return this.delegate.createSnapshot(sequence);
+	}
+
+	/**
+	 * Closes the recording, writing any buffered snapshots to it.
+	 *
+	 * @throws IOException if the recording cannot be written or closed
+	 */
+	@Override
+	public void close() throws IOException {
+		this.writer.close();
+	}
+
+	@Override
+	public ProviderInformation getProviderInformation() {
+		return this.delegate.getProviderInformation();
+	}
+
+	@Override
+	public ProviderFeatures[] getProviderFeatures() {
+		return this.delegate.getProviderFeatures();
+	}
+
+	@Override
+	public OrderedPair<Long, TemporalUnit> getRefreshRateLimit() {
+		return this.delegate.getRefreshRateLimit();
+	}
+
+	@Override
+	public Instant getLastUpdate() {
+		return this.delegate.getLastUpdate();
+	}
+
+	@Override
+	public void setLastUpdate(Instant lastUpdate) {
+		this.delegate.setLastUpdate(lastUpdate);
+	}
+
+	@Override
+	public EarthCoordinates getLocation() {
+		return this.delegate.getLocation();
+	}
+
+	@Override
+	public void setLocation(EarthCoordinates location) {
+		this.delegate.setLocation(location);
+	}
+
+	@Override
+	public Temperature getCurrentTemperature() {
+		return this.delegate.getCurrentTemperature();
+	}
+
+	@Override
+	public Temperature getRelativeTemperature() {
+		return this.delegate.getRelativeTemperature();
+	}
+
+	@Override
+	public Temperature getHighTemperature() {
+		return this.delegate.getHighTemperature();
+	}
+
+	@Override
+	public Temperature getLowTemperature() {
+		return this.delegate.getLowTemperature();
+	}
+
+	@Override
+	public int getHumidity() {
+		return this.delegate.getHumidity();
+	}
+
+	@Override
+	public OrderedTriplet<Double, CompassRose, WindSpeed> getWind() {
+		return this.delegate.getWind();
+	}
+
+	@Override
+	public Pressure getPressure() {
+		return this.delegate.getPressure();
+	}
+
+	@Override
+	public int getUVIndex() {
+		return this.delegate.getUVIndex();
+	}
+
+	@Override
+	public int getAirQualityIndex() {
+		return this.delegate.getAirQualityIndex();
+	}
+
+	@Override
+	public Instant getSunrise() {
+		return this.delegate.getSunrise();
+	}
+
+	@Override
+	public Instant getSunset() {
+		return this.delegate.getSunset();
+	}
+
+	@Override
+	public HourlyForecast[] getHourlyForecast() {
+		return this.delegate.getHourlyForecast();
+	}
+
+	@Override
+	public DailyForecast[] getDailyForecast() {
+		return this.delegate.getDailyForecast();
+	}
+}
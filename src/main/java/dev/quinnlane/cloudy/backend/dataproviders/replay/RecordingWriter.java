@@ -0,0 +1,144 @@
+package dev.quinnlane.cloudy.backend.dataproviders.replay;
+
+import dev.quinnlane.cloudy.backend.dataproviders.ProviderFeatures;
+import dev.quinnlane.cloudy.common.codec.ForecastCodec;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Appends timestamped snapshots to a recording file, which can be read back with {@link Recording#read(Path)}.
+ * <p>
+ * A recording starts with a header holding {@link #MAGIC}, {@link #VERSION}, and the features of
+ * the recorded provider, followed by one frame per snapshot. Every frame holds the time it was
+ * captured at, as a zig-zag varint of the milliseconds since the previous frame, the length of the
+ * snapshot as a varint, and the snapshot itself as encoded by {@link ForecastCodec}.
+ * <p>
+ * Frames are buffered and written to the file when the buffer fills up, on {@link #flush()}, and
+ * on {@link #close()}. All methods are thread-safe.
+ */
+public class RecordingWriter implements Closeable {
+	/**
+	 * The first four bytes of every recording, "CWRC".
+	 */
+	public static final int MAGIC = 0x43575243;
+
+	/**
+	 * The version of the recording format written by this class.
+	 */
+	public static final byte VERSION = 1;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+	/**
+	 * Holds the encoded snapshot of the frame being written, grown whenever a snapshot does not fit.
+	 */
+	private ByteBuffer scratch = ByteBuffer.allocate(4 * 1024);
+
+	/**
+	 * The capture time of the previous frame, in milliseconds since the epoch.
+	 */
+	private long previousMillis;
+	private long frames;
+	private boolean closed;
+
+	/**
+	 * Creates a recording, replacing any file at the path.
+	 *
+	 * @param path     the path of the recording; must not be null
+	 * @param features the features of the recorded provider; must not be null
+	 * @throws IOException if the file cannot be created
+	 */
+	public RecordingWriter(@NotNull Path path, ProviderFeatures @NotNull [] features) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+		this.buffer.putInt(MAGIC);
+		this.buffer.put(VERSION);
+		ForecastCodec.writeVarLong(this.buffer, features.length);
+		for (ProviderFeatures feature : features) ForecastCodec.writeVarLong(this.buffer, feature.ordinal());
+	}
+
+	/**
+	 * Appends a snapshot to the recording, at the time it was captured.
+	 *
+	 * @param snapshot the snapshot; must not be null. A snapshot without a capture time is recorded at the current time.
+	 * @throws IOException if the buffered frames cannot be written
+	 * @throws IllegalStateException if the recording has been closed
+	 */
+	public synchronized void write(@NotNull WeatherSnapshot snapshot) throws IOException {
+		if (this.closed) throw new IllegalStateException("The recording has already been closed!");
+
+		int size = ForecastCodec.maxSnapshotSize(snapshot);
+		if (this.scratch.capacity() < size) this.scratch = ByteBuffer.allocate(Math.max(size, this.scratch.capacity() * 2));
+		this.scratch.clear();
+		ForecastCodec.writeSnapshot(this.scratch, snapshot);
+		this.scratch.flip();
+
+		long millis = (snapshot.capturedAt() == null ? Instant.now() : snapshot.capturedAt()).toEpochMilli();
+		// Two varints take at most 20 bytes
+		if (this.buffer.remaining() < this.scratch.remaining() + 20) this.drain();
+
+		ForecastCodec.writeSignedVarLong(this.buffer, millis - this.previousMillis);
+		ForecastCodec.writeVarLong(this.buffer, this.scratch.remaining());
+		if (this.buffer.remaining() >= this.scratch.remaining()) {
+			this.buffer.put(this.scratch);
+		} else {
+			// The snapshot is larger than the buffer, so it is written straight to the file
+			this.drain();
+			while (this.scratch.hasRemaining()) this.channel.write(this.scratch);
+		}
+
+		this.previousMillis = millis;
+		this.frames++;
+	}
+
+	/**
+	 * Writes every buffered frame to the file.
+	 *
+	 * @throws IOException if the frames cannot be written
+	 */
+	public synchronized void flush() throws IOException {
+		if (this.closed) return;
+		this.drain();
+	}
+
+	/**
+	 * @return the number of snapshots written so far
+	 */
+	public synchronized long getFrameCount() {
+		return this.frames;
+	}
+
+	/**
+	 * Writes every buffered frame to the file and closes it. Closing a closed recording does nothing.
+	 *
+	 * @throws IOException if the frames cannot be written or the file cannot be closed
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.closed) return;
+		this.closed = true;
+
+		try {
+			this.drain();
+		} finally {
+			this.channel.close();
+		}
+	}
+
+	private void drain() throws IOException {
+		this.buffer.flip();
+		while (this.buffer.hasRemaining()) this.channel.write(this.buffer);
+		this.buffer.clear();
+	}
+}
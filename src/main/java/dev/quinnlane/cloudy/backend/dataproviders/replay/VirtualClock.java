@@ -0,0 +1,93 @@
+package dev.quinnlane.cloudy.backend.dataproviders.replay;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A clock that runs from an origin at a multiple of real time, used to replay a {@link Recording}.
+ * <p>
+ * At a speed of 1 the clock runs in real time, and at a speed of 1000 a day of recorded data
+ * passes in under a minute and a half. A clock at a speed of 0 is paused, and only moves when it is
+ * {@link #advance(Duration) advanced} by hand, which makes replays fully deterministic.
+ * All methods are thread-safe.
+ */
+public final class VirtualClock {
+	/**
+	 * The virtual time at {@link #baseNanos}.
+	 */
+	private Instant base;
+
+	/**
+	 * The real time, from {@link System#nanoTime()}, the clock was last rebased at.
+	 */
+	private long baseNanos;
+	private double speed;
+
+	/**
+	 * Constructs a new VirtualClock, starting at its origin now.
+	 *
+	 * @param origin the virtual time the clock starts at; must not be null
+	 * @param speed  how many times faster than real time the clock runs; must not be negative
+	 */
+	public VirtualClock(@NotNull Instant origin, double speed) {
+		checkSpeed(speed);
+		this.base = origin;
+		this.baseNanos = System.nanoTime();
+		this.speed = speed;
+	}
+
+	/**
+	 * @return the current virtual time
+	 */
+	public synchronized @NotNull Instant now() {
+		return this.base.plusNanos((long) ((System.nanoTime() - this.baseNanos) * this.speed));
+	}
+
+	/**
+	 * @return how many times faster than real time the clock runs
+	 */
+	public synchronized double getSpeed() {
+		return this.speed;
+	}
+
+	/**
+	 * Changes the speed of the clock from now on, without moving it.
+	 *
+	 * @param speed how many times faster than real time the clock runs; must not be negative
+	 */
+	public synchronized void setSpeed(double speed) {
+		checkSpeed(speed);
+		this.rebase(this.now());
+		this.speed = speed;
+	}
+
+	/**
+	 * Moves the clock forward.
+	 *
+	 * @param duration the virtual time to skip; must not be negative
+	 */
+	public synchronized void advance(@NotNull Duration duration) {
+		if (duration.isNegative()) throw new IllegalArgumentException("The clock cannot be moved backward!");
+		this.rebase(this.now().plus(duration));
+	}
+
+	/**
+	 * Moves the clock to any virtual time, keeping its speed.
+	 *
+	 * @param time the new virtual time; must not be null
+	 */
+	public synchronized void set(@NotNull Instant time) {
+		this.rebase(time);
+	}
+
+	private void rebase(@NotNull Instant time) {
+		this.base = time;
+		this.baseNanos = System.nanoTime();
+	}
+
+	private static void checkSpeed(double speed) {
+		if (!(speed >= 0) || Double.isInfinite(speed)) throw new IllegalArgumentException("The speed must be a finite, non-negative number!");
+	}
+}
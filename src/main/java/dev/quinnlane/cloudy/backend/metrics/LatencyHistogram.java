@@ -0,0 +1,158 @@
+package dev.quinnlane.cloudy.backend.metrics;
+
+import org.jetbrains.annotations.Range;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies, in nanoseconds, with a bounded relative error.
+ * <p>
+ * Values are sorted into log-linear buckets, in the same spirit as HdrHistogram: every power of
+ * two is split into {@value #SUB_BUCKETS} equally sized sub-buckets, so a recorded value is never
+ * reported more than about 3% away from its true value, no matter its magnitude. Values below
+ * {@value #SUB_BUCKETS} nanoseconds are counted exactly. The whole range of {@code long} is
+ * covered by a fixed array of counters, so recording a value never allocates or takes a lock and
+ * costs a handful of arithmetic operations and a single atomic increment.
+ * <p>
+ * Percentiles are computed from a non-atomic pass over the counters, so values recorded while
+ * a percentile is being computed may or may not be included in it.
+ */
+public class LatencyHistogram {
+	/**
+	 * The number of bits used to index the sub-buckets of a power of two.
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	/**
+	 * The number of sub-buckets every power of two is split into.
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The number of buckets needed to cover every non-negative {@code long}.
+	 */
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	/**
+	 * The number of values recorded in each bucket.
+	 */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * The number of recorded values.
+	 */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * The sum of every recorded value, used to compute the mean.
+	 */
+	private final LongAdder sum = new LongAdder();
+
+	/**
+	 * The largest recorded value.
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a single value.
+	 *
+	 * @param nanos the value to record, in nanoseconds; negative values are recorded as zero
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		this.counts.incrementAndGet(bucketOf(value));
+		this.count.increment();
+		this.sum.add(value);
+		if (value > this.max.get()) this.max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * Retrieves the number of recorded values.
+	 *
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * Retrieves the largest recorded value.
+	 *
+	 * @return the largest recorded value in nanoseconds, or zero if nothing was recorded
+	 */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+	 * Retrieves the mean of every recorded value.
+	 *
+	 * @return the mean in nanoseconds, or zero if nothing was recorded
+	 */
+	public double getMean() {
+		long count = this.count.sum();
+		return count == 0 ? 0 : (double) this.sum.sum() / count;
+	}
+
+	/**
+	 * Retrieves the value at the given percentile. The value reported is the upper bound of the
+	 * bucket the percentile falls into, capped at the largest recorded value.
+	 *
+	 * @param percentile the percentile to retrieve, between 0 and 100
+	 * @return the value at the percentile in nanoseconds, or zero if nothing was recorded
+	 */
+	public long getValueAtPercentile(@Range(from = 0, to = 100) double percentile) {
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) total += this.counts.get(i);
+		if (total == 0) return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += this.counts.get(i);
+			if (seen >= rank) return Math.min(upperBoundOf(i), this.max.get());
+		}
+		return this.max.get();
+	}
+
+	/**
+	 * Clears every recorded value. Values recorded while resetting may be partially kept.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) this.counts.set(i, 0);
+		this.count.reset();
+		this.sum.reset();
+		this.max.set(0);
+	}
+
+	/**
+	 * Determines the bucket a value is counted in.
+	 *
+	 * @param value the non-negative value
+	 * @return the index of the bucket
+	 */
+	private static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) return (int) value;
+
+		int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Determines the largest value counted in a bucket.
+	 *
+	 * @param bucket the index of the bucket
+	 * @return the largest value the bucket holds
+	 */
+	private static long upperBoundOf(int bucket) {
+		if (bucket < SUB_BUCKETS) return bucket;
+
+		int shift = bucket / SUB_BUCKETS - 1;
+		long subBucket = bucket % SUB_BUCKETS;
+		long upper = ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+		return upper < 0 ? Long.MAX_VALUE : upper;
+	}
+}
@@ -0,0 +1,159 @@
+package dev.quinnlane.cloudy.backend.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the outcomes of a single provider class at a single location, and forwards every
+ * recording to the {@link ProviderMetrics} of the provider class.
+ * <p>
+ * Only counters are kept per location, so that an entry stays small; latency histograms are kept
+ * per provider class. Every recording method is lock-free and safe to call from any thread.
+ * Instances are obtained from {@link MetricsRegistry#forLocation(Class, dev.quinnlane.cloudy.common.geo.EarthCoordinates)},
+ * which only keeps the most recently used locations.
+ */
+public class LocationMetrics implements LocationMetricsMXBean {
+	private final ProviderMetrics providerMetrics;
+	private final String location;
+
+	private final LongAdder refreshes = new LongAdder();
+	private final LongAdder rateLimitRejections = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+
+	/**
+	 * When these metrics were last looked up, as returned by {@link System#nanoTime()}.
+	 */
+	private volatile long lastUsed = System.nanoTime();
+
+	/**
+	 * Constructs a new, empty LocationMetrics instance.
+	 *
+	 * @param providerMetrics the metrics of the provider class
+	 * @param location        the location the metrics are recorded for
+	 */
+	LocationMetrics(@NotNull ProviderMetrics providerMetrics, @NotNull String location) {
+		this.providerMetrics = providerMetrics;
+		this.location = location;
+	}
+
+	/**
+	 * Records a refresh that went through.
+	 *
+	 * @param nanos the duration of the refresh
+	 */
+	public void recordRefresh(long nanos) {
+		this.refreshes.increment();
+		this.providerMetrics.recordRefresh(nanos);
+	}
+
+	/**
+	 * Records the time taken to turn the provider's data into a snapshot.
+	 *
+	 * @param nanos the duration of the conversion
+	 */
+	public void recordParse(long nanos) {
+		this.providerMetrics.recordParse(nanos);
+	}
+
+	/**
+	 * Records a refresh refused because of the provider's rate limit.
+	 */
+	public void recordRateLimitRejection() {
+		this.rateLimitRejections.increment();
+		this.providerMetrics.recordRateLimitRejection();
+	}
+
+	/**
+	 * Records a refresh or snapshot capture that failed with an exception.
+	 */
+	public void recordError() {
+		this.errors.increment();
+		this.providerMetrics.recordError();
+	}
+
+	/**
+	 * Records the outcome of a snapshot cache lookup.
+	 *
+	 * @param hit whether the lookup was answered from the cache
+	 */
+	public void recordCacheLookup(boolean hit) {
+		if (hit) this.cacheHits.increment();
+		else this.cacheMisses.increment();
+		this.providerMetrics.recordCacheLookup(hit);
+	}
+
+	/**
+	 * @return the metrics of the provider class, across every location
+	 */
+	public @NotNull ProviderMetrics getProviderMetrics() {
+		return this.providerMetrics;
+	}
+
+	/**
+	 * Marks these metrics as just looked up.
+	 */
+	void touch() {
+		this.lastUsed = System.nanoTime();
+	}
+
+	/**
+	 * @return when these metrics were last looked up, as returned by {@link System#nanoTime()}
+	 */
+	long getLastUsed() {
+		return this.lastUsed;
+	}
+
+	@Override
+	public String getProvider() {
+		return this.providerMetrics.getProvider();
+	}
+
+	@Override
+	public String getLocation() {
+		return this.location;
+	}
+
+	@Override
+	public long getRefreshCount() {
+		return this.refreshes.sum();
+	}
+
+	@Override
+	public long getRateLimitRejectionCount() {
+		return this.rateLimitRejections.sum();
+	}
+
+	@Override
+	public long getErrorCount() {
+		return this.errors.sum();
+	}
+
+	@Override
+	public long getCacheHitCount() {
+		return this.cacheHits.sum();
+	}
+
+	@Override
+	public long getCacheMissCount() {
+		return this.cacheMisses.sum();
+	}
+
+	@Override
+	public double getCacheHitRate() {
+		long hits = this.cacheHits.sum();
+		long lookups = hits + this.cacheMisses.sum();
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	@Override
+	public void reset() {
+		this.refreshes.reset();
+		this.rateLimitRejections.reset();
+		this.errors.reset();
+		this.cacheHits.reset();
+		this.cacheMisses.reset();
+	}
+}
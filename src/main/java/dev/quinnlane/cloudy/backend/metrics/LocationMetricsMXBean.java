@@ -0,0 +1,53 @@
+package dev.quinnlane.cloudy.backend.metrics;
+
+/**
+ * The management interface of {@link LocationMetrics}, exposed through the platform MBean server.
+ * <p>
+ * Durations are only kept per provider, in {@link ProviderMetricsMXBean}.
+ */
+public interface LocationMetricsMXBean {
+	/**
+	 * @return the simple name of the provider class these metrics are recorded for
+	 */
+	String getProvider();
+
+	/**
+	 * @return the location these metrics are recorded for, or {@code none} if the provider had no location
+	 */
+	String getLocation();
+
+	/**
+	 * @return the number of refreshes that went through
+	 */
+	long getRefreshCount();
+
+	/**
+	 * @return the number of refreshes the provider refused because of its rate limit
+	 */
+	long getRateLimitRejectionCount();
+
+	/**
+	 * @return the number of refreshes or snapshot captures that failed with an exception
+	 */
+	long getErrorCount();
+
+	/**
+	 * @return the number of lookups answered from the snapshot cache
+	 */
+	long getCacheHitCount();
+
+	/**
+	 * @return the number of lookups that had to go to the provider
+	 */
+	long getCacheMissCount();
+
+	/**
+	 * @return the fraction of lookups answered from the snapshot cache, between 0 and 1
+	 */
+	double getCacheHitRate();
+
+	/**
+	 * Clears every counter.
+	 */
+	void reset();
+}
@@ -0,0 +1,205 @@
+package dev.quinnlane.cloudy.backend.metrics;
+
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.backend.dataproviders.DataProvider;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The registry of every {@link ProviderMetrics} and {@link LocationMetrics} instance.
+ * <p>
+ * Metrics are created the first time they are requested and, if
+ * {@link Settings#METRICS__JMX_ENABLED} is set, registered with the platform MBean server
+ * under {@value #DOMAIN}: those of a provider class with {@code type=ProviderMetrics} and the
+ * provider as a key, and those of a location with {@code type=LocationMetrics} and the provider
+ * and location as keys. Once created, looking metrics up is a single concurrent map read, so
+ * callers may look them up on every refresh instead of holding on to them.
+ * <p>
+ * There is one {@link ProviderMetrics} instance per provider class, holding its latency
+ * histograms. Batch queries may span any number of locations, so only the
+ * {@link Settings#METRICS__MAX_LOCATIONS} most recently used locations keep their own counters;
+ * beyond that, the least recently used location is evicted and unregistered. The counters of the
+ * provider class still include every evicted location.
+ */
+public class MetricsRegistry {
+	/**
+	 * The JMX domain every metrics MBean is registered under.
+	 */
+	public static final String DOMAIN = "dev.quinnlane.cloudy";
+
+	/**
+	 * The location tag used for providers that have no location set.
+	 */
+	private static final String NO_LOCATION = "none";
+
+	/**
+	 * Identifies the metrics of a provider class at a location.
+	 *
+	 * @param provider the provider class
+	 * @param location the location, or null if the provider has none
+	 */
+	private record Key(Class<? extends DataProvider> provider, EarthCoordinates location) {}
+
+	private static final ConcurrentHashMap<Class<? extends DataProvider>, ProviderMetrics> providers = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Key, LocationMetrics> locations = new ConcurrentHashMap<>();
+
+	/**
+	 * Retrieves the metrics of a provider class, creating and registering them if needed.
+	 *
+	 * @param providerClass the provider class; must not be null
+	 * @return the metrics for the provider class, across every location
+	 */
+	public static @NotNull ProviderMetrics forProvider(@NotNull Class<? extends DataProvider> providerClass) {
+		ProviderMetrics existing = providers.get(providerClass);
+		if (existing != null) return existing;
+
+		return providers.computeIfAbsent(providerClass, key -> {
+			ProviderMetrics created = new ProviderMetrics(providerClass.getSimpleName());
+			if (RuntimeConfiguration.get(Settings.METRICS__JMX_ENABLED)) register(created, providerName(created.getProvider()));
+			return created;
+		});
+	}
+
+	/**
+	 * Retrieves the metrics of a provider class at a location, creating and registering them if
+	 * needed, and evicting the least recently used location if there are too many.
+	 *
+	 * @param providerClass the provider class; must not be null
+	 * @param location      the location of the provider, or null if it has none
+	 * @return the metrics for the provider class and location
+	 */
+	public static @NotNull LocationMetrics forLocation(@NotNull Class<? extends DataProvider> providerClass, @Nullable EarthCoordinates location) {
+		Key key = new Key(providerClass, location);
+		LocationMetrics existing = locations.get(key);
+		if (existing != null) {
+			existing.touch();
+			return existing;
+		}
+
+		ProviderMetrics providerMetrics = forProvider(providerClass);
+		LocationMetrics result = locations.computeIfAbsent(key, ignored -> {
+			LocationMetrics created = new LocationMetrics(providerMetrics, location == null ? NO_LOCATION : describe(location));
+			if (RuntimeConfiguration.get(Settings.METRICS__JMX_ENABLED)) register(created, locationName(created));
+			return created;
+		});
+		evictLeastRecentlyUsed();
+		return result;
+	}
+
+	/**
+	 * Retrieves the metrics of a provider instance, using its class and current location.
+	 *
+	 * @param provider the provider; must not be null
+	 * @return the metrics for the provider's class and location
+	 */
+	public static @NotNull LocationMetrics forLocation(@NotNull DataProvider provider) {
+		return forLocation(provider.getClass(), provider.getLocation());
+	}
+
+	/**
+	 * Retrieves the metrics of every provider class created so far.
+	 *
+	 * @return an unmodifiable view of every provider metrics instance
+	 */
+	public static @NotNull Collection<ProviderMetrics> getAll() {
+		return Collections.unmodifiableCollection(providers.values());
+	}
+
+	/**
+	 * Retrieves the metrics of every location that has not been evicted.
+	 *
+	 * @return an unmodifiable view of every location metrics instance
+	 */
+	public static @NotNull Collection<LocationMetrics> getAllLocations() {
+		return Collections.unmodifiableCollection(locations.values());
+	}
+
+	/**
+	 * Evicts and unregisters the least recently used locations until no more than
+	 * {@link Settings#METRICS__MAX_LOCATIONS} are left. Only called when a location is added,
+	 * so the linear scan is paid once per new location rather than once per lookup.
+	 */
+	private static void evictLeastRecentlyUsed() {
+		int max = RuntimeConfiguration.get(Settings.METRICS__MAX_LOCATIONS);
+		while (locations.size() > max) {
+			Map.Entry<Key, LocationMetrics> eldest = null;
+			for (Map.Entry<Key, LocationMetrics> entry : locations.entrySet()) {
+				if (eldest == null || entry.getValue().getLastUsed() - eldest.getValue().getLastUsed() < 0) eldest = entry;
+			}
+			if (eldest == null) return;
+
+			// Unregistered within the removal, so that the same location being created again
+			// registers its new metrics only once the old ones are gone
+			LocationMetrics evicted = eldest.getValue();
+			locations.computeIfPresent(eldest.getKey(), (key, value) -> {
+				if (value != evicted) return value;
+				unregister(locationName(value));
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Describes a location for use as a metrics tag.
+	 *
+	 * @param location the location
+	 * @return the latitude and longitude in decimal degrees, separated by a comma
+	 */
+	private static @NotNull String describe(@NotNull EarthCoordinates location) {
+		return location.getLatitude().toPlainString() + "," + location.getLongitude().toPlainString();
+	}
+
+	private static @NotNull String providerName(@NotNull String provider) {
+		return DOMAIN + ":type=ProviderMetrics,provider=" + ObjectName.quote(provider);
+	}
+
+	private static @NotNull String locationName(@NotNull LocationMetrics locationMetrics) {
+		return DOMAIN + ":type=LocationMetrics,provider=" + ObjectName.quote(locationMetrics.getProvider()) + ",location=" + ObjectName.quote(locationMetrics.getLocation());
+	}
+
+	/**
+	 * Registers metrics with the platform MBean server. A failure is logged and leaves the
+	 * metrics usable, just not visible over JMX.
+	 *
+	 * @param mbean the metrics to register
+	 * @param name  the object name to register the metrics under
+	 */
+	private static void register(@NotNull Object mbean, @NotNull String name) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(name);
+			if (!server.isRegistered(objectName)) server.registerMBean(mbean, objectName);
+			Backend.logger.debug("Registered metrics MBean %s.", name);
+		} catch (JMException e) {
+			Backend.logger.error("Failed to register the metrics MBean %s!", name, e);
+		}
+	}
+
+	/**
+	 * Unregisters evicted metrics from the platform MBean server, if they were registered.
+	 *
+	 * @param name the object name the metrics were registered under
+	 */
+	private static void unregister(@NotNull String name) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(name);
+			if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+			Backend.logger.debug("Unregistered evicted metrics MBean %s.", name);
+		} catch (JMException e) {
+			Backend.logger.error("Failed to unregister the metrics MBean %s!", name, e);
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package dev.quinnlane.cloudy.backend.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the metrics of a single provider class, across every location it is queried for.
+ * <p>
+ * Every recording method is lock-free and safe to call from any thread. Instances are obtained
+ * from {@link MetricsRegistry#forProvider(Class)}, and are usually recorded to through the
+ * {@link LocationMetrics} of a location, which also counts the outcomes at that location.
+ */
+public class ProviderMetrics implements ProviderMetricsMXBean {
+	/**
+	 * The number of nanoseconds in a millisecond, as a double for conversions.
+	 */
+	private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final String provider;
+
+	private final LongAdder refreshes = new LongAdder();
+	private final LongAdder rateLimitRejections = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+
+	/**
+	 * The time taken by {@link dev.quinnlane.cloudy.backend.dataproviders.DataProvider#refreshData()}.
+	 */
+	private final LatencyHistogram refreshDuration = new LatencyHistogram();
+
+	/**
+	 * The time taken to turn the provider's data into a snapshot.
+	 */
+	private final LatencyHistogram parseDuration = new LatencyHistogram();
+
+	/**
+	 * Constructs a new, empty ProviderMetrics instance.
+	 *
+	 * @param provider the simple name of the provider class
+	 */
+	ProviderMetrics(@NotNull String provider) {
+		this.provider = provider;
+	}
+
+	/**
+	 * Records a refresh that went through.
+	 *
+	 * @param nanos the duration of the refresh
+	 */
+	public void recordRefresh(long nanos) {
+		this.refreshes.increment();
+		this.refreshDuration.record(nanos);
+	}
+
+	/**
+	 * Records the time taken to turn the provider's data into a snapshot.
+	 *
+	 * @param nanos the duration of the conversion
+	 */
+	public void recordParse(long nanos) {
+		this.parseDuration.record(nanos);
+	}
+
+	/**
+	 * Records a refresh refused because of the provider's rate limit.
+	 */
+	public void recordRateLimitRejection() {
+		this.rateLimitRejections.increment();
+	}
+
+	/**
+	 * Records a refresh or snapshot capture that failed with an exception.
+	 */
+	public void recordError() {
+		this.errors.increment();
+	}
+
+	/**
+	 * Records the outcome of a snapshot cache lookup.
+	 *
+	 * @param hit whether the lookup was answered from the cache
+	 */
+	public void recordCacheLookup(boolean hit) {
+		if (hit) this.cacheHits.increment();
+		else this.cacheMisses.increment();
+	}
+
+	/**
+	 * @return the histogram of refresh durations
+	 */
+	public @NotNull LatencyHistogram getRefreshDuration() {
+		return this.refreshDuration;
+	}
+
+	/**
+	 * @return the histogram of parse durations
+	 */
+	public @NotNull LatencyHistogram getParseDuration() {
+		return this.parseDuration;
+	}
+
+	@Override
+	public String getProvider() {
+		return this.provider;
+	}
+
+	@Override
+	public long getRefreshCount() {
+		return this.refreshes.sum();
+	}
+
+	@Override
+	public long getRateLimitRejectionCount() {
+		return this.rateLimitRejections.sum();
+	}
+
+	@Override
+	public long getErrorCount() {
+		return this.errors.sum();
+	}
+
+	@Override
+	public long getCacheHitCount() {
+		return this.cacheHits.sum();
+	}
+
+	@Override
+	public long getCacheMissCount() {
+		return this.cacheMisses.sum();
+	}
+
+	@Override
+	public double getCacheHitRate() {
+		long hits = this.cacheHits.sum();
+		long lookups = hits + this.cacheMisses.sum();
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	@Override
+	public double getRefreshDurationP50Millis() {
+		return this.refreshDuration.getValueAtPercentile(50) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getRefreshDurationP99Millis() {
+		return this.refreshDuration.getValueAtPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getRefreshDurationP999Millis() {
+		return this.refreshDuration.getValueAtPercentile(99.9) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getRefreshDurationMaxMillis() {
+		return this.refreshDuration.getMax() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getRefreshDurationMeanMillis() {
+		return this.refreshDuration.getMean() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getParseDurationP50Millis() {
+		return this.parseDuration.getValueAtPercentile(50) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getParseDurationP99Millis() {
+		return this.parseDuration.getValueAtPercentile(99) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getParseDurationP999Millis() {
+		return this.parseDuration.getValueAtPercentile(99.9) / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public double getParseDurationMaxMillis() {
+		return this.parseDuration.getMax() / NANOS_PER_MILLI;
+	}
+
+	@Override
+	public void reset() {
+		this.refreshes.reset();
+		this.rateLimitRejections.reset();
+		this.errors.reset();
+		this.cacheHits.reset();
+		this.cacheMisses.reset();
+		this.refreshDuration.reset();
+		this.parseDuration.reset();
+	}
+}
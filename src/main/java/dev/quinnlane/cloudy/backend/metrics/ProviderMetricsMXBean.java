@@ -0,0 +1,95 @@
+package dev.quinnlane.cloudy.backend.metrics;
+
+/**
+ * The management interface of {@link ProviderMetrics}, exposed through the platform MBean server.
+ * Every value covers every location the provider was queried for.
+ * <p>
+ * Every duration is reported in milliseconds, and every percentile is accurate to within
+ * about 3% of the true value.
+ */
+public interface ProviderMetricsMXBean {
+	/**
+	 * @return the simple name of the provider class these metrics are recorded for
+	 */
+	String getProvider();
+
+	/**
+	 * @return the number of refreshes that went through
+	 */
+	long getRefreshCount();
+
+	/**
+	 * @return the number of refreshes the provider refused because of its rate limit
+	 */
+	long getRateLimitRejectionCount();
+
+	/**
+	 * @return the number of refreshes or snapshot captures that failed with an exception
+	 */
+	long getErrorCount();
+
+	/**
+	 * @return the number of lookups answered from the snapshot cache
+	 */
+	long getCacheHitCount();
+
+	/**
+	 * @return the number of lookups that had to go to the provider
+	 */
+	long getCacheMissCount();
+
+	/**
+	 * @return the fraction of lookups answered from the snapshot cache, between 0 and 1
+	 */
+	double getCacheHitRate();
+
+	/**
+	 * @return the median refresh duration
+	 */
+	double getRefreshDurationP50Millis();
+
+	/**
+	 * @return the 99th percentile refresh duration
+	 */
+	double getRefreshDurationP99Millis();
+
+	/**
+	 * @return the 99.9th percentile refresh duration
+	 */
+	double getRefreshDurationP999Millis();
+
+	/**
+	 * @return the longest refresh duration
+	 */
+	double getRefreshDurationMaxMillis();
+
+	/**
+	 * @return the mean refresh duration
+	 */
+	double getRefreshDurationMeanMillis();
+
+	/**
+	 * @return the median snapshot conversion duration
+	 */
+	double getParseDurationP50Millis();
+
+	/**
+	 * @return the 99th percentile snapshot conversion duration
+	 */
+	double getParseDurationP99Millis();
+
+	/**
+	 * @return the 99.9th percentile snapshot conversion duration
+	 */
+	double getParseDurationP999Millis();
+
+	/**
+	 * @return the longest snapshot conversion duration
+	 */
+	double getParseDurationMaxMillis();
+
+	/**
+	 * Clears every counter and histogram.
+	 */
+	void reset();
+}
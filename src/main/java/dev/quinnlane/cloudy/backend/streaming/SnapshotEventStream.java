@@ -0,0 +1,348 @@
+package dev.quinnlane.cloudy.backend.streaming;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Streams published {@link WeatherSnapshot} instances to HTTP clients as Server-Sent Events.
+ * <p>
+ * Clients connect with a plain {@code GET} request to {@link #PATH}. By default, every event
+ * carries the full snapshot; clients that add {@code ?mode=delta} to the request instead receive
+ * the full snapshot once and only the changed top-level fields afterwards. Should a delta client
+ * fall behind and miss an event, it is automatically sent a full snapshot to resynchronize.
+ * <p>
+ * Every connection is served by its own virtual thread that blocks on a small per-client queue,
+ * so thousands of idle connections cost little more than their socket. Each snapshot is encoded
+ * exactly once and the same bytes are handed to every client. Heartbeat comments are sent
+ * periodically so that proxies do not time out idle connections and clients can detect dead ones.
+ */
+public class SnapshotEventStream implements Consumer<WeatherSnapshot>, AutoCloseable {
+	/**
+	 * The path that clients connect to in order to receive events.
+	 */
+	public static final String PATH = "/events";
+
+	/**
+	 * The number of events that can be waiting for a single client before the oldest one is
+	 * dropped. Snapshots supersede one another, so a slow client only ever needs the newest ones.
+	 */
+	private static final int CLIENT_QUEUE_CAPACITY = 8;
+
+	/**
+	 * The reconnection delay, in milliseconds, that clients are told to use after a disconnect.
+	 */
+	private static final long RETRY_MILLIS = 3000;
+
+	/**
+	 * Represents a single, already encoded event that can be written to any number of clients.
+	 *
+	 * @param sequence the sequence number of the snapshot this event was created from, or -1 for control events
+	 * @param full     the encoded event carrying the full snapshot
+	 * @param delta    the encoded event carrying only the fields that changed since the previous snapshot
+	 */
+	private record Event(long sequence, byte[] full, byte[] delta) {}
+
+	/**
+	 * The event sent to keep idle connections alive.
+	 */
+	private static final Event HEARTBEAT = new Event(-1, ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8), null);
+
+	/**
+	 * The event used to tell client threads to finish their response and exit.
+	 */
+	private static final Event CLOSE = new Event(-1, null, null);
+
+	/**
+	 * Represents a single connected client and the events waiting to be written to it.
+	 */
+	private static final class Client {
+		/**
+		 * Whether the client asked to receive deltas instead of full snapshots.
+		 */
+		private final boolean deltas;
+
+		/**
+		 * The events waiting to be written to this client.
+		 */
+		private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(CLIENT_QUEUE_CAPACITY);
+
+		/**
+		 * The sequence number of the last snapshot that was written to this client.
+		 */
+		private long lastSequence = -1;
+
+		private Client(boolean deltas) {
+			this.deltas = deltas;
+		}
+
+		/**
+		 * Queues an event for this client, dropping the oldest queued events if the client is falling behind.
+		 *
+		 * @param event the event to queue
+		 */
+		private void offer(@NotNull Event event) {
+			while (!this.queue.offer(event)) this.queue.poll();
+		}
+
+		/**
+		 * Writes an event to the client, choosing between the full and delta encoding as appropriate.
+		 *
+		 * @param body  the response body of the client's connection
+		 * @param event the event to write
+		 * @throws IOException if the client has disconnected
+		 */
+		private void write(@NotNull OutputStream body, @NotNull Event event) throws IOException {
+			if (event.sequence() >= 0) {
+				if (event.sequence() <= this.lastSequence) return;
+				boolean inOrder = this.lastSequence >= 0 && event.sequence() == this.lastSequence + 1;
+				body.write(this.deltas && inOrder && event.delta() != null ? event.delta() : event.full());
+				this.lastSequence = event.sequence();
+			} else {
+				body.write(event.full());
+			}
+			body.flush();
+		}
+	}
+
+	/**
+	 * The HTTP server accepting client connections.
+	 */
+	private final HttpServer server;
+
+	/**
+	 * The executor running one virtual thread per connected client.
+	 */
+	private final ExecutorService clientExecutor;
+
+	/**
+	 * The scheduler sending heartbeats to every connected client.
+	 */
+	private final ScheduledExecutorService heartbeatScheduler;
+
+	/**
+	 * The interval between two heartbeats.
+	 */
+	private final Duration heartbeatInterval;
+
+	/**
+	 * Every currently connected client.
+	 */
+	private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The backend this stream is attached to, or null if it has not been attached yet.
+	 */
+	private Backend backend;
+
+	/**
+	 * The most recently published event, sent to clients as soon as they connect.
+	 */
+	private volatile Event latestEvent;
+
+	/**
+	 * The encoded fields of the most recently published snapshot, used to compute deltas.
+	 */
+	private Map<String, String> latestFields;
+
+	/**
+	 * Constructs a new SnapshotEventStream bound to the specified address. The server is not
+	 * started until {@link #start(Backend)} is called.
+	 *
+	 * @param address           the address to listen on
+	 * @param heartbeatInterval the interval between two heartbeats; must be positive
+	 * @throws IOException if the address cannot be bound
+	 */
+	public SnapshotEventStream(@NotNull InetSocketAddress address, @NotNull Duration heartbeatInterval) throws IOException {
+		if (heartbeatInterval.isNegative() || heartbeatInterval.isZero()) throw new IllegalArgumentException("The heartbeat interval must be positive!");
+
+		this.heartbeatInterval = heartbeatInterval;
+		this.server = HttpServer.create(address, 1024);
+		this.clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Cloudy Event Stream Heartbeat");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		this.server.setExecutor(this.clientExecutor);
+		this.server.createContext(PATH, this::handle);
+	}
+
+	/**
+	 * Starts accepting clients and subscribes to the snapshots published by the given backend.
+	 * If the backend already has a snapshot, it is sent to clients as soon as they connect.
+	 *
+	 * @param backend the backend whose snapshots should be streamed; must not be null
+	 */
+	public void start(@NotNull Backend backend) {
+		this.backend = backend;
+
+		WeatherSnapshot latest = backend.getLatestSnapshot();
+		if (latest != null) this.accept(latest);
+		backend.addSnapshotListener(this);
+
+		long heartbeatMillis = this.heartbeatInterval.toMillis();
+		this.heartbeatScheduler.scheduleAtFixedRate(() -> this.broadcast(HEARTBEAT), heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+		this.server.start();
+
+		Backend.logger.info("Streaming snapshots as Server-Sent Events on %s%s.", this.server.getAddress(), PATH);
+	}
+
+	/**
+	 * Encodes a newly published snapshot once and queues it for every connected client.
+	 *
+	 * @param snapshot the snapshot that was published
+	 */
+	@Override
+	public synchronized void accept(@NotNull WeatherSnapshot snapshot) {
+		Map<String, String> fields = SnapshotJson.fields(snapshot);
+		byte[] full = encode(snapshot.sequence(), "snapshot", SnapshotJson.encode(snapshot));
+		byte[] delta = this.latestFields == null ? null : encode(snapshot.sequence(), "delta", SnapshotJson.delta(this.latestFields, fields));
+
+		this.latestFields = fields;
+		this.latestEvent = new Event(snapshot.sequence(), full, delta);
+		this.broadcast(this.latestEvent);
+	}
+
+	/**
+	 * Retrieves the number of clients that are currently connected.
+	 *
+	 * @return the number of connected clients
+	 */
+	public int getClientCount() {
+		return this.clients.size();
+	}
+
+	/**
+	 * Retrieves the address the server is listening on, which is useful when binding to port 0.
+	 *
+	 * @return the bound address of the server
+	 */
+	public InetSocketAddress getAddress() {
+		return this.server.getAddress();
+	}
+
+	/**
+	 * Stops accepting clients, ends every open stream, and unsubscribes from the backend.
+	 */
+	@Override
+	public void close() {
+		if (this.backend != null) this.backend.removeSnapshotListener(this);
+		this.heartbeatScheduler.shutdownNow();
+		this.broadcast(CLOSE);
+		this.server.stop(0);
+		this.clientExecutor.shutdown();
+		Backend.logger.info("Snapshot event stream has been stopped.");
+	}
+
+	/**
+	 * Queues an event for every connected client.
+	 *
+	 * @param event the event to queue
+	 */
+	private void broadcast(@NotNull Event event) {
+		for (Client client : this.clients) client.offer(event);
+	}
+
+	/**
+	 * Serves a single client connection until either side closes it.
+	 *
+	 * @param exchange the exchange of the connecting client
+	 */
+	private void handle(@NotNull HttpExchange exchange) throws IOException {
+		if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+			exchange.sendResponseHeaders(405, -1);
+			exchange.close();
+			return;
+		}
+
+		Client client = new Client("delta".equals(parseQuery(exchange.getRequestURI().getRawQuery()).get("mode")));
+
+		exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+		exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+		exchange.getResponseHeaders().set("Connection", "keep-alive");
+		exchange.sendResponseHeaders(200, 0);
+
+		this.clients.add(client);
+		Backend.logger.debug("Event stream client %s connected (%d connected).", exchange.getRemoteAddress(), this.clients.size());
+
+		try (OutputStream body = exchange.getResponseBody()) {
+			body.write(("retry: " + RETRY_MILLIS + "\n\n").getBytes(StandardCharsets.UTF_8));
+			Event latest = this.latestEvent;
+			if (latest != null) client.write(body, latest);
+			else body.flush();
+
+			Event event;
+			while ((event = client.queue.take()) != CLOSE) {
+				client.write(body, event);
+			}
+		} catch (IOException e) {
+			Backend.logger.trace("Event stream client %s disconnected: %s", exchange.getRemoteAddress(), e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			this.clients.remove(client);
+			exchange.close();
+			Backend.logger.debug("Event stream client %s disconnected (%d connected).", exchange.getRemoteAddress(), this.clients.size());
+		}
+	}
+
+	/**
+	 * Parses the parameters of a raw request query. Names and values are percent-decoded, a
+	 * parameter without a value is mapped to an empty string, and only the first occurrence of
+	 * a repeated parameter is kept.
+	 *
+	 * @param rawQuery the raw query, without the leading question mark, or null if there is none
+	 * @return the parameters of the query, by name
+	 */
+	static @NotNull Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> parameters = new HashMap<>();
+		if (rawQuery == null || rawQuery.isEmpty()) return parameters;
+
+		for (String pair : rawQuery.split("&")) {
+			if (pair.isEmpty()) continue;
+			int separator = pair.indexOf('=');
+			String name = separator < 0 ? pair : pair.substring(0, separator);
+			String value = separator < 0 ? "" : pair.substring(separator + 1);
+			try {
+				parameters.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+			} catch (IllegalArgumentException e) {
+				Backend.logger.trace("Ignoring malformed query parameter '%s'.", pair);
+			}
+		}
+		return parameters;
+	}
+
+	/**
+	 * Encodes a single Server-Sent Event.
+	 *
+	 * @param id   the event ID
+	 * @param type the event type
+	 * @param data the event data, which must not contain line breaks
+	 * @return the encoded event as UTF-8 bytes
+	 */
+	private static byte @NotNull [] encode(long id, @NotNull String type, @NotNull String data) {
+		return ("id: " + id + "\nevent: " + type + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,255 @@
+package dev.quinnlane.cloudy.backend.streaming;
+
+import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
+import dev.quinnlane.cloudy.common.datatypes.HourlyForecast;
+import dev.quinnlane.cloudy.common.datatypes.OrderedPair;
+import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import dev.quinnlane.cloudy.common.unit.DoubleUnit;
+import dev.quinnlane.cloudy.common.unit.IntUnit;
+import dev.quinnlane.cloudy.common.unit.Unit;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import dev.quinnlane.cloudy.common.unit.units.PrecipitationAmount;
+import dev.quinnlane.cloudy.common.unit.units.WindSpeed;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Encodes {@link WeatherSnapshot} instances as JSON for streaming clients.
+ * <p>
+ * A snapshot is first broken down into its top-level fields, each already encoded as a JSON
+ * value. This allows {@link #delta(Map, Map)} to send only the fields that changed between two
+ * snapshots, instead of the entire document. All unit values are encoded in SI units, leaving
+ * any locale conversion up to the client.
+ */
+public class SnapshotJson {
+	/**
+	 * Breaks a snapshot down into its top-level fields, with every value already encoded as JSON.
+	 * The returned map preserves the order in which the fields are declared on {@link WeatherSnapshot}.
+	 *
+	 * @param snapshot the snapshot to encode; must not be null
+	 * @return a map of field names to their JSON-encoded values
+	 */
+	public static @NotNull Map<String, String> fields(@NotNull WeatherSnapshot snapshot) {
+		Map<String, String> fields = new LinkedHashMap<>();
+		fields.put("sequence", Long.toString(snapshot.sequence()));
+		fields.put("provider", string(snapshot.providerClass()));
+		fields.put("location", location(snapshot.location()));
+		fields.put("capturedAt", instant(snapshot.capturedAt()));
+		fields.put("currentTemperature", unit(snapshot.currentTemperature()));
+		fields.put("relativeTemperature", unit(snapshot.relativeTemperature()));
+		fields.put("highTemperature", unit(snapshot.highTemperature()));
+		fields.put("lowTemperature", unit(snapshot.lowTemperature()));
+		fields.put("humidity", Integer.toString(snapshot.humidity()));
+		fields.put("wind", wind(snapshot.wind()));
+		fields.put("pressure", unit(snapshot.pressure()));
+		fields.put("uvIndex", Integer.toString(snapshot.uvIndex()));
+		fields.put("airQualityIndex", Integer.toString(snapshot.airQualityIndex()));
+		fields.put("sunrise", instant(snapshot.sunrise()));
+		fields.put("sunset", instant(snapshot.sunset()));
+		fields.put("hourlyForecast", hourly(snapshot.hourlyForecast()));
+		fields.put("dailyForecast", daily(snapshot.dailyForecast()));
+		return fields;
+	}
+
+	/**
+	 * Encodes a snapshot as a single JSON object.
+	 *
+	 * @param snapshot the snapshot to encode; must not be null
+	 * @return the snapshot as a JSON object
+	 */
+	public static @NotNull String encode(@NotNull WeatherSnapshot snapshot) {
+		return object(fields(snapshot));
+	}
+
+	/**
+	 * Encodes the difference between two field maps produced by {@link #fields(WeatherSnapshot)}.
+	 * Only fields whose encoded value changed are included, with the exception of the sequence
+	 * number, which is always present so clients can detect gaps.
+	 *
+	 * @param previous the fields of the previously sent snapshot; must not be null
+	 * @param current  the fields of the snapshot being sent; must not be null
+	 * @return a JSON object containing only the changed fields
+	 */
+	public static @NotNull String delta(@NotNull Map<String, String> previous, @NotNull Map<String, String> current) {
+		Map<String, String> changed = new LinkedHashMap<>();
+		for (Map.Entry<String, String> field : current.entrySet()) {
+			if (field.getKey().equals("sequence") || !Objects.equals(previous.get(field.getKey()), field.getValue())) {
+				changed.put(field.getKey(), field.getValue());
+			}
+		}
+		return object(changed);
+	}
+
+	/**
+	 * Joins already encoded fields into a JSON object.
+	 *
+	 * @param fields the field names and their JSON-encoded values
+	 * @return the JSON object
+	 */
+	private static @NotNull String object(@NotNull Map<String, String> fields) {
+		StringBuilder builder = new StringBuilder(fields.size() * 32);
+		builder.append('{');
+		for (Map.Entry<String, String> field : fields.entrySet()) {
+			if (builder.length() > 1) builder.append(',');
+			builder.append('"').append(field.getKey()).append("\":").append(field.getValue());
+		}
+		return builder.append('}').toString();
+	}
+
+	/**
+	 * Encodes a string as a JSON string literal, escaping any characters that require it.
+	 *
+	 * @param value the string to encode, or null
+	 * @return the JSON string literal, or {@code null} if the value was null
+	 */
+	static @NotNull String string(String value) {
+		if (value == null) return "null";
+
+		StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> builder.append("\\\"");
+				case '\\' -> builder.append("\\\\");
+				case '\n' -> builder.append("\\n");
+				case '\r' -> builder.append("\\r");
+				case '\t' -> builder.append("\\t");
+				default -> {
+					if (c < 0x20) builder.append(String.format("\\u%04x", (int) c));
+					else builder.append(c);
+				}
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	/**
+	 * Encodes an instant as an ISO-8601 JSON string.
+	 *
+	 * @param instant the instant to encode, or null
+	 * @return the JSON string, or {@code null} if the instant was null
+	 */
+	private static @NotNull String instant(Instant instant) {
+		return instant == null ? "null" : string(instant.toString());
+	}
+
+	/**
+	 * Encodes a double as a JSON number. JSON has no representation for NaN or infinities, so those
+	 * are written as {@code null}, like a missing value.
+	 *
+	 * @param value the double to encode, or null
+	 * @return the JSON number, or {@code null} if the double was null or not finite
+	 */
+	private static @NotNull String number(Double value) {
+		return value == null || !Double.isFinite(value) ? "null" : value.toString();
+	}
+
+	/**
+	 * Encodes a location as a JSON object with its latitude and longitude in decimal degrees.
+	 *
+	 * @param location the location to encode, or null
+	 * @return the JSON object, or {@code null} if the location was null
+	 */
+	private static @NotNull String location(EarthCoordinates location) {
+		if (location == null) return "null";
+		return "{\"latitude\":" + location.getLatitude().toPlainString() + ",\"longitude\":" + location.getLongitude().toPlainString() + '}';
+	}
+
+	/**
+	 * Encodes a unit as a JSON number holding its SI value.
+	 *
+	 * @param unit the unit to encode, or null
+	 * @return the JSON number, or {@code null} if the unit was null or its value not finite
+	 */
+	private static @NotNull String unit(Unit<?> unit) {
+		return switch (unit) {
+			case null -> "null";
+			case DoubleUnit doubleUnit -> number(doubleUnit.getAsDouble(UnitLocales.SI));
+			case IntUnit intUnit -> Integer.toString(intUnit.getAsInt(UnitLocales.SI));
+			default -> {
+				Object value = unit.getValue(UnitLocales.SI);
+				yield value instanceof Double doubleValue ? number(doubleValue) : String.valueOf(value);
+			}
+		};
+	}
+
+	/**
+	 * Encodes a wind triplet as a JSON object with its bearing, compass direction, and speed.
+	 *
+	 * @param wind the wind triplet to encode, or null
+	 * @return the JSON object, or {@code null} if the wind was null
+	 */
+	private static @NotNull String wind(OrderedTriplet<Double, CompassRose, WindSpeed> wind) {
+		if (wind == null) return "null";
+		return "{\"bearing\":" + number(wind.x()) + ",\"direction\":" + string(wind.y() == null ? null : wind.y().name()) + ",\"speed\":" + unit(wind.z()) + '}';
+	}
+
+	/**
+	 * Encodes a precipitation pair as a JSON object with its chance and amount.
+	 *
+	 * @param precipitation the precipitation pair to encode, or null
+	 * @return the JSON object, or {@code null} if the precipitation was null
+	 */
+	private static @NotNull String precipitation(OrderedPair<Integer, PrecipitationAmount> precipitation) {
+		if (precipitation == null) return "null";
+		return "{\"chance\":" + precipitation.x() + ",\"amount\":" + unit(precipitation.y()) + '}';
+	}
+
+	/**
+	 * Encodes the hourly forecast as a JSON array.
+	 *
+	 * @param forecasts the hourly forecast entries, or null
+	 * @return the JSON array, or {@code null} if the forecast was null
+	 */
+	private static @NotNull String hourly(HourlyForecast[] forecasts) {
+		if (forecasts == null) return "null";
+
+		StringBuilder builder = new StringBuilder(forecasts.length * 160).append('[');
+		for (int i = 0; i < forecasts.length; i++) {
+			HourlyForecast forecast = forecasts[i];
+			if (i > 0) builder.append(',');
+			builder.append("{\"temperature\":").append(unit(forecast.temperature()))
+					.append(",\"relativeTemperature\":").append(unit(forecast.relativeTemperature()))
+					.append(",\"precipitation\":").append(precipitation(forecast.precipitation()))
+					.append(",\"wind\":").append(wind(forecast.wind()))
+					.append(",\"cloudCover\":").append(forecast.cloudCover())
+					.append(",\"humidity\":").append(forecast.humidity())
+					.append('}');
+		}
+		return builder.append(']').toString();
+	}
+
+	/**
+	 * Encodes the daily forecast as a JSON array.
+	 *
+	 * @param forecasts the daily forecast entries, or null
+	 * @return the JSON array, or {@code null} if the forecast was null
+	 */
+	private static @NotNull String daily(DailyForecast[] forecasts) {
+		if (forecasts == null) return "null";
+
+		StringBuilder builder = new StringBuilder(forecasts.length * 220).append('[');
+		for (int i = 0; i < forecasts.length; i++) {
+			DailyForecast forecast = forecasts[i];
+			if (i > 0) builder.append(',');
+			builder.append("{\"highTemperature\":").append(unit(forecast.highTemperature()))
+					.append(",\"lowTemperature\":").append(unit(forecast.lowTemperature()))
+					.append(",\"precipitation\":").append(precipitation(forecast.precipitation()))
+					.append(",\"wind\":").append(wind(forecast.wind()))
+					.append(",\"cloudCover\":").append(forecast.cloudCover())
+					.append(",\"humidity\":").append(forecast.humidity())
+					.append(",\"uvIndex\":").append(forecast.uvIndex())
+					.append(",\"sunrise\":").append(instant(forecast.sunrise()))
+					.append(",\"sunset\":").append(instant(forecast.sunset()))
+					.append('}');
+		}
+		return builder.append(']').toString();
+	}
+}
@@ -1,10 +1,9 @@
 package dev.quinnlane.cloudy.common;
 
+import dev.quinnlane.cloudy.common.format.FixedPrecision;
+import dev.quinnlane.cloudy.common.format.Formatting;
 import dev.quinnlane.cloudy.common.unit.Unit;
 
-import java.text.DecimalFormat;
-import java.text.SimpleDateFormat;
-
 /**
  * The Constants class serves as a central repository for constant values and preset configurations
  * that are commonly used throughout the application.
@@ -18,15 +17,15 @@ public class Constants {
 	 */
 	public static final char DEGREE_SYMBOL = '°';
 	/**
-	 * A predefined {@link DecimalFormat} instance used as the default precision format
+	 * A predefined {@link FixedPrecision} instance used as the default precision format
 	 * for displaying numeric values. This format rounds numbers to three decimal places.
 	 * <p>
 	 * It is primarily used in the {@link Unit} class to format the representation of unit
-	 * values, ensuring consistency and clarity in output. The format pattern is defined as
-	 * "#.###", which limits the precision to three significant decimal places and discards
-	 * trailing zeroes.
+	 * values, ensuring consistency and clarity in output. It behaves like the "#.###"
+	 * pattern, which limits the precision to three significant decimal places and discards
+	 * trailing zeroes, but is immutable and so safe to share between threads.
+	 * <p>
+	 * Times and dates are formatted through {@link Formatting}.
 	 */
-	public static final DecimalFormat DEFAULT_PRECISION = new DecimalFormat("#.###");
-	public static final SimpleDateFormat SIMPLE_DATE_FORMAT = new SimpleDateFormat("MM/dd");
-	public static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("h:mma");
+	public static final FixedPrecision DEFAULT_PRECISION = FixedPrecision.of(3);
 }
@@ -0,0 +1,203 @@
+package dev.quinnlane.cloudy.common.astronomy;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Computes the times of sunrise, sunset, and twilight locally with the solar position algorithm
+ * of the NOAA Global Monitoring Laboratory's solar calculator, which is accurate to about a minute
+ * between latitudes of ±72° and within a few minutes beyond them.
+ * <p>
+ * Times are expressed in minutes after midnight UTC of a date, given as an epoch day. The events
+ * computed for a date are those of the solar day centred on that date's solar noon at the
+ * longitude, so they may fall before midnight UTC or after the following one far from the prime
+ * meridian, but always belong to the date as it is lived at the location. When the sun stays
+ * above or below the zenith angle of an event all day, the event does not happen, and
+ * {@link #ALWAYS_UP} or {@link #ALWAYS_DOWN} are returned instead.
+ */
+public final class SolarCalculator {
+	/**
+	 * Returned instead of a time when the sun stays above the zenith angle of an event all day, as during polar day.
+	 */
+	public static final double ALWAYS_UP = Double.POSITIVE_INFINITY;
+
+	/**
+	 * Returned instead of a time when the sun stays below the zenith angle of an event all day, as during polar night.
+	 */
+	public static final double ALWAYS_DOWN = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * The Julian day of the Unix epoch.
+	 */
+	static final double EPOCH_JULIAN_DAY = 2440587.5;
+
+	/**
+	 * The largest absolute latitude used, keeping the hour angle finite at the poles.
+	 */
+	private static final double MAX_LATITUDE = 89.9999;
+
+	private static final double MINUTES_PER_DAY = 1440;
+
+	private SolarCalculator() {}
+
+	/**
+	 * Computes the time the sun rises above a zenith angle.
+	 *
+	 * @param latitude  the latitude, in degrees
+	 * @param longitude the longitude, in degrees
+	 * @param epochDay  the date, as a number of days since 1970-01-01
+	 * @param twilight  the zenith angle of the event
+	 * @return the time in minutes after midnight UTC of the date, {@link #ALWAYS_UP}, or {@link #ALWAYS_DOWN}
+	 */
+	public static double dawn(double latitude, double longitude, long epochDay, @NotNull Twilight twilight) {
+		return event(latitude, longitude, epochDay, twilight.getZenith(), true);
+	}
+
+	/**
+	 * Computes the time the sun sets below a zenith angle.
+	 *
+	 * @param latitude  the latitude, in degrees
+	 * @param longitude the longitude, in degrees
+	 * @param epochDay  the date, as a number of days since 1970-01-01
+	 * @param twilight  the zenith angle of the event
+	 * @return the time in minutes after midnight UTC of the date, {@link #ALWAYS_UP}, or {@link #ALWAYS_DOWN}
+	 */
+	public static double dusk(double latitude, double longitude, long epochDay, @NotNull Twilight twilight) {
+		return event(latitude, longitude, epochDay, twilight.getZenith(), false);
+	}
+
+	/**
+	 * Computes the time the sun crosses the meridian.
+	 *
+	 * @param longitude the longitude, in degrees
+	 * @param epochDay  the date, as a number of days since 1970-01-01
+	 * @return the time in minutes after midnight UTC of the date
+	 */
+	public static double solarNoon(double longitude, long epochDay) {
+		double meanNoon = MINUTES_PER_DAY / 2 - 4 * longitude;
+		double[] position = new double[2];
+		solarPosition(julianDay(epochDay, meanNoon), position);
+		return meanNoon - position[1];
+	}
+
+	/**
+	 * Computes the time between sunrise and sunset.
+	 *
+	 * @param latitude  the latitude, in degrees
+	 * @param longitude the longitude, in degrees
+	 * @param epochDay  the date, as a number of days since 1970-01-01
+	 * @return the length of the day, which is zero during polar night and a whole day during polar day
+	 */
+	public static @NotNull Duration dayLength(double latitude, double longitude, long epochDay) {
+		return dayLength(dawn(latitude, longitude, epochDay, Twilight.OFFICIAL), dusk(latitude, longitude, epochDay, Twilight.OFFICIAL));
+	}
+
+	/**
+	 * Computes the time between a sunrise and a sunset.
+	 *
+	 * @param sunrise the time of sunrise, in minutes, or {@link #ALWAYS_UP} or {@link #ALWAYS_DOWN}
+	 * @param sunset  the time of sunset, in minutes, or {@link #ALWAYS_UP} or {@link #ALWAYS_DOWN}
+	 * @return the length of the day
+	 */
+	public static @NotNull Duration dayLength(double sunrise, double sunset) {
+		if (sunrise == ALWAYS_UP || sunset == ALWAYS_UP) return Duration.ofDays(1);
+		if (sunrise == ALWAYS_DOWN || sunset == ALWAYS_DOWN) return Duration.ZERO;
+		return Duration.ofSeconds(Math.round((sunset - sunrise) * 60));
+	}
+
+	/**
+	 * Converts the time of an event to an instant.
+	 *
+	 * @param epochDay the date the time is relative to, as a number of days since 1970-01-01
+	 * @param minutes  the time in minutes after midnight UTC of the date, {@link #ALWAYS_UP}, or {@link #ALWAYS_DOWN}
+	 * @return the instant, rounded to the second, or null if the event does not happen
+	 */
+	public static @Nullable Instant toInstant(long epochDay, double minutes) {
+		if (Double.isInfinite(minutes) || Double.isNaN(minutes)) return null;
+		return Instant.ofEpochSecond(epochDay * 86_400 + Math.round(minutes * 60));
+	}
+
+	/**
+	 * Computes an event, first with the position of the sun at solar noon and then once more with
+	 * its position at the estimated time of the event.
+	 */
+	private static double event(double latitude, double longitude, long epochDay, double zenith, boolean rising) {
+		double latitudeRadians = Math.toRadians(Math.clamp(latitude, -MAX_LATITUDE, MAX_LATITUDE));
+		double cosZenith = Math.cos(Math.toRadians(zenith));
+		double[] position = new double[2];
+
+		double time = MINUTES_PER_DAY / 2 - 4 * longitude;
+		for (int pass = 0; pass < 2; pass++) {
+			solarPosition(julianDay(epochDay, time), position);
+			double hourAngle = hourAngle(latitudeRadians, position[0], cosZenith);
+			if (Double.isInfinite(hourAngle)) return hourAngle;
+
+			double noon = MINUTES_PER_DAY / 2 - 4 * longitude - position[1];
+			time = rising ? noon - 4 * hourAngle : noon + 4 * hourAngle;
+		}
+		return time;
+	}
+
+	/**
+	 * Computes the hour angle of the sun at a zenith angle.
+	 *
+	 * @param latitude    the latitude, in radians
+	 * @param declination the declination of the sun, in radians
+	 * @param cosZenith   the cosine of the zenith angle
+	 * @return the hour angle in degrees, {@link #ALWAYS_UP}, or {@link #ALWAYS_DOWN}
+	 */
+	static double hourAngle(double latitude, double declination, double cosZenith) {
+		double cosHourAngle = (cosZenith - Math.sin(latitude) * Math.sin(declination)) / (Math.cos(latitude) * Math.cos(declination));
+		if (cosHourAngle > 1) return ALWAYS_DOWN;
+		if (cosHourAngle < -1) return ALWAYS_UP;
+		return Math.toDegrees(Math.acos(cosHourAngle));
+	}
+
+	/**
+	 * Computes the Julian day of a time.
+	 *
+	 * @param epochDay the date, as a number of days since 1970-01-01
+	 * @param minutes  the time in minutes after midnight UTC of the date
+	 * @return the Julian day
+	 */
+	static double julianDay(long epochDay, double minutes) {
+		return epochDay + EPOCH_JULIAN_DAY + minutes / MINUTES_PER_DAY;
+	}
+
+	/**
+	 * Computes the position of the sun at a time, following the NOAA solar calculator.
+	 *
+	 * @param julianDay   the time, as a Julian day
+	 * @param destination the array receiving the declination of the sun in radians and the equation of time in minutes
+	 */
+	static void solarPosition(double julianDay, double @NotNull [] destination) {
+		double t = (julianDay - 2451545) / 36525;
+
+		double meanLongitude = Math.toRadians((280.46646 + t * (36000.76983 + t * 0.0003032)) % 360);
+		double meanAnomaly = Math.toRadians(357.52911 + t * (35999.05029 - 0.0001537 * t));
+		double eccentricity = 0.016708634 - t * (0.000042037 + 0.0000001267 * t);
+
+		double center = Math.sin(meanAnomaly) * (1.914602 - t * (0.004817 + 0.000014 * t))
+				+ Math.sin(2 * meanAnomaly) * (0.019993 - 0.000101 * t)
+				+ Math.sin(3 * meanAnomaly) * 0.000289;
+		double omega = Math.toRadians(125.04 - 1934.136 * t);
+		double apparentLongitude = Math.toRadians(Math.toDegrees(meanLongitude) + center - 0.00569 - 0.00478 * Math.sin(omega));
+
+		double meanObliquity = 23 + (26 + (21.448 - t * (46.815 + t * (0.00059 - t * 0.001813))) / 60) / 60;
+		double obliquity = Math.toRadians(meanObliquity + 0.00256 * Math.cos(omega));
+
+		double y = Math.tan(obliquity / 2);
+		y *= y;
+		double equationOfTime = y * Math.sin(2 * meanLongitude)
+				- 2 * eccentricity * Math.sin(meanAnomaly)
+				+ 4 * eccentricity * y * Math.sin(meanAnomaly) * Math.cos(2 * meanLongitude)
+				- 0.5 * y * y * Math.sin(4 * meanLongitude)
+				- 1.25 * eccentricity * eccentricity * Math.sin(2 * meanAnomaly);
+
+		destination[0] = Math.asin(Math.sin(obliquity) * Math.sin(apparentLongitude));
+		destination[1] = 4 * Math.toDegrees(equationOfTime);
+	}
+}
@@ -0,0 +1,206 @@
+package dev.quinnlane.cloudy.common.astronomy;
+
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The sunrise and sunset of every date of a year at a location, precomputed so that looking up
+ * the sun times of any date is an array read.
+ * <p>
+ * The position of the sun does not depend on the location, so it is computed once per year, at
+ * midnight UTC of every date, and shared by the tables of every location; each table only
+ * interpolates it at the times of its own events. Tables are therefore cheap to compute in bulk,
+ * and agree with {@link SolarCalculator} to within a minute, except on the dates at which the sun
+ * only just rises or sets at high latitudes.
+ */
+public final class SunTable {
+	/**
+	 * Stored instead of a time when the sun does not set all day.
+	 */
+	private static final int ALWAYS_UP = Integer.MAX_VALUE;
+
+	/**
+	 * Stored instead of a time when the sun does not rise all day.
+	 */
+	private static final int ALWAYS_DOWN = Integer.MIN_VALUE;
+
+	/**
+	 * The positions of the sun of every year a table has been computed for, keyed by year.
+	 */
+	private static final ConcurrentHashMap<Integer, Ephemeris> EPHEMERIDES = new ConcurrentHashMap<>();
+
+	private final EarthCoordinates location;
+	private final int year;
+	private final long firstEpochDay;
+
+	/**
+	 * The times of sunrise and sunset, in seconds after midnight UTC of every date, indexed by day of the year minus one.
+	 */
+	private final int[] sunrises;
+	private final int[] sunsets;
+
+	private SunTable(EarthCoordinates location, int year, long firstEpochDay, int[] sunrises, int[] sunsets) {
+		this.location = location;
+		this.year = year;
+		this.firstEpochDay = firstEpochDay;
+		this.sunrises = sunrises;
+		this.sunsets = sunsets;
+	}
+
+	/**
+	 * Computes the table of a location and year.
+	 *
+	 * @param location the location; must not be null
+	 * @param year     the year
+	 * @return the table
+	 */
+	public static @NotNull SunTable compute(@NotNull EarthCoordinates location, int year) {
+		Ephemeris ephemeris = EPHEMERIDES.computeIfAbsent(year, Ephemeris::new);
+		int days = Year.of(year).length();
+		int[] sunrises = new int[days];
+		int[] sunsets = new int[days];
+
+		double latitude = Math.toRadians(Math.clamp(location.getLatitudeAsDouble(), -89.9999, 89.9999));
+		double longitude = location.getLongitudeAsDouble();
+		double cosZenith = Math.cos(Math.toRadians(Twilight.OFFICIAL.getZenith()));
+		for (int day = 0; day < days; day++) {
+			sunrises[day] = ephemeris.event(day, latitude, longitude, cosZenith, true);
+			sunsets[day] = ephemeris.event(day, latitude, longitude, cosZenith, false);
+		}
+		return new SunTable(location, year, ephemeris.firstEpochDay, sunrises, sunsets);
+	}
+
+	/**
+	 * Computes the tables of many locations for a year in parallel.
+	 *
+	 * @param locations the locations; must not be null
+	 * @param year      the year
+	 * @return the tables, in the order of the locations
+	 */
+	public static @NotNull List<SunTable> computeAll(@NotNull List<EarthCoordinates> locations, int year) {
+		EPHEMERIDES.computeIfAbsent(year, Ephemeris::new);
+		return locations.parallelStream().map(location -> compute(location, year)).toList();
+	}
+
+	/**
+	 * @return the location of this table
+	 */
+	public EarthCoordinates getLocation() {
+		return this.location;
+	}
+
+	/**
+	 * @return the year of this table
+	 */
+	public int getYear() {
+		return this.year;
+	}
+
+	/**
+	 * Retrieves the time of sunrise on a date.
+	 *
+	 * @param date the date, which must be in the year of this table
+	 * @return the time of sunrise, or null if the sun does not rise or set that day
+	 * @throws IllegalArgumentException if the date is not in the year of this table
+	 */
+	public @Nullable Instant getSunrise(@NotNull LocalDate date) {
+		return this.toInstant(date, this.sunrises);
+	}
+
+	/**
+	 * Retrieves the time of sunset on a date.
+	 *
+	 * @param date the date, which must be in the year of this table
+	 * @return the time of sunset, or null if the sun does not rise or set that day
+	 * @throws IllegalArgumentException if the date is not in the year of this table
+	 */
+	public @Nullable Instant getSunset(@NotNull LocalDate date) {
+		return this.toInstant(date, this.sunsets);
+	}
+
+	/**
+	 * Retrieves the time between sunrise and sunset on a date.
+	 *
+	 * @param date the date, which must be in the year of this table
+	 * @return the length of the day, which is zero during polar night and a whole day during polar day
+	 * @throws IllegalArgumentException if the date is not in the year of this table
+	 */
+	public @NotNull Duration getDayLength(@NotNull LocalDate date) {
+		int day = this.dayOf(date);
+		int sunrise = this.sunrises[day];
+		int sunset = this.sunsets[day];
+		if (sunrise == ALWAYS_UP || sunset == ALWAYS_UP) return Duration.ofDays(1);
+		if (sunrise == ALWAYS_DOWN || sunset == ALWAYS_DOWN) return Duration.ZERO;
+		return Duration.ofSeconds(sunset - sunrise);
+	}
+
+	private @Nullable Instant toInstant(@NotNull LocalDate date, int @NotNull [] times) {
+		int day = this.dayOf(date);
+		int time = times[day];
+		if (time == ALWAYS_UP || time == ALWAYS_DOWN) return null;
+		return Instant.ofEpochSecond((this.firstEpochDay + day) * 86_400 + time);
+	}
+
+	private int dayOf(@NotNull LocalDate date) {
+		if (date.getYear() != this.year) throw new IllegalArgumentException("This table only holds the sun times of " + this.year + "!");
+		return date.getDayOfYear() - 1;
+	}
+
+	/**
+	 * The declination of the sun and the equation of time at midnight UTC of every date of a year,
+	 * with two days of margin on both sides for events far from the prime meridian.
+	 */
+	private static final class Ephemeris {
+		private static final int MARGIN = 2;
+
+		private final long firstEpochDay;
+		private final double[] declinations;
+		private final double[] equationsOfTime;
+
+		private Ephemeris(int year) {
+			this.firstEpochDay = LocalDate.ofYearDay(year, 1).toEpochDay();
+			int samples = Year.of(year).length() + 2 * MARGIN + 1;
+			this.declinations = new double[samples];
+			this.equationsOfTime = new double[samples];
+
+			double[] position = new double[2];
+			for (int i = 0; i < samples; i++) {
+				SolarCalculator.solarPosition(SolarCalculator.julianDay(this.firstEpochDay + i - MARGIN, 0), position);
+				this.declinations[i] = position[0];
+				this.equationsOfTime[i] = position[1];
+			}
+		}
+
+		/**
+		 * Computes an event like {@link SolarCalculator}, interpolating the position of the sun.
+		 *
+		 * @return the time in seconds after midnight UTC of the date, {@link #ALWAYS_UP}, or {@link #ALWAYS_DOWN}
+		 */
+		private int event(int day, double latitude, double longitude, double cosZenith, boolean rising) {
+			double time = 720 - 4 * longitude;
+			for (int pass = 0; pass < 2; pass++) {
+				double sample = day + MARGIN + time / 1440;
+				int index = Math.clamp((long) Math.floor(sample), 0, this.declinations.length - 2);
+				double fraction = sample - index;
+				double declination = this.declinations[index] + fraction * (this.declinations[index + 1] - this.declinations[index]);
+				double equationOfTime = this.equationsOfTime[index] + fraction * (this.equationsOfTime[index + 1] - this.equationsOfTime[index]);
+
+				double hourAngle = SolarCalculator.hourAngle(latitude, declination, cosZenith);
+				if (hourAngle == SolarCalculator.ALWAYS_UP) return ALWAYS_UP;
+				if (hourAngle == SolarCalculator.ALWAYS_DOWN) return ALWAYS_DOWN;
+
+				double noon = 720 - 4 * longitude - equationOfTime;
+				time = rising ? noon - 4 * hourAngle : noon + 4 * hourAngle;
+			}
+			return (int) Math.round(time * 60);
+		}
+	}
+}
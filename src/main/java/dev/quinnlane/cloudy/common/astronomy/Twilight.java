@@ -0,0 +1,28 @@
+package dev.quinnlane.cloudy.common.astronomy;
+
+/**
+ * The solar zenith angles that mark sunrise, sunset, and the three kinds of twilight.
+ * <p>
+ * Dawn is the moment the centre of the sun rises above a zenith angle, and dusk the moment it sets
+ * below it. {@link #OFFICIAL} accounts for atmospheric refraction and the radius of the sun's disk,
+ * so its dawn and dusk are the sunrise and sunset.
+ */
+public enum Twilight {
+	OFFICIAL(90.833),
+	CIVIL(96),
+	NAUTICAL(102),
+	ASTRONOMICAL(108);
+
+	private final double zenith;
+
+	Twilight(double zenith) {
+		this.zenith = zenith;
+	}
+
+	/**
+	 * @return the zenith angle of the sun at dawn and dusk, in degrees
+	 */
+	public double getZenith() {
+		return this.zenith;
+	}
+}
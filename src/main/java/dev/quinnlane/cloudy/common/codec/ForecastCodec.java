@@ -0,0 +1,493 @@
+package dev.quinnlane.cloudy.common.codec;
+
+import dev.quinnlane.cloudy.common.datatypes.DailyForecast;
+import dev.quinnlane.cloudy.common.datatypes.HourlyForecast;
+import dev.quinnlane.cloudy.common.datatypes.OrderedPair;
+import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import dev.quinnlane.cloudy.common.unit.Unit;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import dev.quinnlane.cloudy.common.unit.units.PrecipitationAmount;
+import dev.quinnlane.cloudy.common.unit.units.Pressure;
+import dev.quinnlane.cloudy.common.unit.units.Temperature;
+import dev.quinnlane.cloudy.common.unit.units.WindSpeed;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * A compact, versioned binary codec for {@link HourlyForecast}, {@link DailyForecast}, and
+ * {@link WeatherSnapshot} records.
+ * <p>
+ * The encoding is designed to be shared by persistence, caching, and inter-process communication,
+ * so it favours size and speed over generality:
+ * <ul>
+ *     <li>Integers are written as unsigned LEB128 varints, with signed values zig-zag encoded first.</li>
+ *     <li>Unit values are stored in SI as fixed-point integers (e.g. hundredths of a degree), so they
+ *     are only preserved up to the resolution given by the {@code *_SCALE} constants.</li>
+ *     <li>{@link CompassRose} directions and {@link UnitLocales} are stored as their ordinals.</li>
+ *     <li>Instants are stored as epoch milliseconds, and coordinates with {@link #COORDINATE_DECIMALS} decimal places.</li>
+ *     <li>Nullable components are tracked by a presence bit mask written ahead of each record.</li>
+ * </ul>
+ * Every method works directly on the given {@link ByteBuffer} at its current position, without any
+ * intermediate arrays or strings. Only the decoded records and the provider name are allocated when reading.
+ * <p>
+ * Snapshots start with {@link #MAGIC} and {@link #VERSION}, which readers check before decoding.
+ * Standalone forecast records carry no header, so callers embedding them elsewhere are responsible
+ * for storing the version they were written with. Units are restored with the locale of the first
+ * unit in their record, and with the default precision.
+ */
+public final class ForecastCodec {
+	/**
+	 * The two bytes ("CW") that every encoded snapshot starts with.
+	 */
+	public static final short MAGIC = 0x4357;
+
+	/**
+	 * The current version of the encoding, written after {@link #MAGIC}.
+	 */
+	public static final byte VERSION = 1;
+
+	/**
+	 * The factor temperatures (in degrees Celsius) are multiplied by before being stored.
+	 */
+	public static final int TEMPERATURE_SCALE = 100;
+
+	/**
+	 * The factor pressures (in millibars) are multiplied by before being stored.
+	 */
+	public static final int PRESSURE_SCALE = 1000;
+
+	/**
+	 * The factor precipitation amounts (in millimeters) are multiplied by before being stored.
+	 */
+	public static final int PRECIPITATION_SCALE = 1000;
+
+	/**
+	 * The factor wind bearings (in degrees) are multiplied by before being stored.
+	 */
+	public static final int BEARING_SCALE = 100;
+
+	/**
+	 * The number of decimal places latitudes and longitudes are stored with, which is roughly a centimeter.
+	 */
+	public static final int COORDINATE_DECIMALS = 7;
+
+	/**
+	 * The byte written in place of a {@link CompassRose} ordinal when no direction is present.
+	 */
+	private static final int NO_DIRECTION = 0xFF;
+
+	/**
+	 * The factor latitudes and longitudes are multiplied by, matching {@link #COORDINATE_DECIMALS}.
+	 */
+	private static final int COORDINATE_SCALE = 10_000_000;
+
+	// Presence bits shared by the forecast records
+	private static final int HAS_FIRST_TEMPERATURE = 1;
+	private static final int HAS_SECOND_TEMPERATURE = 1 << 1;
+	private static final int HAS_PRECIPITATION = 1 << 2;
+	private static final int HAS_PRECIPITATION_AMOUNT = 1 << 3;
+	private static final int HAS_WIND = 1 << 4;
+	private static final int HAS_WIND_BEARING = 1 << 5;
+	private static final int HAS_WIND_SPEED = 1 << 6;
+	private static final int HAS_SUNRISE = 1 << 7;
+	private static final int HAS_SUNSET = 1 << 8;
+
+	// Additional presence bits used by snapshots
+	private static final int HAS_HIGH_TEMPERATURE = 1 << 9;
+	private static final int HAS_LOW_TEMPERATURE = 1 << 10;
+	private static final int HAS_PRESSURE = 1 << 11;
+	private static final int HAS_PROVIDER = 1 << 12;
+	private static final int HAS_CAPTURED_AT = 1 << 13;
+	private static final int HAS_LOCATION = 1 << 14;
+
+	private ForecastCodec() {}
+
+	// -- Snapshots
+
+	/**
+	 * Writes a complete snapshot, including the codec header, to the buffer.
+	 *
+	 * @param buffer   the buffer to write to; must have enough space remaining
+	 * @param snapshot the snapshot to write; must not be null
+	 * @throws java.nio.BufferOverflowException if the buffer runs out of space
+	 */
+	public static void writeSnapshot(@NotNull ByteBuffer buffer, @NotNull WeatherSnapshot snapshot) {
+		buffer.putShort(MAGIC);
+		buffer.put(VERSION);
+
+		int presence = 0;
+		if (snapshot.currentTemperature() != null) presence |= HAS_FIRST_TEMPERATURE;
+		if (snapshot.relativeTemperature() != null) presence |= HAS_SECOND_TEMPERATURE;
+		if (snapshot.highTemperature() != null) presence |= HAS_HIGH_TEMPERATURE;
+		if (snapshot.lowTemperature() != null) presence |= HAS_LOW_TEMPERATURE;
+		if (snapshot.pressure() != null) presence |= HAS_PRESSURE;
+		if (snapshot.providerClass() != null) presence |= HAS_PROVIDER;
+		if (snapshot.capturedAt() != null) presence |= HAS_CAPTURED_AT;
+		if (snapshot.location() != null) presence |= HAS_LOCATION;
+		if (snapshot.sunrise() != null) presence |= HAS_SUNRISE;
+		if (snapshot.sunset() != null) presence |= HAS_SUNSET;
+		presence |= windPresence(snapshot.wind());
+
+		writeVarLong(buffer, presence);
+		buffer.put((byte) localeOf(snapshot.currentTemperature(), snapshot.highTemperature(), snapshot.pressure()).ordinal());
+		writeVarLong(buffer, snapshot.sequence());
+		if ((presence & HAS_PROVIDER) != 0) writeAscii(buffer, snapshot.providerClass());
+		if ((presence & HAS_LOCATION) != 0) writeLocation(buffer, snapshot.location());
+		if ((presence & HAS_CAPTURED_AT) != 0) writeSignedVarLong(buffer, snapshot.capturedAt().toEpochMilli());
+
+		if ((presence & HAS_FIRST_TEMPERATURE) != 0) writeScaled(buffer, snapshot.currentTemperature().getAsDouble(UnitLocales.SI), TEMPERATURE_SCALE);
+		if ((presence & HAS_SECOND_TEMPERATURE) != 0) writeScaled(buffer, snapshot.relativeTemperature().getAsDouble(UnitLocales.SI), TEMPERATURE_SCALE);
+		if ((presence & HAS_HIGH_TEMPERATURE) != 0) writeScaled(buffer, snapshot.highTemperature().getAsDouble(UnitLocales.SI), TEMPERATURE_SCALE);
+		if ((presence & HAS_LOW_TEMPERATURE) != 0) writeScaled(buffer, snapshot.lowTemperature().getAsDouble(UnitLocales.SI), TEMPERATURE_SCALE);
+		writeVarLong(buffer, snapshot.humidity());
+		writeWind(buffer, presence, snapshot.wind());
+		if ((presence & HAS_PRESSURE) != 0) writeScaled(buffer, snapshot.pressure().getAsDouble(UnitLocales.SI), PRESSURE_SCALE);
+		writeVarLong(buffer, snapshot.uvIndex());
+		writeVarLong(buffer, snapshot.airQualityIndex());
+		if ((presence & HAS_SUNRISE) != 0) writeSignedVarLong(buffer, snapshot.sunrise().toEpochMilli());
+		if ((presence & HAS_SUNSET) != 0) writeSignedVarLong(buffer, snapshot.sunset().toEpochMilli());
+
+		HourlyForecast[] hourlyForecast = snapshot.hourlyForecast();
+		writeVarLong(buffer, hourlyForecast == null ? 0 : hourlyForecast.length);
+		if (hourlyForecast != null) for (HourlyForecast forecast : hourlyForecast) writeHourly(buffer, forecast);
+
+		DailyForecast[] dailyForecast = snapshot.dailyForecast();
+		writeVarLong(buffer, dailyForecast == null ? 0 : dailyForecast.length);
+		if (dailyForecast != null) for (DailyForecast forecast : dailyForecast) writeDaily(buffer, forecast);
+	}
+
+	/**
+	 * Reads a complete snapshot, including the codec header, from the buffer.
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the decoded snapshot
+	 * @throws IllegalArgumentException if the buffer does not start with a snapshot header or was written by an unsupported version
+	 * @throws BufferUnderflowException if the buffer ends before the snapshot does
+	 */
+	public static @NotNull WeatherSnapshot readSnapshot(@NotNull ByteBuffer buffer) {
+		if (buffer.getShort() != MAGIC) throw new IllegalArgumentException("The buffer does not contain an encoded snapshot!");
+		byte version = buffer.get();
+		if (version != VERSION) throw new IllegalArgumentException("Unsupported snapshot encoding version " + version + "!");
+
+		int presence = (int) readVarLong(buffer);
+		UnitLocales locale = readLocale(buffer);
+		long sequence = readVarLong(buffer);
+		String providerClass = (presence & HAS_PROVIDER) != 0 ? readAscii(buffer) : null;
+		EarthCoordinates location = (presence & HAS_LOCATION) != 0 ? readLocation(buffer) : null;
+		Instant capturedAt = (presence & HAS_CAPTURED_AT) != 0 ? Instant.ofEpochMilli(readSignedVarLong(buffer)) : null;
+
+		Temperature currentTemperature = (presence & HAS_FIRST_TEMPERATURE) != 0 ? new Temperature(readScaled(buffer, TEMPERATURE_SCALE), locale) : null;
+		Temperature relativeTemperature = (presence & HAS_SECOND_TEMPERATURE) != 0 ? new Temperature(readScaled(buffer, TEMPERATURE_SCALE), locale) : null;
+		Temperature highTemperature = (presence & HAS_HIGH_TEMPERATURE) != 0 ? new Temperature(readScaled(buffer, TEMPERATURE_SCALE), locale) : null;
+		Temperature lowTemperature = (presence & HAS_LOW_TEMPERATURE) != 0 ? new Temperature(readScaled(buffer, TEMPERATURE_SCALE), locale) : null;
+		int humidity = (int) readVarLong(buffer);
+		OrderedTriplet<Double, CompassRose, WindSpeed> wind = readWind(buffer, presence, locale);
+		Pressure pressure = (presence & HAS_PRESSURE) != 0 ? new Pressure(readScaled(buffer, PRESSURE_SCALE), locale) : null;
+		int uvIndex = (int) readVarLong(buffer);
+		int airQualityIndex = (int) readVarLong(buffer);
+		Instant sunrise = (presence & HAS_SUNRISE) != 0 ? Instant.ofEpochMilli(readSignedVarLong(buffer)) : null;
+		Instant sunset = (presence & HAS_SUNSET) != 0 ? Instant.ofEpochMilli(readSignedVarLong(buffer)) : null;
+
+		HourlyForecast[] hourlyForecast = new HourlyForecast[readLength(buffer)];
+		for (int i = 0; i < hourlyForecast.length; i++) hourlyForecast[i] = readHourly(buffer);
+
+		DailyForecast[] dailyForecast = new DailyForecast[readLength(buffer)];
+		for (int i = 0; i < dailyForecast.length; i++) dailyForecast[i] = readDaily(buffer);
+
+		return new WeatherSnapshot(sequence, providerClass, location, capturedAt, currentTemperature, relativeTemperature, highTemperature, lowTemperature, humidity, wind, pressure, uvIndex, airQualityIndex, sunrise, sunset, hourlyForecast, dailyForecast);
+	}
+
+	// -- Forecast records
+
+	/**
+	 * Writes a single hourly forecast record, without any header, to the buffer.
+	 *
+	 * @param buffer   the buffer to write to; must have enough space remaining
+	 * @param forecast the forecast to write; must not be null
+	 */
+	public static void writeHourly(@NotNull ByteBuffer buffer, @NotNull HourlyForecast forecast) {
+		int presence = 0;
+		if (forecast.temperature() != null) presence |= HAS_FIRST_TEMPERATURE;
+		if (forecast.relativeTemperature() != null) presence |= HAS_SECOND_TEMPERATURE;
+		presence |= precipitationPresence(forecast.precipitation());
+		presence |= windPresence(forecast.wind());
+
+		writeVarLong(buffer, presence);
+		buffer.put((byte) localeOf(forecast.temperature(), forecast.relativeTemperature(), forecast.wind() == null ? null : forecast.wind().z()).ordinal());
+		if ((presence & HAS_FIRST_TEMPERATURE) != 0) writeScaled(buffer, forecast.temperature().getAsDouble(UnitLocales.SI), TEMPERATURE_SCALE);
+		if ((presence & HAS_SECOND_TEMPERATURE) != 0) writeScaled(buffer, forecast.relativeTemperature().getAsDouble(UnitLocales.SI), TEMPERATURE_SCALE);
+		writePrecipitation(buffer, presence, forecast.precipitation());
+		writeWind(buffer, presence, forecast.wind());
+		writeVarLong(buffer, forecast.cloudCover());
+		writeVarLong(buffer, forecast.humidity());
+	}
+
+	/**
+	 * Reads a single hourly forecast record, without any header, from the buffer.
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the decoded forecast
+	 * @throws BufferUnderflowException if the buffer ends before the record does
+	 */
+	public static @NotNull HourlyForecast readHourly(@NotNull ByteBuffer buffer) {
+		int presence = (int) readVarLong(buffer);
+		UnitLocales locale = readLocale(buffer);
+		Temperature temperature = (presence & HAS_FIRST_TEMPERATURE) != 0 ? new Temperature(readScaled(buffer, TEMPERATURE_SCALE), locale) : null;
+		Temperature relativeTemperature = (presence & HAS_SECOND_TEMPERATURE) != 0 ? new Temperature(readScaled(buffer, TEMPERATURE_SCALE), locale) : null;
+		OrderedPair<Integer, PrecipitationAmount> precipitation = readPrecipitation(buffer, presence, locale);
+		OrderedTriplet<Double, CompassRose, WindSpeed> wind = readWind(buffer, presence, locale);
+		int cloudCover = (int) readVarLong(buffer);
+		int humidity = (int) readVarLong(buffer);
+		return new HourlyForecast(temperature, relativeTemperature, precipitation, wind, cloudCover, humidity);
+	}
+
+	/**
+	 * Writes a single daily forecast record, without any header, to the buffer.
+	 *
+	 * @param buffer   the buffer to write to; must have enough space remaining
+	 * @param forecast the forecast to write; must not be null
+	 */
+	public static void writeDaily(@NotNull ByteBuffer buffer, @NotNull DailyForecast forecast) {
+		int presence = 0;
+		if (forecast.highTemperature() != null) presence |= HAS_FIRST_TEMPERATURE;
+		if (forecast.lowTemperature() != null) presence |= HAS_SECOND_TEMPERATURE;
+		if (forecast.sunrise() != null) presence |= HAS_SUNRISE;
+		if (forecast.sunset() != null) presence |= HAS_SUNSET;
+		presence |= precipitationPresence(forecast.precipitation());
+		presence |= windPresence(forecast.wind());
+
+		writeVarLong(buffer, presence);
+		buffer.put((byte) localeOf(forecast.highTemperature(), forecast.lowTemperature(), forecast.wind() == null ? null : forecast.wind().z()).ordinal());
+		if ((presence & HAS_FIRST_TEMPERATURE) != 0) writeScaled(buffer, forecast.highTemperature().getAsDouble(UnitLocales.SI), TEMPERATURE_SCALE);
+		if ((presence & HAS_SECOND_TEMPERATURE) != 0) writeScaled(buffer, forecast.lowTemperature().getAsDouble(UnitLocales.SI), TEMPERATURE_SCALE);
+		writePrecipitation(buffer, presence, forecast.precipitation());
+		writeWind(buffer, presence, forecast.wind());
+		writeVarLong(buffer, forecast.cloudCover());
+		writeVarLong(buffer, forecast.humidity());
+		writeVarLong(buffer, forecast.uvIndex());
+		if ((presence & HAS_SUNRISE) != 0) writeSignedVarLong(buffer, forecast.sunrise().toEpochMilli());
+		if ((presence & HAS_SUNSET) != 0) writeSignedVarLong(buffer, forecast.sunset().toEpochMilli());
+	}
+
+	/**
+	 * Reads a single daily forecast record, without any header, from the buffer.
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the decoded forecast
+	 * @throws BufferUnderflowException if the buffer ends before the record does
+	 */
+	public static @NotNull DailyForecast readDaily(@NotNull ByteBuffer buffer) {
+		int presence = (int) readVarLong(buffer);
+		UnitLocales locale = readLocale(buffer);
+		Temperature highTemperature = (presence & HAS_FIRST_TEMPERATURE) != 0 ? new Temperature(readScaled(buffer, TEMPERATURE_SCALE), locale) : null;
+		Temperature lowTemperature = (presence & HAS_SECOND_TEMPERATURE) != 0 ? new Temperature(readScaled(buffer, TEMPERATURE_SCALE), locale) : null;
+		OrderedPair<Integer, PrecipitationAmount> precipitation = readPrecipitation(buffer, presence, locale);
+		OrderedTriplet<Double, CompassRose, WindSpeed> wind = readWind(buffer, presence, locale);
+		int cloudCover = (int) readVarLong(buffer);
+		int humidity = (int) readVarLong(buffer);
+		int uvIndex = (int) readVarLong(buffer);
+		Instant sunrise = (presence & HAS_SUNRISE) != 0 ? Instant.ofEpochMilli(readSignedVarLong(buffer)) : null;
+		Instant sunset = (presence & HAS_SUNSET) != 0 ? Instant.ofEpochMilli(readSignedVarLong(buffer)) : null;
+		return new DailyForecast(highTemperature, lowTemperature, precipitation, wind, cloudCover, humidity, uvIndex, sunrise, sunset);
+	}
+
+	// -- Shared components
+
+	private static int precipitationPresence(@Nullable OrderedPair<Integer, PrecipitationAmount> precipitation) {
+		if (precipitation == null) return 0;
+		return HAS_PRECIPITATION | (precipitation.y() != null ? HAS_PRECIPITATION_AMOUNT : 0);
+	}
+
+	private static void writePrecipitation(@NotNull ByteBuffer buffer, int presence, @Nullable OrderedPair<Integer, PrecipitationAmount> precipitation) {
+		if ((presence & HAS_PRECIPITATION) == 0) return;
+		writeVarLong(buffer, precipitation.x() == null ? 0 : precipitation.x());
+		if ((presence & HAS_PRECIPITATION_AMOUNT) != 0) writeScaled(buffer, precipitation.y().getAsDouble(UnitLocales.SI), PRECIPITATION_SCALE);
+	}
+
+	private static @Nullable OrderedPair<Integer, PrecipitationAmount> readPrecipitation(@NotNull ByteBuffer buffer, int presence, @NotNull UnitLocales locale) {
+		if ((presence & HAS_PRECIPITATION) == 0) return null;
+		int chance = (int) readVarLong(buffer);
+		PrecipitationAmount amount = (presence & HAS_PRECIPITATION_AMOUNT) != 0 ? new PrecipitationAmount(readScaled(buffer, PRECIPITATION_SCALE), locale) : null;
+		return new OrderedPair<>(chance, amount);
+	}
+
+	private static int windPresence(@Nullable OrderedTriplet<Double, CompassRose, WindSpeed> wind) {
+		if (wind == null) return 0;
+		return HAS_WIND | (wind.x() != null ? HAS_WIND_BEARING : 0) | (wind.z() != null ? HAS_WIND_SPEED : 0);
+	}
+
+	private static void writeWind(@NotNull ByteBuffer buffer, int presence, @Nullable OrderedTriplet<Double, CompassRose, WindSpeed> wind) {
+		if ((presence & HAS_WIND) == 0) return;
+		if ((presence & HAS_WIND_BEARING) != 0) writeScaled(buffer, wind.x(), BEARING_SCALE);
+		buffer.put((byte) (wind.y() == null ? NO_DIRECTION : wind.y().ordinal()));
+		if ((presence & HAS_WIND_SPEED) != 0) writeSignedVarLong(buffer, wind.z().getAsInt(UnitLocales.SI));
+	}
+
+	private static @Nullable OrderedTriplet<Double, CompassRose, WindSpeed> readWind(@NotNull ByteBuffer buffer, int presence, @NotNull UnitLocales locale) {
+		if ((presence & HAS_WIND) == 0) return null;
+		Double bearing = (presence & HAS_WIND_BEARING) != 0 ? readScaled(buffer, BEARING_SCALE) : null;
+		int direction = buffer.get() & 0xFF;
+		WindSpeed speed = (presence & HAS_WIND_SPEED) != 0 ? new WindSpeed((int) readSignedVarLong(buffer), locale) : null;
+		return new OrderedTriplet<>(bearing, direction == NO_DIRECTION ? null : CompassRose.fromOrdinal(direction), speed);
+	}
+
+	private static void writeLocation(@NotNull ByteBuffer buffer, @NotNull EarthCoordinates location) {
+		writeScaled(buffer, location.getLatitudeAsDouble(), COORDINATE_SCALE);
+		writeScaled(buffer, location.getLongitudeAsDouble(), COORDINATE_SCALE);
+	}
+
+	private static @NotNull EarthCoordinates readLocation(@NotNull ByteBuffer buffer) {
+		double latitude = readScaled(buffer, COORDINATE_SCALE);
+		double longitude = readScaled(buffer, COORDINATE_SCALE);
+		return new EarthCoordinates(latitude, longitude);
+	}
+
+	/**
+	 * Determines the locale a record's units are restored with, which is the locale of the first non-null unit.
+	 *
+	 * @param units the units of the record, in order of preference
+	 * @return the locale to store for the record, or {@link UnitLocales#SI} if no unit is present
+	 */
+	private static @NotNull UnitLocales localeOf(Unit<?> @NotNull ... units) {
+		for (Unit<?> unit : units) if (unit != null && unit.getLocale() != null) return unit.getLocale();
+		return UnitLocales.SI;
+	}
+
+	private static @NotNull UnitLocales readLocale(@NotNull ByteBuffer buffer) {
+		int ordinal = buffer.get();
+		UnitLocales[] locales = UnitLocales.values();
+		if (ordinal < 0 || ordinal >= locales.length) throw new IllegalArgumentException("Invalid unit locale ordinal " + ordinal + "!");
+		return locales[ordinal];
+	}
+
+	private static int readLength(@NotNull ByteBuffer buffer) {
+		long length = readVarLong(buffer);
+		if (length > buffer.remaining()) throw new IllegalArgumentException("Invalid record count " + length + "!");
+		return (int) length;
+	}
+
+	// -- Primitive encodings
+
+	/**
+	 * Writes a double as a zig-zag encoded fixed-point varint, rounding it to the given scale.
+	 *
+	 * @param buffer the buffer to write to
+	 * @param value  the value to write
+	 * @param scale  the factor the value is multiplied by before rounding
+	 */
+	public static void writeScaled(@NotNull ByteBuffer buffer, double value, int scale) {
+		writeSignedVarLong(buffer, Math.round(value * scale));
+	}
+
+	/**
+	 * Reads a fixed-point varint written by {@link #writeScaled(ByteBuffer, double, int)}.
+	 *
+	 * @param buffer the buffer to read from
+	 * @param scale  the scale the value was written with
+	 * @return the decoded value
+	 */
+	public static double readScaled(@NotNull ByteBuffer buffer, int scale) {
+		return readSignedVarLong(buffer) / (double) scale;
+	}
+
+	/**
+	 * Writes a signed long as a zig-zag encoded varint, so that small negative values stay small.
+	 *
+	 * @param buffer the buffer to write to
+	 * @param value  the value to write
+	 */
+	public static void writeSignedVarLong(@NotNull ByteBuffer buffer, long value) {
+		writeVarLong(buffer, (value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * Reads a zig-zag encoded varint written by {@link #writeSignedVarLong(ByteBuffer, long)}.
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the decoded value
+	 */
+	public static long readSignedVarLong(@NotNull ByteBuffer buffer) {
+		long raw = readVarLong(buffer);
+		return (raw >>> 1) ^ -(raw & 1);
+	}
+
+	/**
+	 * Writes a long as an unsigned LEB128 varint, using seven bits per byte.
+	 *
+	 * @param buffer the buffer to write to
+	 * @param value  the value to write, treated as unsigned
+	 */
+	public static void writeVarLong(@NotNull ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Reads an unsigned LEB128 varint written by {@link #writeVarLong(ByteBuffer, long)}.
+	 *
+	 * @param buffer the buffer to read from
+	 * @return the decoded value
+	 * @throws IllegalArgumentException if the varint is longer than ten bytes
+	 */
+	public static long readVarLong(@NotNull ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) return value;
+		}
+		throw new IllegalArgumentException("Malformed varint!");
+	}
+
+	/**
+	 * Writes an ASCII string prefixed by its length. Characters outside of ASCII are replaced with '?'.
+	 *
+	 * @param buffer the buffer to write to
+	 * @param value  the string to write
+	 */
+	private static void writeAscii(@NotNull ByteBuffer buffer, @NotNull String value) {
+		writeVarLong(buffer, value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			buffer.put((byte) (c < 0x80 ? c : '?'));
+		}
+	}
+
+	private static @NotNull String readAscii(@NotNull ByteBuffer buffer) {
+		int length = readLength(buffer);
+		if (buffer.hasArray()) {
+			String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.US_ASCII);
+			buffer.position(buffer.position() + length);
+			return value;
+		}
+
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) chars[i] = (char) (buffer.get() & 0x7F);
+		return new String(chars);
+	}
+
+	/**
+	 * Calculates an upper bound for the number of bytes {@link #writeSnapshot(ByteBuffer, WeatherSnapshot)}
+	 * will need for the given snapshot, which is useful for sizing buffers ahead of time.
+	 *
+	 * @param snapshot the snapshot that will be written
+	 * @return the maximum number of bytes the encoded snapshot can take
+	 */
+	public static int maxSnapshotSize(@NotNull WeatherSnapshot snapshot) {
+		int hourly = snapshot.hourlyForecast() == null ? 0 : snapshot.hourlyForecast().length;
+		int daily = snapshot.dailyForecast() == null ? 0 : snapshot.dailyForecast().length;
+		int provider = snapshot.providerClass() == null ? 0 : snapshot.providerClass().length();
+		return 212 + provider + hourly * 96 + daily * 128;
+	}
+}
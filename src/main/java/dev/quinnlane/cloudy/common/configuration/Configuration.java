@@ -0,0 +1,187 @@
+package dev.quinnlane.cloudy.common.configuration;
+
+import dev.quinnlane.cloudy.Cloudy;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable snapshot of the value of every {@link Setting}.
+ * <p>
+ * Configurations are read from files in the {@link Properties} format, where every line sets a
+ * setting by its key, such as {@code data_provider.update_interval = 30}. Settings that are not
+ * in the file keep their value in the base configuration, which is usually {@link #DEFAULTS}.
+ * Changing a configuration creates a new one, so a configuration can be shared and read from any
+ * thread without synchronization.
+ */
+public final class Configuration {
+	/**
+	 * The configuration holding the default value of every setting.
+	 */
+	public static final Configuration DEFAULTS = defaults();
+
+	/**
+	 * The value of every setting, by index.
+	 */
+	private final Object[] values;
+
+	private Configuration(Object[] values) {
+		this.values = values;
+	}
+
+	private static @NotNull Configuration defaults() {
+		List<Setting<?>> settings = Settings.values();
+		Object[] values = new Object[settings.size()];
+		for (Setting<?> setting : settings) values[setting.index()] = setting.getDefaultValue();
+		return new Configuration(values);
+	}
+
+	/**
+	 * Retrieves the value of a setting.
+	 *
+	 * @param setting the setting; must not be null
+	 * @param <T>     the type of the value
+	 * @return the value
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> @NotNull T get(@NotNull Setting<T> setting) {
+		return (T) this.values[setting.index()];
+	}
+
+	/**
+	 * Creates a copy of this configuration with another value of a setting.
+	 *
+	 * @param setting the setting; must not be null
+	 * @param value   the new value; must not be null
+	 * @param <T>     the type of the value
+	 * @return the new configuration
+	 * @throws IllegalArgumentException if the value is invalid, or invalid in combination with other settings
+	 */
+	public <T> @NotNull Configuration with(@NotNull Setting<T> setting, @NotNull T value) {
+		Object[] values = this.values.clone();
+		values[setting.index()] = setting.validate(value);
+
+		List<String> errors = new ArrayList<>();
+		validateCombinations(values, errors);
+		if (!errors.isEmpty()) throw new IllegalArgumentException(String.join(" ", errors));
+		return new Configuration(values);
+	}
+
+	/**
+	 * Determines whether a setting has another value in another configuration.
+	 *
+	 * @param setting the setting; must not be null
+	 * @param other   the other configuration; must not be null
+	 * @return true if the values differ
+	 */
+	public boolean differs(@NotNull Setting<?> setting, @NotNull Configuration other) {
+		return !Objects.equals(this.values[setting.index()], other.values[setting.index()]);
+	}
+
+	/**
+	 * Lists the settings that have other values in another configuration.
+	 *
+	 * @param other the other configuration; must not be null
+	 * @return the settings that differ, in order of declaration
+	 */
+	public @NotNull List<Setting<?>> diff(@NotNull Configuration other) {
+		List<Setting<?>> changed = new ArrayList<>();
+		for (Setting<?> setting : Settings.values()) {
+			if (this.differs(setting, other)) changed.add(setting);
+		}
+		return changed;
+	}
+
+	/**
+	 * Creates a configuration from properties, starting from a base configuration. Unknown keys are logged and ignored.
+	 *
+	 * @param properties the properties; must not be null
+	 * @param base       the configuration holding the settings that are not in the properties; must not be null
+	 * @return the new configuration
+	 * @throws IllegalArgumentException if any value is invalid, alone or in combination with other
+	 *                                  settings, listing every invalid value
+	 */
+	public static @NotNull Configuration parse(@NotNull Properties properties, @NotNull Configuration base) {
+		Object[] values = base.values.clone();
+		List<String> errors = new ArrayList<>();
+
+		for (String key : properties.stringPropertyNames()) {
+			Setting<?> setting = Settings.forKey(key);
+			if (setting == null) {
+				Cloudy.logger.warn("Ignoring unknown setting %s in the configuration.", key);
+				continue;
+			}
+
+			try {
+				values[setting.index()] = setting.parse(properties.getProperty(key));
+			} catch (IllegalArgumentException e) {
+				errors.add(e.getMessage());
+			}
+		}
+
+		// Combinations are only meaningful once every value on its own is valid
+		if (errors.isEmpty()) validateCombinations(values, errors);
+		if (!errors.isEmpty()) throw new IllegalArgumentException(String.join(" ", errors));
+		return new Configuration(values);
+	}
+
+	/**
+	 * Checks the constraints that span several settings, which no single setting can check on
+	 * its own, so that a configuration breaking one is rejected as a whole instead of failing
+	 * wherever the settings are used together.
+	 *
+	 * @param values the value of every setting, by index
+	 * @param errors the list to add a message to for every broken constraint
+	 */
+	private static void validateCombinations(Object @NotNull [] values, @NotNull List<String> errors) {
+		// Every refresh of the mock data provider draws at most one fault, see FaultProfile
+		List<Setting<Double>> faultRates = List.of(
+				Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__ERROR_RATE,
+				Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT_RATE,
+				Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PARTIAL_RATE,
+				Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__RATE_LIMIT_RATE
+		);
+		double total = 0;
+		for (Setting<Double> rate : faultRates) total += (Double) values[rate.index()];
+		if (total > 1) {
+			errors.add("The fault rates " + faultRates.stream().map(Setting::getKey).collect(Collectors.joining(", ")) + " add up to " + total + ", which must be at most 1!");
+		}
+	}
+
+	/**
+	 * Reads a configuration file, starting from the default configuration.
+	 *
+	 * @param path the path of the file; must not be null
+	 * @return the configuration
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if any value is invalid
+	 */
+	public static @NotNull Configuration read(@NotNull Path path) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+		return parse(properties, DEFAULTS);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof Configuration configuration && this.diff(configuration).isEmpty();
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for (Object value : this.values) hash = 31 * hash + value.hashCode();
+		return hash;
+	}
+}
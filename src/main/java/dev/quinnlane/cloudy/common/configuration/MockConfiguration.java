@@ -6,12 +6,29 @@ import dev.quinnlane.cloudy.common.datagen.DataPresets;
 import dev.quinnlane.cloudy.common.unit.UnitLocales;
 import dev.quinnlane.cloudy.common.unit.units.CompassRose;
 
+/**
+ * The compile-time defaults of every setting. Code should read settings through
+ * {@link RuntimeConfiguration}, whose values can be overridden by a configuration file.
+ *
+ * @see Settings
+ */
 public class MockConfiguration {
 	public static final UnitLocales CUSTOMIZATION__LOCALE = UnitLocales.SI;
 	public static final CompassRose.Specificity CUSTOMIZATION__MAX_WIND_DIRECTION_SPECIFICITY = CompassRose.Specificity.ORDINAL;
 	public static final boolean FUN__EASTER_EGGS = false;
 	public static final Class<? extends DataProvider> DATA_PROVIDER__CURRENT_PROVIDER = MockDataProvider.class;
 	public static final int DATA_PROVIDER__UPDATE_INTERVAL = 60;
+	public static final int DATA_PROVIDER__MAX_CONCURRENT_REQUESTS = 8;
+	public static final int CACHE__SNAPSHOT_TTL = 300;
+	public static final String CACHE__SNAPSHOT_FILE = "cloudy-snapshot.bin";
+	public static final int CACHE__MAX_SUN_TABLES = 2048;
+	public static final boolean METRICS__JMX_ENABLED = true;
+	public static final int METRICS__MAX_LOCATIONS = 256;
+	public static final boolean UNITS__VECTOR_API = false;
+	public static final boolean STREAMING__ENABLED = false;
+	public static final int STREAMING__PORT = 8787;
+	public static final int STREAMING__HEARTBEAT_INTERVAL = 15;
+	public static final int FRONTEND__MAX_UPDATES_PER_SECOND = 30;
 	public static final DataPresets DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH = DataPresets.TEMPERATURE_WARM;
 	public static final DataPresets DATA_PROVIDERS__MOCK_DATA_PROVIDER__COLDNESS = DataPresets.TEMPERATURE_COOL;
 	public static final DataPresets DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY = DataPresets.HUMIDITY_MEDIUM;
@@ -23,6 +40,15 @@ public class MockConfiguration {
 	public static final DataPresets DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_AMOUNT = DataPresets.PRECIPITATION_AMOUNT_LOW;
 	public static final DataPresets DATA_PROVIDERS__MOCK_DATA_PROVIDER__CLOUD_COVER = DataPresets.AIR_QUALITY_GOOD;
 	public static final boolean DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATING = true;
+	public static final int DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY = 0;
+	public static final int DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY_JITTER = 0;
+	public static final double DATA_PROVIDERS__MOCK_DATA_PROVIDER__ERROR_RATE = 0;
+	public static final double DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT_RATE = 0;
+	public static final int DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT = 30000;
+	public static final double DATA_PROVIDERS__MOCK_DATA_PROVIDER__PARTIAL_RATE = 0;
+	public static final double DATA_PROVIDERS__MOCK_DATA_PROVIDER__RATE_LIMIT_RATE = 0;
 	public static final int DATA_PROVIDERS__MOCK_DATA_PROVIDER__HOURLY_FORECAST_COUNT = 12;
 	public static final int DATA_PROVIDERS__MOCK_DATA_PROVIDER__DAILY_FORECAST_COUNT = 7;
+	public static final String DATA_PROVIDERS__REPLAY_DATA_PROVIDER__RECORDING = "";
+	public static final double DATA_PROVIDERS__REPLAY_DATA_PROVIDER__SPEED = 1;
 }
@@ -0,0 +1,223 @@
+package dev.quinnlane.cloudy.common.configuration;
+
+import dev.quinnlane.cloudy.Cloudy;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Holds the {@link Configuration} in effect, which can be replaced at runtime, for example by
+ * reloading a configuration file whenever it changes.
+ * <p>
+ * The configuration in effect is published through a single volatile field, so reading a setting
+ * on a hot path costs one volatile read and one array access, and a reload never blocks readers.
+ * Code that has to react to a change, such as a scheduler or a cache, registers a listener,
+ * which is called after every replacement that changed a setting, on the thread that replaced it.
+ * Code that reads several settings that must be consistent with each other should read them from
+ * a single {@link #get()}.
+ */
+public final class RuntimeConfiguration {
+	/**
+	 * How long the watcher waits for a file to stop changing before reloading it, as editors
+	 * often write a file in several steps.
+	 */
+	private static final long SETTLE_MILLIS = 100;
+
+	private static volatile Configuration current = Configuration.DEFAULTS;
+
+	private static final CopyOnWriteArrayList<BiConsumer<Configuration, Configuration>> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The watch service of the watched file, or null if no file is being watched.
+	 */
+	private static WatchService watchService;
+
+	private RuntimeConfiguration() {}
+
+	/**
+	 * @return the configuration in effect
+	 */
+	public static @NotNull Configuration get() {
+		return current;
+	}
+
+	/**
+	 * Retrieves the value of a setting in the configuration in effect.
+	 *
+	 * @param setting the setting; must not be null
+	 * @param <T>     the type of the value
+	 * @return the value
+	 */
+	public static <T> @NotNull T get(@NotNull Setting<T> setting) {
+		return current.get(setting);
+	}
+
+	/**
+	 * Replaces the configuration in effect and notifies every listener if any setting changed.
+	 *
+	 * @param configuration the new configuration; must not be null
+	 */
+	public static synchronized void set(@NotNull Configuration configuration) {
+		Configuration previous = current;
+		List<Setting<?>> changed = previous.diff(configuration);
+		if (changed.isEmpty()) return;
+
+		current = configuration;
+		Cloudy.logger.info("The configuration has changed: %s", changed);
+		for (BiConsumer<Configuration, Configuration> listener : listeners) {
+			try {
+				listener.accept(previous, configuration);
+			} catch (Exception e) {
+				Cloudy.logger.error("A configuration listener failed while applying %s!", changed, e);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the value of a single setting in the configuration in effect.
+	 *
+	 * @param setting the setting; must not be null
+	 * @param value   the new value; must not be null
+	 * @param <T>     the type of the value
+	 * @throws IllegalArgumentException if the value is invalid
+	 */
+	public static synchronized <T> void set(@NotNull Setting<T> setting, @NotNull T value) {
+		set(current.with(setting, value));
+	}
+
+	/**
+	 * Reads a configuration file and puts it into effect.
+	 *
+	 * @param path the path of the file; must not be null
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if any value in the file is invalid, in which case the configuration in effect is kept
+	 */
+	public static void load(@NotNull Path path) throws IOException {
+		set(Configuration.read(path));
+	}
+
+	/**
+	 * Registers a listener called with the previous and new configuration after every change.
+	 *
+	 * @param listener the listener; must not be null
+	 */
+	public static void addListener(@NotNull BiConsumer<Configuration, Configuration> listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Registers a listener called with the new value of a setting after every change of that setting.
+	 *
+	 * @param setting  the setting; must not be null
+	 * @param listener the listener; must not be null
+	 * @param <T>      the type of the value
+	 * @return the registered listener, to be passed to {@link #removeListener(BiConsumer)}
+	 */
+	public static <T> @NotNull BiConsumer<Configuration, Configuration> addListener(@NotNull Setting<T> setting, @NotNull Consumer<? super T> listener) {
+		BiConsumer<Configuration, Configuration> registered = (previous, configuration) -> {
+			if (previous.differs(setting, configuration)) listener.accept(configuration.get(setting));
+		};
+		listeners.add(registered);
+		return registered;
+	}
+
+	/**
+	 * Unregisters a listener.
+	 *
+	 * @param listener the listener, as registered; must not be null
+	 */
+	public static void removeListener(@NotNull BiConsumer<Configuration, Configuration> listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Loads a configuration file and reloads it whenever it changes, on a daemon thread, until
+	 * {@link #stopWatching()} is called. A file that is missing or invalid after a change is
+	 * logged and the configuration in effect is kept. Watching another file stops watching the
+	 * previous one.
+	 *
+	 * @param path the path of the file; must not be null
+	 * @throws IOException if the directory of the file cannot be watched
+	 */
+	public static synchronized void watch(@NotNull Path path) throws IOException {
+		stopWatching();
+
+		Path file = path.toAbsolutePath();
+		reload(file);
+
+		WatchService service = FileSystems.getDefault().newWatchService();
+		file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		watchService = service;
+
+		Thread thread = new Thread(() -> watchLoop(service, file), "Cloudy Configuration Watcher");
+		thread.setDaemon(true);
+		thread.start();
+		Cloudy.logger.info("Watching %s for configuration changes.", file);
+	}
+
+	/**
+	 * Stops reloading the watched configuration file, if any.
+	 */
+	public static synchronized void stopWatching() {
+		if (watchService == null) return;
+
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			Cloudy.logger.error("Failed to stop watching the configuration!", e);
+		}
+		watchService = null;
+	}
+
+	private static void watchLoop(@NotNull WatchService service, @NotNull Path file) {
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				boolean changed = affects(key, file);
+
+				// Wait for the file to settle, collecting every event in the meantime
+				WatchKey next;
+				while ((next = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					changed |= affects(next, file);
+				}
+				if (changed) reload(file);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException ignored) {
+			// Watching was stopped
+		}
+	}
+
+	/**
+	 * Determines whether the events of a key concern the file, and re-arms the key.
+	 */
+	private static boolean affects(@NotNull WatchKey key, @NotNull Path file) {
+		boolean affects = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) affects = true;
+		}
+		key.reset();
+		return affects;
+	}
+
+	private static void reload(@NotNull Path file) {
+		try {
+			load(file);
+		} catch (IOException | IllegalArgumentException e) {
+			Cloudy.logger.error("Failed to load the configuration from %s! Keeping the current configuration.", file, e);
+		}
+	}
+}
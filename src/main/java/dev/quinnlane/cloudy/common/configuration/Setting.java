@@ -0,0 +1,99 @@
+package dev.quinnlane.cloudy.common.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A typed key of the runtime {@link Configuration}, holding how its value is parsed from a
+ * configuration file and which values are valid.
+ * <p>
+ * Every setting is declared once in {@link Settings}, which gives it its index into the values
+ * of a configuration, so that reading a setting is a single array access.
+ *
+ * @param <T> the type of the value
+ */
+public final class Setting<T> {
+	private final int index;
+	private final String key;
+	private final T defaultValue;
+	private final Function<String, T> parser;
+	private final Predicate<T> validator;
+	private final String requirement;
+
+	/**
+	 * Constructs a new Setting. Only {@link Settings} declares settings.
+	 *
+	 * @param index        the index of the value of the setting in a configuration
+	 * @param key          the key of the setting in a configuration file
+	 * @param defaultValue the value of the setting when it is not configured
+	 * @param parser       parses the value from a configuration file, throwing an {@link IllegalArgumentException} if it cannot
+	 * @param validator    tests whether a value is valid
+	 * @param requirement  describes the valid values, for error messages
+	 */
+	Setting(int index, @NotNull String key, @NotNull T defaultValue, @NotNull Function<String, T> parser, @NotNull Predicate<T> validator, @NotNull String requirement) {
+		this.index = index;
+		this.key = key;
+		this.defaultValue = defaultValue;
+		this.parser = parser;
+		this.validator = validator;
+		this.requirement = requirement;
+		if (!validator.test(defaultValue)) throw new IllegalArgumentException("The default value of " + key + " is invalid!");
+	}
+
+	/**
+	 * @return the index of the value of the setting in a configuration
+	 */
+	int index() {
+		return this.index;
+	}
+
+	/**
+	 * @return the key of the setting in a configuration file, such as {@code data_provider.update_interval}
+	 */
+	public @NotNull String getKey() {
+		return this.key;
+	}
+
+	/**
+	 * @return the value of the setting when it is not configured
+	 */
+	public @NotNull T getDefaultValue() {
+		return this.defaultValue;
+	}
+
+	/**
+	 * Parses and validates a value of this setting.
+	 *
+	 * @param value the value, as written in a configuration file; must not be null
+	 * @return the parsed value
+	 * @throws IllegalArgumentException if the value cannot be parsed or is invalid
+	 */
+	public @NotNull T parse(@NotNull String value) {
+		T parsed;
+		try {
+			parsed = this.parser.apply(value.strip());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid value '" + value + "' for " + this.key + ", which must be " + this.requirement + "!", e);
+		}
+		return this.validate(parsed);
+	}
+
+	/**
+	 * Validates a value of this setting.
+	 *
+	 * @param value the value; must not be null
+	 * @return the value
+	 * @throws IllegalArgumentException if the value is invalid
+	 */
+	public @NotNull T validate(@NotNull T value) {
+		if (!this.validator.test(value)) throw new IllegalArgumentException("Invalid value '" + value + "' for " + this.key + ", which must be " + this.requirement + "!");
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return this.key;
+	}
+}
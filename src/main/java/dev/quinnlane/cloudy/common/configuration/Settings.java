@@ -0,0 +1,140 @@
+package dev.quinnlane.cloudy.common.configuration;
+
+import dev.quinnlane.cloudy.backend.dataproviders.DataProvider;
+import dev.quinnlane.cloudy.common.datagen.DataPresets;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Declares every {@link Setting} of the runtime {@link Configuration}, with the values of
+ * {@link MockConfiguration} as defaults.
+ * <p>
+ * The key of every setting in a configuration file is the name of its constant in lower case,
+ * with sections separated by dots; for example, {@link #DATA_PROVIDER__UPDATE_INTERVAL} is
+ * configured as {@code data_provider.update_interval}.
+ */
+public final class Settings {
+	/**
+	 * Every declared setting, in order of their index.
+	 */
+	private static final List<Setting<?>> VALUES = new ArrayList<>();
+
+	/**
+	 * The package simple provider class names are looked up in.
+	 */
+	private static final String PROVIDERS_PACKAGE = "dev.quinnlane.cloudy.backend.dataproviders.providers";
+
+	public static final Setting<UnitLocales> CUSTOMIZATION__LOCALE = enumeration("customization.locale", UnitLocales.class, MockConfiguration.CUSTOMIZATION__LOCALE);
+	public static final Setting<CompassRose.Specificity> CUSTOMIZATION__MAX_WIND_DIRECTION_SPECIFICITY = enumeration("customization.max_wind_direction_specificity", CompassRose.Specificity.class, MockConfiguration.CUSTOMIZATION__MAX_WIND_DIRECTION_SPECIFICITY);
+	public static final Setting<Boolean> FUN__EASTER_EGGS = bool("fun.easter_eggs", MockConfiguration.FUN__EASTER_EGGS);
+	public static final Setting<Class<? extends DataProvider>> DATA_PROVIDER__CURRENT_PROVIDER = provider("data_provider.current_provider", MockConfiguration.DATA_PROVIDER__CURRENT_PROVIDER);
+	public static final Setting<Integer> DATA_PROVIDER__UPDATE_INTERVAL = integer("data_provider.update_interval", MockConfiguration.DATA_PROVIDER__UPDATE_INTERVAL, 1, Integer.MAX_VALUE);
+	public static final Setting<Integer> DATA_PROVIDER__MAX_CONCURRENT_REQUESTS = integer("data_provider.max_concurrent_requests", MockConfiguration.DATA_PROVIDER__MAX_CONCURRENT_REQUESTS, 1, 65_536);
+	public static final Setting<Integer> CACHE__SNAPSHOT_TTL = integer("cache.snapshot_ttl", MockConfiguration.CACHE__SNAPSHOT_TTL, 1, Integer.MAX_VALUE);
+	public static final Setting<String> CACHE__SNAPSHOT_FILE = string("cache.snapshot_file", MockConfiguration.CACHE__SNAPSHOT_FILE);
+	public static final Setting<Integer> CACHE__MAX_SUN_TABLES = integer("cache.max_sun_tables", MockConfiguration.CACHE__MAX_SUN_TABLES, 1, Integer.MAX_VALUE);
+	public static final Setting<Boolean> METRICS__JMX_ENABLED = bool("metrics.jmx_enabled", MockConfiguration.METRICS__JMX_ENABLED);
+	public static final Setting<Integer> METRICS__MAX_LOCATIONS = integer("metrics.max_locations", MockConfiguration.METRICS__MAX_LOCATIONS, 1, Integer.MAX_VALUE);
+	public static final Setting<Boolean> UNITS__VECTOR_API = bool("units.vector_api", MockConfiguration.UNITS__VECTOR_API);
+	public static final Setting<Boolean> STREAMING__ENABLED = bool("streaming.enabled", MockConfiguration.STREAMING__ENABLED);
+	public static final Setting<Integer> STREAMING__PORT = integer("streaming.port", MockConfiguration.STREAMING__PORT, 0, 65_535);
+	public static final Setting<Integer> STREAMING__HEARTBEAT_INTERVAL = integer("streaming.heartbeat_interval", MockConfiguration.STREAMING__HEARTBEAT_INTERVAL, 1, Integer.MAX_VALUE);
+	public static final Setting<Integer> FRONTEND__MAX_UPDATES_PER_SECOND = integer("frontend.max_updates_per_second", MockConfiguration.FRONTEND__MAX_UPDATES_PER_SECOND, 0, 1_000);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH = enumeration("data_providers.mock_data_provider.warmth", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__COLDNESS = enumeration("data_providers.mock_data_provider.coldness", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__COLDNESS);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY = enumeration("data_providers.mock_data_provider.humidity", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED = enumeration("data_providers.mock_data_provider.wind_speed", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRESSURE = enumeration("data_providers.mock_data_provider.pressure", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRESSURE);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__UV_INDEX = enumeration("data_providers.mock_data_provider.uv_index", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__UV_INDEX);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__AIR_QUALITY = enumeration("data_providers.mock_data_provider.air_quality", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__AIR_QUALITY);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_CHANCE = enumeration("data_providers.mock_data_provider.precipitation_chance", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_CHANCE);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_AMOUNT = enumeration("data_providers.mock_data_provider.precipitation_amount", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_AMOUNT);
+	public static final Setting<DataPresets> DATA_PROVIDERS__MOCK_DATA_PROVIDER__CLOUD_COVER = enumeration("data_providers.mock_data_provider.cloud_cover", DataPresets.class, MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__CLOUD_COVER);
+	public static final Setting<Boolean> DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATING = bool("data_providers.mock_data_provider.precipitating", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATING);
+	public static final Setting<Integer> DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY = integer("data_providers.mock_data_provider.latency", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY, 0, Integer.MAX_VALUE);
+	public static final Setting<Integer> DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY_JITTER = integer("data_providers.mock_data_provider.latency_jitter", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__LATENCY_JITTER, 0, Integer.MAX_VALUE);
+	public static final Setting<Double> DATA_PROVIDERS__MOCK_DATA_PROVIDER__ERROR_RATE = decimal("data_providers.mock_data_provider.error_rate", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__ERROR_RATE, 0, 1);
+	public static final Setting<Double> DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT_RATE = decimal("data_providers.mock_data_provider.timeout_rate", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT_RATE, 0, 1);
+	public static final Setting<Integer> DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT = integer("data_providers.mock_data_provider.timeout", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__TIMEOUT, 0, Integer.MAX_VALUE);
+	public static final Setting<Double> DATA_PROVIDERS__MOCK_DATA_PROVIDER__PARTIAL_RATE = decimal("data_providers.mock_data_provider.partial_rate", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PARTIAL_RATE, 0, 1);
+	public static final Setting<Double> DATA_PROVIDERS__MOCK_DATA_PROVIDER__RATE_LIMIT_RATE = decimal("data_providers.mock_data_provider.rate_limit_rate", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__RATE_LIMIT_RATE, 0, 1);
+	public static final Setting<Integer> DATA_PROVIDERS__MOCK_DATA_PROVIDER__HOURLY_FORECAST_COUNT = integer("data_providers.mock_data_provider.hourly_forecast_count", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HOURLY_FORECAST_COUNT, 0, 1_000);
+	public static final Setting<Integer> DATA_PROVIDERS__MOCK_DATA_PROVIDER__DAILY_FORECAST_COUNT = integer("data_providers.mock_data_provider.daily_forecast_count", MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__DAILY_FORECAST_COUNT, 0, 1_000);
+	public static final Setting<String> DATA_PROVIDERS__REPLAY_DATA_PROVIDER__RECORDING = string("data_providers.replay_data_provider.recording", MockConfiguration.DATA_PROVIDERS__REPLAY_DATA_PROVIDER__RECORDING);
+	public static final Setting<Double> DATA_PROVIDERS__REPLAY_DATA_PROVIDER__SPEED = decimal("data_providers.replay_data_provider.speed", MockConfiguration.DATA_PROVIDERS__REPLAY_DATA_PROVIDER__SPEED, 0, 1e9);
+
+	private Settings() {}
+
+	/**
+	 * @return every declared setting
+	 */
+	public static @NotNull List<Setting<?>> values() {
+		return Collections.unmodifiableList(VALUES);
+	}
+
+	/**
+	 * Finds a setting by its key.
+	 *
+	 * @param key the key of the setting, such as {@code data_provider.update_interval}
+	 * @return the setting, or null if there is none with the key
+	 */
+	public static Setting<?> forKey(@NotNull String key) {
+		for (Setting<?> setting : VALUES) if (setting.getKey().equals(key)) return setting;
+		return null;
+	}
+
+	private static <T> @NotNull Setting<T> register(@NotNull String key, @NotNull T defaultValue, @NotNull Function<String, T> parser, @NotNull Predicate<T> validator, @NotNull String requirement) {
+		Setting<T> setting = new Setting<>(VALUES.size(), key, defaultValue, parser, validator, requirement);
+		VALUES.add(setting);
+		return setting;
+	}
+
+	private static @NotNull Setting<Integer> integer(@NotNull String key, int defaultValue, int minimum, int maximum) {
+		return register(key, defaultValue, Integer::parseInt, value -> value >= minimum && value <= maximum, "an integer from " + minimum + " to " + maximum);
+	}
+
+	private static @NotNull Setting<Double> decimal(@NotNull String key, double defaultValue, double minimum, double maximum) {
+		return register(key, defaultValue, Double::parseDouble, value -> value >= minimum && value <= maximum, "a number from " + minimum + " to " + maximum);
+	}
+
+	private static @NotNull Setting<Boolean> bool(@NotNull String key, boolean defaultValue) {
+		return register(key, defaultValue, value -> switch (value.toLowerCase(Locale.ROOT)) {
+			case "true" -> true;
+			case "false" -> false;
+			default -> throw new IllegalArgumentException("Not a boolean!");
+		}, value -> true, "true or false");
+	}
+
+	private static @NotNull Setting<String> string(@NotNull String key, @NotNull String defaultValue) {
+		return register(key, defaultValue, Function.identity(), value -> true, "a string");
+	}
+
+	private static <E extends Enum<E>> @NotNull Setting<E> enumeration(@NotNull String key, @NotNull Class<E> type, @NotNull E defaultValue) {
+		List<String> names = new ArrayList<>();
+		for (E constant : type.getEnumConstants()) names.add(constant.name());
+		return register(key, defaultValue, value -> Enum.valueOf(type, value.toUpperCase(Locale.ROOT)), value -> true, "one of " + names);
+	}
+
+	/**
+	 * Declares a setting holding a provider class, configured by its fully qualified name or, for
+	 * the built-in providers, by its simple name.
+	 */
+	private static @NotNull Setting<Class<? extends DataProvider>> provider(@NotNull String key, @NotNull Class<? extends DataProvider> defaultValue) {
+		return register(key, defaultValue, value -> {
+			String name = value.contains(".") ? value : PROVIDERS_PACKAGE + "." + value;
+			try {
+				return Class.forName(name).asSubclass(DataProvider.class);
+			} catch (ClassNotFoundException | ClassCastException e) {
+				throw new IllegalArgumentException("Not a data provider!", e);
+			}
+		}, value -> true, "the name of a data provider class");
+	}
+}
@@ -85,6 +85,12 @@ public enum DataPresets {
 	 */
 	private final String precision;
 
+	/**
+	 * The number of decimal places allowed by {@link #precision}, used to round generated values
+	 * arithmetically instead of formatting them.
+	 */
+	private final int decimalPlaces;
+
 	/**
 	 * Constructs a new DataPresets instance with the specified range and floating-point property,
 	 * using the default precision.
@@ -113,6 +119,7 @@ public enum DataPresets {
 		this.range = range;
 		this.isFloatingPoint = isFloatingPoint;
 		this.precision = precision;
+		this.decimalPlaces = precision.indexOf('.') < 0 ? 0 : precision.length() - precision.indexOf('.') - 1;
 	}
 
 	/**
@@ -150,4 +157,13 @@ public enum DataPresets {
 	public String getPrecision() {
 		return this.precision;
 	}
+
+	/**
+	 * Retrieves the number of decimal places allowed by the precision of this data preset.
+	 *
+	 * @return The number of decimal places.
+	 */
+	public int getDecimalPlaces() {
+		return this.decimalPlaces;
+	}
 }
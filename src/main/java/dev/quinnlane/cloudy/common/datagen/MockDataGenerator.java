@@ -1,55 +1,134 @@
 package dev.quinnlane.cloudy.common.datagen;
 
-import dev.quinnlane.cloudy.common.configuration.MockConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Configuration;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
 import dev.quinnlane.cloudy.common.datatypes.OrderedPair;
 import dev.quinnlane.cloudy.common.unit.units.PrecipitationAmount;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
-import java.text.DecimalFormat;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Class responsible for generating mock data values, primarily numerical and precipitation data,
  * based on configurable presets and parameters.
+ * <p>
+ * Every generator draws from its own {@link RandomGenerator}, so generators seeded identically
+ * produce identical sequences of values. Generators are not thread-safe; each thread should use
+ * its own, which {@link #split()} creates cheaply and deterministically.
  */
 public class MockDataGenerator {
 	/**
-	 * Generates a numerical data value based on the provided data preset and its precision.
+	 * The powers of ten used to round values to a number of decimal places.
+	 */
+	private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+	/**
+	 * The source of randomness of this generator.
+	 */
+	private final RandomGenerator random;
+
+	/**
+	 * Constructs a new MockDataGenerator with a random seed.
+	 */
+	public MockDataGenerator() {
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a new MockDataGenerator that produces the same values every time it is created with the same seed.
 	 *
-	 * @param preset the data preset configuration containing precision and other information; must not be null
-	 * @return the generated numerical data value based on the given preset
+	 * @param seed the seed
 	 */
-	public static Number generateData(@NotNull DataPresets preset) {
-		return generateData(preset, preset.getPrecision());
+	public MockDataGenerator(long seed) {
+		this(new SplittableRandom(seed));
 	}
 
 	/**
-	 * Generates a random number based on the given data preset and precision.
-	 * The method can generate either a floating-point number or an integer
-	 * depending on the provided preset configuration.
+	 * Constructs a new MockDataGenerator drawing from a random generator.
 	 *
-	 * @param preset    the data preset that specifies the range and type of the number
-	 * @param precision the format string defining the precision for floating-point numbers
-	 * @return a randomly generated number, either a floating-point or an integer,
-	 *         based on the provided preset and precision
+	 * @param random the source of randomness; must not be null
 	 */
-	public static Number generateData(@NotNull DataPresets preset, String precision) {
-		Random random = new Random();
+	public MockDataGenerator(@NotNull RandomGenerator random) {
+		this.random = random;
+	}
 
-		if (preset.isFloatingPoint()) return Double.parseDouble(new DecimalFormat(precision).format(random.nextDouble(preset.getMinimum(), preset.getMaximum())));
-		return random.nextInt((int) preset.getMinimum(), (int) preset.getMaximum() + 1);
+	/**
+	 * Creates a new generator, independent of this one, whose values are determined by the
+	 * values drawn from this one so far.
+	 *
+	 * @return the new generator
+	 */
+	public @NotNull MockDataGenerator split() {
+		if (this.random instanceof RandomGenerator.SplittableGenerator splittable) return new MockDataGenerator(splittable.split());
+		return new MockDataGenerator(this.random.nextLong());
+	}
+
+	/**
+	 * Generates a value within the range of a data preset. Floating-point presets produce a value
+	 * rounded to the precision of the preset, with an exclusive upper bound; other presets
+	 * produce a whole number, with an inclusive upper bound.
+	 *
+	 * @param preset the data preset that specifies the range and type of the value; must not be null
+	 * @return the generated value
+	 */
+	public double nextDouble(@NotNull DataPresets preset) {
+		if (!preset.isFloatingPoint()) return this.nextInt(preset);
+		return round(this.random.nextDouble(preset.getMinimum(), preset.getMaximum()), preset.getDecimalPlaces());
 	}
 
+	/**
+	 * Generates a whole number within the range of a data preset, with an inclusive upper bound.
+	 *
+	 * @param preset the data preset that specifies the range of the value; must not be null
+	 * @return the generated value
+	 */
+	public int nextInt(@NotNull DataPresets preset) {
+		return this.random.nextInt((int) preset.getMinimum(), (int) preset.getMaximum() + 1);
+	}
+
+	/**
+	 * Generates a chance and amount of precipitation, or none at all if
+	 * {@link Settings#DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATING} is disabled in the
+	 * configuration in effect.
+	 *
+	 * @return an {@link OrderedPair} of the chance of precipitation in percent and its amount
+	 */
 	@Contract(" -> new")
-	public static @NotNull OrderedPair<Integer, PrecipitationAmount> generatePrecipitationData() {
-		if (MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATING) {
-			int chance = (int) generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_CHANCE);
-			PrecipitationAmount amount = new PrecipitationAmount((Double) generateData(MockConfiguration.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_AMOUNT), MockConfiguration.CUSTOMIZATION__LOCALE);
+	public @NotNull OrderedPair<Integer, PrecipitationAmount> generatePrecipitationData() {
+		return this.generatePrecipitationData(RuntimeConfiguration.get());
+	}
+
+	/**
+	 * Generates a chance and amount of precipitation, or none at all if
+	 * {@link Settings#DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATING} is disabled.
+	 *
+	 * @param config the configuration to read the presets from; must not be null
+	 * @return an {@link OrderedPair} of the chance of precipitation in percent and its amount
+	 */
+	@Contract("_ -> new")
+	public @NotNull OrderedPair<Integer, PrecipitationAmount> generatePrecipitationData(@NotNull Configuration config) {
+		if (config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATING)) {
+			int chance = this.nextInt(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_CHANCE));
+			PrecipitationAmount amount = new PrecipitationAmount(this.nextDouble(config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_AMOUNT)), config.get(Settings.CUSTOMIZATION__LOCALE));
 			return new OrderedPair<>(chance, amount);
 		} else {
-			PrecipitationAmount amount = new PrecipitationAmount(0d, MockConfiguration.CUSTOMIZATION__LOCALE);
+			PrecipitationAmount amount = new PrecipitationAmount(0d, config.get(Settings.CUSTOMIZATION__LOCALE));
 			return new OrderedPair<>(0, amount);
 		}
 	}
+
+	/**
+	 * Rounds a value half up to a number of decimal places.
+	 *
+	 * @param value         the value to round
+	 * @param decimalPlaces the number of decimal places, from 0 to 15
+	 * @return the rounded value
+	 */
+	public static double round(double value, int decimalPlaces) {
+		double scale = POWERS_OF_TEN[decimalPlaces];
+		return Math.round(value * scale) / scale;
+	}
 }
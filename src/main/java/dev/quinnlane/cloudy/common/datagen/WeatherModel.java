@@ -0,0 +1,209 @@
+package dev.quinnlane.cloudy.common.datagen;
+
+import dev.quinnlane.cloudy.common.configuration.Configuration;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * A synthetic weather model producing time series that behave like real weather, for generating
+ * history to benchmark against. Unlike {@link MockDataGenerator}, which draws every value
+ * independently, consecutive samples are correlated:
+ * <ul>
+ *     <li>Temperature follows a seasonal trend, stronger away from the equator and opposite in
+ *     the southern hemisphere, and a diurnal cycle peaking in the mid-afternoon of local solar
+ *     time, on top of autocorrelated noise.</li>
+ *     <li>Pressure drifts slowly around its mean. Fronts arrive at random, deepening the pressure
+ *     over half a day and then slowly recovering; while a front passes, the wind picks up and
+ *     veers, the humidity and cloud cover rise, the temperature drops, and it precipitates.</li>
+ *     <li>Humidity follows the diurnal cycle inversely to temperature; wind speed, wind direction
+ *     and cloud cover wander with their own noise.</li>
+ * </ul>
+ * The ranges of the values are taken from {@link DataPresets}: the mean of the warmth and
+ * coldness presets sets the mean temperature, their difference the diurnal amplitude, and the
+ * other presets bound their fields and set the depth of fronts.
+ * <p>
+ * A model is immutable and can be shared between threads; the state of a series lives in the
+ * {@link WeatherSimulation} created for each location.
+ */
+public final class WeatherModel {
+	/**
+	 * How long, on average, passes between two fronts.
+	 */
+	static final double FRONT_INTERVAL_HOURS = 96;
+
+	/**
+	 * How long a front takes to reach its full depth.
+	 */
+	static final double FRONT_ONSET_HOURS = 12;
+
+	/**
+	 * The time constant with which a front decays after reaching its full depth.
+	 */
+	static final double FRONT_DECAY_HOURS = 18;
+
+	final double meanTemperature;
+	final double diurnalAmplitude;
+	final double seasonalAmplitude;
+	final double temperatureNoise;
+	final double frontCooling;
+	final double meanPressure;
+	final double pressureNoise;
+	final double frontDepth;
+	final DataPresets humidity;
+	final DataPresets windSpeed;
+	final DataPresets cloudCover;
+	final DataPresets precipitationAmount;
+	final int temperatureDecimals;
+	final int pressureDecimals;
+
+	/**
+	 * Constructs a model driven by the mock data presets of the configuration in effect.
+	 */
+	public WeatherModel() {
+		this(RuntimeConfiguration.get());
+	}
+
+	private WeatherModel(@NotNull Configuration config) {
+		this(
+				config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WARMTH),
+				config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__COLDNESS),
+				config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__HUMIDITY),
+				config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRESSURE),
+				config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__WIND_SPEED),
+				config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__CLOUD_COVER),
+				config.get(Settings.DATA_PROVIDERS__MOCK_DATA_PROVIDER__PRECIPITATION_AMOUNT)
+		);
+	}
+
+	/**
+	 * Constructs a model driven by the specified presets.
+	 *
+	 * @param warmth              the range of afternoon temperatures; must not be null
+	 * @param coldness            the range of night temperatures; must not be null
+	 * @param humidity            the range of humidities; must not be null
+	 * @param pressure            the range of pressures, whose width is the depth of the deepest fronts; must not be null
+	 * @param windSpeed           the range of wind speeds; must not be null
+	 * @param cloudCover          the range of cloud covers; must not be null
+	 * @param precipitationAmount the range of precipitation amounts while it precipitates; must not be null
+	 */
+	public WeatherModel(@NotNull DataPresets warmth, @NotNull DataPresets coldness, @NotNull DataPresets humidity, @NotNull DataPresets pressure, @NotNull DataPresets windSpeed, @NotNull DataPresets cloudCover, @NotNull DataPresets precipitationAmount) {
+		double warm = (warmth.getMinimum() + warmth.getMaximum()) / 2;
+		double cold = (coldness.getMinimum() + coldness.getMaximum()) / 2;
+		this.meanTemperature = (warm + cold) / 2;
+		this.diurnalAmplitude = Math.abs(warm - cold) / 2;
+		this.seasonalAmplitude = (Math.max(warmth.getMaximum(), coldness.getMaximum()) - Math.min(warmth.getMinimum(), coldness.getMinimum())) / 2;
+		this.temperatureNoise = (warmth.getMaximum() - warmth.getMinimum()) / 4;
+		this.frontCooling = this.diurnalAmplitude / 2;
+		this.meanPressure = (pressure.getMinimum() + pressure.getMaximum()) / 2;
+		this.pressureNoise = (pressure.getMaximum() - pressure.getMinimum()) / 4;
+		this.frontDepth = pressure.getMaximum() - pressure.getMinimum();
+		this.humidity = humidity;
+		this.windSpeed = windSpeed;
+		this.cloudCover = cloudCover;
+		this.precipitationAmount = precipitationAmount;
+		this.temperatureDecimals = warmth.getDecimalPlaces();
+		this.pressureDecimals = pressure.getDecimalPlaces();
+	}
+
+	/**
+	 * Starts a series at a location.
+	 *
+	 * @param location the location; must not be null
+	 * @param start    the time of the first sample; must not be null
+	 * @param step     the interval between samples; must be positive
+	 * @param random   the source of randomness of the series, which it takes ownership of; must not be null
+	 * @return the simulation producing the series
+	 * @throws IllegalArgumentException if the step is not positive
+	 */
+	public @NotNull WeatherSimulation simulate(@NotNull EarthCoordinates location, @NotNull Instant start, @NotNull Duration step, @NotNull RandomGenerator random) {
+		return new WeatherSimulation(this, location, start, step, random);
+	}
+
+	/**
+	 * Generates a series at a location.
+	 *
+	 * @param location the location; must not be null
+	 * @param start    the time of the first sample; must not be null
+	 * @param step     the interval between samples; must be positive
+	 * @param samples  the number of samples
+	 * @param seed     the seed of the series
+	 * @return the series
+	 */
+	public @NotNull WeatherSeries generate(@NotNull EarthCoordinates location, @NotNull Instant start, @NotNull Duration step, int samples, long seed) {
+		WeatherSeries series = new WeatherSeries(samples);
+		this.simulate(location, start, step, new SplittableRandom(seed)).fill(series);
+		return series;
+	}
+
+	/**
+	 * Generates a series at each of many locations in parallel.
+	 * <p>
+	 * The random streams of the locations are split from the seed in the order of the locations
+	 * before any series is generated, so the result does not depend on how the work is scheduled.
+	 *
+	 * @param locations the locations; must not be null
+	 * @param start     the time of the first sample; must not be null
+	 * @param step      the interval between samples; must be positive
+	 * @param samples   the number of samples per location
+	 * @param seed      the seed of the whole set of series
+	 * @return the series, in the order of the locations
+	 */
+	public @NotNull List<WeatherSeries> generateAll(@NotNull List<EarthCoordinates> locations, @NotNull Instant start, @NotNull Duration step, int samples, long seed) {
+		SplittableRandom[] randoms = split(seed, locations.size());
+		return IntStream.range(0, locations.size()).parallel().mapToObj(i -> {
+			WeatherSeries series = new WeatherSeries(samples);
+			this.simulate(locations.get(i), start, step, randoms[i]).fill(series);
+			return series;
+		}).toList();
+	}
+
+	/**
+	 * Streams a long history at each of many locations in parallel, in chunks, without holding
+	 * the whole history in memory. Every location fills and hands over one reused series per
+	 * chunk, the last of which may be partially filled; only its first {@code samples % chunk}
+	 * samples are then meaningful, or all of them if that remainder is zero.
+	 * <p>
+	 * The sink is called from several threads at the same time and must not keep the series it
+	 * is given after returning. The samples produced are the same as those of
+	 * {@link #generateAll(List, Instant, Duration, int, long)} with the same arguments.
+	 *
+	 * @param locations the locations; must not be null
+	 * @param start     the time of the first sample; must not be null
+	 * @param step      the interval between samples; must be positive
+	 * @param samples   the number of samples per location
+	 * @param seed      the seed of the whole set of series
+	 * @param chunk     the number of samples per chunk; must be positive
+	 * @param sink      the consumer of every location and chunk; must not be null
+	 * @throws IllegalArgumentException if the chunk size is not positive
+	 */
+	public void generateAll(@NotNull List<EarthCoordinates> locations, @NotNull Instant start, @NotNull Duration step, long samples, long seed, int chunk, @NotNull BiConsumer<EarthCoordinates, WeatherSeries> sink) {
+		if (chunk <= 0) throw new IllegalArgumentException("The chunk size must be positive!");
+
+		SplittableRandom[] randoms = split(seed, locations.size());
+		IntStream.range(0, locations.size()).parallel().forEach(i -> {
+			WeatherSeries series = new WeatherSeries(chunk);
+			WeatherSimulation simulation = this.simulate(locations.get(i), start, step, randoms[i]);
+			for (long done = 0; done < samples; done += chunk) {
+				simulation.fill(series, 0, (int) Math.min(chunk, samples - done));
+				sink.accept(locations.get(i), series);
+			}
+		});
+	}
+
+	private static SplittableRandom @NotNull [] split(long seed, int count) {
+		SplittableRandom root = new SplittableRandom(seed);
+		SplittableRandom[] randoms = new SplittableRandom[count];
+		for (int i = 0; i < count; i++) randoms[i] = root.split();
+		return randoms;
+	}
+}
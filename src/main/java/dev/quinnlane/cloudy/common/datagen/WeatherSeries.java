@@ -0,0 +1,132 @@
+package dev.quinnlane.cloudy.common.datagen;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A column-oriented series of synthetic weather samples taken at a fixed interval, one primitive
+ * array per field, in SI units.
+ * <p>
+ * The arrays are exposed directly, without copying, so that a series can be refilled in place by
+ * {@link WeatherSimulation#fill(WeatherSeries)} and handed to bulk consumers such as
+ * {@link dev.quinnlane.cloudy.common.wind.WindRoseAggregator#addAll(double[], int[])}.
+ */
+public final class WeatherSeries {
+	private final double[] temperature;
+	private final double[] pressure;
+	private final int[] humidity;
+	private final double[] windDirection;
+	private final int[] windSpeed;
+	private final int[] cloudCover;
+	private final double[] precipitationAmount;
+	private Instant start = Instant.EPOCH;
+	private Duration step = Duration.ofHours(1);
+
+	/**
+	 * Constructs an empty series.
+	 *
+	 * @param length the number of samples the series holds
+	 */
+	public WeatherSeries(int length) {
+		this.temperature = new double[length];
+		this.pressure = new double[length];
+		this.humidity = new int[length];
+		this.windDirection = new double[length];
+		this.windSpeed = new int[length];
+		this.cloudCover = new int[length];
+		this.precipitationAmount = new double[length];
+	}
+
+	/**
+	 * Sets the time of the first sample and the interval between samples.
+	 *
+	 * @param start the time of the first sample
+	 * @param step  the interval between samples
+	 */
+	void setTiming(@NotNull Instant start, @NotNull Duration step) {
+		this.start = start;
+		this.step = step;
+	}
+
+	/**
+	 * Computes the time a sample was taken at.
+	 *
+	 * @param index the index of the sample
+	 * @return the time of the sample
+	 */
+	public @NotNull Instant getTime(int index) {
+		return this.start.plus(this.step.multipliedBy(index));
+	}
+
+	/**
+	 * @return the number of samples the series holds
+	 */
+	public int length() {
+		return this.temperature.length;
+	}
+
+	/**
+	 * @return the time of the first sample
+	 */
+	public Instant getStart() {
+		return this.start;
+	}
+
+	/**
+	 * @return the interval between samples
+	 */
+	public Duration getStep() {
+		return this.step;
+	}
+
+	/**
+	 * @return the temperatures, in degrees Celsius
+	 */
+	public double[] getTemperature() {
+		return this.temperature;
+	}
+
+	/**
+	 * @return the pressures, in hectopascals
+	 */
+	public double[] getPressure() {
+		return this.pressure;
+	}
+
+	/**
+	 * @return the relative humidities, in percent
+	 */
+	public int[] getHumidity() {
+		return this.humidity;
+	}
+
+	/**
+	 * @return the directions the wind blows from, in whole degrees
+	 */
+	public double[] getWindDirection() {
+		return this.windDirection;
+	}
+
+	/**
+	 * @return the wind speeds
+	 */
+	public int[] getWindSpeed() {
+		return this.windSpeed;
+	}
+
+	/**
+	 * @return the cloud covers, in percent
+	 */
+	public int[] getCloudCover() {
+		return this.cloudCover;
+	}
+
+	/**
+	 * @return the precipitation amounts, zero where it does not precipitate
+	 */
+	public double[] getPrecipitationAmount() {
+		return this.precipitationAmount;
+	}
+}
@@ -0,0 +1,272 @@
+package dev.quinnlane.cloudy.common.datagen;
+
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.random.RandomGenerator;
+
+/**
+ * The state of a synthetic weather series at one location, advanced one sample at a time by
+ * {@link #fill(WeatherSeries)}. Successive fills continue the same series, so a long history can
+ * be produced in chunks into a reused {@link WeatherSeries}.
+ * <p>
+ * Every noisy field is a first-order autoregressive process whose coefficients are derived from
+ * its time constant and the step once, and the diurnal and seasonal cycles are advanced by
+ * rotating their phase vectors, so a sample costs a handful of Gaussian draws and no
+ * trigonometry. Simulations are not thread-safe.
+ *
+ * @see WeatherModel
+ */
+public final class WeatherSimulation {
+	private static final double TEMPERATURE_TIME_CONSTANT_HOURS = 48;
+	private static final double PRESSURE_TIME_CONSTANT_HOURS = 72;
+	private static final double HUMIDITY_TIME_CONSTANT_HOURS = 12;
+	private static final double WIND_TIME_CONSTANT_HOURS = 6;
+	private static final double CLOUD_TIME_CONSTANT_HOURS = 8;
+
+	/**
+	 * The standard deviation of the change of wind direction over an hour, in degrees.
+	 */
+	private static final double WIND_DIRECTION_WANDER = 12;
+
+	/**
+	 * How far the wind veers over the passage of a front, in degrees.
+	 */
+	private static final double FRONT_VEER = 90;
+
+	/**
+	 * The intensity above which a front brings precipitation.
+	 */
+	private static final double PRECIPITATION_THRESHOLD = 0.4;
+
+	/**
+	 * The epoch day of the 20th of July 1970, when the northern hemisphere is about at its warmest.
+	 */
+	private static final double WARMEST_EPOCH_DAY = 200;
+
+	private static final double DAYS_PER_YEAR = 365.2422;
+	private static final double SECONDS_PER_DAY = 86_400;
+
+	/**
+	 * The time of local solar time at which the diurnal cycle is at its warmest, in seconds after midnight.
+	 */
+	private static final double WARMEST_SOLAR_SECOND = 15 * 3_600;
+
+	private final WeatherModel model;
+	private final RandomGenerator random;
+	private final double longitudeSeconds;
+	private final double seasonalAmplitude;
+	private final double stepSeconds;
+	private final double stepHours;
+
+	// Autoregressive coefficients and innovation scales
+	private final double temperatureDecay;
+	private final double temperatureScale;
+	private final double pressureDecay;
+	private final double pressureScale;
+	private final double humidityDecay;
+	private final double humidityScale;
+	private final double windDecay;
+	private final double windScale;
+	private final double cloudDecay;
+	private final double cloudScale;
+	private final double directionScale;
+	private final double frontProbability;
+	private final double frontDecay;
+
+	// Rotations advancing the diurnal and seasonal phases by one step
+	private final double diurnalCos;
+	private final double diurnalSin;
+	private final double seasonalCos;
+	private final double seasonalSin;
+
+	private Instant time;
+	private final Duration step;
+	private double temperatureAnomaly;
+	private double pressureAnomaly;
+	private double humidityAnomaly;
+	private double windAnomaly;
+	private double cloudAnomaly;
+	private double windDirection;
+	private double frontAge = Double.POSITIVE_INFINITY;
+	private double frontStrength;
+
+	/**
+	 * Constructs a new simulation; use {@link WeatherModel#simulate(EarthCoordinates, Instant, Duration, RandomGenerator)}.
+	 */
+	WeatherSimulation(@NotNull WeatherModel model, @NotNull EarthCoordinates location, @NotNull Instant start, @NotNull Duration step, @NotNull RandomGenerator random) {
+		if (step.isNegative() || step.isZero()) throw new IllegalArgumentException("The step must be positive!");
+
+		this.model = model;
+		this.random = random;
+		this.time = start;
+		this.step = step;
+		this.longitudeSeconds = location.getLongitudeAsDouble() * 240;
+		this.seasonalAmplitude = model.seasonalAmplitude * Math.sin(Math.toRadians(location.getLatitudeAsDouble()));
+		this.stepSeconds = step.toNanos() / 1e9;
+		this.stepHours = this.stepSeconds / 3_600;
+
+		this.temperatureDecay = decay(TEMPERATURE_TIME_CONSTANT_HOURS);
+		this.temperatureScale = model.temperatureNoise * innovation(this.temperatureDecay);
+		this.pressureDecay = decay(PRESSURE_TIME_CONSTANT_HOURS);
+		this.pressureScale = model.pressureNoise * innovation(this.pressureDecay);
+		this.humidityDecay = decay(HUMIDITY_TIME_CONSTANT_HOURS);
+		this.humidityScale = span(model.humidity) / 6 * innovation(this.humidityDecay);
+		this.windDecay = decay(WIND_TIME_CONSTANT_HOURS);
+		this.windScale = span(model.windSpeed) / 4 * innovation(this.windDecay);
+		this.cloudDecay = decay(CLOUD_TIME_CONSTANT_HOURS);
+		this.cloudScale = span(model.cloudCover) / 3 * innovation(this.cloudDecay);
+		this.directionScale = WIND_DIRECTION_WANDER * Math.sqrt(this.stepHours);
+		this.frontProbability = -Math.expm1(-this.stepHours / WeatherModel.FRONT_INTERVAL_HOURS);
+		this.frontDecay = decay(WeatherModel.FRONT_DECAY_HOURS);
+
+		double diurnalStep = 2 * Math.PI * this.stepSeconds / SECONDS_PER_DAY;
+		this.diurnalCos = Math.cos(diurnalStep);
+		this.diurnalSin = Math.sin(diurnalStep);
+		double seasonalStep = 2 * Math.PI * this.stepSeconds / SECONDS_PER_DAY / DAYS_PER_YEAR;
+		this.seasonalCos = Math.cos(seasonalStep);
+		this.seasonalSin = Math.sin(seasonalStep);
+
+		// Start every process from its stationary distribution rather than from its mean
+		this.temperatureAnomaly = model.temperatureNoise * random.nextGaussian();
+		this.pressureAnomaly = model.pressureNoise * random.nextGaussian();
+		this.humidityAnomaly = span(model.humidity) / 6 * random.nextGaussian();
+		this.windAnomaly = span(model.windSpeed) / 4 * random.nextGaussian();
+		this.cloudAnomaly = span(model.cloudCover) / 3 * random.nextGaussian();
+		this.windDirection = random.nextDouble(360);
+	}
+
+	/**
+	 * Fills a whole series with the next samples.
+	 *
+	 * @param series the series to fill; must not be null
+	 * @return the series
+	 */
+	public @NotNull WeatherSeries fill(@NotNull WeatherSeries series) {
+		return this.fill(series, 0, series.length());
+	}
+
+	/**
+	 * Fills part of a series with the next samples. The timing of the series is set so that the
+	 * sample at the offset is the next sample of this simulation.
+	 *
+	 * @param series the series to fill; must not be null
+	 * @param offset the index of the first sample to fill
+	 * @param length the number of samples to fill
+	 * @return the series
+	 * @throws IndexOutOfBoundsException if the range is outside the series
+	 */
+	public @NotNull WeatherSeries fill(@NotNull WeatherSeries series, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > series.length()) throw new IndexOutOfBoundsException("The range [" + offset + ", " + (offset + length) + ") is outside the series!");
+		series.setTiming(this.time.minus(this.step.multipliedBy(offset)), this.step);
+
+		WeatherModel model = this.model;
+		double[] temperature = series.getTemperature();
+		double[] pressure = series.getPressure();
+		int[] humidity = series.getHumidity();
+		double[] windDirection = series.getWindDirection();
+		int[] windSpeed = series.getWindSpeed();
+		int[] cloudCover = series.getCloudCover();
+		double[] precipitationAmount = series.getPrecipitationAmount();
+
+		// The phases are computed exactly at the start of every fill, so rotation errors never accumulate past one chunk
+		double seconds = this.time.getEpochSecond() + this.time.getNano() / 1e9;
+		double diurnalPhase = 2 * Math.PI * (seconds + this.longitudeSeconds - WARMEST_SOLAR_SECOND) / SECONDS_PER_DAY;
+		double seasonalPhase = 2 * Math.PI * (seconds / SECONDS_PER_DAY - WARMEST_EPOCH_DAY) / DAYS_PER_YEAR;
+		double diurnalX = Math.cos(diurnalPhase), diurnalY = Math.sin(diurnalPhase);
+		double seasonalX = Math.cos(seasonalPhase), seasonalY = Math.sin(seasonalPhase);
+
+		double humiditySwing = span(model.humidity) / 4;
+		double windRange = span(model.windSpeed);
+		double cloudRange = span(model.cloudCover);
+		double humidityMean = mean(model.humidity);
+		double windMean = mean(model.windSpeed);
+		double cloudMean = mean(model.cloudCover);
+
+		for (int i = offset, end = offset + length; i < end; i++) {
+			// Fronts
+			if (this.frontAge == Double.POSITIVE_INFINITY && this.random.nextDouble() < this.frontProbability) {
+				this.frontAge = 0;
+				this.frontStrength = this.random.nextDouble(0.3, 1);
+			}
+			double front = 0;
+			double veer = 0;
+			if (this.frontAge != Double.POSITIVE_INFINITY) {
+				if (this.frontAge < WeatherModel.FRONT_ONSET_HOURS) {
+					front = this.frontStrength * this.frontAge / WeatherModel.FRONT_ONSET_HOURS;
+					veer = FRONT_VEER * this.frontStrength * Math.min(this.stepHours, WeatherModel.FRONT_ONSET_HOURS - this.frontAge) / WeatherModel.FRONT_ONSET_HOURS;
+				} else {
+					front = this.frontStrength;
+					this.frontStrength *= this.frontDecay;
+					if (this.frontStrength < 0.01) this.frontAge = Double.POSITIVE_INFINITY;
+				}
+				this.frontAge += this.stepHours;
+			}
+
+			// Autoregressive noise
+			this.temperatureAnomaly = this.temperatureDecay * this.temperatureAnomaly + this.temperatureScale * this.random.nextGaussian();
+			this.pressureAnomaly = this.pressureDecay * this.pressureAnomaly + this.pressureScale * this.random.nextGaussian();
+			this.humidityAnomaly = this.humidityDecay * this.humidityAnomaly + this.humidityScale * this.random.nextGaussian();
+			this.windAnomaly = this.windDecay * this.windAnomaly + this.windScale * this.random.nextGaussian();
+			this.cloudAnomaly = this.cloudDecay * this.cloudAnomaly + this.cloudScale * this.random.nextGaussian();
+			this.windDirection += this.directionScale * this.random.nextGaussian() + veer;
+
+			// Samples
+			temperature[i] = MockDataGenerator.round(model.meanTemperature + this.seasonalAmplitude * seasonalX + model.diurnalAmplitude * diurnalX + this.temperatureAnomaly - model.frontCooling * front, model.temperatureDecimals);
+			pressure[i] = MockDataGenerator.round(model.meanPressure + this.pressureAnomaly - model.frontDepth * front, model.pressureDecimals);
+			humidity[i] = clamp(humidityMean - humiditySwing * diurnalX + this.humidityAnomaly + humiditySwing * 2 * front, model.humidity);
+			windSpeed[i] = clamp(windMean + this.windAnomaly + windRange * 0.6 * front, model.windSpeed);
+			cloudCover[i] = clamp(cloudMean + this.cloudAnomaly + cloudRange * front, model.cloudCover);
+			double bearing = Math.round(this.windDirection) % 360;
+			windDirection[i] = bearing < 0 ? bearing + 360 : bearing;
+			precipitationAmount[i] = front < PRECIPITATION_THRESHOLD ? 0 : MockDataGenerator.round(model.precipitationAmount.getMinimum() + (model.precipitationAmount.getMaximum() - model.precipitationAmount.getMinimum()) * (front - PRECIPITATION_THRESHOLD) / (1 - PRECIPITATION_THRESHOLD), model.precipitationAmount.getDecimalPlaces());
+
+			// Advance the cycles
+			double x = diurnalX * this.diurnalCos - diurnalY * this.diurnalSin;
+			diurnalY = diurnalX * this.diurnalSin + diurnalY * this.diurnalCos;
+			diurnalX = x;
+			x = seasonalX * this.seasonalCos - seasonalY * this.seasonalSin;
+			seasonalY = seasonalX * this.seasonalSin + seasonalY * this.seasonalCos;
+			seasonalX = x;
+		}
+
+		this.windDirection %= 360;
+		this.time = this.time.plus(this.step.multipliedBy(length));
+		return series;
+	}
+
+	/**
+	 * @return the time of the next sample
+	 */
+	public Instant getTime() {
+		return this.time;
+	}
+
+	/**
+	 * Computes the coefficient by which an autoregressive process decays over one step.
+	 */
+	private double decay(double timeConstantHours) {
+		return Math.exp(-this.stepHours / timeConstantHours);
+	}
+
+	/**
+	 * Computes the scale of the innovation keeping the variance of a process with a decay stationary.
+	 */
+	private static double innovation(double decay) {
+		return Math.sqrt(1 - decay * decay);
+	}
+
+	private static double span(@NotNull DataPresets preset) {
+		return preset.getMaximum() - preset.getMinimum();
+	}
+
+	private static double mean(@NotNull DataPresets preset) {
+		return (preset.getMinimum() + preset.getMaximum()) / 2;
+	}
+
+	private static int clamp(double value, @NotNull DataPresets preset) {
+		return (int) Math.clamp(Math.round(value), (long) preset.getMinimum(), (long) preset.getMaximum());
+	}
+}
@@ -0,0 +1,143 @@
+package dev.quinnlane.cloudy.common.datatypes;
+
+import dev.quinnlane.cloudy.common.unit.DoubleConversion;
+import dev.quinnlane.cloudy.common.unit.IntConversion;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A column-oriented copy of the unit values of a forecast, one primitive array per field, so that
+ * a whole forecast can be converted between {@link UnitLocales} with the bulk kernels of
+ * {@link DoubleConversion} and {@link IntConversion} instead of one unit object at a time.
+ * <p>
+ * For hourly forecasts the two temperature columns hold the temperature and the relative
+ * temperature; for daily forecasts they hold the high and low temperatures. The arrays are
+ * exposed directly, without copying, and are meant to be read and refilled in place.
+ */
+public final class ForecastColumns {
+	private final double[] firstTemperature;
+	private final double[] secondTemperature;
+	private final double[] precipitationAmount;
+	private final int[] windSpeed;
+	private UnitLocales locale = UnitLocales.SI;
+
+	/**
+	 * Constructs empty columns in SI units.
+	 *
+	 * @param length the number of forecast entries the columns hold
+	 */
+	public ForecastColumns(int length) {
+		this.firstTemperature = new double[length];
+		this.secondTemperature = new double[length];
+		this.precipitationAmount = new double[length];
+		this.windSpeed = new int[length];
+	}
+
+	/**
+	 * Copies the SI values of an hourly forecast into columns.
+	 *
+	 * @param forecast the hourly forecast
+	 * @return the columns, in SI units
+	 */
+	public static @NotNull ForecastColumns ofHourly(HourlyForecast @NotNull [] forecast) {
+		ForecastColumns columns = new ForecastColumns(forecast.length);
+		for (int i = 0; i < forecast.length; i++) {
+			columns.firstTemperature[i] = forecast[i].temperature().getAsDouble(UnitLocales.SI);
+			columns.secondTemperature[i] = forecast[i].relativeTemperature().getAsDouble(UnitLocales.SI);
+			columns.precipitationAmount[i] = forecast[i].precipitation().y().getAsDouble(UnitLocales.SI);
+			columns.windSpeed[i] = forecast[i].wind().z().getAsInt(UnitLocales.SI);
+		}
+		return columns;
+	}
+
+	/**
+	 * Copies the SI values of a daily forecast into columns.
+	 *
+	 * @param forecast the daily forecast
+	 * @return the columns, in SI units
+	 */
+	public static @NotNull ForecastColumns ofDaily(DailyForecast @NotNull [] forecast) {
+		ForecastColumns columns = new ForecastColumns(forecast.length);
+		for (int i = 0; i < forecast.length; i++) {
+			columns.firstTemperature[i] = forecast[i].highTemperature().getAsDouble(UnitLocales.SI);
+			columns.secondTemperature[i] = forecast[i].lowTemperature().getAsDouble(UnitLocales.SI);
+			columns.precipitationAmount[i] = forecast[i].precipitation().y().getAsDouble(UnitLocales.SI);
+			columns.windSpeed[i] = forecast[i].wind().z().getAsInt(UnitLocales.SI);
+		}
+		return columns;
+	}
+
+	/**
+	 * Converts these SI columns into another set of columns of the same length, reusing its arrays.
+	 *
+	 * @param locale      the locale to convert to
+	 * @param destination the columns receiving the converted values
+	 * @return the destination
+	 * @throws IllegalStateException    if these columns are not in SI units
+	 * @throws IllegalArgumentException if the destination has a different length
+	 */
+	public @NotNull ForecastColumns convertTo(@NotNull UnitLocales locale, @NotNull ForecastColumns destination) {
+		if (this.locale != UnitLocales.SI) throw new IllegalStateException("Only SI columns can be converted!");
+		if (destination.length() != this.length()) throw new IllegalArgumentException("The destination columns must have the same length!");
+
+		DoubleConversion.TEMPERATURE.convert(this.firstTemperature, locale, destination.firstTemperature);
+		DoubleConversion.TEMPERATURE.convert(this.secondTemperature, locale, destination.secondTemperature);
+		DoubleConversion.PRECIPITATION_AMOUNT.convert(this.precipitationAmount, locale, destination.precipitationAmount);
+		IntConversion.WIND_SPEED.convert(this.windSpeed, locale, destination.windSpeed);
+		destination.locale = locale;
+		return destination;
+	}
+
+	/**
+	 * Converts these SI columns into a new set of columns.
+	 *
+	 * @param locale the locale to convert to
+	 * @return the converted columns
+	 * @throws IllegalStateException if these columns are not in SI units
+	 */
+	public @NotNull ForecastColumns convertTo(@NotNull UnitLocales locale) {
+		return this.convertTo(locale, new ForecastColumns(this.length()));
+	}
+
+	/**
+	 * @return the number of forecast entries the columns hold
+	 */
+	public int length() {
+		return this.firstTemperature.length;
+	}
+
+	/**
+	 * @return the locale the values are currently in
+	 */
+	public UnitLocales getLocale() {
+		return this.locale;
+	}
+
+	/**
+	 * @return the temperatures of an hourly forecast, or the high temperatures of a daily forecast
+	 */
+	public double[] getFirstTemperature() {
+		return this.firstTemperature;
+	}
+
+	/**
+	 * @return the relative temperatures of an hourly forecast, or the low temperatures of a daily forecast
+	 */
+	public double[] getSecondTemperature() {
+		return this.secondTemperature;
+	}
+
+	/**
+	 * @return the precipitation amounts
+	 */
+	public double[] getPrecipitationAmount() {
+		return this.precipitationAmount;
+	}
+
+	/**
+	 * @return the wind speeds
+	 */
+	public int[] getWindSpeed() {
+		return this.windSpeed;
+	}
+}
@@ -0,0 +1,108 @@
+package dev.quinnlane.cloudy.common.datatypes;
+
+import dev.quinnlane.cloudy.common.format.Formatting;
+import dev.quinnlane.cloudy.common.unit.Unit;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The display strings of a {@link WeatherSnapshot}, rendered once for a single locale.
+ * <p>
+ * A rendered snapshot is immutable and can be handed to any number of consumers of the same
+ * locale, so serving a snapshot to many users costs one render per locale instead of one per
+ * request. Fields that the snapshot does not hold, for example because a batch query projected
+ * them away, are null.
+ *
+ * @param sequence                   The sequence number of the snapshot that was rendered.
+ * @param locale                     The locale the units were rendered in.
+ * @param currentTemperature         The current temperature.
+ * @param relativeTemperature        The relative ("feels like") temperature.
+ * @param highTemperature            The high temperature of the day.
+ * @param lowTemperature             The low temperature of the day.
+ * @param humidity                   The humidity, as a percentage.
+ * @param windSpeed                  The wind speed.
+ * @param windDirection              The human-readable wind direction.
+ * @param pressure                   The atmospheric pressure.
+ * @param uvIndex                    The UV index.
+ * @param airQualityIndex            The air quality index.
+ * @param sunrise                    The time of sunrise.
+ * @param sunset                     The time of sunset.
+ * @param hourlyTemperatures         The temperature of every hourly forecast entry.
+ * @param hourlyPrecipitationChances The chance of precipitation of every hourly forecast entry, as a percentage.
+ * @param dailyHighTemperatures      The high temperature of every daily forecast entry.
+ * @param dailyLowTemperatures       The low temperature of every daily forecast entry.
+ */
+public record RenderedSnapshot(long sequence, UnitLocales locale, String currentTemperature, String relativeTemperature, String highTemperature, String lowTemperature, String humidity, String windSpeed, String windDirection, String pressure, String uvIndex, String airQualityIndex, String sunrise, String sunset, List<String> hourlyTemperatures, List<String> hourlyPrecipitationChances, List<String> dailyHighTemperatures, List<String> dailyLowTemperatures) {
+	/**
+	 * Renders every field of a snapshot in a locale.
+	 *
+	 * @param snapshot the snapshot to render; must not be null
+	 * @param locale   the locale to render the units in; must not be null
+	 * @return the rendered snapshot
+	 */
+	public static @NotNull RenderedSnapshot render(@NotNull WeatherSnapshot snapshot, @NotNull UnitLocales locale) {
+		HourlyForecast[] hourly = snapshot.hourlyForecast() == null ? new HourlyForecast[0] : snapshot.hourlyForecast();
+		DailyForecast[] daily = snapshot.dailyForecast() == null ? new DailyForecast[0] : snapshot.dailyForecast();
+
+		String[] hourlyTemperatures = new String[hourly.length];
+		String[] hourlyPrecipitationChances = new String[hourly.length];
+		for (int i = 0; i < hourly.length; i++) {
+			hourlyTemperatures[i] = render(hourly[i].temperature(), locale);
+			hourlyPrecipitationChances[i] = hourly[i].precipitation() == null ? null : percentage(hourly[i].precipitation().x());
+		}
+
+		String[] dailyHighTemperatures = new String[daily.length];
+		String[] dailyLowTemperatures = new String[daily.length];
+		for (int i = 0; i < daily.length; i++) {
+			dailyHighTemperatures[i] = render(daily[i].highTemperature(), locale);
+			dailyLowTemperatures[i] = render(daily[i].lowTemperature(), locale);
+		}
+
+		var wind = snapshot.wind();
+		return new RenderedSnapshot(
+				snapshot.sequence(),
+				locale,
+				render(snapshot.currentTemperature(), locale),
+				render(snapshot.relativeTemperature(), locale),
+				render(snapshot.highTemperature(), locale),
+				render(snapshot.lowTemperature(), locale),
+				percentage(snapshot.humidity()),
+				wind == null ? null : render(wind.z(), locale),
+				wind == null || wind.y() == null ? null : wind.y().getHumanReadable(),
+				render(snapshot.pressure(), locale),
+				Integer.toString(snapshot.uvIndex()),
+				Integer.toString(snapshot.airQualityIndex()),
+				time(snapshot.sunrise()),
+				time(snapshot.sunset()),
+				unmodifiable(hourlyTemperatures),
+				unmodifiable(hourlyPrecipitationChances),
+				unmodifiable(dailyHighTemperatures),
+				unmodifiable(dailyLowTemperatures)
+		);
+	}
+
+	private static @Nullable String render(@Nullable Unit<?> unit, @NotNull UnitLocales locale) {
+		return unit == null ? null : unit.in(locale).toString();
+	}
+
+	private static @Nullable String percentage(@Nullable Integer value) {
+		return value == null ? null : Formatting.release(Formatting.borrowBuilder().append(value.intValue()).append('%'));
+	}
+
+	private static @Nullable String time(@Nullable Instant instant) {
+		return instant == null ? null : Formatting.formatTime(instant);
+	}
+
+	/**
+	 * Wraps rendered strings in an unmodifiable list. Unlike {@link List#of}, the list may hold nulls.
+	 */
+	private static @NotNull List<String> unmodifiable(String @NotNull [] strings) {
+		return Collections.unmodifiableList(Arrays.asList(strings));
+	}
+}
@@ -0,0 +1,39 @@
+package dev.quinnlane.cloudy.common.datatypes;
+
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import dev.quinnlane.cloudy.common.unit.units.Pressure;
+import dev.quinnlane.cloudy.common.unit.units.Temperature;
+import dev.quinnlane.cloudy.common.unit.units.WindSpeed;
+import org.jetbrains.annotations.Range;
+
+import java.time.Instant;
+
+/**
+ * Represents an immutable, point-in-time capture of everything a data provider reported
+ * after a single refresh.
+ * <p>
+ * Snapshots decouple consumers (the frontend, streaming clients, caches) from the mutable
+ * state of a provider instance: once a refresh completes, the backend captures a snapshot
+ * and hands that out instead of the provider itself, so a later refresh can never change
+ * data that a consumer is still reading.
+ *
+ * @param sequence            A monotonically increasing number assigned by the backend when the snapshot is published.
+ * @param providerClass       The simple class name of the provider that produced the data.
+ * @param location            The location the data was reported for, or null if the provider had no location set.
+ * @param capturedAt          The {@link Instant} at which the snapshot was taken.
+ * @param currentTemperature  The current temperature, represented as a {@link Temperature}.
+ * @param relativeTemperature The perceived temperature, represented as a {@link Temperature}.
+ * @param highTemperature     The high temperature for the day, represented as a {@link Temperature}.
+ * @param lowTemperature      The low temperature for the day, represented as a {@link Temperature}.
+ * @param humidity            The relative humidity percentage.
+ * @param wind                The wind bearing, compass direction, and speed.
+ * @param pressure            The atmospheric pressure, represented as a {@link Pressure}.
+ * @param uvIndex             The ultraviolet index.
+ * @param airQualityIndex     The Air Quality Index (AQI).
+ * @param sunrise             The time of sunrise as an {@link Instant}.
+ * @param sunset              The time of sunset as an {@link Instant}.
+ * @param hourlyForecast      The hourly forecast entries reported by the provider.
+ * @param dailyForecast       The daily forecast entries reported by the provider.
+ */
+public record WeatherSnapshot(long sequence, String providerClass, EarthCoordinates location, Instant capturedAt, Temperature currentTemperature, Temperature relativeTemperature, Temperature highTemperature, Temperature lowTemperature, int humidity, OrderedTriplet<Double, CompassRose, WindSpeed> wind, Pressure pressure, @Range(from = 0L, to = Integer.MAX_VALUE) int uvIndex, @Range(from = 0L, to = Integer.MAX_VALUE) int airQualityIndex, Instant sunrise, Instant sunset, HourlyForecast[] hourlyForecast, DailyForecast[] dailyForecast) {}
@@ -0,0 +1,19 @@
+package dev.quinnlane.cloudy.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Measures a snapshot cache lookup for a single location. The payload size is zero on a miss.
+ */
+@Name("dev.quinnlane.cloudy.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Cloudy", "Backend"})
+@Description("A snapshot cache lookup for a single location")
+public class CacheLookupEvent extends CloudyEvent {
+	@Label("Hit")
+	@Description("Whether the lookup was answered from the cache")
+	public boolean hit;
+}
@@ -0,0 +1,88 @@
+package dev.quinnlane.cloudy.common.diagnostics;
+
+import dev.quinnlane.cloudy.common.codec.ForecastCodec;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.geo.EarthCoordinates;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The base of every Java Flight Recorder event emitted by Cloudy.
+ * <p>
+ * Every event carries the provider, location, and payload size of the work it measures.
+ * Events are meant to be used as follows, so that the fields are only computed when the
+ * event is actually going to be recorded:
+ * <pre>{@code
+ * ProviderRefreshEvent event = new ProviderRefreshEvent();
+ * event.begin();
+ * // ... the measured work ...
+ * event.end();
+ * if (event.shouldCommit()) {
+ *     event.describe(provider, location, snapshot);
+ *     event.commit();
+ * }
+ * }</pre>
+ * When no recording has the event enabled, {@link #shouldCommit()} is false and the JIT is
+ * able to remove the event entirely, leaving no measurable cost.
+ */
+@StackTrace(false)
+public abstract class CloudyEvent extends Event {
+	@Label("Provider")
+	@Description("The simple name of the data provider class")
+	public String provider;
+
+	@Label("Location")
+	@Description("The latitude and longitude the provider serves, in decimal degrees")
+	public String location;
+
+	@Label("Payload Size")
+	@Description("The size of the snapshot involved, encoded with the binary forecast codec")
+	@DataAmount
+	public long payloadSize;
+
+	/**
+	 * Fills in the provider, location, and payload size of this event.
+	 *
+	 * @param providerClass the provider class, or null if there is none
+	 * @param location      the location, or null if there is none
+	 * @param snapshot      the snapshot whose encoded size is the payload size, or null if there is none
+	 */
+	public void describe(@Nullable Class<?> providerClass, @Nullable EarthCoordinates location, @Nullable WeatherSnapshot snapshot) {
+		this.provider = providerClass == null ? null : providerClass.getSimpleName();
+		this.location = location == null ? null : location.getLatitude().toPlainString() + "," + location.getLongitude().toPlainString();
+		this.payloadSize = payloadSize(snapshot);
+	}
+
+	/**
+	 * Fills in the provider, location, and payload size of this event from a snapshot alone, for
+	 * work that only sees the snapshot and not the provider that created it.
+	 *
+	 * @param snapshot the snapshot, or null if there is none
+	 */
+	public void describe(@Nullable WeatherSnapshot snapshot) {
+		this.provider = snapshot == null ? null : snapshot.providerClass();
+		this.location = snapshot == null || snapshot.location() == null ? null : snapshot.location().getLatitude().toPlainString() + "," + snapshot.location().getLongitude().toPlainString();
+		this.payloadSize = payloadSize(snapshot);
+	}
+
+	/**
+	 * Determines the size of a snapshot encoded with {@link ForecastCodec}. This encodes the
+	 * snapshot, so it should only be called when the event is going to be committed.
+	 *
+	 * @param snapshot the snapshot to measure, or null
+	 * @return the encoded size in bytes, or zero if the snapshot was null
+	 */
+	private static long payloadSize(@Nullable WeatherSnapshot snapshot) {
+		if (snapshot == null) return 0;
+
+		ByteBuffer buffer = ByteBuffer.allocate(ForecastCodec.maxSnapshotSize(snapshot));
+		ForecastCodec.writeSnapshot(buffer, snapshot);
+		return buffer.position();
+	}
+}
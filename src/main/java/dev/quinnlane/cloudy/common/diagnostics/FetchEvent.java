@@ -0,0 +1,16 @@
+package dev.quinnlane.cloudy.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Measures a data provider retrieving new data from its source, which is where network time is spent.
+ */
+@Name("dev.quinnlane.cloudy.Fetch")
+@Label("Fetch")
+@Category({"Cloudy", "Backend"})
+@Description("A data provider retrieving new data from its source")
+public class FetchEvent extends CloudyEvent {
+}
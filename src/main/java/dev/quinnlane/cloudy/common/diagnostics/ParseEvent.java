@@ -0,0 +1,16 @@
+package dev.quinnlane.cloudy.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Measures the data held by a provider being converted into a {@link dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot}.
+ */
+@Name("dev.quinnlane.cloudy.Parse")
+@Label("Parse")
+@Category({"Cloudy", "Backend"})
+@Description("A data provider's data being converted into a snapshot")
+public class ParseEvent extends CloudyEvent {
+}
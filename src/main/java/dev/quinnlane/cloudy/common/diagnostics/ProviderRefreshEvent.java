@@ -0,0 +1,17 @@
+package dev.quinnlane.cloudy.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Measures a complete refresh of a data provider, covering the {@link FetchEvent}, {@link ParseEvent}, and
+ * {@link SnapshotPublishEvent} it is made up of.
+ */
+@Name("dev.quinnlane.cloudy.ProviderRefresh")
+@Label("Provider Refresh")
+@Category({"Cloudy", "Backend"})
+@Description("A complete refresh of a data provider, from fetching its data to publishing the snapshot")
+public class ProviderRefreshEvent extends CloudyEvent {
+}
@@ -0,0 +1,19 @@
+package dev.quinnlane.cloudy.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Measures a snapshot being cached and handed to every snapshot listener.
+ */
+@Name("dev.quinnlane.cloudy.SnapshotPublish")
+@Label("Snapshot Publish")
+@Category({"Cloudy", "Backend"})
+@Description("A snapshot being handed to every snapshot listener")
+public class SnapshotPublishEvent extends CloudyEvent {
+	@Label("Listeners")
+	@Description("The number of listeners the snapshot was handed to")
+	public int listeners;
+}
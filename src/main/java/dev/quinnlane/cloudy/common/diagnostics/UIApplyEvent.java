@@ -0,0 +1,16 @@
+package dev.quinnlane.cloudy.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Measures the main view being updated with the latest provider data on the JavaFX application thread.
+ */
+@Name("dev.quinnlane.cloudy.UIApply")
+@Label("UI Apply")
+@Category({"Cloudy", "Frontend"})
+@Description("The main view being updated with the latest provider data")
+public class UIApplyEvent extends CloudyEvent {
+}
@@ -0,0 +1,228 @@
+package dev.quinnlane.cloudy.common.format;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An immutable, thread-safe replacement for a {@link java.text.DecimalFormat} pattern such as
+ * {@code "#.###"}: numbers are rounded half-even to at most a fixed number of fraction digits,
+ * and trailing zeroes are discarded.
+ * <p>
+ * Numbers are written straight into a caller-supplied {@link StringBuilder} or {@link Appendable}
+ * one character at a time, so formatting a {@code double} or {@code long} never allocates.
+ * Unlike {@code DecimalFormat}, the output does not depend on the default locale: the decimal
+ * separator is always {@code '.'}, a leading zero is always written before it, and a value that
+ * rounds to zero is never written as {@code -0}.
+ * <p>
+ * Doubles are rounded after being scaled by a power of ten. When scaling lands exactly halfway
+ * between two digits, the tie is settled against the exact binary value with {@link BigDecimal},
+ * so a value such as {@code 0.0155}, stored as slightly less than that, rounds down. Values too large to scale
+ * into a {@code long}, as well as NaN and infinities, fall back to {@link BigDecimal} and
+ * {@link Double#toString(double)} respectively.
+ */
+public final class FixedPrecision {
+	/**
+	 * The largest number of fraction digits supported, so that every power of ten used fits a {@code long}.
+	 */
+	public static final int MAX_FRACTION_DIGITS = 9;
+
+	/**
+	 * The powers of ten from 10<sup>0</sup> to 10<sup>18</sup>.
+	 */
+	private static final long[] POWERS_OF_TEN = new long[19];
+
+	/**
+	 * The shared instances, indexed by their number of fraction digits.
+	 */
+	private static final FixedPrecision[] INSTANCES = new FixedPrecision[MAX_FRACTION_DIGITS + 1];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		for (int i = 0; i < INSTANCES.length; i++) INSTANCES[i] = new FixedPrecision(i);
+	}
+
+	/**
+	 * The largest number of fraction digits written.
+	 */
+	private final int fractionDigits;
+
+	/**
+	 * The largest magnitude that can be scaled by {@code 10^fractionDigits} into a {@code long} exactly enough.
+	 */
+	private final double scalableLimit;
+
+	private FixedPrecision(int fractionDigits) {
+		this.fractionDigits = fractionDigits;
+		this.scalableLimit = (double) (1L << 53) / POWERS_OF_TEN[fractionDigits];
+	}
+
+	/**
+	 * Retrieves the precision writing at most the given number of fraction digits.
+	 *
+	 * @param fractionDigits the largest number of fraction digits, between 0 and {@value #MAX_FRACTION_DIGITS}
+	 * @return the shared instance for that number of fraction digits
+	 * @throws IllegalArgumentException if the number of fraction digits is out of range
+	 */
+	public static @NotNull FixedPrecision of(@Range(from = 0, to = MAX_FRACTION_DIGITS) int fractionDigits) {
+		if (fractionDigits < 0 || fractionDigits > MAX_FRACTION_DIGITS) throw new IllegalArgumentException("The number of fraction digits must be between 0 and " + MAX_FRACTION_DIGITS + "!");
+		return INSTANCES[fractionDigits];
+	}
+
+	/**
+	 * @return the largest number of fraction digits written
+	 */
+	public int getFractionDigits() {
+		return this.fractionDigits;
+	}
+
+	/**
+	 * Rounds a value to this precision, as it would be written.
+	 *
+	 * @param value the value to round
+	 * @return the value rounded half-even to at most {@link #getFractionDigits()} fraction digits
+	 */
+	public double round(double value) {
+		if (!(Math.abs(value) < this.scalableLimit)) return value;
+		long scale = POWERS_OF_TEN[this.fractionDigits];
+		double product = value * scale;
+		if (product - Math.floor(product) == 0.5) return new BigDecimal(value).setScale(this.fractionDigits, RoundingMode.HALF_EVEN).doubleValue();
+		return Math.rint(product) / scale;
+	}
+
+	/**
+	 * Appends a value to a builder.
+	 *
+	 * @param builder the builder to append to
+	 * @param value   the value to append
+	 * @return the builder
+	 */
+	public @NotNull StringBuilder appendTo(@NotNull StringBuilder builder, double value) {
+		try {
+			this.appendTo((Appendable) builder, value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends a whole value to a builder.
+	 *
+	 * @param builder the builder to append to
+	 * @param value   the value to append
+	 * @return the builder
+	 */
+	public @NotNull StringBuilder appendTo(@NotNull StringBuilder builder, long value) {
+		return builder.append(value);
+	}
+
+	/**
+	 * Appends a decimal value to a builder. Values whose rounded digits fit a {@code long} are
+	 * written without allocating beyond the rounding itself.
+	 *
+	 * @param builder the builder to append to
+	 * @param value   the value to append
+	 * @return the builder
+	 */
+	public @NotNull StringBuilder appendTo(@NotNull StringBuilder builder, @NotNull BigDecimal value) {
+		try {
+			this.appendTo((Appendable) builder, value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends a value to an {@link Appendable}.
+	 *
+	 * @param out   the destination
+	 * @param value the value to append
+	 * @throws IOException if the destination fails to accept a character
+	 */
+	public void appendTo(@NotNull Appendable out, double value) throws IOException {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			out.append(Double.toString(value));
+			return;
+		}
+		if (!(Math.abs(value) < this.scalableLimit)) {
+			this.appendTo(out, new BigDecimal(value));
+			return;
+		}
+
+		long scale = POWERS_OF_TEN[this.fractionDigits];
+		double product = Math.abs(value) * scale;
+		if (product - Math.floor(product) == 0.5) {
+			this.appendTo(out, new BigDecimal(value));
+			return;
+		}
+
+		long scaled = (long) Math.rint(product);
+		write(out, value < 0 && scaled != 0, scaled / scale, scaled % scale, this.fractionDigits);
+	}
+
+	/**
+	 * Appends a decimal value to an {@link Appendable}.
+	 *
+	 * @param out   the destination
+	 * @param value the value to append
+	 * @throws IOException if the destination fails to accept a character
+	 */
+	public void appendTo(@NotNull Appendable out, @NotNull BigDecimal value) throws IOException {
+		BigDecimal rounded = value.setScale(this.fractionDigits, RoundingMode.HALF_EVEN);
+		if (rounded.unscaledValue().bitLength() >= Long.SIZE - 1) {
+			out.append(rounded.signum() == 0 ? "0" : rounded.stripTrailingZeros().toPlainString());
+			return;
+		}
+
+		long scale = POWERS_OF_TEN[this.fractionDigits];
+		long scaled = rounded.unscaledValue().longValue();
+		long magnitude = Math.abs(scaled);
+		write(out, scaled < 0, magnitude / scale, magnitude % scale, this.fractionDigits);
+	}
+
+	/**
+	 * Formats a value into a new string.
+	 *
+	 * @param value the value to format
+	 * @return the formatted value
+	 */
+	public @NotNull String format(double value) {
+		StringBuilder builder = Formatting.borrowBuilder();
+		return Formatting.release(this.appendTo(builder, value));
+	}
+
+	/**
+	 * Writes a rounded number, dropping the trailing zeroes of its fraction.
+	 *
+	 * @param out            the destination
+	 * @param negative       whether to write a minus sign
+	 * @param integer        the non-negative integer part
+	 * @param fraction       the non-negative fraction part, scaled by {@code 10^fractionDigits}
+	 * @param fractionDigits the number of digits the fraction part was scaled to
+	 * @throws IOException if the destination fails to accept a character
+	 */
+	private static void write(@NotNull Appendable out, boolean negative, long integer, long fraction, int fractionDigits) throws IOException {
+		if (negative) out.append('-');
+		Formatting.writeDigits(out, integer, 1);
+		if (fraction == 0) return;
+
+		while (fraction % 10 == 0) {
+			fraction /= 10;
+			fractionDigits--;
+		}
+		out.append('.');
+		Formatting.writeDigits(out, fraction, fractionDigits);
+	}
+
+	@Override
+	public String toString() {
+		return "FixedPrecision[" + this.fractionDigits + "]";
+	}
+}
@@ -0,0 +1,245 @@
+package dev.quinnlane.cloudy.common.format;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * The formatting service used for everything the application displays: times, dates, and the
+ * fixed-precision numbers written by {@link FixedPrecision}.
+ * <p>
+ * Every method is stateless and safe to call from any thread, including the refresh threads and
+ * the JavaFX application thread at once. Values are written straight into a caller-supplied
+ * {@link StringBuilder} or {@link Appendable}, without going through {@link String#format} or a
+ * shared {@link java.text.Format}. Callers that need a {@code String} can borrow a per-thread
+ * builder with {@link #borrowBuilder()} and turn it into a string with {@link #release(StringBuilder)},
+ * which leaves the returned string as the only allocation.
+ * <p>
+ * Times are written as {@code h:mma} (for example {@code 7:05AM}) and dates as {@code MM/dd},
+ * matching the patterns the pills used before. The AM/PM markers are always in English.
+ */
+public final class Formatting {
+	/**
+	 * The initial capacity of the per-thread builders, enough for any value the application displays.
+	 */
+	private static final int BUILDER_CAPACITY = 64;
+
+	/**
+	 * The number of seconds in a day.
+	 */
+	private static final int SECONDS_PER_DAY = 86_400;
+
+	/**
+	 * A reusable builder, and whether it is currently borrowed.
+	 */
+	private static final class Buffer {
+		private final StringBuilder builder = new StringBuilder(BUILDER_CAPACITY);
+		private boolean borrowed;
+	}
+
+	private static final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+	private Formatting() {}
+
+	/**
+	 * Borrows the calling thread's reusable builder, cleared. It must be handed back with
+	 * {@link #release(StringBuilder)} on the same thread. If the builder is already borrowed, for
+	 * example because a {@code toString} method calls another one, a fresh builder is returned
+	 * instead, so nested borrows are safe.
+	 *
+	 * @return an empty builder
+	 */
+	public static @NotNull StringBuilder borrowBuilder() {
+		Buffer buffer = buffers.get();
+		if (buffer.borrowed) return new StringBuilder(BUILDER_CAPACITY);
+
+		buffer.borrowed = true;
+		buffer.builder.setLength(0);
+		return buffer.builder;
+	}
+
+	/**
+	 * Hands a builder obtained from {@link #borrowBuilder()} back and returns its contents.
+	 *
+	 * @param builder the borrowed builder
+	 * @return the contents of the builder
+	 */
+	public static @NotNull String release(@NotNull StringBuilder builder) {
+		String contents = builder.toString();
+		Buffer buffer = buffers.get();
+		if (buffer.builder == builder) buffer.borrowed = false;
+		return contents;
+	}
+
+	/**
+	 * Appends the wall-clock time of an instant in a time zone, as {@code h:mma}.
+	 *
+	 * @param builder the builder to append to
+	 * @param instant the instant to append
+	 * @param zone    the time zone to show the instant in
+	 * @return the builder
+	 */
+	public static @NotNull StringBuilder appendTime(@NotNull StringBuilder builder, @NotNull Instant instant, @NotNull ZoneId zone) {
+		try {
+			appendTime((Appendable) builder, instant, zone);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends the wall-clock time of an instant in a time zone, as {@code h:mma}.
+	 *
+	 * @param out     the destination
+	 * @param instant the instant to append
+	 * @param zone    the time zone to show the instant in
+	 * @throws IOException if the destination fails to accept a character
+	 */
+	public static void appendTime(@NotNull Appendable out, @NotNull Instant instant, @NotNull ZoneId zone) throws IOException {
+		int secondOfDay = (int) Math.floorMod(localEpochSecond(instant, zone), SECONDS_PER_DAY);
+		writeTime(out, secondOfDay / 3600, secondOfDay / 60 % 60);
+	}
+
+	/**
+	 * Appends a time, as {@code h:mma}.
+	 *
+	 * @param out  the destination
+	 * @param time the time to append
+	 * @throws IOException if the destination fails to accept a character
+	 */
+	public static void appendTime(@NotNull Appendable out, @NotNull LocalTime time) throws IOException {
+		writeTime(out, time.getHour(), time.getMinute());
+	}
+
+	/**
+	 * Appends the date of an instant in a time zone, as {@code MM/dd}.
+	 *
+	 * @param builder the builder to append to
+	 * @param instant the instant to append
+	 * @param zone    the time zone to show the instant in
+	 * @return the builder
+	 */
+	public static @NotNull StringBuilder appendShortDate(@NotNull StringBuilder builder, @NotNull Instant instant, @NotNull ZoneId zone) {
+		try {
+			appendShortDate((Appendable) builder, LocalDate.ofEpochDay(Math.floorDiv(localEpochSecond(instant, zone), SECONDS_PER_DAY)));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends a date, as {@code MM/dd}.
+	 *
+	 * @param out  the destination
+	 * @param date the date to append
+	 * @throws IOException if the destination fails to accept a character
+	 */
+	public static void appendShortDate(@NotNull Appendable out, @NotNull LocalDate date) throws IOException {
+		writeDigits(out, date.getMonthValue(), 2);
+		out.append('/');
+		writeDigits(out, date.getDayOfMonth(), 2);
+	}
+
+	/**
+	 * Appends a date, as {@code yyyy-MM-dd}.
+	 *
+	 * @param builder the builder to append to
+	 * @param date    the date to append
+	 * @return the builder
+	 */
+	public static @NotNull StringBuilder appendIsoDate(@NotNull StringBuilder builder, @NotNull LocalDate date) {
+		try {
+			writeDigits(builder, date.getYear(), 4);
+			builder.append('-');
+			writeDigits(builder, date.getMonthValue(), 2);
+			builder.append('-');
+			writeDigits(builder, date.getDayOfMonth(), 2);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder;
+	}
+
+	/**
+	 * Formats the wall-clock time of an instant in the system time zone, as {@code h:mma}.
+	 *
+	 * @param instant the instant to format
+	 * @return the formatted time
+	 */
+	public static @NotNull String formatTime(@NotNull Instant instant) {
+		return release(appendTime(borrowBuilder(), instant, ZoneId.systemDefault()));
+	}
+
+	/**
+	 * Formats the date of an instant in the system time zone, as {@code MM/dd}.
+	 *
+	 * @param instant the instant to format
+	 * @return the formatted date
+	 */
+	public static @NotNull String formatShortDate(@NotNull Instant instant) {
+		return release(appendShortDate(borrowBuilder(), instant, ZoneId.systemDefault()));
+	}
+
+	/**
+	 * Writes a non-negative number in decimal, one character at a time, padded with leading
+	 * zeroes to a minimum width. Negative numbers are written with a minus sign.
+	 *
+	 * @param out      the destination
+	 * @param value    the number to write
+	 * @param minWidth the smallest number of digits to write
+	 * @throws IOException if the destination fails to accept a character
+	 */
+	static void writeDigits(@NotNull Appendable out, long value, int minWidth) throws IOException {
+		if (value < 0) {
+			out.append('-');
+			if (value == Long.MIN_VALUE) {
+				out.append("9223372036854775808");
+				return;
+			}
+			value = -value;
+		}
+
+		long divisor = 1;
+		int width = 1;
+		while (divisor <= value / 10) {
+			divisor *= 10;
+			width++;
+		}
+		for (int i = width; i < minWidth; i++) out.append('0');
+		for (; divisor > 0; divisor /= 10) out.append((char) ('0' + value / divisor % 10));
+	}
+
+	/**
+	 * Converts an instant to the number of seconds since the epoch on the wall clock of a time zone.
+	 *
+	 * @param instant the instant to convert
+	 * @param zone    the time zone
+	 * @return the local epoch second
+	 */
+	private static long localEpochSecond(@NotNull Instant instant, @NotNull ZoneId zone) {
+		return instant.getEpochSecond() + zone.getRules().getOffset(instant).getTotalSeconds();
+	}
+
+	/**
+	 * Writes a time of day as {@code h:mma}.
+	 *
+	 * @param out    the destination
+	 * @param hour   the hour of the day, from 0 to 23
+	 * @param minute the minute of the hour
+	 * @throws IOException if the destination fails to accept a character
+	 */
+	private static void writeTime(@NotNull Appendable out, int hour, int minute) throws IOException {
+		int clockHour = hour % 12 == 0 ? 12 : hour % 12;
+		writeDigits(out, clockHour, 1);
+		out.append(':');
+		writeDigits(out, minute, 2);
+		out.append(hour < 12 ? 'A' : 'P').append('M');
+	}
+}
@@ -0,0 +1,29 @@
+package dev.quinnlane.cloudy.common.geo;
+
+/**
+ * Thrown by {@link CoordinateParser} when its input is not a valid pair of coordinates.
+ */
+public class CoordinateFormatException extends IllegalArgumentException {
+	/**
+	 * The index in the input at which the error was found.
+	 */
+	private final int errorOffset;
+
+	/**
+	 * Constructs a new CoordinateFormatException.
+	 *
+	 * @param reason      what was wrong with the input
+	 * @param errorOffset the index in the input at which the error was found
+	 */
+	public CoordinateFormatException(String reason, int errorOffset) {
+		super(reason + " at offset " + errorOffset);
+		this.errorOffset = errorOffset;
+	}
+
+	/**
+	 * @return the index in the input at which the error was found, relative to the start of the whole text or buffer
+	 */
+	public int getErrorOffset() {
+		return this.errorOffset;
+	}
+}
@@ -0,0 +1,470 @@
+package dev.quinnlane.cloudy.common.geo;
+
+import dev.quinnlane.cloudy.common.Constants;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A single-pass parser of latitude and longitude pairs, accepting every form that
+ * {@link EarthCoordinates.DisplayFormat} produces as well as the usual variations of user input:
+ * <ul>
+ *     <li>Plain decimals, such as {@code 40.4461, -79.9822} or {@code (40.4461, -79.9822)}.</li>
+ *     <li>Decimal degrees, such as {@code 40.4461°, -79.9822°}.</li>
+ *     <li>Decimal degrees with a quadrant before or after them, such as {@code 40.4461°N 79.9822°W}, {@code 40.4461N, 79.9822W} or {@code N40.4461 W79.9822}.</li>
+ *     <li>Degrees, minutes, and seconds, such as {@code 40°26'46"N 79°58'56"W} or {@code 40° 26' 46"N, 79° 58' 56"W},
+ *     and degrees with decimal minutes, such as {@code 40°26.767'N}. Minutes and seconds may also be marked with
+ *     {@code ′} and {@code ″}.</li>
+ * </ul>
+ * Latitude always comes first, and the two may be separated by a comma, a semicolon, or whitespace.
+ * A coordinate is negative if it has a minus sign on any of its parts or a south or west quadrant,
+ * so the negative components written by {@link EarthCoordinates.DisplayFormat#DEGREES_MINUTES_SECONDS}
+ * are read back as well.
+ * <p>
+ * The parser reads {@link CharSequence}s and byte buffers directly, the latter as ASCII with UTF-8
+ * or Latin-1 degree symbols, without copying them or allocating on success: results are read back
+ * from the parser, which can be reused for any number of inputs. Numbers of up to 15 significant
+ * digits, which covers every practical coordinate, are converted exactly with a single division.
+ * Errors are reported with a {@link CoordinateFormatException} holding the offset of the offending
+ * character in the whole input.
+ * <p>
+ * A parser is not thread-safe, but is cheap enough to create one per thread or per call.
+ */
+public final class CoordinateParser {
+	/**
+	 * The powers of ten that are exactly representable as doubles.
+	 */
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/**
+	 * The largest number of significant digits converted without falling back to {@link Double#parseDouble(String)}.
+	 */
+	private static final int MAX_FAST_DIGITS = 15;
+
+	private static final char MASCULINE_ORDINAL = 'º';
+	private static final char PRIME = '′';
+	private static final char DOUBLE_PRIME = '″';
+
+	private CharSequence text;
+	private byte[] bytes;
+	private int position;
+	private int limit;
+
+	/**
+	 * The number of bytes or chars taken by the character last returned by {@link #peek()}.
+	 */
+	private int width;
+
+	private double latitude;
+	private double longitude;
+
+	/**
+	 * Parses a whole text as a pair of coordinates.
+	 *
+	 * @param text the text to parse; must not be null
+	 * @return this parser, holding the parsed latitude and longitude
+	 * @throws CoordinateFormatException if the text is not a valid pair of coordinates
+	 */
+	public @NotNull CoordinateParser parse(@NotNull CharSequence text) {
+		return this.parse(text, 0, text.length());
+	}
+
+	/**
+	 * Parses a range of a text as a pair of coordinates.
+	 *
+	 * @param text the text to parse; must not be null
+	 * @param from the index of the first char of the range, inclusive
+	 * @param to   the index of the last char of the range, exclusive
+	 * @return this parser, holding the parsed latitude and longitude
+	 * @throws CoordinateFormatException if the range is not a valid pair of coordinates
+	 * @throws IndexOutOfBoundsException if the range is out of the text's bounds
+	 */
+	public @NotNull CoordinateParser parse(@NotNull CharSequence text, int from, int to) {
+		Objects.checkFromToIndex(from, to, text.length());
+		this.text = text;
+		this.bytes = null;
+		this.parseRange(from, to);
+		return this;
+	}
+
+	/**
+	 * Parses a range of a byte buffer as a pair of coordinates.
+	 *
+	 * @param buffer the buffer to parse; must not be null
+	 * @param from   the index of the first byte of the range, inclusive
+	 * @param to     the index of the last byte of the range, exclusive
+	 * @return this parser, holding the parsed latitude and longitude
+	 * @throws CoordinateFormatException if the range is not a valid pair of coordinates
+	 * @throws IndexOutOfBoundsException if the range is out of the buffer's bounds
+	 */
+	public @NotNull CoordinateParser parse(byte @NotNull [] buffer, int from, int to) {
+		Objects.checkFromToIndex(from, to, buffer.length);
+		this.text = null;
+		this.bytes = buffer;
+		this.parseRange(from, to);
+		return this;
+	}
+
+	/**
+	 * Parses a range of a byte buffer holding one pair of coordinates per line, such as a column of
+	 * a CSV file, into two parallel columns. Blank lines are skipped, and lines may end with either
+	 * {@code \n} or {@code \r\n}.
+	 * <p>
+	 * Parsing stops at the end of the range or once the columns are full, whichever comes first;
+	 * {@link #getPosition()} then gives the index the next call should start from.
+	 *
+	 * @param buffer     the buffer to parse; must not be null
+	 * @param from       the index of the first byte of the range, inclusive
+	 * @param to         the index of the last byte of the range, exclusive
+	 * @param latitudes  the column receiving the latitudes
+	 * @param longitudes the column receiving the longitudes
+	 * @param offset     the index in the columns the first pair is written to
+	 * @return the number of pairs parsed
+	 * @throws CoordinateFormatException if a line is not a valid pair of coordinates
+	 * @throws IndexOutOfBoundsException if the range is out of the buffer's bounds
+	 */
+	public int parseLines(byte @NotNull [] buffer, int from, int to, double @NotNull [] latitudes, double @NotNull [] longitudes, int offset) {
+		Objects.checkFromToIndex(from, to, buffer.length);
+		this.text = null;
+		this.bytes = buffer;
+
+		int capacity = Math.min(latitudes.length, longitudes.length) - offset;
+		int count = 0;
+		int lineStart = from;
+		while (lineStart < to && count < capacity) {
+			int lineEnd = lineStart;
+			while (lineEnd < to && buffer[lineEnd] != '\n') lineEnd++;
+
+			this.position = lineStart;
+			this.limit = lineEnd;
+			this.skipWhitespace();
+			if (this.position < lineEnd) {
+				this.parseRange(lineStart, lineEnd);
+				latitudes[offset + count] = this.latitude;
+				longitudes[offset + count] = this.longitude;
+				count++;
+			}
+			lineStart = lineEnd + 1;
+		}
+
+		this.position = Math.min(lineStart, to);
+		return count;
+	}
+
+	/**
+	 * @return the latitude of the last parsed pair, in decimal degrees
+	 */
+	public double getLatitude() {
+		return this.latitude;
+	}
+
+	/**
+	 * @return the longitude of the last parsed pair, in decimal degrees
+	 */
+	public double getLongitude() {
+		return this.longitude;
+	}
+
+	/**
+	 * @return the index right after the last parsed input
+	 */
+	public int getPosition() {
+		return this.position;
+	}
+
+	/**
+	 * Creates coordinates from the last parsed pair.
+	 *
+	 * @return the coordinates
+	 */
+	public @NotNull EarthCoordinates toCoordinates() {
+		return new EarthCoordinates(this.latitude, this.longitude);
+	}
+
+	private void parseRange(int from, int to) {
+		this.position = from;
+		this.limit = to;
+
+		this.skipWhitespace();
+		boolean parenthesized = this.accept('(');
+		this.latitude = this.parseComponent(false);
+
+		this.skipWhitespace();
+		if (!this.accept(',')) this.accept(';');
+		this.longitude = this.parseComponent(true);
+
+		this.skipWhitespace();
+		if (parenthesized && !this.accept(')')) throw this.error("Expected ')'");
+		this.skipWhitespace();
+		if (this.position < this.limit) throw this.error("Unexpected character after the coordinates");
+	}
+
+	/**
+	 * Parses a latitude or a longitude in any of the supported forms.
+	 *
+	 * @param isLongitude whether a longitude (true) or a latitude (false) is expected
+	 * @return the coordinate in decimal degrees
+	 */
+	private double parseComponent(boolean isLongitude) {
+		this.skipWhitespace();
+		int start = this.position;
+
+		int quadrant = this.acceptQuadrant(isLongitude, true);
+		if (quadrant != 0) this.skipWhitespace();
+
+		boolean negative = this.acceptSign();
+		int degreesStart = this.position;
+		double value = this.parseNumber();
+		boolean integral = this.isIntegral(degreesStart);
+
+		int beforeSymbol = this.position;
+		this.skipWhitespace();
+		if (this.acceptDegreeSymbol()) {
+			int minutesStart = this.skipWhitespaceAndMark();
+			if (this.startsNumber()) {
+				boolean minutesNegative = this.acceptSign();
+				int minutesDigits = this.position;
+				double minutes = this.parseNumber();
+				this.skipWhitespace();
+				if (this.acceptMinuteMark()) {
+					if (!integral) throw new CoordinateFormatException("Minutes cannot follow fractional degrees", minutesStart);
+					if (minutes > 60) throw new CoordinateFormatException("Minutes must be at most 60", minutesDigits);
+					negative |= minutesNegative;
+					value += minutes / 60;
+					integral = this.isIntegral(minutesDigits);
+
+					int secondsStart = this.skipWhitespaceAndMark();
+					if (this.startsNumber()) {
+						boolean secondsNegative = this.acceptSign();
+						int secondsDigits = this.position;
+						double seconds = this.parseNumber();
+						this.skipWhitespace();
+						if (this.acceptSecondMark()) {
+							if (!integral) throw new CoordinateFormatException("Seconds cannot follow fractional minutes", secondsStart);
+							if (seconds > 60) throw new CoordinateFormatException("Seconds must be at most 60", secondsDigits);
+							negative |= secondsNegative;
+							value += seconds / 3600;
+						} else {
+							this.position = secondsStart;
+						}
+					} else {
+						this.position = secondsStart;
+					}
+				} else {
+					// Not minutes but the next coordinate, as in "40.5° -79.9°"
+					this.position = minutesStart;
+				}
+			} else {
+				this.position = minutesStart;
+			}
+		} else {
+			this.position = beforeSymbol;
+		}
+
+		int beforeQuadrant = this.position;
+		this.skipWhitespace();
+		int quadrantPosition = this.position;
+		// After whitespace, a letter of the other axis is the quadrant prefix of the next coordinate
+		int suffix = this.acceptQuadrant(isLongitude, quadrantPosition == beforeQuadrant);
+		if (suffix != 0) {
+			if (quadrant != 0) throw new CoordinateFormatException("A coordinate cannot have two quadrants", quadrantPosition);
+			quadrant = suffix;
+		} else {
+			this.position = beforeQuadrant;
+		}
+
+		if (quadrant == 'S' || quadrant == 'W') negative = true;
+		if (value > (isLongitude ? 180 : 90)) throw new CoordinateFormatException(isLongitude ? "Longitude must be between -180 and 180" : "Latitude must be between -90 and 90", start);
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses an unsigned decimal number, with an optional exponent.
+	 *
+	 * @return the number
+	 */
+	private double parseNumber() {
+		int start = this.position;
+		long mantissa = 0;
+		int significantDigits = 0;
+		int fractionDigits = 0;
+		boolean fraction = false;
+		boolean anyDigit = false;
+
+		while (this.position < this.limit) {
+			int c = this.peek();
+			if (c >= '0' && c <= '9') {
+				anyDigit = true;
+				if (significantDigits > 0 || c != '0') significantDigits++;
+				if (significantDigits <= MAX_FAST_DIGITS) mantissa = mantissa * 10 + (c - '0');
+				if (fraction) fractionDigits++;
+				this.position++;
+			} else if (c == '.' && !fraction) {
+				fraction = true;
+				this.position++;
+			} else {
+				break;
+			}
+		}
+		if (!anyDigit) throw new CoordinateFormatException("Expected a number", start);
+
+		if (this.startsExponent()) {
+			this.position++;
+			if (!this.acceptSign()) this.accept('+');
+			int exponentStart = this.position;
+			while (this.position < this.limit && this.peek() >= '0' && this.peek() <= '9') this.position++;
+			if (this.position == exponentStart) throw new CoordinateFormatException("Expected an exponent", exponentStart);
+			return this.parseSlowly(start);
+		}
+
+		if (significantDigits > MAX_FAST_DIGITS || fractionDigits >= POWERS_OF_TEN.length) return this.parseSlowly(start);
+		return mantissa / POWERS_OF_TEN[fractionDigits];
+	}
+
+	/**
+	 * Parses a number the fast path cannot convert exactly, by copying it into a string.
+	 */
+	private double parseSlowly(int start) {
+		String number = this.bytes != null
+				? new String(this.bytes, start, this.position - start, StandardCharsets.ISO_8859_1)
+				: this.text.subSequence(start, this.position).toString();
+		return Double.parseDouble(number);
+	}
+
+	/**
+	 * Determines whether the number starting at an index, which must have just been parsed, has no fractional part.
+	 */
+	private boolean isIntegral(int start) {
+		for (int i = start; i < this.position; i++) {
+			int c = this.bytes != null ? this.bytes[i] : this.text.charAt(i);
+			if (c == '.' || c == 'e' || c == 'E') return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Determines whether the next character starts an exponent rather than an east quadrant, that is
+	 * whether it is an {@code e} followed by a sign or a digit.
+	 */
+	private boolean startsExponent() {
+		if (this.position + 1 >= this.limit) return false;
+		int c = this.peek();
+		if (c != 'e' && c != 'E') return false;
+
+		int next = this.bytes != null ? this.bytes[this.position + 1] : this.text.charAt(this.position + 1);
+		return next == '-' || next == '+' || (next >= '0' && next <= '9');
+	}
+
+	private boolean startsNumber() {
+		if (this.position >= this.limit) return false;
+		int c = this.peek();
+		return (c >= '0' && c <= '9') || c == '.' || c == '-';
+	}
+
+	private boolean acceptSign() {
+		return this.accept('-');
+	}
+
+	private boolean acceptDegreeSymbol() {
+		return this.accept(Constants.DEGREE_SYMBOL) || this.accept(MASCULINE_ORDINAL);
+	}
+
+	private boolean acceptMinuteMark() {
+		return this.accept('\'') || this.accept(PRIME);
+	}
+
+	private boolean acceptSecondMark() {
+		if (this.accept('"') || this.accept(DOUBLE_PRIME)) return true;
+
+		// Two apostrophes, as typed on keyboards without a double quote
+		int start = this.position;
+		if (this.accept('\'') && this.accept('\'')) return true;
+		this.position = start;
+		return false;
+	}
+
+	/**
+	 * Skips whitespace, returning the position before it, so that a tentative parse can be undone.
+	 */
+	private int skipWhitespaceAndMark() {
+		int start = this.position;
+		this.skipWhitespace();
+		return start;
+	}
+
+	/**
+	 * Consumes a quadrant letter for the expected axis, in either case.
+	 *
+	 * @param isLongitude whether the quadrant of a longitude (true) or a latitude (false) is expected
+	 * @param strict      whether a quadrant letter of the other axis is an error rather than left unconsumed
+	 * @return the upper case quadrant letter, or 0 if the next character is not a quadrant letter of the expected axis
+	 * @throws CoordinateFormatException if strict and the next character is a quadrant letter of the other axis
+	 */
+	private int acceptQuadrant(boolean isLongitude, boolean strict) {
+		if (this.position >= this.limit) return 0;
+		int c = this.peek();
+		int upper = c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c;
+		if (upper != 'N' && upper != 'S' && upper != 'E' && upper != 'W') return 0;
+
+		boolean longitudeQuadrant = upper == 'E' || upper == 'W';
+		if (longitudeQuadrant != isLongitude) {
+			if (!strict) return 0;
+			throw this.error(isLongitude ? "Expected E or W for the longitude" : "Expected N or S for the latitude");
+		}
+		this.position += this.width;
+		return upper;
+	}
+
+	private boolean accept(char expected) {
+		if (this.position >= this.limit || this.peek() != expected) return false;
+		this.position += this.width;
+		return true;
+	}
+
+	private void skipWhitespace() {
+		while (this.position < this.limit) {
+			int c = this.peek();
+			if (c != ' ' && c != '\t' && c != '\r' && c != '\n') return;
+			this.position++;
+		}
+	}
+
+	/**
+	 * Reads the character at the current position without consuming it, setting {@link #width} to
+	 * its length. In byte buffers, two-byte UTF-8 sequences for U+0080 to U+00BF (which include the
+	 * degree symbol) and the three-byte sequences of the prime and double prime are decoded, and any
+	 * other byte is read as Latin-1.
+	 *
+	 * @return the character; the position must be below the limit
+	 */
+	private int peek() {
+		this.width = 1;
+		if (this.bytes == null) return this.text.charAt(this.position);
+
+		int b = this.bytes[this.position] & 0xFF;
+		if (b < 0x80) return b;
+
+		if (b == 0xC2 && this.position + 1 < this.limit) {
+			int next = this.bytes[this.position + 1] & 0xFF;
+			if (next >= 0x80 && next <= 0xBF) {
+				this.width = 2;
+				return next;
+			}
+		} else if (b == 0xE2 && this.position + 2 < this.limit && (this.bytes[this.position + 1] & 0xFF) == 0x80) {
+			int last = this.bytes[this.position + 2] & 0xFF;
+			if (last == 0xB2 || last == 0xB3) {
+				this.width = 3;
+				return last == 0xB2 ? PRIME : DOUBLE_PRIME;
+			}
+		}
+		return b;
+	}
+
+	private @NotNull CoordinateFormatException error(@NotNull String reason) {
+		return new CoordinateFormatException(reason, this.position);
+	}
+}
@@ -1,13 +1,20 @@
 package dev.quinnlane.cloudy.common.geo;
 
 import dev.quinnlane.cloudy.common.Constants;
+import dev.quinnlane.cloudy.common.astronomy.SolarCalculator;
+import dev.quinnlane.cloudy.common.astronomy.Twilight;
 import dev.quinnlane.cloudy.common.datatypes.OrderedPair;
 import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import dev.quinnlane.cloudy.common.format.FixedPrecision;
+import dev.quinnlane.cloudy.common.format.Formatting;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.text.DecimalFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 
 /**
  * The EarthCoordinates class represents geographical coordinates, providing functionalities
@@ -15,6 +22,11 @@ import java.text.DecimalFormat;
  * Latitude and longitude values can be represented in raw decimal degrees, degrees-minutes-seconds (DMS),
  * or with quadrant labels.
  * The class also supports custom display formatting for precision.
+ * <p>
+ * Coordinates are held as primitive doubles, which is all that cache keys, distances, and spatial
+ * lookups need. {@code BigDecimal} values are only materialized when they are asked for, for
+ * example for raw display or round-tripping; coordinates constructed from decimal values keep
+ * them, so they round-trip exactly.
  */
 public class EarthCoordinates {
 	/**
@@ -89,10 +101,23 @@ public class EarthCoordinates {
 		return degrees.add(minutesScaled).add(secondsScaled);
 	}
 
+	/**
+	 * Parses a pair of coordinates in any of the forms produced by {@link DisplayFormat}, such as
+	 * {@code 40.4461, -79.9822}, {@code 40.4461°N 79.9822°W} or {@code 40°26'46"N 79°58'56"W}.
+	 *
+	 * @param text the text to parse; must not be null
+	 * @return the parsed coordinates
+	 * @throws CoordinateFormatException if the text is not a valid pair of coordinates
+	 * @see CoordinateParser
+	 */
+	public static @NotNull EarthCoordinates parse(@NotNull CharSequence text) {
+		return new CoordinateParser().parse(text).toCoordinates();
+	}
+
 	/**
 	 * Represents the latitude coordinate of a geographical location.
 	 * <p>
-	 * This variable holds the latitude in decimal degrees format as a {@code BigDecimal}.
+	 * This variable holds the latitude in decimal degrees format as a {@code double}.
 	 * Latitude values typically range between -90 and 90,
 	 * where positive values denote locations in the Northern Hemisphere,
 	 * and negative values denote locations in the Southern Hemisphere.
@@ -102,13 +127,13 @@ public class EarthCoordinates {
 	 * <p>
 	 * This field is immutable and is initialized during the creation of an {@code EarthCoordinates} object.
 	 */
-	private final BigDecimal latitude;
+	private final double latitude;
 
 	/**
 	 * Represents the longitude component of a geographical coordinate.
 	 * <p>
-	 * The longitude value is stored as a {@code BigDecimal}, allowing for high precision
-	 * when representing coordinates in decimal degrees format.
+	 * The longitude value is stored as a {@code double} in decimal degrees format, which is
+	 * precise to well under a millimetre on the Earth's surface.
 	 * <p>
 	 * Longitude defines the east-west position of a point on the Earth's surface, with
 	 * values ranging from -180° to 180°, where negative values indicate a westward direction,
@@ -116,7 +141,18 @@ public class EarthCoordinates {
 	 * <p>
 	 * This field is immutable and cannot be modified after the object is created.
 	 */
-	private final BigDecimal longitude;
+	private final double longitude;
+
+	/**
+	 * The latitude as a {@code BigDecimal}, either as it was constructed or materialized on first use.
+	 * Racy but safe, like {@link String#hashCode()}: every thread materializes the same value.
+	 */
+	private BigDecimal latitudeDecimal;
+
+	/**
+	 * The longitude as a {@code BigDecimal}, either as it was constructed or materialized on first use.
+	 */
+	private BigDecimal longitudeDecimal;
 
 	/**
 	 * Specifies the format used to display the geographical coordinates.
@@ -141,7 +177,7 @@ public class EarthCoordinates {
 	/**
 	 * Defines the precision format for displaying geographic coordinate values.
 	 * <p>
-	 * This {@link DecimalFormat} instance is used to control the numerical representation
+	 * This {@link FixedPrecision} instance is used to control the numerical representation
 	 * of latitude and longitude in the {@link EarthCoordinates} class. It provides consistency in how
 	 * coordinate values are displayed by ensuring that they adhere to a specific precision format.
 	 * <p>
@@ -149,9 +185,9 @@ public class EarthCoordinates {
 	 * rounds numbers to three decimal places and discards trailing zeroes.
 	 *
 	 * @see Constants#DEFAULT_PRECISION
-	 * @see EarthCoordinates#setPrecision(DecimalFormat)
+	 * @see EarthCoordinates#setPrecision(FixedPrecision)
 	 */
-	private DecimalFormat precision = Constants.DEFAULT_PRECISION;
+	private FixedPrecision precision = Constants.DEFAULT_PRECISION;
 
 	/**
 	 * Constructs an {@code EarthCoordinates} instance using the provided latitude and longitude
@@ -207,8 +243,22 @@ public class EarthCoordinates {
 	 * @param longitude the longitude coordinate as a {@code BigDecimal}; must not be null
 	 */
 	public EarthCoordinates(BigDecimal latitude, BigDecimal longitude) {
-		this.latitude = latitude;
-		this.longitude = longitude;
+		this(latitude.doubleValue(), longitude.doubleValue());
+		this.latitudeDecimal = latitude;
+		this.longitudeDecimal = longitude;
+	}
+
+	/**
+	 * Constructs an {@code EarthCoordinates} instance using the provided latitude and longitude
+	 * coordinates in decimal degrees format, without allocating any {@code BigDecimal}.
+	 *
+	 * @param latitude  the latitude coordinate in decimal degrees
+	 * @param longitude the longitude coordinate in decimal degrees
+	 */
+	public EarthCoordinates(double latitude, double longitude) {
+		// Adding zero turns -0.0 into 0.0, so that both compare equal and print the same
+		this.latitude = latitude + 0.0;
+		this.longitude = longitude + 0.0;
 	}
 
 	/**
@@ -227,30 +277,132 @@ public class EarthCoordinates {
 	 */
 	private char getQuadrant(boolean forLongitude) {
 		if (forLongitude) {
-			return longitude.signum() == -1 ? 'W' : 'E';
+			return this.longitude < 0 ? 'W' : 'E';
 		} else {
-			return latitude.signum() == -1 ? 'S' : 'N';
+			return this.latitude < 0 ? 'S' : 'N';
 		}
 	}
 
 	/**
-	 * Retrieves the latitude component of the geographical coordinates.
+	 * Retrieves the latitude component of the geographical coordinates. If the coordinates were not
+	 * constructed from decimal values, the shortest decimal that round-trips to the same double is
+	 * materialized on the first call.
 	 *
 	 * @return the latitude as a {@code BigDecimal}.
 	 */
 	public BigDecimal getLatitude() {
-		return this.latitude;
+		BigDecimal decimal = this.latitudeDecimal;
+		if (decimal == null) this.latitudeDecimal = decimal = BigDecimal.valueOf(this.latitude);
+		return decimal;
 	}
 
 	/**
-	 * Retrieves the longitude component of the geographical coordinates.
+	 * Retrieves the longitude component of the geographical coordinates. If the coordinates were not
+	 * constructed from decimal values, the shortest decimal that round-trips to the same double is
+	 * materialized on the first call.
 	 *
 	 * @return the longitude as a {@code BigDecimal}.
 	 */
 	public BigDecimal getLongitude() {
+		BigDecimal decimal = this.longitudeDecimal;
+		if (decimal == null) this.longitudeDecimal = decimal = BigDecimal.valueOf(this.longitude);
+		return decimal;
+	}
+
+	/**
+	 * Retrieves the latitude component of the geographical coordinates without materializing a {@code BigDecimal}.
+	 *
+	 * @return the latitude in decimal degrees
+	 */
+	public double getLatitudeAsDouble() {
+		return this.latitude;
+	}
+
+	/**
+	 * Retrieves the longitude component of the geographical coordinates without materializing a {@code BigDecimal}.
+	 *
+	 * @return the longitude in decimal degrees
+	 */
+	public double getLongitudeAsDouble() {
 		return this.longitude;
 	}
 
+	/**
+	 * Computes the great-circle distance to another location.
+	 *
+	 * @param other the other location; must not be null
+	 * @return the distance in kilometres
+	 * @see GreatCircle#distance(double, double, double, double)
+	 */
+	public double distanceTo(@NotNull EarthCoordinates other) {
+		return GreatCircle.distance(this.latitude, this.longitude, other.latitude, other.longitude);
+	}
+
+	/**
+	 * Computes the initial bearing of the great circle to another location.
+	 *
+	 * @param other the other location; must not be null
+	 * @return the bearing in degrees clockwise from north, from 0 inclusive to 360 exclusive
+	 * @see GreatCircle#bearing(double, double, double, double)
+	 */
+	public double bearingTo(@NotNull EarthCoordinates other) {
+		return GreatCircle.bearing(this.latitude, this.longitude, other.latitude, other.longitude);
+	}
+
+	/**
+	 * Computes the time of sunrise at this location on a date.
+	 *
+	 * @param date the date, as lived at this location; must not be null
+	 * @return the time of sunrise, or null if the sun does not rise or set that day
+	 * @see SolarCalculator
+	 */
+	public @Nullable Instant getSunrise(@NotNull LocalDate date) {
+		return this.getDawn(date, Twilight.OFFICIAL);
+	}
+
+	/**
+	 * Computes the time of sunset at this location on a date.
+	 *
+	 * @param date the date, as lived at this location; must not be null
+	 * @return the time of sunset, or null if the sun does not rise or set that day
+	 * @see SolarCalculator
+	 */
+	public @Nullable Instant getSunset(@NotNull LocalDate date) {
+		return this.getDusk(date, Twilight.OFFICIAL);
+	}
+
+	/**
+	 * Computes the time the sun rises above a zenith angle at this location on a date.
+	 *
+	 * @param date     the date, as lived at this location; must not be null
+	 * @param twilight the zenith angle; must not be null
+	 * @return the time of dawn, or null if the sun stays above or below the zenith angle all day
+	 */
+	public @Nullable Instant getDawn(@NotNull LocalDate date, @NotNull Twilight twilight) {
+		return SolarCalculator.toInstant(date.toEpochDay(), SolarCalculator.dawn(this.latitude, this.longitude, date.toEpochDay(), twilight));
+	}
+
+	/**
+	 * Computes the time the sun sets below a zenith angle at this location on a date.
+	 *
+	 * @param date     the date, as lived at this location; must not be null
+	 * @param twilight the zenith angle; must not be null
+	 * @return the time of dusk, or null if the sun stays above or below the zenith angle all day
+	 */
+	public @Nullable Instant getDusk(@NotNull LocalDate date, @NotNull Twilight twilight) {
+		return SolarCalculator.toInstant(date.toEpochDay(), SolarCalculator.dusk(this.latitude, this.longitude, date.toEpochDay(), twilight));
+	}
+
+	/**
+	 * Computes the time between sunrise and sunset at this location on a date.
+	 *
+	 * @param date the date, as lived at this location; must not be null
+	 * @return the length of the day, which is zero during polar night and a whole day during polar day
+	 */
+	public @NotNull Duration getDayLength(@NotNull LocalDate date) {
+		return SolarCalculator.dayLength(this.latitude, this.longitude, date.toEpochDay());
+	}
+
 	/**
 	 * Converts the latitude component of the geographical coordinates from decimal degrees
 	 * to degrees, minutes, and seconds (DMS) format.
@@ -269,7 +421,7 @@ public class EarthCoordinates {
 	 *         The returned values represent the latitude in DMS format.
 	 */
 	public OrderedTriplet<Integer, Integer, BigDecimal> getLatitudeAsDMS() {
-		return decimalDegreesToDMS(this.latitude);
+		return decimalDegreesToDMS(this.getLatitude());
 	}
 
 	/**
@@ -290,7 +442,7 @@ public class EarthCoordinates {
 	 *         The returned values represent the longitude in DMS format.
 	 */
 	public OrderedTriplet<Integer, Integer, BigDecimal> getLongitudeAsDMS() {
-		return decimalDegreesToDMS(this.longitude);
+		return decimalDegreesToDMS(this.getLongitude());
 	}
 
 	/**
@@ -300,7 +452,7 @@ public class EarthCoordinates {
 	 *         Both components are represented as {@code BigDecimal}.
 	 */
 	public OrderedPair<BigDecimal, BigDecimal> getAsOrderedPair() {
-		return new OrderedPair<>(this.latitude, this.longitude);
+		return new OrderedPair<>(this.getLatitude(), this.getLongitude());
 	}
 
 	/**
@@ -317,13 +469,40 @@ public class EarthCoordinates {
 	/**
 	 * Sets the precision format for displaying numerical values in geographical coordinates.
 	 *
-	 * @param precision the {@code DecimalFormat} instance to define the precision level
+	 * @param precision the {@code FixedPrecision} instance to define the precision level
 	 *                  for formatting numerical output of coordinates; must not be null
 	 */
-	public void setPrecision(DecimalFormat precision) {
+	public void setPrecision(FixedPrecision precision) {
 		this.precision = precision;
 	}
 
+	/**
+	 * Determines whether another object represents the same geographical location.
+	 * <p>
+	 * Only the latitude and longitude are compared, as doubles, so {@code 42.5} and {@code 42.50}
+	 * are considered equal, as are decimals too close to be told apart by a double. Display settings
+	 * such as the format and precision are ignored.
+	 *
+	 * @param other the object to compare against
+	 * @return true if the other object is an {@code EarthCoordinates} at the same location, otherwise false
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) return true;
+		if (!(other instanceof EarthCoordinates coordinates)) return false;
+		return Double.compare(this.latitude, coordinates.latitude) == 0 && Double.compare(this.longitude, coordinates.longitude) == 0;
+	}
+
+	/**
+	 * Computes a hash code consistent with {@link #equals(Object)}.
+	 *
+	 * @return the hash code of the location
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * Double.hashCode(this.latitude) + Double.hashCode(this.longitude);
+	}
+
 	/**
 	 * Returns a string representation of the geographical coordinates based on the current display format.
 	 * <p>
@@ -339,79 +518,89 @@ public class EarthCoordinates {
 	 */
 	@Override
 	public String toString() {
-		return switch (this.displayFormat) {
-			case RAW -> this.getAsOrderedPair().toString();
-			case DECIMAL_DEGREES -> formatAsDecimalDegrees();
-			case DECIMAL_DEGREES_WITH_QUADRANT -> formatAsDecimalDegreesWithQuadrant();
-			case DEGREES_MINUTES_SECONDS -> formatAsDegreesMinutesSeconds();
-		};
+		return Formatting.release(this.appendTo(Formatting.borrowBuilder()));
 	}
 
 	/**
-	 * Formats the latitude and longitude values of an object into a string representation
-	 * in decimal degrees format, appending the degree symbol to each value.
+	 * Appends the geographical coordinates to a builder, in the same form as {@link #toString()}.
+	 * This is safe to call from any thread.
 	 *
-	 * @return A string representing the latitude and longitude formatted as decimal degrees.
+	 * @param builder the builder to append to
+	 * @return the builder, holding the latitude and longitude as an ordered pair
 	 */
-	private @NotNull String formatAsDecimalDegrees() {
-		String latString = String.format("%s%c", precision.format(this.latitude), Constants.DEGREE_SYMBOL);
-		String lonString = String.format("%s%c", precision.format(this.longitude), Constants.DEGREE_SYMBOL);
-		return new OrderedPair<>(latString, lonString).toString();
+	public @NotNull StringBuilder appendTo(@NotNull StringBuilder builder) {
+		builder.append('(');
+		this.appendComponent(builder, false);
+		builder.append(", ");
+		this.appendComponent(builder, true);
+		return builder.append(')');
 	}
 
 	/**
-	 * Formats the latitude and longitude values of the current object
-	 * into human-readable strings with decimal degrees and quadrant indicators.
-	 * Each coordinate value is represented with a degree symbol and
-	 * the corresponding cardinal direction (N, S, E, W).
+	 * Appends either the latitude or the longitude to a builder, according to the current display format.
+	 * Decimal degrees are rounded from the {@code BigDecimal} value if the coordinates hold one, so
+	 * decimal input is rounded exactly, and from the double otherwise. Degrees, minutes, and seconds
+	 * are always computed from the double, with the seconds rounded to the precision before being
+	 * carried into the minutes and degrees.
+	 * <ul>
+	 *     <li>{@code RAW} appends the value as is.</li>
+	 *     <li>{@code DECIMAL_DEGREES} appends the value with a degree symbol.</li>
+	 *     <li>{@code DECIMAL_DEGREES_WITH_QUADRANT} appends the absolute value with a degree symbol and the cardinal direction (N, S, E, W).</li>
+	 *     <li>{@code DEGREES_MINUTES_SECONDS} appends the value in DMS notation followed by the cardinal direction.</li>
+	 * </ul>
 	 *
-	 * @return A non-null formatted string representation of the latitude
-	 *         and longitude values as an ordered pair in decimal degree notation
-	 *         with quadrant indicators.
+	 * @param builder     the builder to append to
+	 * @param isLongitude whether to append the longitude (true) or the latitude (false)
 	 */
-	private @NotNull String formatAsDecimalDegreesWithQuadrant() {
-		String latString = String.format("%s%c%c",
-				precision.format(this.latitude.abs()),
-				Constants.DEGREE_SYMBOL,
-				this.getQuadrant(false));
-
-		String lonString = String.format("%s%c%c",
-				precision.format(this.longitude.abs()),
-				Constants.DEGREE_SYMBOL,
-				this.getQuadrant(true));
-
-		return new OrderedPair<>(latString, lonString).toString();
+	private void appendComponent(@NotNull StringBuilder builder, boolean isLongitude) {
+		double value = isLongitude ? this.longitude : this.latitude;
+		BigDecimal decimal = isLongitude ? this.longitudeDecimal : this.latitudeDecimal;
+		switch (this.displayFormat) {
+			case RAW -> builder.append(isLongitude ? this.getLongitude() : this.getLatitude());
+			case DECIMAL_DEGREES -> {
+				if (decimal != null) this.precision.appendTo(builder, decimal);
+				else this.precision.appendTo(builder, value);
+				builder.append(Constants.DEGREE_SYMBOL);
+			}
+			case DECIMAL_DEGREES_WITH_QUADRANT -> {
+				if (decimal != null) this.precision.appendTo(builder, decimal.abs());
+				else this.precision.appendTo(builder, Math.abs(value));
+				builder.append(Constants.DEGREE_SYMBOL).append(this.getQuadrant(isLongitude));
+			}
+			case DEGREES_MINUTES_SECONDS -> this.appendDMS(builder, value, isLongitude);
+		}
 	}
 
 	/**
-	 * Formats the latitude and longitude values of the current instance into
-	 * Degrees, Minutes, and Seconds (DMS) notation.
-	 * <p>
-	 * Latitude is formatted as a non-directional string, while longitude includes a direction.
+	 * Appends a coordinate in DMS (Degrees, Minutes, Seconds) notation along with a quadrant indicator
+	 * to a builder.
 	 *
-	 * @return A string representation of the formatted latitude and longitude as a DMS
-	 *         notation pair in an ordered pair format.
+	 * @param builder the builder to append to
+	 * @param decimalDegrees the coordinate in decimal degrees
+	 * @param isLongitude a boolean indicating if the DMS value is for longitude (true) or latitude (false)
 	 */
-	private @NotNull String formatAsDegreesMinutesSeconds() {
-		String latString = formatDMS(this.getLatitudeAsDMS(), false);
-		String lonString = formatDMS(this.getLongitudeAsDMS(), true);
-		return new OrderedPair<>(latString, lonString).toString();
-	}
+	private void appendDMS(@NotNull StringBuilder builder, double decimalDegrees, boolean isLongitude) {
+		// Split the magnitude, so that seconds rounded up to 60 can be carried into the minutes and degrees
+		boolean negative = decimalDegrees < 0;
+		double magnitude = Math.abs(decimalDegrees);
+		int degrees = (int) magnitude;
+		double totalMinutes = (magnitude - degrees) * 60;
+		int minutes = (int) totalMinutes;
+		double seconds = this.precision.round((totalMinutes - minutes) * 60);
+		if (seconds >= 60) {
+			seconds -= 60;
+			minutes++;
+		}
+		if (minutes >= 60) {
+			minutes -= 60;
+			degrees++;
+		}
 
-	/**
-	 * Formats a given DMS (Degrees, Minutes, Seconds) representation along with a quadrant indicator
-	 * into a string representation.
-	 *
-	 * @param dms an OrderedTriplet where x represents degrees, y represents minutes, and z represents seconds
-	 * @param isLongitude a boolean indicating if the DMS value is for longitude (true) or latitude (false)
-	 * @return a formatted string representing the DMS value followed by the appropriate quadrant indicator
-	 */
-	private @NotNull String formatDMS(@NotNull OrderedTriplet<Integer, Integer, BigDecimal> dms, boolean isLongitude) {
-		return String.format("%d%c %d' %s\"%c",
-				dms.x(),
-				Constants.DEGREE_SYMBOL,
-				dms.y(),
-				precision.format(dms.z()),
-				this.getQuadrant(isLongitude));
+		int sign = negative ? -1 : 1;
+		builder.append(sign * degrees).append(Constants.DEGREE_SYMBOL).append(' ')
+				.append(sign * minutes).append("' ");
+		this.precision.appendTo(builder, negative && seconds != 0 ? -seconds : seconds)
+				.append('"')
+				.append(this.getQuadrant(isLongitude));
 	}
 }
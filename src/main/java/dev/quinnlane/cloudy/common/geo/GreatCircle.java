@@ -0,0 +1,126 @@
+package dev.quinnlane.cloudy.common.geo;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Great-circle geometry on a spherical Earth, over primitive latitudes and longitudes in decimal degrees.
+ * <p>
+ * Distances use the haversine formula, which stays accurate for nearby points where the spherical
+ * law of cosines loses precision. The sphere has the mean radius of the Earth, so distances are
+ * within about 0.5% of the ellipsoidal ones.
+ * <p>
+ * Points can also be mapped to vectors on the unit sphere, where the straight-line (chord) distance
+ * between two points grows with their great-circle distance. {@link SpatialIndex} searches in that
+ * space, which needs no trigonometry per comparison.
+ */
+public final class GreatCircle {
+	/**
+	 * The mean radius of the Earth, in kilometres.
+	 */
+	public static final double EARTH_RADIUS_KM = 6371.0088;
+
+	private GreatCircle() {}
+
+	/**
+	 * Computes the great-circle distance between two points.
+	 *
+	 * @param fromLatitude  the latitude of the first point, in degrees
+	 * @param fromLongitude the longitude of the first point, in degrees
+	 * @param toLatitude    the latitude of the second point, in degrees
+	 * @param toLongitude   the longitude of the second point, in degrees
+	 * @return the distance in kilometres
+	 */
+	public static double distance(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+		double phi1 = Math.toRadians(fromLatitude);
+		double phi2 = Math.toRadians(toLatitude);
+		double sinHalfDeltaPhi = Math.sin((phi2 - phi1) / 2);
+		double sinHalfDeltaLambda = Math.sin(Math.toRadians(toLongitude - fromLongitude) / 2);
+
+		double a = sinHalfDeltaPhi * sinHalfDeltaPhi + Math.cos(phi1) * Math.cos(phi2) * sinHalfDeltaLambda * sinHalfDeltaLambda;
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	/**
+	 * Computes the distances from one point to many others.
+	 *
+	 * @param fromLatitude  the latitude of the point, in degrees
+	 * @param fromLongitude the longitude of the point, in degrees
+	 * @param latitudes     the latitudes of the other points, in degrees
+	 * @param longitudes    the longitudes of the other points, in degrees
+	 * @param destination   the array receiving the distances in kilometres; may be shorter than the
+	 *                      columns to only compute the first distances
+	 * @return the destination
+	 */
+	public static double @NotNull [] distances(double fromLatitude, double fromLongitude, double @NotNull [] latitudes, double @NotNull [] longitudes, double @NotNull [] destination) {
+		double phi1 = Math.toRadians(fromLatitude);
+		double cosPhi1 = Math.cos(phi1);
+		for (int i = 0; i < destination.length; i++) {
+			double phi2 = Math.toRadians(latitudes[i]);
+			double sinHalfDeltaPhi = Math.sin((phi2 - phi1) / 2);
+			double sinHalfDeltaLambda = Math.sin(Math.toRadians(longitudes[i] - fromLongitude) / 2);
+
+			double a = sinHalfDeltaPhi * sinHalfDeltaPhi + cosPhi1 * Math.cos(phi2) * sinHalfDeltaLambda * sinHalfDeltaLambda;
+			destination[i] = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+		}
+		return destination;
+	}
+
+	/**
+	 * Computes the initial bearing of the great circle from one point to another.
+	 *
+	 * @param fromLatitude  the latitude of the starting point, in degrees
+	 * @param fromLongitude the longitude of the starting point, in degrees
+	 * @param toLatitude    the latitude of the destination, in degrees
+	 * @param toLongitude   the longitude of the destination, in degrees
+	 * @return the bearing in degrees clockwise from north, from 0 inclusive to 360 exclusive
+	 */
+	public static double bearing(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+		double phi1 = Math.toRadians(fromLatitude);
+		double phi2 = Math.toRadians(toLatitude);
+		double deltaLambda = Math.toRadians(toLongitude - fromLongitude);
+
+		double y = Math.sin(deltaLambda) * Math.cos(phi2);
+		double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(deltaLambda);
+		double bearing = Math.toDegrees(Math.atan2(y, x));
+		return bearing < 0 ? bearing + 360 : bearing;
+	}
+
+	/**
+	 * Maps a point to a vector on the unit sphere, with x towards (0, 0), y towards (0, 90) and z towards the north pole.
+	 *
+	 * @param latitude    the latitude, in degrees
+	 * @param longitude   the longitude, in degrees
+	 * @param destination the array receiving x, y, and z; must hold at least 3 elements
+	 * @return the destination
+	 */
+	public static double @NotNull [] toUnitVector(double latitude, double longitude, double @NotNull [] destination) {
+		double phi = Math.toRadians(latitude);
+		double lambda = Math.toRadians(longitude);
+		double cosPhi = Math.cos(phi);
+
+		destination[0] = cosPhi * Math.cos(lambda);
+		destination[1] = cosPhi * Math.sin(lambda);
+		destination[2] = Math.sin(phi);
+		return destination;
+	}
+
+	/**
+	 * Converts the chord length between two points on the unit sphere to their great-circle distance.
+	 *
+	 * @param chord the straight-line distance through the unit sphere
+	 * @return the distance in kilometres
+	 */
+	public static double chordToDistance(double chord) {
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, chord / 2));
+	}
+
+	/**
+	 * Converts a great-circle distance to the chord length between two points on the unit sphere.
+	 *
+	 * @param distance the distance in kilometres
+	 * @return the straight-line distance through the unit sphere, at most 2
+	 */
+	public static double distanceToChord(double distance) {
+		return 2 * Math.sin(Math.min(Math.PI / 2, distance / (2 * EARTH_RADIUS_KM)));
+	}
+}
@@ -0,0 +1,394 @@
+package dev.quinnlane.cloudy.common.geo;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable, bulk-loaded spatial index of values at known locations, answering nearest
+ * neighbour and radius queries by great-circle distance.
+ * <p>
+ * Every location is mapped to a vector on the unit sphere with
+ * {@link GreatCircle#toUnitVector(double, double, double[])} and stored in a k-d tree over those
+ * vectors. The chord between two vectors grows with the great-circle distance between their
+ * locations, so the tree can be searched with squared straight-line distances and plain
+ * axis-aligned pruning, with no trigonometry per visited point, and there is no seam at the
+ * antimeridian or the poles. Only the distances of the results are converted back to kilometres.
+ * <p>
+ * The tree is implicit: the points are stored in flat arrays, ordered so that the middle point of
+ * every range splits the rest of the range along that point's axis. It is built by repeatedly
+ * selecting medians, with large ranges built on the common fork/join pool in parallel.
+ *
+ * @param <T> the type of the indexed values
+ */
+public final class SpatialIndex<T> {
+	/**
+	 * A value found by a query.
+	 *
+	 * @param value    the indexed value
+	 * @param location the location the value was indexed at
+	 * @param distance the great-circle distance from the queried location, in kilometres
+	 * @param <T>      the type of the indexed values
+	 */
+	public record Neighbor<T>(T value, EarthCoordinates location, double distance) {}
+
+	/**
+	 * The number of points below which a range of the tree is built on a single thread.
+	 */
+	static final int PARALLEL_THRESHOLD = 8_192;
+
+	/**
+	 * The unit vectors of the points in tree order, as interleaved x, y, and z components.
+	 */
+	private final double[] vectors;
+
+	/**
+	 * The axis every point splits its range along, in tree order.
+	 */
+	private final byte[] axes;
+
+	private final EarthCoordinates[] locations;
+	private final Object[] values;
+
+	private SpatialIndex(double[] vectors, byte[] axes, EarthCoordinates[] locations, Object[] values) {
+		this.vectors = vectors;
+		this.axes = axes;
+		this.locations = locations;
+		this.values = values;
+	}
+
+	/**
+	 * Builds an index of locations.
+	 *
+	 * @param locations the locations to index; null elements are skipped
+	 * @return the index, whose values are the locations themselves
+	 */
+	public static @NotNull SpatialIndex<EarthCoordinates> of(@NotNull Collection<EarthCoordinates> locations) {
+		return build(locations, Function.identity());
+	}
+
+	/**
+	 * Builds an index of values.
+	 *
+	 * @param values   the values to index
+	 * @param location the function giving the location of every value; values it returns null for are skipped
+	 * @param <T>      the type of the indexed values
+	 * @return the index
+	 */
+	public static <T> @NotNull SpatialIndex<T> build(@NotNull Collection<? extends T> values, @NotNull Function<? super T, EarthCoordinates> location) {
+		List<EarthCoordinates> sourceLocations = new ArrayList<>(values.size());
+		List<T> sourceValues = new ArrayList<>(values.size());
+		for (T value : values) {
+			EarthCoordinates coordinates = value == null ? null : location.apply(value);
+			if (coordinates == null) continue;
+			sourceLocations.add(coordinates);
+			sourceValues.add(value);
+		}
+
+		int size = sourceLocations.size();
+		double[] sourceVectors = new double[size * 3];
+		IntStream indices = IntStream.range(0, size);
+		if (size >= PARALLEL_THRESHOLD) indices = indices.parallel();
+		indices.forEach(i -> {
+			double[] vector = GreatCircle.toUnitVector(sourceLocations.get(i).getLatitudeAsDouble(), sourceLocations.get(i).getLongitudeAsDouble(), new double[3]);
+			System.arraycopy(vector, 0, sourceVectors, i * 3, 3);
+		});
+
+		int[] order = new int[size];
+		Arrays.setAll(order, i -> i);
+		byte[] axes = new byte[size];
+		BuildTask task = new BuildTask(sourceVectors, order, axes, 0, size);
+		if (size >= PARALLEL_THRESHOLD) ForkJoinPool.commonPool().invoke(task);
+		else task.compute();
+
+		double[] vectors = new double[size * 3];
+		EarthCoordinates[] locations = new EarthCoordinates[size];
+		Object[] indexedValues = new Object[size];
+		for (int i = 0; i < size; i++) {
+			System.arraycopy(sourceVectors, order[i] * 3, vectors, i * 3, 3);
+			locations[i] = sourceLocations.get(order[i]);
+			indexedValues[i] = sourceValues.get(order[i]);
+		}
+		return new SpatialIndex<>(vectors, axes, locations, indexedValues);
+	}
+
+	/**
+	 * @return the number of indexed values
+	 */
+	public int size() {
+		return this.locations.length;
+	}
+
+	/**
+	 * Finds the indexed value nearest to a location.
+	 *
+	 * @param location the location to search around; must not be null
+	 * @return the nearest value, or null if the index is empty
+	 */
+	public @Nullable Neighbor<T> nearest(@NotNull EarthCoordinates location) {
+		List<Neighbor<T>> nearest = this.nearest(location, 1, Double.POSITIVE_INFINITY);
+		return nearest.isEmpty() ? null : nearest.getFirst();
+	}
+
+	/**
+	 * Finds up to a number of indexed values nearest to a location, within a maximum distance.
+	 *
+	 * @param location    the location to search around; must not be null
+	 * @param count       the maximum number of values to find; must be positive
+	 * @param maxDistance the maximum great-circle distance of the values, in kilometres, inclusive
+	 * @return the values found, nearest first
+	 * @throws IllegalArgumentException if the count is not positive or the distance is negative
+	 */
+	public @NotNull List<Neighbor<T>> nearest(@NotNull EarthCoordinates location, int count, double maxDistance) {
+		if (count <= 0) throw new IllegalArgumentException("The number of neighbours must be positive!");
+		if (!(maxDistance >= 0)) throw new IllegalArgumentException("The maximum distance must not be negative!");
+
+		Search search = new Search(location, Math.min(count, this.size()), maxDistance);
+		if (search.capacity > 0) this.searchNearest(search, 0, this.size());
+
+		// Pop the max-heap from the back, so that the nearest value ends up first
+		@SuppressWarnings("unchecked")
+		Neighbor<T>[] result = new Neighbor[search.size];
+		for (int i = search.size - 1; i >= 0; i--) {
+			result[i] = this.neighbor(search.indices[0], search.distances[0]);
+			search.pop();
+		}
+		return Arrays.asList(result);
+	}
+
+	/**
+	 * Finds every indexed value within a distance of a location.
+	 *
+	 * @param location the location to search around; must not be null
+	 * @param radius   the maximum great-circle distance of the values, in kilometres, inclusive
+	 * @return the values found, nearest first
+	 * @throws IllegalArgumentException if the radius is negative
+	 */
+	public @NotNull List<Neighbor<T>> within(@NotNull EarthCoordinates location, double radius) {
+		if (!(radius >= 0)) throw new IllegalArgumentException("The radius must not be negative!");
+
+		Search search = new Search(location, 0, radius);
+		List<Neighbor<T>> result = new ArrayList<>();
+		this.searchWithin(search, 0, this.size(), result);
+		result.sort(Comparator.comparingDouble(Neighbor::distance));
+		return result;
+	}
+
+	private void searchNearest(@NotNull Search search, int from, int to) {
+		if (from >= to) return;
+
+		int node = (from + to) >>> 1;
+		double squaredChord = search.squaredChordTo(this.vectors, node);
+		if (squaredChord <= search.bound) search.offer(node, squaredChord);
+
+		double difference = search.vector[this.axes[node]] - this.vectors[node * 3 + this.axes[node]];
+		if (difference < 0) {
+			this.searchNearest(search, from, node);
+			if (difference * difference <= search.bound) this.searchNearest(search, node + 1, to);
+		} else {
+			this.searchNearest(search, node + 1, to);
+			if (difference * difference <= search.bound) this.searchNearest(search, from, node);
+		}
+	}
+
+	private void searchWithin(@NotNull Search search, int from, int to, @NotNull List<Neighbor<T>> result) {
+		if (from >= to) return;
+
+		int node = (from + to) >>> 1;
+		double squaredChord = search.squaredChordTo(this.vectors, node);
+		if (squaredChord <= search.bound) result.add(this.neighbor(node, squaredChord));
+
+		double difference = search.vector[this.axes[node]] - this.vectors[node * 3 + this.axes[node]];
+		if (difference < 0 || difference * difference <= search.bound) this.searchWithin(search, from, node, result);
+		if (difference >= 0 || difference * difference <= search.bound) this.searchWithin(search, node + 1, to, result);
+	}
+
+	@SuppressWarnings("unchecked")
+	private @NotNull Neighbor<T> neighbor(int node, double squaredChord) {
+		return new Neighbor<>((T) this.values[node], this.locations[node], GreatCircle.chordToDistance(Math.sqrt(squaredChord)));
+	}
+
+	/**
+	 * The state of a single query: the queried vector, the squared chord bound, and for nearest
+	 * neighbour queries a bounded max-heap of the best points found so far.
+	 */
+	private static final class Search {
+		private final double[] vector;
+		private final int capacity;
+		private final int[] indices;
+		private final double[] distances;
+		private double bound;
+		private int size;
+
+		private Search(@NotNull EarthCoordinates location, int capacity, double maxDistance) {
+			this.vector = GreatCircle.toUnitVector(location.getLatitudeAsDouble(), location.getLongitudeAsDouble(), new double[3]);
+			this.capacity = capacity;
+			this.indices = new int[capacity];
+			this.distances = new double[capacity];
+
+			double chord = GreatCircle.distanceToChord(maxDistance);
+			// Widen the bound by far more than the rounding error of the vectors, so that points at
+			// exactly the maximum distance are not lost, while staying well under a millimetre
+			this.bound = chord * chord * (1 + 1e-9) + 1e-24;
+		}
+
+		private double squaredChordTo(double @NotNull [] vectors, int node) {
+			double dx = this.vector[0] - vectors[node * 3];
+			double dy = this.vector[1] - vectors[node * 3 + 1];
+			double dz = this.vector[2] - vectors[node * 3 + 2];
+			return dx * dx + dy * dy + dz * dz;
+		}
+
+		private void offer(int node, double squaredChord) {
+			if (this.size < this.capacity) {
+				int child = this.size++;
+				while (child > 0) {
+					int parent = (child - 1) >>> 1;
+					if (this.distances[parent] >= squaredChord) break;
+					this.indices[child] = this.indices[parent];
+					this.distances[child] = this.distances[parent];
+					child = parent;
+				}
+				this.indices[child] = node;
+				this.distances[child] = squaredChord;
+			} else {
+				this.siftDown(node, squaredChord, this.size);
+			}
+			if (this.size == this.capacity) this.bound = this.distances[0];
+		}
+
+		private void pop() {
+			int last = --this.size;
+			if (last > 0) this.siftDown(this.indices[last], this.distances[last], last);
+		}
+
+		/**
+		 * Replaces the root of the heap and restores the heap order.
+		 */
+		private void siftDown(int node, double squaredChord, int size) {
+			int parent = 0;
+			while (true) {
+				int child = 2 * parent + 1;
+				if (child >= size) break;
+				if (child + 1 < size && this.distances[child + 1] > this.distances[child]) child++;
+				if (this.distances[child] <= squaredChord) break;
+				this.indices[parent] = this.indices[child];
+				this.distances[parent] = this.distances[child];
+				parent = child;
+			}
+			this.indices[parent] = node;
+			this.distances[parent] = squaredChord;
+		}
+	}
+
+	/**
+	 * Orders a range of points into an implicit k-d tree: the median along the axis of widest
+	 * spread is moved to the middle of the range, and both halves are built recursively.
+	 */
+	private static final class BuildTask extends RecursiveAction {
+		private final double[] vectors;
+		private final int[] order;
+		private final byte[] axes;
+		private final int from;
+		private final int to;
+
+		private BuildTask(double[] vectors, int[] order, byte[] axes, int from, int to) {
+			this.vectors = vectors;
+			this.order = order;
+			this.axes = axes;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= PARALLEL_THRESHOLD) {
+				this.build(this.from, this.to);
+				return;
+			}
+
+			int middle = this.split(this.from, this.to);
+			invokeAll(
+					new BuildTask(this.vectors, this.order, this.axes, this.from, middle),
+					new BuildTask(this.vectors, this.order, this.axes, middle + 1, this.to)
+			);
+		}
+
+		private void build(int from, int to) {
+			while (to - from > 1) {
+				int middle = this.split(from, to);
+				// Recurse into the smaller half and loop over the larger one, to bound the stack depth
+				if (middle - from < to - middle) {
+					this.build(from, middle);
+					from = middle + 1;
+				} else {
+					this.build(middle + 1, to);
+					to = middle;
+				}
+			}
+		}
+
+		/**
+		 * Splits a range at its middle along its widest axis.
+		 *
+		 * @return the index of the middle point
+		 */
+		private int split(int from, int to) {
+			double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+			double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+			for (int i = from; i < to; i++) {
+				int offset = this.order[i] * 3;
+				for (int axis = 0; axis < 3; axis++) {
+					min[axis] = Math.min(min[axis], this.vectors[offset + axis]);
+					max[axis] = Math.max(max[axis], this.vectors[offset + axis]);
+				}
+			}
+			int axis = 0;
+			for (int candidate = 1; candidate < 3; candidate++) {
+				if (max[candidate] - min[candidate] > max[axis] - min[axis]) axis = candidate;
+			}
+
+			int middle = (from + to) >>> 1;
+			this.select(from, to - 1, middle, axis);
+			this.axes[middle] = (byte) axis;
+			return middle;
+		}
+
+		/**
+		 * Partially sorts a range so that the point at an index is the one that would be there if
+		 * the range were sorted along an axis, with no greater point before it and no smaller one after it.
+		 */
+		private void select(int left, int right, int index, int axis) {
+			while (left < right) {
+				double pivot = this.key((left + right) >>> 1, axis);
+				int i = left;
+				int j = right;
+				while (i <= j) {
+					while (this.key(i, axis) < pivot) i++;
+					while (this.key(j, axis) > pivot) j--;
+					if (i <= j) {
+						int swap = this.order[i];
+						this.order[i++] = this.order[j];
+						this.order[j--] = swap;
+					}
+				}
+				if (index <= j) right = j;
+				else if (index >= i) left = i;
+				else return;
+			}
+		}
+
+		private double key(int position, int axis) {
+			return this.vectors[this.order[position] * 3 + axis];
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package dev.quinnlane.cloudy.common.series;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reduces time series to a number of points that can be drawn, while keeping their visual shape.
+ * <p>
+ * Points are selected with Largest-Triangle-Three-Buckets: the first and last points are kept,
+ * the points in between are split into equally sized buckets, and from every bucket the point
+ * forming the largest triangle with the previously selected point and the average of the next
+ * bucket is selected. Peaks and troughs therefore survive downsampling, which is not the case
+ * when every n-th point or the average of every bucket is drawn. The whole series is scanned
+ * once, without allocating.
+ */
+public final class Downsampling {
+	private Downsampling() {}
+
+	/**
+	 * Downsamples a range of a time series with Largest-Triangle-Three-Buckets. If the range
+	 * holds no more points than the threshold, every point is copied.
+	 *
+	 * @param x         the times of the series, in ascending order; must not be null
+	 * @param y         the values of the series; must not be null
+	 * @param from      the index of the first point of the range, inclusive
+	 * @param to        the index of the last point of the range, exclusive
+	 * @param threshold the largest number of points to select; must be at least 3
+	 * @param outX      receives the times of the selected points; must hold at least {@code min(to - from, threshold)} elements
+	 * @param outY      receives the values of the selected points; must hold at least {@code min(to - from, threshold)} elements
+	 * @return the number of selected points
+	 * @throws IllegalArgumentException if the threshold is smaller than 3
+	 */
+	public static int lttb(long @NotNull [] x, double @NotNull [] y, int from, int to, int threshold, long @NotNull [] outX, double @NotNull [] outY) {
+		return lttb(x, y, from, to, threshold, outX, outY, 0);
+	}
+
+	/**
+	 * Downsamples a range of a time series with Largest-Triangle-Three-Buckets, writing the
+	 * selected points from an offset on. If the range holds no more points than the threshold,
+	 * every point is copied.
+	 *
+	 * @param x         the times of the series, in ascending order; must not be null
+	 * @param y         the values of the series; must not be null
+	 * @param from      the index of the first point of the range, inclusive
+	 * @param to        the index of the last point of the range, exclusive
+	 * @param threshold the largest number of points to select; must be at least 3
+	 * @param outX      receives the times of the selected points; must hold at least {@code outOffset + min(to - from, threshold)} elements
+	 * @param outY      receives the values of the selected points; must hold at least {@code outOffset + min(to - from, threshold)} elements
+	 * @param outOffset the index the first selected point is written to
+	 * @return the number of selected points
+	 * @throws IllegalArgumentException if the threshold is smaller than 3
+	 */
+	public static int lttb(long @NotNull [] x, double @NotNull [] y, int from, int to, int threshold, long @NotNull [] outX, double @NotNull [] outY, int outOffset) {
+		if (threshold < 3) throw new IllegalArgumentException("The threshold must be at least 3!");
+
+		int length = to - from;
+		if (length <= threshold) {
+			System.arraycopy(x, from, outX, outOffset, Math.max(length, 0));
+			System.arraycopy(y, from, outY, outOffset, Math.max(length, 0));
+			return Math.max(length, 0);
+		}
+
+		// Times are taken relative to the first point, so that the areas keep their precision as doubles
+		long origin = x[from];
+		double every = (double) (length - 2) / (threshold - 2);
+
+		int selected = from;
+		int count = outOffset;
+		outX[count] = x[from];
+		outY[count++] = y[from];
+
+		for (int bucket = 0; bucket < threshold - 2; bucket++) {
+			// The average of the next bucket, the third corner of the triangles
+			int averageFrom = from + (int) ((bucket + 1) * every) + 1;
+			int averageTo = Math.min(from + (int) ((bucket + 2) * every) + 1, to);
+			double averageX = 0;
+			double averageY = 0;
+			for (int i = averageFrom; i < averageTo; i++) {
+				averageX += x[i] - origin;
+				averageY += y[i];
+			}
+			int averageLength = averageTo - averageFrom;
+			averageX /= averageLength;
+			averageY /= averageLength;
+
+			int rangeFrom = from + (int) (bucket * every) + 1;
+			int rangeTo = from + (int) ((bucket + 1) * every) + 1;
+			double selectedX = x[selected] - origin;
+			double selectedY = y[selected];
+
+			double maxArea = -1;
+			int next = rangeFrom;
+			for (int i = rangeFrom; i < rangeTo; i++) {
+				// Twice the area of the triangle, which selects the same point
+				double area = Math.abs((selectedX - averageX) * (y[i] - selectedY) - (selectedX - (x[i] - origin)) * (averageY - selectedY));
+				if (area > maxArea) {
+					maxArea = area;
+					next = i;
+				}
+			}
+
+			outX[count] = x[next];
+			outY[count++] = y[next];
+			selected = next;
+		}
+
+		outX[count] = x[to - 1];
+		outY[count++] = y[to - 1];
+		return count - outOffset;
+	}
+}
@@ -0,0 +1,156 @@
+package dev.quinnlane.cloudy.common.series;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A pyramid of ever coarser copies of a {@link TimeSeries}, so that a chart can downsample a
+ * visible range from a copy that holds a few points per pixel instead of from every point.
+ * <p>
+ * Level 0 is the series itself, and every further level holds an eighth of the points of the
+ * level before it, until a level holds few enough points to be downsampled whole in well under a
+ * millisecond. Zoomed out over months of data, a chart reads one of the coarse levels; zoomed in,
+ * the visible range of a finer level is small, so the cost of drawing a range stays bounded by
+ * its width in pixels rather than by the length of the series.
+ * <p>
+ * Every level is downsampled from the level before it in buckets of {@value #BUCKET} points, each
+ * reduced with {@link Downsampling#lttb Largest-Triangle-Three-Buckets} on its own. A bucket is
+ * only downsampled once it is complete and never again; the incomplete bucket at the end of
+ * every level is downsampled again whenever the series grows. Keeping the levels up to date
+ * therefore costs a few buckets per level on every append, however long the series is.
+ * <p>
+ * The end of every coarser level is rewritten in place, so unlike views of the series itself,
+ * the views of coarser levels are only valid until the next call to {@link #getLevels()}. They
+ * are meant to be read by the single thread that downsamples a chart.
+ */
+public class LevelOfDetail {
+	/**
+	 * How many times fewer points every level holds than the level before it.
+	 */
+	public static final int FACTOR = 8;
+
+	/**
+	 * The number of points of a level that are downsampled together into the next level.
+	 */
+	static final int BUCKET = 64 * FACTOR;
+
+	/**
+	 * The number of points below which no coarser level is built.
+	 */
+	static final int MIN_POINTS = 4_096;
+
+	/**
+	 * How many points per pixel a level must hold in a visible range to be downsampled from.
+	 */
+	static final int OVERSAMPLING = 2;
+
+	/**
+	 * A level coarser than the series, downsampled bucket by bucket from the level before it.
+	 */
+	private static final class Level {
+		private long[] times = new long[BUCKET];
+		private double[] values = new double[BUCKET];
+
+		/**
+		 * The number of points downsampled from complete buckets, which never change.
+		 */
+		private int stableSize;
+
+		/**
+		 * The number of points of the level before this one that are in complete buckets.
+		 */
+		private int consumed;
+
+		/**
+		 * Downsamples the buckets of the level before this one that were completed since the last
+		 * update, and the incomplete bucket at its end.
+		 *
+		 * @param finer       the level before this one
+		 * @param finerStable the number of points of the level before this one that never change
+		 * @return the view of this level
+		 */
+		private TimeSeries.@NotNull View update(TimeSeries.@NotNull View finer, int finerStable) {
+			for (; finerStable - this.consumed >= BUCKET; this.consumed += BUCKET) {
+				this.stableSize += this.downsample(finer, this.consumed, this.consumed + BUCKET, this.stableSize);
+			}
+
+			int size = this.stableSize;
+			if (finer.size() > this.consumed) size += this.downsample(finer, this.consumed, finer.size(), this.stableSize);
+			return new TimeSeries.View(this.times, this.values, size);
+		}
+
+		private int downsample(TimeSeries.@NotNull View finer, int from, int to, int offset) {
+			int threshold = Math.max(Math.ceilDiv(to - from, FACTOR), 3);
+			if (offset + threshold > this.times.length) {
+				int capacity = Math.max(this.times.length * 2, offset + threshold);
+				this.times = Arrays.copyOf(this.times, capacity);
+				this.values = Arrays.copyOf(this.values, capacity);
+			}
+			return Downsampling.lttb(finer.times(), finer.values(), from, to, threshold, this.times, this.values, offset);
+		}
+	}
+
+	private final TimeSeries series;
+	private final List<Level> levels = new ArrayList<>();
+	private TimeSeries.View[] views = new TimeSeries.View[0];
+
+	/**
+	 * Constructs the levels of a series. The levels are built on the first call to {@link #getLevels()}.
+	 *
+	 * @param series the series; must not be null
+	 */
+	public LevelOfDetail(@NotNull TimeSeries series) {
+		this.series = series;
+	}
+
+	/**
+	 * Retrieves the levels of the series, first extending them with the points appended since the
+	 * last call. Views of levels other than the series itself are only valid until the next call.
+	 *
+	 * @return the levels, from the series itself to the coarsest
+	 */
+	public synchronized TimeSeries.View @NotNull [] getLevels() {
+		TimeSeries.View view = this.series.view();
+		if (this.views.length > 0 && this.views[0].size() == view.size()) return this.views;
+
+		List<TimeSeries.View> views = new ArrayList<>();
+		views.add(view);
+		TimeSeries.View finer = view;
+		int finerStable = view.size();
+		for (int i = 0; ; i++) {
+			if (i == this.levels.size()) {
+				if (finer.size() / FACTOR < MIN_POINTS) break;
+				this.levels.add(new Level());
+			}
+
+			Level level = this.levels.get(i);
+			finer = level.update(finer, finerStable);
+			finerStable = level.stableSize;
+			views.add(finer);
+		}
+
+		this.views = views.toArray(TimeSeries.View[]::new);
+		return this.views;
+	}
+
+	/**
+	 * Selects the coarsest level that still holds enough points in a range of time to draw it
+	 * across a number of pixels without losing detail.
+	 *
+	 * @param levels the levels, from finest to coarsest; must not be null or empty
+	 * @param start  the start of the range, in milliseconds since the epoch
+	 * @param end    the end of the range, in milliseconds since the epoch
+	 * @param pixels the width the range is drawn across, in pixels
+	 * @return the index of the selected level
+	 */
+	public static int select(TimeSeries.View @NotNull [] levels, long start, long end, int pixels) {
+		for (int i = levels.length - 1; i > 0; i--) {
+			TimeSeries.View level = levels[i];
+			if (level.ceiling(end) - level.ceiling(start) >= (long) pixels * OVERSAMPLING) return i;
+		}
+		return 0;
+	}
+}
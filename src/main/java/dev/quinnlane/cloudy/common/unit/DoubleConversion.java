@@ -0,0 +1,139 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * The conversions from SI to customary units for every {@link DoubleUnit}, available both for a
+ * single value and in bulk over a column of values.
+ * <p>
+ * Every conversion is of the form {@code si * multiplier / divisor + offset}. The bulk kernels
+ * pick a loop with only the operations a conversion needs, so each loop is a plain
+ * element-by-element pass over the arrays that the JIT can auto-vectorize. If
+ * {@link Settings#UNITS__VECTOR_API} is set when the class is loaded and the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, the kernels use the Vector API instead. Both paths
+ * produce exactly the same values as converting one unit object at a time.
+ */
+public enum DoubleConversion {
+	TEMPERATURE(UnitLocales.SI, 9 / 5d, 1, 32),
+	PRESSURE(UnitLocales.SI, 1, 33.86, 0),
+	PRECIPITATION_AMOUNT(UnitLocales.SI, 1, 25.4, 0);
+
+	/**
+	 * Whether the bulk kernels go through the Vector API.
+	 */
+	private static final boolean VECTORIZED = RuntimeConfiguration.get(Settings.UNITS__VECTOR_API) && isVectorApiAvailable();
+
+	private final UnitLocales unitsForMixed;
+	private final double multiplier;
+	private final double divisor;
+	private final double offset;
+
+	DoubleConversion(UnitLocales unitsForMixed, double multiplier, double divisor, double offset) {
+		this.unitsForMixed = unitsForMixed;
+		this.multiplier = multiplier;
+		this.divisor = divisor;
+		this.offset = offset;
+	}
+
+	/**
+	 * @return the unit system used by this unit when the locale is {@link UnitLocales#MIXED}
+	 */
+	public UnitLocales getUnitsForMixed() {
+		return this.unitsForMixed;
+	}
+
+	/**
+	 * Converts a single value from SI to customary units.
+	 *
+	 * @param si the value in SI units
+	 * @return the value in customary units
+	 */
+	public double toCustomary(double si) {
+		if (this.divisor == 1) return si * this.multiplier + this.offset;
+		if (this.multiplier == 1 && this.offset == 0) return si / this.divisor;
+		return si * this.multiplier / this.divisor + this.offset;
+	}
+
+	/**
+	 * Determines whether values of this unit must be converted to be shown in a locale.
+	 *
+	 * @param locale the locale
+	 * @return true if the locale shows this unit in customary units, otherwise false
+	 */
+	public boolean isCustomary(@NotNull UnitLocales locale) {
+		return locale == UnitLocales.CUSTOMARY || (locale == UnitLocales.MIXED && this.unitsForMixed == UnitLocales.CUSTOMARY);
+	}
+
+	/**
+	 * Converts a whole column of SI values to a locale.
+	 *
+	 * @param si          the values in SI units
+	 * @param locale      the locale to convert to
+	 * @param destination the array receiving the converted values, which may be {@code si} itself
+	 * @throws IndexOutOfBoundsException if the destination is shorter than the column
+	 */
+	public void convert(double @NotNull [] si, @NotNull UnitLocales locale, double @NotNull [] destination) {
+		this.convert(si, 0, destination, 0, si.length, locale);
+	}
+
+	/**
+	 * Converts part of a column of SI values to a locale.
+	 *
+	 * @param si                the values in SI units
+	 * @param offset            the index of the first value to convert
+	 * @param destination       the array receiving the converted values, which may be {@code si} itself
+	 * @param destinationOffset the index the first converted value is written to
+	 * @param length            the number of values to convert
+	 * @param locale            the locale to convert to
+	 * @throws IndexOutOfBoundsException if either range is out of its array's bounds
+	 */
+	public void convert(double @NotNull [] si, int offset, double @NotNull [] destination, int destinationOffset, int length, @NotNull UnitLocales locale) {
+		Objects.checkFromIndexSize(offset, length, si.length);
+		Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+
+		if (!this.isCustomary(locale)) {
+			if (si != destination || offset != destinationOffset) System.arraycopy(si, offset, destination, destinationOffset, length);
+		} else if (VECTORIZED) {
+			VectorConversions.convert(si, offset, destination, destinationOffset, length, this.multiplier, this.divisor, this.offset);
+		} else {
+			this.convertScalar(si, offset, destination, destinationOffset, length);
+		}
+	}
+
+	/**
+	 * Determines whether the Vector API module was added to the boot layer. {@link VectorConversions}
+	 * must not be loaded otherwise, as its classes would fail to link.
+	 *
+	 * @return true if {@code jdk.incubator.vector} can be used, otherwise false
+	 */
+	static boolean isVectorApiAvailable() {
+		return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+	}
+
+	/**
+	 * Converts values to customary units in plain loops, regardless of whether the Vector API is enabled.
+	 *
+	 * @param si                the values in SI units
+	 * @param offset            the index of the first value to convert
+	 * @param destination       the array receiving the converted values
+	 * @param destinationOffset the index the first converted value is written to
+	 * @param length            the number of values to convert
+	 */
+	void convertScalar(double @NotNull [] si, int offset, double @NotNull [] destination, int destinationOffset, int length) {
+		double multiplier = this.multiplier;
+		double divisor = this.divisor;
+		double shift = this.offset;
+
+		if (divisor == 1) {
+			for (int i = 0; i < length; i++) destination[destinationOffset + i] = si[offset + i] * multiplier + shift;
+		} else if (multiplier == 1 && shift == 0) {
+			for (int i = 0; i < length; i++) destination[destinationOffset + i] = si[offset + i] / divisor;
+		} else {
+			for (int i = 0; i < length; i++) destination[destinationOffset + i] = si[offset + i] * multiplier / divisor + shift;
+		}
+	}
+}
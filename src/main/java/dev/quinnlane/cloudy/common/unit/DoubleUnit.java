@@ -0,0 +1,84 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import dev.quinnlane.cloudy.common.format.FixedPrecision;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link Unit} whose value is a {@code double}.
+ * <p>
+ * The value is stored and converted as a primitive, so {@link #getAsDouble(UnitLocales)} never
+ * allocates. The boxed {@link #getValue(UnitLocales)} inherited from {@link Unit} is an adapter
+ * over it, and should be avoided on hot paths such as forecast processing.
+ */
+public abstract class DoubleUnit extends Unit<Double> {
+	/**
+	 * Represents the core value associated with the unit.
+	 * Its internal representation is always in SI units, however, the display output can and
+	 * will be altered by the class {@link #locale} field.
+	 * <p>
+	 * The value is immutable after initialization.
+	 */
+	protected final double value;
+
+	/**
+	 * Constructs an instance of the DoubleUnit class with the specified value, locale,
+	 * units for mixed mode, unit strings, and precision.
+	 *
+	 * @param value The value associated with the unit, in SI units.
+	 * @param locale The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
+	 * @param unitsForMixed Specifies which unit system (SI or CUSTOMARY) to prioritize when the locale is set to MIXED.
+	 * @param unitStrings The object that provides the unit string mappings for different locales.
+	 * @param precision A FixedPrecision object that sets the level of numeric precision used for the unit's value representation.
+	 *
+	 * @throws IllegalArgumentException If the <code>unitsForMixed</code> parameter is set to {@link UnitLocales#MIXED}
+	 */
+	protected DoubleUnit(double value, @NotNull UnitLocales locale, @NotNull UnitLocales unitsForMixed, @NotNull UnitStrings unitStrings, @NotNull FixedPrecision precision) {
+		super(locale, unitsForMixed, unitStrings, precision);
+		this.value = value;
+	}
+
+	/**
+	 * Converts the value of this unit to the customary unit system without boxing.
+	 *
+	 * @return The unit's value in customary format, converted from SI.
+	 */
+	protected abstract double asCustomaryDouble();
+
+	/**
+	 * Retrieves the value of the unit using the current locale setting, without boxing.
+	 *
+	 * @return The value of the unit as per the active locale configuration.
+	 */
+	public double getAsDouble() {
+		return this.getAsDouble(this.locale);
+	}
+
+	/**
+	 * Retrieves the value of the unit in the specified locale, without boxing.
+	 *
+	 * @param locale The locale that determines how the value is represented.
+	 * @return The value of the unit in the format corresponding to the specified locale.
+	 */
+	public double getAsDouble(@NotNull UnitLocales locale) {
+		return switch (locale) {
+			case SI -> this.value;
+			case CUSTOMARY -> this.asCustomaryDouble();
+			case MIXED -> this.unitsForMixed == UnitLocales.CUSTOMARY ? this.asCustomaryDouble() : this.value;
+		};
+	}
+
+	@Override
+	protected final Double asSI() {
+		return this.value;
+	}
+
+	@Override
+	protected final Double asCustomary() {
+		return this.asCustomaryDouble();
+	}
+
+	@Override
+	protected StringBuilder appendValue(@NotNull StringBuilder builder, @NotNull UnitLocales locale) {
+		return this.precision.appendTo(builder, this.getAsDouble(locale));
+	}
+}
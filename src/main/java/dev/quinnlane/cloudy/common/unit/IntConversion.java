@@ -0,0 +1,90 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * The conversions from SI to customary units for every {@link IntUnit}, available both for a
+ * single value and in bulk over a column of values.
+ * <p>
+ * Every conversion divides by a {@code float} factor and rounds to the nearest integer. The bulk
+ * kernel is a plain element-by-element loop that the JIT can auto-vectorize on hardware with
+ * vector rounding instructions. There is no Vector API path, since the incubating API offers no
+ * rounding operation that matches {@link Math#round(float)} exactly.
+ */
+public enum IntConversion {
+	SPEED(UnitLocales.SI, 1.609f),
+	WIND_SPEED(UnitLocales.CUSTOMARY, 1.609f);
+
+	private final UnitLocales unitsForMixed;
+	private final float divisor;
+
+	IntConversion(UnitLocales unitsForMixed, float divisor) {
+		this.unitsForMixed = unitsForMixed;
+		this.divisor = divisor;
+	}
+
+	/**
+	 * @return the unit system used by this unit when the locale is {@link UnitLocales#MIXED}
+	 */
+	public UnitLocales getUnitsForMixed() {
+		return this.unitsForMixed;
+	}
+
+	/**
+	 * Converts a single value from SI to customary units.
+	 *
+	 * @param si the value in SI units
+	 * @return the value in customary units
+	 */
+	public int toCustomary(int si) {
+		return Math.round(si / this.divisor);
+	}
+
+	/**
+	 * Determines whether values of this unit must be converted to be shown in a locale.
+	 *
+	 * @param locale the locale
+	 * @return true if the locale shows this unit in customary units, otherwise false
+	 */
+	public boolean isCustomary(@NotNull UnitLocales locale) {
+		return locale == UnitLocales.CUSTOMARY || (locale == UnitLocales.MIXED && this.unitsForMixed == UnitLocales.CUSTOMARY);
+	}
+
+	/**
+	 * Converts a whole column of SI values to a locale.
+	 *
+	 * @param si          the values in SI units
+	 * @param locale      the locale to convert to
+	 * @param destination the array receiving the converted values, which may be {@code si} itself
+	 * @throws IndexOutOfBoundsException if the destination is shorter than the column
+	 */
+	public void convert(int @NotNull [] si, @NotNull UnitLocales locale, int @NotNull [] destination) {
+		this.convert(si, 0, destination, 0, si.length, locale);
+	}
+
+	/**
+	 * Converts part of a column of SI values to a locale.
+	 *
+	 * @param si                the values in SI units
+	 * @param offset            the index of the first value to convert
+	 * @param destination       the array receiving the converted values, which may be {@code si} itself
+	 * @param destinationOffset the index the first converted value is written to
+	 * @param length            the number of values to convert
+	 * @param locale            the locale to convert to
+	 * @throws IndexOutOfBoundsException if either range is out of its array's bounds
+	 */
+	public void convert(int @NotNull [] si, int offset, int @NotNull [] destination, int destinationOffset, int length, @NotNull UnitLocales locale) {
+		Objects.checkFromIndexSize(offset, length, si.length);
+		Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+
+		if (!this.isCustomary(locale)) {
+			if (si != destination || offset != destinationOffset) System.arraycopy(si, offset, destination, destinationOffset, length);
+			return;
+		}
+
+		float divisor = this.divisor;
+		for (int i = 0; i < length; i++) destination[destinationOffset + i] = Math.round(si[offset + i] / divisor);
+	}
+}
@@ -1,10 +1,9 @@
 package dev.quinnlane.cloudy.common.unit;
 
-import dev.quinnlane.cloudy.common.Constants;
+import dev.quinnlane.cloudy.common.format.FixedPrecision;
+import dev.quinnlane.cloudy.common.format.Formatting;
 import org.jetbrains.annotations.NotNull;
 
-import java.text.DecimalFormat;
-
 /**
  * The {@code Unit} class serves as an abstract representation for a unit of measurement.
  * It provides a flexible way to manage values in different measurement systems, such as
@@ -12,11 +11,19 @@ import java.text.DecimalFormat;
  * <p>
  * The main responsibilities of the {@code Unit} class include:
  * <ul>
- *     <li>Storing a unit value, which is represented generically for flexibility.</li>
+ *     <li>Exposing a unit value, which is represented generically for flexibility.</li>
  *     <li>Providing locale-based transformations of the value and unit string.</li>
  *     <li>Formatting the value based on configurable precision settings.</li>
  * </ul>
  *
+ * The value itself is stored by the primitive-specialized subclasses {@link DoubleUnit} and
+ * {@link IntUnit}, which convert it without boxing. The generic {@link #getValue(UnitLocales)}
+ * API is kept as a thin adapter over them for callers that do not care about allocation.
+ * <p>
+ * Units are immutable, so one instance can safely be shared between forecasts, snapshots and
+ * threads. The locale given at construction is only the default one used by {@link #toString()};
+ * to show the same value in another locale, take a {@link UnitView} of it with {@link #in(UnitLocales)}.
+ *
  * @param <T> The type of the value being represented by the unit. It enables managing
  *            values in different data formats, such as {@code Double}, {@code Integer}, etc.
  */
@@ -95,16 +102,6 @@ public abstract class Unit<T> {
 		}
 	}
 
-	/**
-	 * Represents the core value associated with the unit.
-	 * This value is defined with a generic type to allow flexibility for various data types.
-	 * Its internal representation is always in SI units, however, the display output can and
-	 * will be altered by the class {@link #locale} field.
-	 * <p>
-	 * The value serves as the primary data container for the unit instance and is
-	 * immutable after initialization.
-	 */
-	protected final T value;
 	/**
 	 * Represents the unit locale used for determining the format
 	 * in which the unit is represented or handled.
@@ -122,9 +119,9 @@ public abstract class Unit<T> {
 	 *     <li>{@link #getUnitString()}, where the locale determines the corresponding unit string.</li>
 	 * </ul>
 	 * <p>
-	 * It is initially set via the constructor and can be modified through {@link #setLocale(UnitLocales)}.
+	 * It is set via the constructor and never changes; other locales are shown through {@link #in(UnitLocales)}.
 	 */
-	protected UnitLocales locale;
+	protected final UnitLocales locale;
 	/**
 	 * Represents the default unit locale to be used in mixed mode.
 	 * This field specifies whether SI or customary units should be applied
@@ -141,47 +138,31 @@ public abstract class Unit<T> {
 	 */
 	protected final UnitStrings unitStrings;
 	/**
-	 * A {@link DecimalFormat} instance that defines the precision used for formatting numeric values
+	 * A {@link FixedPrecision} instance that defines the precision used for formatting numeric values
 	 * in this unit. It specifies the number of significant digits or decimal places for the
 	 * unit's value representation.
 	 */
-	protected final DecimalFormat precision;
-
-	/**
-	 * Constructs an instance of the Unit class with the specified value, locale,
-	 * units for mixed mode, and unit strings.
-	 * It uses {@link Constants#DEFAULT_PRECISION} for the precision value.
-	 *
-	 * @param value The value associated with the unit.
-	 * @param locale The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
-	 * @param unitsForMixed Specifies which unit system (SI or CUSTOMARY) to prioritize when the locale is set to MIXED.
-	 *                      Using MIXED for this parameter will throw an IllegalArgumentException.
-	 * @param unitStrings The object that provides the unit string mappings for different locales.
-	 */
-	public Unit(@NotNull T value, @NotNull UnitLocales locale, @NotNull UnitLocales unitsForMixed, @NotNull UnitStrings unitStrings) {
-		this(value, locale, unitsForMixed, unitStrings, Constants.DEFAULT_PRECISION);
-	}
+	protected final FixedPrecision precision;
 
 	/**
-	 * Constructs an instance of the Unit class with the specified value, locale,
-	 * units for mixed mode, unit strings, and precision.
+	 * Constructs an instance of the Unit class with the specified locale,
+	 * units for mixed mode, unit strings, and precision. The value itself is
+	 * stored by the subclass.
 	 *
-	 * @param value The value associated with the unit.
 	 * @param locale The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
 	 * @param unitsForMixed Specifies which unit system (SI or CUSTOMARY) to prioritize when the locale is set to MIXED.
 	 *                      Using MIXED for this parameter will throw an IllegalArgumentException.
 	 * @param unitStrings The object that provides the unit string mappings for different locales.
-	 * @param precision A DecimalFormat object that sets the level of numeric precision used for the unit's value representation.
+	 * @param precision A FixedPrecision object that sets the level of numeric precision used for the unit's value representation.
 	 *
 	 * @throws IllegalArgumentException If the <code>unitsForMixed</code> parameter is set to
 	 *                                  {@link UnitLocales#MIXED} the program will throw an
 	 *                                  IllegalArgumentException as that combination does not
 	 *                                  make sense
 	 */
-	public Unit(@NotNull T value, @NotNull UnitLocales locale, @NotNull UnitLocales unitsForMixed, @NotNull UnitStrings unitStrings, @NotNull DecimalFormat precision) {
+	protected Unit(@NotNull UnitLocales locale, @NotNull UnitLocales unitsForMixed, @NotNull UnitStrings unitStrings, @NotNull FixedPrecision precision) {
 		if (unitsForMixed == UnitLocales.MIXED) throw new IllegalArgumentException("The units to use for mixed mode cannot be mixed!");
 
-		this.value = value;
 		this.locale = locale;
 		this.unitsForMixed = unitsForMixed;
 		this.unitStrings = unitStrings;
@@ -193,9 +174,7 @@ public abstract class Unit<T> {
 	 *
 	 * @return The unit's value in SI format.
 	 */
-	protected T asSI() {
-		return this.value;
-	}
+	protected abstract T asSI();
 
 	/**
 	 * Converts and returns the value of this unit converted to the customary unit system format.
@@ -256,17 +235,19 @@ public abstract class Unit<T> {
 	}
 
 	/**
-	 * Sets the locale of the unit, which determines how the value and unit strings are represented.
+	 * Returns a view of this unit in the specified locale. The view renders the same underlying
+	 * SI value as this unit, which is left unchanged.
 	 *
-	 * @param locale The desired locale for the unit. It can be:
+	 * @param locale The locale to view the unit in. It can be:
 	 *               <ul>
 	 *                   <li>{@code SI} for the International System of Units.</li>
 	 *                   <li>{@code CUSTOMARY} for the customary (imperial) unit system.</li>
 	 *                   <li>{@code MIXED} for a mixed mode representation.</li>
 	 *               </ul>
+	 * @return A view of this unit in the locale.
 	 */
-	public void setLocale(UnitLocales locale) {
-		this.locale = locale;
+	public UnitView in(@NotNull UnitLocales locale) {
+		return new UnitView(this, locale);
 	}
 
 	/**
@@ -306,6 +287,28 @@ public abstract class Unit<T> {
 	 */
 	@Override
 	public String toString() {
-		return String.format("%s %s", this.precision.format(this.getValue()), this.getUnitString());
+		return Formatting.release(this.appendTo(Formatting.borrowBuilder(), this.locale));
 	}
+
+	/**
+	 * Appends the formatted value of the unit and its unit string in the specified locale to a
+	 * builder, in the same form as {@link #toString()}. This does not allocate, and is safe to
+	 * call from any thread.
+	 *
+	 * @param builder The builder to append to.
+	 * @param locale The locale to format the value in.
+	 * @return The builder.
+	 */
+	public StringBuilder appendTo(@NotNull StringBuilder builder, @NotNull UnitLocales locale) {
+		return this.appendValue(builder, locale).append(' ').append(this.getUnitString(locale));
+	}
+
+	/**
+	 * Appends the value of the unit in the specified locale to a builder using the unit's precision.
+	 *
+	 * @param builder The builder to append to.
+	 * @param locale The locale to format the value in.
+	 * @return The builder, holding the formatted value without a unit string.
+	 */
+	protected abstract StringBuilder appendValue(@NotNull StringBuilder builder, @NotNull UnitLocales locale);
 }
@@ -0,0 +1,55 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import dev.quinnlane.cloudy.common.format.Formatting;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A view of a {@link Unit} in a specific locale.
+ * <p>
+ * Views do not copy or convert anything up front: they render the SI value held by the unit in
+ * their own locale whenever they are asked to. Since units are immutable, any number of views in
+ * different locales can be taken of the same unit and used from any thread at once.
+ *
+ * @param unit   The unit being viewed.
+ * @param locale The locale the unit is shown in.
+ */
+public record UnitView(@NotNull Unit<?> unit, @NotNull UnitLocales locale) {
+	/**
+	 * Retrieves the value of the unit in the view's locale.
+	 *
+	 * @return The value of the unit as per the view's locale.
+	 */
+	public Object getValue() {
+		return this.unit.getValue(this.locale);
+	}
+
+	/**
+	 * Retrieves the unit string in the view's locale.
+	 *
+	 * @return The unit string corresponding to the view's locale.
+	 */
+	public String getUnitString() {
+		return this.unit.getUnitString(this.locale);
+	}
+
+	/**
+	 * Appends the formatted value and unit string in the view's locale to a builder.
+	 *
+	 * @param builder The builder to append to.
+	 * @return The builder.
+	 */
+	public StringBuilder appendTo(@NotNull StringBuilder builder) {
+		return this.unit.appendTo(builder, this.locale);
+	}
+
+	/**
+	 * Returns a string representation of the unit in the view's locale, in the same form as
+	 * {@link Unit#toString()}.
+	 *
+	 * @return A formatted string representing the unit's value and unit string.
+	 */
+	@Override
+	public @NotNull String toString() {
+		return Formatting.release(this.appendTo(Formatting.borrowBuilder()));
+	}
+}
@@ -1,10 +1,11 @@
 package dev.quinnlane.cloudy.common.unit.units;
 
-import dev.quinnlane.cloudy.common.configuration.MockConfiguration;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Objects;
 
 /**
  * The CompassRose enum represents the cardinal, ordinal, and half-wind directions of a compass rose,
@@ -64,6 +65,39 @@ public enum CompassRose {
 		CARDINAL, ORDINAL, HALF_WIND, QUARTER_WIND
 	}
 
+	/**
+	 * Every direction, indexed by ordinal. Kept so that lookups do not clone {@link #values()}.
+	 */
+	private static final CompassRose[] VALUES = values();
+
+	/**
+	 * The angle, in degrees, between two neighbouring directions of the finest specificity.
+	 */
+	private static final double QUARTER_WIND_ANGLE = 360.0 / VALUES.length;
+
+	/**
+	 * The directions of each specificity and broader, indexed by {@link Specificity#ordinal()} and
+	 * then by the segment of the compass a bearing falls into. A specificity with {@code n}
+	 * segments takes every {@code 32 / n}th direction.
+	 */
+	private static final CompassRose[][] DIRECTIONS = new CompassRose[Specificity.values().length][];
+
+	/**
+	 * The size of a segment, in degrees, for each specificity, indexed by {@link Specificity#ordinal()}.
+	 */
+	private static final double[] SEGMENT_SIZES = new double[Specificity.values().length];
+
+	static {
+		for (Specificity specificity : Specificity.values()) {
+			int divisions = 4 << specificity.ordinal();
+			int step = VALUES.length / divisions;
+			CompassRose[] directions = new CompassRose[divisions];
+			for (int i = 0; i < divisions; i++) directions[i] = VALUES[i * step];
+			DIRECTIONS[specificity.ordinal()] = directions;
+			SEGMENT_SIZES[specificity.ordinal()] = 360.0 / divisions;
+		}
+	}
+
 	/**
 	 * Stores a human-readable sentence representation of the compass rose direction
 	 */
@@ -95,7 +129,7 @@ public enum CompassRose {
 	 * @see #getHumanReadable()
 	 */
 	public String getAbbreviation() {
-		if (this.ordinal() == 21 && MockConfiguration.FUN__EASTER_EGGS && Calendar.MONTH == Calendar.MARCH) return "SXSW®";
+		if (this.ordinal() == 21 && RuntimeConfiguration.get(Settings.FUN__EASTER_EGGS) && Calendar.MONTH == Calendar.MARCH) return "SXSW®";
 
 		String abbreviation = this.name();
 
@@ -120,7 +154,7 @@ public enum CompassRose {
 	 * @see #toString()
 	 */
 	public String getHumanReadable() {
-		if (this.ordinal() == 21 && MockConfiguration.FUN__EASTER_EGGS && Calendar.MONTH == Calendar.MARCH) return "South by Southwest®";
+		if (this.ordinal() == 21 && RuntimeConfiguration.get(Settings.FUN__EASTER_EGGS) && Calendar.MONTH == Calendar.MARCH) return "South by Southwest®";
 		return humanReadable;
 	}
 
@@ -146,40 +180,7 @@ public enum CompassRose {
 	 * @return The absolute bearing value in degrees as a double.
 	 */
 	public double toAbsoluteBearing() {
-		return switch (this) {
-			case N -> 0;
-			case NBE -> 11.25;
-			case NNE -> 22.5;
-			case NEBN -> 33.75;
-			case NE -> 45;
-			case NEBE -> 56.25;
-			case ENE -> 67.5;
-			case EBN -> 78.75;
-			case E -> 90;
-			case EBS -> 101.25;
-			case ESE -> 112.5;
-			case SEBE -> 123.75;
-			case SE -> 135;
-			case SEBS -> 146.25;
-			case SSE -> 157.5;
-			case SBE -> 168.75;
-			case S -> 180;
-			case SBW -> 191.25;
-			case SSW -> 202.5;
-			case SWBS -> 213.75;
-			case SW -> 225;
-			case SWBW -> 236.25;
-			case WSW -> 247.5;
-			case WBS -> 258.75;
-			case W -> 270;
-			case WBN -> 281.25;
-			case WNW -> 292.5;
-			case NWBW -> 303.75;
-			case NW -> 315;
-			case NWBN -> 326.25;
-			case NNW -> 337.5;
-			case NBW -> 348.75;
-		};
+		return this.ordinal() * QUARTER_WIND_ANGLE;
 	}
 
 	/**
@@ -221,22 +222,52 @@ public enum CompassRose {
 	 * @return The corresponding CompassRose direction based on the bearing and specified precision.
 	 */
 	public static CompassRose fromBearing(double bearing, @NotNull Specificity precision) {
-		bearing = ((bearing % 360) + 360) % 360;
+		CompassRose[] directions = DIRECTIONS[precision.ordinal()];
+		return directions[segmentOf(bearing, SEGMENT_SIZES[precision.ordinal()], directions.length)];
+	}
 
-		int divisions = switch (precision) {
-			case CARDINAL -> 4;
-			case ORDINAL -> 8;
-			case HALF_WIND -> 16;
-			case QUARTER_WIND -> 32;
-		};
+	/**
+	 * Retrieves the direction with the given ordinal, such as one produced by
+	 * {@link #binBearings(double[], Specificity, int[])}.
+	 *
+	 * @param ordinal The ordinal of the direction, between 0 and 31.
+	 * @return The direction with that ordinal.
+	 * @throws ArrayIndexOutOfBoundsException If the ordinal is out of range.
+	 */
+	public static CompassRose fromOrdinal(int ordinal) {
+		return VALUES[ordinal];
+	}
 
-		double segmentSize = 360.0 / divisions;
-		int index = (int) Math.round(bearing / segmentSize) % divisions;
+	/**
+	 * Bins a whole column of bearings into compass directions at once, writing the
+	 * {@link #ordinal()} of each direction rather than the direction itself, so the loop stays
+	 * primitive. Each ordinal is the same as that of {@link #fromBearing(double, Specificity)}
+	 * for the corresponding bearing.
+	 *
+	 * @param bearings  The directions in degrees, where 0 is north, 90 is east, 180 is south, and 270 is west.
+	 * @param precision The specified level of precision for the directions. Must not be null.
+	 * @param ordinals  The array receiving the ordinal of each direction; must be at least as long as {@code bearings}.
+	 * @throws IndexOutOfBoundsException If {@code ordinals} is shorter than {@code bearings}.
+	 */
+	public static void binBearings(double @NotNull [] bearings, @NotNull Specificity precision, int @NotNull [] ordinals) {
+		Objects.checkFromIndexSize(0, bearings.length, ordinals.length);
 
-		CompassRose[] directions = Arrays.stream(CompassRose.values())
-				.filter(direction -> direction.getSpecificity().ordinal() <= precision.ordinal())
-				.toArray(CompassRose[]::new);
+		double segmentSize = SEGMENT_SIZES[precision.ordinal()];
+		int divisions = 4 << precision.ordinal();
+		int step = VALUES.length / divisions;
+		for (int i = 0; i < bearings.length; i++) ordinals[i] = segmentOf(bearings[i], segmentSize, divisions) * step;
+	}
 
-		return directions[index];
+	/**
+	 * Determines the segment of the compass a bearing falls into, where segment 0 is centred on north.
+	 *
+	 * @param bearing     The direction in degrees; any value is normalized into [0, 360).
+	 * @param segmentSize The size of a segment in degrees.
+	 * @param divisions   The number of segments, a power of two.
+	 * @return The index of the segment.
+	 */
+	private static int segmentOf(double bearing, double segmentSize, int divisions) {
+		bearing = ((bearing % 360) + 360) % 360;
+		return (int) Math.round(bearing / segmentSize) & (divisions - 1);
 	}
 }
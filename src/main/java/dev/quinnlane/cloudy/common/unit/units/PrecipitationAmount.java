@@ -1,14 +1,14 @@
 package dev.quinnlane.cloudy.common.unit.units;
 
 import dev.quinnlane.cloudy.common.Constants;
-import dev.quinnlane.cloudy.common.unit.Unit;
+import dev.quinnlane.cloudy.common.format.FixedPrecision;
+import dev.quinnlane.cloudy.common.unit.DoubleConversion;
+import dev.quinnlane.cloudy.common.unit.DoubleUnit;
 import dev.quinnlane.cloudy.common.unit.UnitLocales;
 import org.jetbrains.annotations.NotNull;
 
-import java.text.DecimalFormat;
-
-public class PrecipitationAmount extends Unit<Double> {
-	private static final UnitLocales MIXED_UNITS = UnitLocales.SI;
+public class PrecipitationAmount extends DoubleUnit {
+	private static final UnitLocales MIXED_UNITS = DoubleConversion.PRECIPITATION_AMOUNT.getUnitsForMixed();
 	private static final UnitStrings UNIT_STRINGS = new UnitStrings("mm", "in", MIXED_UNITS);
 
 	/**
@@ -19,7 +19,7 @@ public class PrecipitationAmount extends Unit<Double> {
 	 * @param value         The value associated with the unit.
 	 * @param locale        The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
 	 */
-	public PrecipitationAmount(@NotNull Double value, @NotNull UnitLocales locale) {
+	public PrecipitationAmount(double value, @NotNull UnitLocales locale) {
 		this(value, locale, Constants.DEFAULT_PRECISION);
 	}
 
@@ -29,13 +29,13 @@ public class PrecipitationAmount extends Unit<Double> {
 	 *
 	 * @param value         The value associated with the unit.
 	 * @param locale        The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
-	 * @param precision     A DecimalFormat object that sets the level of numeric precision used for the unit's value representation.
+	 * @param precision     A FixedPrecision object that sets the level of numeric precision used for the unit's value representation.
 	 * @throws IllegalArgumentException If the <code>unitsForMixed</code> parameter is set to
 	 *                                  {@link UnitLocales#MIXED} the program will throw an
 	 *                                  IllegalArgumentException as that combination does not
 	 *                                  make sense
 	 */
-	public PrecipitationAmount(@NotNull Double value, @NotNull UnitLocales locale, @NotNull DecimalFormat precision) {
+	public PrecipitationAmount(double value, @NotNull UnitLocales locale, @NotNull FixedPrecision precision) {
 		super(value, locale, MIXED_UNITS, UNIT_STRINGS, precision);
 	}
 
@@ -45,7 +45,7 @@ public class PrecipitationAmount extends Unit<Double> {
 	 * @return The unit's value in customary format, converted from SI.
 	 */
 	@Override
-	protected Double asCustomary() {
-		return this.value / 25.4;
+	protected double asCustomaryDouble() {
+		return DoubleConversion.PRECIPITATION_AMOUNT.toCustomary(this.value);
 	}
 }
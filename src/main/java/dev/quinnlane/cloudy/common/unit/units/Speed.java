@@ -1,22 +1,22 @@
 package dev.quinnlane.cloudy.common.unit.units;
 
 import dev.quinnlane.cloudy.common.Constants;
-import dev.quinnlane.cloudy.common.unit.Unit;
+import dev.quinnlane.cloudy.common.format.FixedPrecision;
+import dev.quinnlane.cloudy.common.unit.IntConversion;
+import dev.quinnlane.cloudy.common.unit.IntUnit;
 import dev.quinnlane.cloudy.common.unit.UnitLocales;
 import org.jetbrains.annotations.NotNull;
 
-import java.text.DecimalFormat;
-
 /**
  * The Speed class represents a unit of speed. It allows defining a speed value in a specific locale
  * (e.g., SI, CUSTOMARY) and provides conversion and precision handling mechanisms.
  * The class supports defining speed in either SI or Customary systems.
  * <p>
- * This class extends {@link Unit}, providing capabilities for specific speed-related unit transformations,
+ * This class extends {@link IntUnit}, providing capabilities for specific speed-related unit transformations,
  * including conversion to customary format.
  */
-public class Speed extends Unit<Integer> {
-	private static final UnitLocales MIXED_UNITS = UnitLocales.SI;
+public class Speed extends IntUnit {
+	private static final UnitLocales MIXED_UNITS = IntConversion.SPEED.getUnitsForMixed();
 	private static final UnitStrings UNIT_STRINGS = new UnitStrings("km/h", "mph", MIXED_UNITS);
 
 	/**
@@ -26,7 +26,7 @@ public class Speed extends Unit<Integer> {
 	 * @param value         The value associated with the unit.
 	 * @param locale        The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
 	 */
-	public Speed(@NotNull Integer value, @NotNull UnitLocales locale) {
+	public Speed(int value, @NotNull UnitLocales locale) {
 		this(value, locale, Constants.DEFAULT_PRECISION);
 	}
 
@@ -36,14 +36,14 @@ public class Speed extends Unit<Integer> {
 	 *
 	 * @param value         The value associated with the unit.
 	 * @param locale        The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
-	 * @param precision     A DecimalFormat object that sets the level of numeric precision used for the unit's value representation.
+	 * @param precision     A FixedPrecision object that sets the level of numeric precision used for the unit's value representation.
 	 *
 	 * @throws IllegalArgumentException If the <code>unitsForMixed</code> parameter is set to
 	 *                                  {@link UnitLocales#MIXED} the program will throw an
 	 *                                  IllegalArgumentException as that combination does not
 	 *                                  make sense
 	 */
-	public Speed(@NotNull Integer value, @NotNull UnitLocales locale, @NotNull DecimalFormat precision) {
+	public Speed(int value, @NotNull UnitLocales locale, @NotNull FixedPrecision precision) {
 		super(value, locale, MIXED_UNITS, UNIT_STRINGS, precision);
 	}
 
@@ -56,7 +56,7 @@ public class Speed extends Unit<Integer> {
 	 * @param locale        The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
 	 * @param mixedOverride The units that the MIXED locale should specify instead of the default
 	 */
-	protected Speed(@NotNull Integer value, @NotNull UnitLocales locale, @NotNull UnitLocales mixedOverride) {
+	protected Speed(int value, @NotNull UnitLocales locale, @NotNull UnitLocales mixedOverride) {
 		this(value, locale, mixedOverride, Constants.DEFAULT_PRECISION);
 	}
 
@@ -66,7 +66,7 @@ public class Speed extends Unit<Integer> {
 	 *
 	 * @param value         The value associated with the unit.
 	 * @param locale        The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
-	 * @param precision     A DecimalFormat object that sets the level of numeric precision used for the unit's value representation.
+	 * @param precision     A FixedPrecision object that sets the level of numeric precision used for the unit's value representation.
 	 * @param mixedOverride The units that the MIXED locale should specify instead of the default
 	 *
 	 * @throws IllegalArgumentException If the <code>unitsForMixed</code> parameter is set to
@@ -74,7 +74,7 @@ public class Speed extends Unit<Integer> {
 	 *                                  IllegalArgumentException as that combination does not
 	 *                                  make sense
 	 */
-	protected Speed(@NotNull Integer value, @NotNull UnitLocales locale, @NotNull UnitLocales mixedOverride, @NotNull DecimalFormat precision) {
+	protected Speed(int value, @NotNull UnitLocales locale, @NotNull UnitLocales mixedOverride, @NotNull FixedPrecision precision) {
 		super(value, locale, mixedOverride, new UnitStrings("km/h", "mph", mixedOverride), precision);
 	}
 
@@ -84,7 +84,7 @@ public class Speed extends Unit<Integer> {
 	 * @return The unit's value in customary format, converted from SI.
 	 */
 	@Override
-	protected Integer asCustomary() {
-		return Math.round(this.value / 1.609f);
+	protected int asCustomaryInt() {
+		return IntConversion.SPEED.toCustomary(this.value);
 	}
 }
@@ -1,22 +1,22 @@
 package dev.quinnlane.cloudy.common.unit.units;
 
 import dev.quinnlane.cloudy.common.Constants;
-import dev.quinnlane.cloudy.common.unit.Unit;
+import dev.quinnlane.cloudy.common.format.FixedPrecision;
+import dev.quinnlane.cloudy.common.unit.DoubleConversion;
+import dev.quinnlane.cloudy.common.unit.DoubleUnit;
 import dev.quinnlane.cloudy.common.unit.UnitLocales;
 import org.jetbrains.annotations.NotNull;
 
-import java.text.DecimalFormat;
-
 /**
  * The Temperature class is a representation of a temperature value, providing the necessary
  * functionality to handle conversions and formatting across various unit systems, such as SI
  * and customary units.
  * <p>
- * This class extends the generic Unit class and operates specifically with Double values.
+ * This class extends {@link DoubleUnit} and operates specifically with primitive double values.
  */
-public class Temperature extends Unit<Double> {
-	private static final UnitLocales MIXED_UNITS = UnitLocales.SI;
-	private static final Unit.UnitStrings UNIT_STRINGS = new UnitStrings("C", "F", MIXED_UNITS);
+public class Temperature extends DoubleUnit {
+	private static final UnitLocales MIXED_UNITS = DoubleConversion.TEMPERATURE.getUnitsForMixed();
+	private static final UnitStrings UNIT_STRINGS = new UnitStrings("C", "F", MIXED_UNITS);
 
 	/**
 	 * Constructs an instance of the Unit class with the specified value, locale,
@@ -26,7 +26,7 @@ public class Temperature extends Unit<Double> {
 	 * @param value         The value associated with the unit.
 	 * @param locale        The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
 	 */
-	public Temperature(@NotNull Double value, @NotNull UnitLocales locale) {
+	public Temperature(double value, @NotNull UnitLocales locale) {
 		this(value, locale, Constants.DEFAULT_PRECISION);
 	}
 
@@ -36,14 +36,14 @@ public class Temperature extends Unit<Double> {
 	 *
 	 * @param value         The value associated with the unit.
 	 * @param locale        The initial locale of the unit, which determines how the value is represented (e.g., SI, CUSTOMARY, MIXED).
-	 * @param precision     A DecimalFormat object that sets the level of numeric precision used for the unit's value representation.
+	 * @param precision     A FixedPrecision object that sets the level of numeric precision used for the unit's value representation.
 	 *
 	 * @throws IllegalArgumentException If the <code>unitsForMixed</code> parameter is set to
 	 *                                  {@link UnitLocales#MIXED} the program will throw an
 	 *                                  IllegalArgumentException as that combination does not
 	 *                                  make sense
 	 */
-	public Temperature(@NotNull Double value, @NotNull UnitLocales locale, @NotNull DecimalFormat precision) {
+	public Temperature(double value, @NotNull UnitLocales locale, @NotNull FixedPrecision precision) {
 		super(value, locale, MIXED_UNITS, UNIT_STRINGS, precision);
 	}
 
@@ -53,12 +53,12 @@ public class Temperature extends Unit<Double> {
 	 * @return The unit's value in customary format, converted from SI.
 	 */
 	@Override
-	protected Double asCustomary() {
-		return this.value * (9 / 5d) + 32;
+	protected double asCustomaryDouble() {
+		return DoubleConversion.TEMPERATURE.toCustomary(this.value);
 	}
 
 	@Override
-	public String toString() {
-		return String.format("%s%c %s", this.precision.format(this.getValue()), Constants.DEGREE_SYMBOL, this.getUnitString());
+	public StringBuilder appendTo(@NotNull StringBuilder builder, @NotNull UnitLocales locale) {
+		return this.appendValue(builder, locale).append(Constants.DEGREE_SYMBOL).append(' ').append(this.getUnitString(locale));
 	}
 }
@@ -0,0 +1,236 @@
+package dev.quinnlane.cloudy.common.wind;
+
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A wind rose: a two-dimensional histogram of wind readings, binned by the {@link CompassRose}
+ * sector they blow from and by speed band.
+ * <p>
+ * Sectors follow {@link CompassRose#fromBearing(double, CompassRose.Specificity)} at the rose's
+ * specificity, so sector 0 is centred on north and sectors go clockwise. Speed bands are given as
+ * ascending boundaries in SI units (km/h): band {@code i} holds speeds below {@code boundaries[i]}
+ * and at or above the previous boundary, and the last band holds every speed at or above the last
+ * boundary. Speeds are mapped to bands through a lookup table, so binning a reading is a couple of
+ * array reads.
+ * <p>
+ * This class is not thread-safe; {@link WindRoseAggregator} wraps it for concurrent use.
+ */
+public class WindRose {
+	/**
+	 * The boundaries of the Beaufort scale in km/h, giving one band per Beaufort number from 0 (calm) to 12 (hurricane).
+	 */
+	public static final int[] BEAUFORT_BANDS = {1, 6, 12, 20, 29, 39, 50, 62, 75, 89, 103, 118};
+
+	/**
+	 * The number of directions of the compass rose at its finest specificity.
+	 */
+	private static final int DIRECTIONS = CompassRose.values().length;
+
+	private final CompassRose.Specificity specificity;
+	private final int sectors;
+	private final int[] boundaries;
+
+	/**
+	 * Maps every speed below the last boundary to its band.
+	 */
+	private final byte[] bandOfSpeed;
+
+	/**
+	 * The number of readings in each cell, indexed by {@code sector * bands + band}.
+	 */
+	private final long[] counts;
+
+	private long total;
+
+	/**
+	 * Constructs an empty wind rose.
+	 *
+	 * @param specificity the specificity of the sectors, from 4 cardinal sectors to 32 quarter-wind ones
+	 * @param boundaries  the ascending speed band boundaries in km/h; at most 126 of them
+	 * @throws IllegalArgumentException if the boundaries are not strictly ascending and positive, or there are too many of them
+	 */
+	public WindRose(@NotNull CompassRose.Specificity specificity, int @NotNull [] boundaries) {
+		if (boundaries.length > Byte.MAX_VALUE - 1) throw new IllegalArgumentException("A wind rose cannot have more than " + (Byte.MAX_VALUE - 1) + " speed band boundaries!");
+		for (int i = 0; i < boundaries.length; i++) {
+			if (boundaries[i] <= 0 || (i > 0 && boundaries[i] <= boundaries[i - 1])) throw new IllegalArgumentException("Speed band boundaries must be positive and strictly ascending!");
+		}
+
+		this.specificity = specificity;
+		this.sectors = 4 << specificity.ordinal();
+		this.boundaries = boundaries.clone();
+		this.bandOfSpeed = new byte[boundaries.length == 0 ? 0 : boundaries[boundaries.length - 1]];
+		for (int band = 0, speed = 0; speed < this.bandOfSpeed.length; speed++) {
+			if (speed >= boundaries[band]) band++;
+			this.bandOfSpeed[speed] = (byte) band;
+		}
+		this.counts = new long[this.sectors * this.getBandCount()];
+	}
+
+	/**
+	 * Constructs an empty wind rose with the same sectors and bands as another one.
+	 *
+	 * @param template the wind rose to take the layout of
+	 */
+	public WindRose(@NotNull WindRose template) {
+		this.specificity = template.specificity;
+		this.sectors = template.sectors;
+		this.boundaries = template.boundaries;
+		this.bandOfSpeed = template.bandOfSpeed;
+		this.counts = new long[template.counts.length];
+	}
+
+	/**
+	 * Adds a single reading.
+	 *
+	 * @param bearing the direction the wind blows from, in degrees
+	 * @param speed   the wind speed in km/h
+	 */
+	public void add(double bearing, int speed) {
+		this.counts[this.cellOf(bearing, speed)]++;
+		this.total++;
+	}
+
+	/**
+	 * Adds a range of readings held in two parallel columns.
+	 *
+	 * @param bearings the directions the wind blows from, in degrees
+	 * @param speeds   the wind speeds in km/h
+	 * @param from     the index of the first reading, inclusive
+	 * @param to       the index of the last reading, exclusive
+	 */
+	public void addAll(double @NotNull [] bearings, int @NotNull [] speeds, int from, int to) {
+		for (int i = from; i < to; i++) this.counts[this.cellOf(bearings[i], speeds[i])]++;
+		this.total += to - from;
+	}
+
+	/**
+	 * Adds every reading of another wind rose with the same layout to this one.
+	 *
+	 * @param other the wind rose to merge into this one
+	 * @throws IllegalArgumentException if the other wind rose has different sectors or bands
+	 */
+	public void merge(@NotNull WindRose other) {
+		if (!this.hasSameLayout(other)) throw new IllegalArgumentException("Only wind roses with the same sectors and speed bands can be merged!");
+		for (int i = 0; i < this.counts.length; i++) this.counts[i] += other.counts[i];
+		this.total += other.total;
+	}
+
+	/**
+	 * Removes every reading.
+	 */
+	public void clear() {
+		Arrays.fill(this.counts, 0);
+		this.total = 0;
+	}
+
+	/**
+	 * Creates an independent copy of this wind rose.
+	 *
+	 * @return the copy
+	 */
+	public @NotNull WindRose copy() {
+		WindRose copy = new WindRose(this);
+		System.arraycopy(this.counts, 0, copy.counts, 0, this.counts.length);
+		copy.total = this.total;
+		return copy;
+	}
+
+	/**
+	 * Determines whether another wind rose has the same sectors and speed bands as this one.
+	 *
+	 * @param other the other wind rose
+	 * @return true if both can be merged, otherwise false
+	 */
+	public boolean hasSameLayout(@NotNull WindRose other) {
+		return this.specificity == other.specificity && Arrays.equals(this.boundaries, other.boundaries);
+	}
+
+	/**
+	 * @return the specificity of the sectors
+	 */
+	public CompassRose.Specificity getSpecificity() {
+		return this.specificity;
+	}
+
+	/**
+	 * @return the number of sectors
+	 */
+	public int getSectorCount() {
+		return this.sectors;
+	}
+
+	/**
+	 * @return the number of speed bands, one more than the number of boundaries
+	 */
+	public int getBandCount() {
+		return this.boundaries.length + 1;
+	}
+
+	/**
+	 * Retrieves the direction a sector is centred on.
+	 *
+	 * @param sector the index of the sector
+	 * @return the direction of the sector
+	 */
+	public CompassRose getDirection(int sector) {
+		return CompassRose.fromOrdinal(sector * (DIRECTIONS / this.sectors));
+	}
+
+	/**
+	 * @return the total number of readings
+	 */
+	public long getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * Retrieves the number of readings in a sector and speed band.
+	 *
+	 * @param sector the index of the sector
+	 * @param band   the index of the speed band
+	 * @return the number of readings
+	 */
+	public long getCount(int sector, int band) {
+		return this.counts[sector * this.getBandCount() + band];
+	}
+
+	/**
+	 * Retrieves the number of readings in a sector, across every speed band.
+	 *
+	 * @param sector the index of the sector
+	 * @return the number of readings
+	 */
+	public long getSectorTotal(int sector) {
+		long sum = 0;
+		int bands = this.getBandCount();
+		for (int band = 0; band < bands; band++) sum += this.counts[sector * bands + band];
+		return sum;
+	}
+
+	/**
+	 * Retrieves the fraction of every reading that falls into a sector and speed band.
+	 *
+	 * @param sector the index of the sector
+	 * @param band   the index of the speed band
+	 * @return the frequency, between 0 and 1, or 0 if there are no readings
+	 */
+	public double getFrequency(int sector, int band) {
+		return this.total == 0 ? 0 : (double) this.getCount(sector, band) / this.total;
+	}
+
+	/**
+	 * Determines the cell a reading is counted in.
+	 *
+	 * @param bearing the direction in degrees
+	 * @param speed   the speed in km/h
+	 * @return the index of the cell in {@link #counts}
+	 */
+	private int cellOf(double bearing, int speed) {
+		int sector = CompassRose.fromBearing(bearing, this.specificity).ordinal() / (DIRECTIONS / this.sectors);
+		int band = speed < 0 ? 0 : speed < this.bandOfSpeed.length ? this.bandOfSpeed[speed] : this.boundaries.length;
+		return sector * (this.boundaries.length + 1) + band;
+	}
+}
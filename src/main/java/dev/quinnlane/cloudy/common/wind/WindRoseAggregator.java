@@ -0,0 +1,181 @@
+package dev.quinnlane.cloudy.common.wind;
+
+import dev.quinnlane.cloudy.common.datatypes.OrderedTriplet;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import dev.quinnlane.cloudy.common.unit.units.CompassRose;
+import dev.quinnlane.cloudy.common.unit.units.WindSpeed;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A thread-safe, incrementally updated {@link WindRose}.
+ * <p>
+ * Single readings, such as the current wind of every published snapshot, are added one at a time.
+ * Wind history held in primitive columns is binned in parallel: the columns are split with
+ * fork/join until each slice is small enough to be binned into its own partial rose, and the
+ * partial roses are merged as the tasks join, so no two threads ever write to the same counts.
+ * Only the final merge into the aggregated rose takes the lock.
+ */
+public class WindRoseAggregator {
+	/**
+	 * The number of readings below which a slice of a column is binned on a single thread.
+	 */
+	static final int PARALLEL_THRESHOLD = 16_384;
+
+	private final WindRose rose;
+
+	/**
+	 * Constructs an empty aggregator.
+	 *
+	 * @param specificity the specificity of the sectors
+	 * @param boundaries  the ascending speed band boundaries in km/h
+	 * @throws IllegalArgumentException if the boundaries are not strictly ascending and positive, or there are too many of them
+	 * @see WindRose#WindRose(CompassRose.Specificity, int[])
+	 */
+	public WindRoseAggregator(@NotNull CompassRose.Specificity specificity, int @NotNull [] boundaries) {
+		this.rose = new WindRose(specificity, boundaries);
+	}
+
+	/**
+	 * Adds a single reading.
+	 *
+	 * @param bearing the direction the wind blows from, in degrees
+	 * @param speed   the wind speed in km/h
+	 */
+	public synchronized void add(double bearing, int speed) {
+		this.rose.add(bearing, speed);
+	}
+
+	/**
+	 * Adds a single reading in the form wind is stored in snapshots and forecasts. If the reading has
+	 * no exact bearing, the bearing of its compass direction is used instead.
+	 *
+	 * @param wind the wind bearing, compass direction, and speed; readings without a direction or speed are ignored
+	 * @return true if the reading was added, otherwise false
+	 */
+	public boolean add(@Nullable OrderedTriplet<Double, CompassRose, WindSpeed> wind) {
+		if (wind == null || wind.z() == null || (wind.x() == null && wind.y() == null)) return false;
+
+		double bearing = wind.x() != null ? wind.x() : wind.y().toAbsoluteBearing();
+		this.add(bearing, wind.z().getAsInt(UnitLocales.SI));
+		return true;
+	}
+
+	/**
+	 * Adds the current wind of a snapshot.
+	 *
+	 * @param snapshot the snapshot
+	 * @return true if the snapshot held wind data and it was added, otherwise false
+	 */
+	public boolean add(@NotNull WeatherSnapshot snapshot) {
+		return this.add(snapshot.wind());
+	}
+
+	/**
+	 * Bins a history of readings held in two parallel columns and adds them to this aggregator.
+	 *
+	 * @param bearings the directions the wind blows from, in degrees
+	 * @param speeds   the wind speeds in km/h
+	 * @throws IllegalArgumentException if the columns have different lengths
+	 */
+	public void addAll(double @NotNull [] bearings, int @NotNull [] speeds) {
+		WindRose partial = this.aggregate(bearings, speeds);
+		synchronized (this) {
+			this.rose.merge(partial);
+		}
+	}
+
+	/**
+	 * Bins a history of readings into a new wind rose with the same layout as this aggregator,
+	 * without adding them to it.
+	 *
+	 * @param bearings the directions the wind blows from, in degrees
+	 * @param speeds   the wind speeds in km/h
+	 * @return the wind rose of the readings
+	 * @throws IllegalArgumentException if the columns have different lengths
+	 */
+	public @NotNull WindRose aggregate(double @NotNull [] bearings, int @NotNull [] speeds) {
+		if (bearings.length != speeds.length) throw new IllegalArgumentException("The bearing and speed columns must have the same length!");
+
+		// The layout fields of a wind rose are final, so an empty copy can be made without the lock
+		WindRose template = new WindRose(this.rose);
+		if (bearings.length < PARALLEL_THRESHOLD) {
+			template.addAll(bearings, speeds, 0, bearings.length);
+			return template;
+		}
+		return ForkJoinPool.commonPool().invoke(new BinTask(template, bearings, speeds, 0, bearings.length));
+	}
+
+	/**
+	 * Merges a wind rose with the same layout into this aggregator.
+	 *
+	 * @param other the wind rose to merge
+	 * @throws IllegalArgumentException if the wind rose has different sectors or bands
+	 */
+	public synchronized void merge(@NotNull WindRose other) {
+		this.rose.merge(other);
+	}
+
+	/**
+	 * Removes every reading.
+	 */
+	public synchronized void clear() {
+		this.rose.clear();
+	}
+
+	/**
+	 * Creates a consistent copy of the aggregated wind rose, which later readings do not affect.
+	 *
+	 * @return the copy
+	 */
+	public synchronized @NotNull WindRose snapshot() {
+		return this.rose.copy();
+	}
+
+	/**
+	 * @return the total number of readings aggregated so far
+	 */
+	public synchronized long getTotal() {
+		return this.rose.getTotal();
+	}
+
+	/**
+	 * Bins a slice of the columns, splitting it in half until it is below {@link #PARALLEL_THRESHOLD}.
+	 */
+	private static final class BinTask extends RecursiveTask<WindRose> {
+		private final WindRose template;
+		private final double[] bearings;
+		private final int[] speeds;
+		private final int from;
+		private final int to;
+
+		private BinTask(WindRose template, double[] bearings, int[] speeds, int from, int to) {
+			this.template = template;
+			this.bearings = bearings;
+			this.speeds = speeds;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected WindRose compute() {
+			if (this.to - this.from <= PARALLEL_THRESHOLD) {
+				WindRose partial = new WindRose(this.template);
+				partial.addAll(this.bearings, this.speeds, this.from, this.to);
+				return partial;
+			}
+
+			int middle = (this.from + this.to) >>> 1;
+			BinTask left = new BinTask(this.template, this.bearings, this.speeds, this.from, middle);
+			BinTask right = new BinTask(this.template, this.bearings, this.speeds, middle, this.to);
+			left.fork();
+			WindRose result = right.compute();
+			result.merge(left.join());
+			return result;
+		}
+	}
+}
@@ -1,17 +1,28 @@
 package dev.quinnlane.cloudy.frontend;
 
 import dev.quinnlane.cloudy.Cloudy;
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.datatypes.RenderedSnapshot;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.diagnostics.UIApplyEvent;
 import dev.quinnlane.cloudy.frontend.controllers.MainView;
+import dev.quinnlane.cloudy.startup.Startup;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class Frontend extends Application {
 	private static final String TITLE = "Cloudy - v" + Cloudy.getVersion();
@@ -19,6 +30,30 @@ public class Frontend extends Application {
 
 	private static MainView mainViewController;
 
+	/**
+	 * When the JavaFX toolkit was launched, as returned by {@link System#nanoTime()}.
+	 */
+	private static long launchedAt;
+
+	/**
+	 * The loader of the main view, completed once the view has been loaded.
+	 */
+	private CompletableFuture<FXMLLoader> mainView;
+
+	/**
+	 * Applies the snapshots published by the backend to the main view, at most once per pulse.
+	 */
+	private static final UpdatePump<RenderedSnapshot> updatePump = new UpdatePump<>(Frontend::applyToMainView, RuntimeConfiguration.get(Settings.FRONTEND__MAX_UPDATES_PER_SECOND));
+
+	/**
+	 * Hands every published snapshot over to the main view.
+	 */
+	private static final Consumer<WeatherSnapshot> snapshotListener = Frontend::onSnapshot;
+
+	static {
+		RuntimeConfiguration.addListener(Settings.FRONTEND__MAX_UPDATES_PER_SECOND, updatePump::setMaxUpdatesPerSecond);
+	}
+
 	public static MainView getMainViewController() {
 		return mainViewController;
 	}
@@ -28,6 +63,13 @@ public class Frontend extends Application {
 		return mainViewController;
 	}
 
+	/**
+	 * @return the pump applying published snapshots to the main view
+	 */
+	public static UpdatePump<RenderedSnapshot> getUpdatePump() {
+		return updatePump;
+	}
+
 	public Frontend() {
 		logger.trace("Frontend class constructor called from thread '%s'", Thread.currentThread().getName());
 		if (Cloudy.getFrontend() != null) {
@@ -36,33 +78,118 @@ public class Frontend extends Application {
 		}
 
 		logger.info("Initializing frontend...");
+		launchedAt = System.nanoTime();
 		new Thread(() -> launch(Cloudy.getArguments()), "Cloudy JavaFX Initializer").start();
 		logger.info("Frontend has been initialized!");
 	}
 
+	/**
+	 * Starts loading the main view on a startup worker as soon as the toolkit has started. Nodes
+	 * may be created on any thread until they are shown, so the whole view is built off the
+	 * application thread, while the backend is still starting.
+	 */
 	@Override
-	public void start(Stage stage) throws Exception {
-		FXMLLoader mainViewLoader = new FXMLLoader(Objects.requireNonNull(getClass().getResource("views/MainView.fxml")));
-		Parent root = mainViewLoader.load();
-
-		setMainViewController(mainViewLoader.getController());
+	public void init() {
+		Startup startup = Cloudy.getStartup();
+		startup.getTimeline().record("javafx toolkit", launchedAt, System.nanoTime());
+		this.mainView = startup.supplyAsync("main view", () -> {
+			FXMLLoader loader = new FXMLLoader(Objects.requireNonNull(Frontend.class.getResource("views/MainView.fxml")));
+			try {
+				loader.load();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return loader;
+		});
+	}
 
+	/**
+	 * Shows the main view once it has been loaded and the backend is ready to fill it.
+	 */
+	@Override
+	public void start(Stage stage) {
 		stage.setTitle(TITLE);
-		stage.setScene(new Scene(root));
 		stage.initStyle(StageStyle.UNIFIED);
 		stage.setMinWidth(1200);
 		stage.setMinHeight(700);
+
+		this.mainView.thenCombine(Cloudy.getStartup().whenBackendReady(), (loader, backend) -> loader).whenComplete((loader, error) -> Platform.runLater(() -> {
+			if (error != null) {
+				logger.fatal("Failed to load the main view!", error);
+				Platform.exit();
+				return;
+			}
+			this.show(stage, loader);
+		}));
+	}
+
+	private void show(Stage stage, FXMLLoader loader) {
+		setMainViewController(loader.getController());
+
+		Scene scene = new Scene(loader.getRoot());
+		stage.setScene(scene);
 		stage.show();
 
-		/* TODO
-		    add a tick that runs periodially checking how recent the data is;
-		    if any of the data has changed, update the screen
-		   */
+		// Listen before reading the latest snapshot, so that no refresh can slip in between
+		Cloudy.getBackend().addSnapshotListener(snapshotListener);
 		updateMainView();
+		updatePump.start();
+
+		scene.addPostLayoutPulseListener(new Runnable() {
+			@Override
+			public void run() {
+				scene.removePostLayoutPulseListener(this);
+				Cloudy.getStartup().firstFrameShown();
+			}
+		});
 	}
 
+	@Override
+	public void stop() {
+		Backend backend = Cloudy.getBackend();
+		if (backend != null) backend.removeSnapshotListener(snapshotListener);
+		updatePump.stop();
+		logger.info("Update pump statistics: %s", updatePump.getStatistics());
+	}
+
+	/**
+	 * Applies the latest snapshot, which may have been persisted by a previous run, to the main
+	 * view. Snapshots published from then on are applied by the update pump.
+	 */
 	private void updateMainView() {
+		RenderedSnapshot rendered = Cloudy.getBackend().getRenderedSnapshot(RuntimeConfiguration.get(Settings.CUSTOMIZATION__LOCALE));
+		if (rendered != null) applyToMainView(rendered);
+	}
+
+	/**
+	 * Renders a published snapshot on the refreshing thread and submits it to the update pump,
+	 * and adds it to the history of the over time panel.
+	 *
+	 * @param snapshot the published snapshot
+	 */
+	private static void onSnapshot(WeatherSnapshot snapshot) {
+		updatePump.submit(Cloudy.getBackend().getRenderCache().get(snapshot, RuntimeConfiguration.get(Settings.CUSTOMIZATION__LOCALE)));
+
+		MainView mainView = mainViewController;
+		if (mainView != null && mainView.overTimePanelController != null) mainView.overTimePanelController.record(snapshot);
+	}
+
+	/**
+	 * Applies a rendered snapshot to the main view. Must be called on the application thread.
+	 *
+	 * @param rendered the rendered snapshot
+	 */
+	private static void applyToMainView(RenderedSnapshot rendered) {
 		if (mainViewController == null) throw new IllegalStateException("MainView has not been initialized!");
-		mainViewController.updateFromBackend(Cloudy.getBackend().getProvider());
+
+		UIApplyEvent event = new UIApplyEvent();
+		event.begin();
+		mainViewController.updateFromSnapshot(rendered);
+		event.end();
+		if (event.shouldCommit()) {
+			// The provider is set asynchronously during startup, so describe the snapshot on screen instead
+			event.describe(Cloudy.getBackend().getLatestSnapshot());
+			event.commit();
+		}
 	}
 }
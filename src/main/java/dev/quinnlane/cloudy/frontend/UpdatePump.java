@@ -0,0 +1,177 @@
+package dev.quinnlane.cloudy.frontend;
+
+import dev.quinnlane.cloudy.backend.metrics.LatencyHistogram;
+import javafx.animation.AnimationTimer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Hands updates from any thread over to the JavaFX application thread, applying at most one
+ * update per pulse.
+ * <p>
+ * Submitting an update only replaces the pending one, so a burst of updates between two pulses
+ * is coalesced into the latest of them, and the JavaFX event queue is never flooded the way it
+ * would be by one {@code Platform.runLater} per update. On every pulse, the pending update, if
+ * any, is applied, unless an update was applied less than the minimum interval ago, in which
+ * case it is left pending for a later pulse. When nothing is pending, a pulse costs a single
+ * atomic read.
+ * <p>
+ * The pump counts the updates that were superseded before being applied and records how long
+ * the application thread spent applying each update.
+ *
+ * @param <T> the type of the updates
+ */
+public class UpdatePump<T> {
+	/**
+	 * The counters of a pump at some point in time.
+	 *
+	 * @param submitted      the number of submitted updates
+	 * @param applied        the number of applied updates
+	 * @param coalesced      the number of updates superseded by a newer update before being applied
+	 * @param dropped        the number of updates discarded without being applied because the pump was stopped
+	 * @param failed         the number of updates whose application threw an exception
+	 * @param meanApplyNanos the mean time spent applying an update, in nanoseconds
+	 * @param p99ApplyNanos  the 99th percentile of the time spent applying an update, in nanoseconds
+	 * @param maxApplyNanos  the longest time spent applying an update, in nanoseconds
+	 */
+	public record Statistics(long submitted, long applied, long coalesced, long dropped, long failed, double meanApplyNanos, long p99ApplyNanos, long maxApplyNanos) {
+		@Override
+		public String toString() {
+			return String.format("%d submitted, %d applied, %d coalesced, %d dropped, %d failed; apply time mean %.1f µs, p99 %.1f µs, max %.1f µs",
+					this.submitted, this.applied, this.coalesced, this.dropped, this.failed, this.meanApplyNanos / 1e3, this.p99ApplyNanos / 1e3, this.maxApplyNanos / 1e3);
+		}
+	}
+
+	private final Consumer<? super T> applier;
+	private final AtomicReference<T> pending = new AtomicReference<>();
+
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LatencyHistogram applyTimes = new LatencyHistogram();
+
+	/**
+	 * The shortest time between two applied updates, in nanoseconds.
+	 */
+	private volatile long minIntervalNanos;
+
+	/**
+	 * The pulse time at which the last update was applied. Only accessed on the application thread.
+	 */
+	private long lastAppliedAt;
+	private boolean appliedAny;
+
+	/**
+	 * The timer calling {@link #pulse(long)}, created on the first start, as timers can only be
+	 * created once the JavaFX toolkit has started. Only accessed on the application thread.
+	 */
+	private AnimationTimer timer;
+
+	/**
+	 * Constructs a new, stopped UpdatePump.
+	 *
+	 * @param applier             applies an update on the application thread; must not be null
+	 * @param maxUpdatesPerSecond the largest number of updates applied per second, or 0 to apply one on every pulse
+	 */
+	public UpdatePump(@NotNull Consumer<? super T> applier, int maxUpdatesPerSecond) {
+		this.applier = applier;
+		this.setMaxUpdatesPerSecond(maxUpdatesPerSecond);
+	}
+
+	/**
+	 * Changes the largest number of updates applied per second.
+	 *
+	 * @param maxUpdatesPerSecond the largest number of updates applied per second, or 0 to apply one on every pulse
+	 */
+	public void setMaxUpdatesPerSecond(int maxUpdatesPerSecond) {
+		if (maxUpdatesPerSecond < 0) throw new IllegalArgumentException("The maximum number of updates per second cannot be negative!");
+		this.minIntervalNanos = maxUpdatesPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / maxUpdatesPerSecond;
+	}
+
+	/**
+	 * Submits an update to be applied on a coming pulse, replacing the pending update if there is one.
+	 * May be called from any thread.
+	 *
+	 * @param update the update; must not be null
+	 */
+	public void submit(@NotNull T update) {
+		this.submitted.increment();
+		if (this.pending.getAndSet(update) != null) this.coalesced.increment();
+	}
+
+	/**
+	 * Starts applying updates on every pulse. Must be called on the application thread.
+	 */
+	public void start() {
+		if (this.timer == null) {
+			this.timer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					UpdatePump.this.pulse(now);
+				}
+			};
+		}
+		this.timer.start();
+	}
+
+	/**
+	 * Stops applying updates, discarding the pending update if there is one. Must be called on the application thread.
+	 */
+	public void stop() {
+		if (this.timer != null) this.timer.stop();
+		if (this.pending.getAndSet(null) != null) this.dropped.increment();
+	}
+
+	/**
+	 * Applies the pending update, if there is one and the minimum interval has passed.
+	 *
+	 * @param now the time of the pulse, in nanoseconds
+	 */
+	void pulse(long now) {
+		if (this.pending.get() == null) return;
+		if (this.appliedAny && now - this.lastAppliedAt < this.minIntervalNanos) return;
+
+		T update = this.pending.getAndSet(null);
+		if (update == null) return;
+		this.lastAppliedAt = now;
+		this.appliedAny = true;
+
+		long start = System.nanoTime();
+		try {
+			this.applier.accept(update);
+		} catch (RuntimeException e) {
+			this.failed.increment();
+			Frontend.logger.error("Failed to apply an update on the JavaFX application thread!", e);
+		} finally {
+			this.applyTimes.record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * @return the time spent applying every update, in nanoseconds
+	 */
+	public @NotNull LatencyHistogram getApplyTimes() {
+		return this.applyTimes;
+	}
+
+	/**
+	 * @return the current counters of this pump
+	 */
+	public @NotNull Statistics getStatistics() {
+		return new Statistics(
+				this.submitted.sum(),
+				this.applyTimes.getCount(),
+				this.coalesced.sum(),
+				this.dropped.sum(),
+				this.failed.sum(),
+				this.applyTimes.getMean(),
+				this.applyTimes.getValueAtPercentile(99),
+				this.applyTimes.getMax()
+		);
+	}
+}
@@ -1,6 +1,7 @@
 package dev.quinnlane.cloudy.frontend.controllers;
 
 import dev.quinnlane.cloudy.backend.dataproviders.DataProvider;
+import dev.quinnlane.cloudy.common.datatypes.RenderedSnapshot;
 import javafx.fxml.FXML;
 import javafx.scene.layout.AnchorPane;
 
@@ -32,4 +33,10 @@ public class MainView extends AnchorPane implements UIPanel {
 			windPanelController.setSpeed(wind.z());
 		}
 	}
+
+	public void updateFromSnapshot(RenderedSnapshot snapshot) {
+		if (snapshot.currentTemperature() != null) temperaturePanelController.setTemperatureRead(snapshot.currentTemperature());
+		if (snapshot.windSpeed() != null) windPanelController.setSpeed(snapshot.windSpeed());
+		if (snapshot.windDirection() != null) windPanelController.setCompass(snapshot.windDirection());
+	}
 }
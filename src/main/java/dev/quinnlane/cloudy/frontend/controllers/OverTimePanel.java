@@ -1,11 +1,282 @@
 package dev.quinnlane.cloudy.frontend.controllers;
 
+import dev.quinnlane.cloudy.common.configuration.RuntimeConfiguration;
+import dev.quinnlane.cloudy.common.configuration.Settings;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import dev.quinnlane.cloudy.common.series.Downsampling;
+import dev.quinnlane.cloudy.common.series.LevelOfDetail;
+import dev.quinnlane.cloudy.common.series.TimeSeries;
+import dev.quinnlane.cloudy.common.unit.UnitLocales;
+import dev.quinnlane.cloudy.common.unit.units.Temperature;
+import dev.quinnlane.cloudy.frontend.Frontend;
+import dev.quinnlane.cloudy.frontend.UpdatePump;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Charts the current temperature of every published snapshot over time, on a {@link Canvas}.
+ * <p>
+ * Drawing one scene graph node per point would crawl with months of history, so the visible range
+ * is instead downsampled to one point per pixel with Largest-Triangle-Three-Buckets, from the
+ * coarsest {@link LevelOfDetail level of detail} that still holds enough points in that range,
+ * and drawn as a single path. Downsampling runs on a background thread; requests made while one
+ * is queued are coalesced, and finished frames are drawn through an {@link UpdatePump}.
+ * <p>
+ * Scrolling zooms around the cursor, dragging pans, and double-clicking returns to following the
+ * latest day.
+ */
 public class OverTimePanel extends VBox implements UIPanel {
+	/**
+	 * A downsampled range of the series, ready to be drawn.
+	 *
+	 * @param times  the times of the points, in milliseconds since the epoch
+	 * @param values the temperatures of the points, in SI units
+	 * @param size   the number of points
+	 * @param start  the start of the drawn range, in milliseconds since the epoch
+	 * @param end    the end of the drawn range, in milliseconds since the epoch
+	 * @param min    the lowest temperature drawn
+	 * @param max    the highest temperature drawn
+	 * @param level  the level of detail the points were downsampled from
+	 */
+	record Frame(long[] times, double[] values, int size, long start, long end, double min, double max, int level) {}
+
+	/**
+	 * The visible range of time.
+	 *
+	 * @param end       the end of the range, in milliseconds since the epoch; ignored when following
+	 * @param span      the length of the range, in milliseconds
+	 * @param following whether the range ends at the latest point, moving along as points are added
+	 */
+	private record Viewport(long end, long span, boolean following) {}
+
+	private static final long DEFAULT_SPAN = TimeUnit.DAYS.toMillis(1);
+	private static final long MIN_SPAN = TimeUnit.MINUTES.toMillis(10);
+	private static final long MAX_SPAN = TimeUnit.DAYS.toMillis(400);
+
+	/**
+	 * How much the span shrinks per pixel scrolled.
+	 */
+	private static final double ZOOM_PER_PIXEL = 0.005;
+	private static final double PADDING = 16;
+
+	private static final ExecutorService downsampler = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Cloudy Chart Downsampler");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@FXML private Pane chart;
 
-	@Override
+	private final Canvas canvas = new Canvas();
+	private final TimeSeries series = new TimeSeries();
+	private final LevelOfDetail levelOfDetail = new LevelOfDetail(this.series);
+	private final UpdatePump<Frame> pump = new UpdatePump<>(this::draw, 0);
+	private final AtomicBoolean renderQueued = new AtomicBoolean();
+
+	private volatile Viewport viewport = new Viewport(0, DEFAULT_SPAN, true);
+	private volatile int pixels;
+
+	/**
+	 * The frame on the canvas, redrawn when the canvas is resized. Only accessed on the application thread.
+	 */
+	private Frame frame;
+
+	/**
+	 * The drag in progress. Only accessed on the application thread.
+	 */
+	private double dragX;
+	private long dragEnd;
+
+	@FXML
 	public void initialize() {
+		this.chart.getChildren().add(this.canvas);
+		this.chart.widthProperty().addListener((observable, previous, width) -> {
+			this.canvas.setWidth(width.doubleValue());
+			this.pixels = (int) width.doubleValue();
+			this.requestRender();
+		});
+		this.chart.heightProperty().addListener((observable, previous, height) -> {
+			this.canvas.setHeight(height.doubleValue());
+			if (this.frame != null) this.draw(this.frame);
+		});
+
+		this.canvas.setOnScroll(this::zoom);
+		this.canvas.setOnMousePressed(this::startDrag);
+		this.canvas.setOnMouseDragged(this::drag);
+		this.canvas.setOnMouseClicked(event -> {
+			if (event.getClickCount() == 2) this.setViewport(new Viewport(0, DEFAULT_SPAN, true));
+		});
+
+		RuntimeConfiguration.addListener(Settings.CUSTOMIZATION__LOCALE, locale -> this.requestRender());
+		// The view may be loaded off the application thread, which the timer of the pump must be started on
+		Platform.runLater(this.pump::start);
+	}
+
+	/**
+	 * Adds the current temperature of a snapshot to the chart. May be called from any thread.
+	 * Snapshots captured before the last added snapshot are ignored.
+	 *
+	 * @param snapshot the snapshot; must not be null
+	 */
+	public void record(@NotNull WeatherSnapshot snapshot) {
+		if (snapshot.currentTemperature() == null || snapshot.capturedAt() == null) return;
+		if (this.series.append(snapshot.capturedAt().toEpochMilli(), snapshot.currentTemperature().getAsDouble(UnitLocales.SI))) {
+			this.requestRender();
+		}
+	}
+
+	/**
+	 * @return the temperatures charted by this panel, in SI units, to append history to in bulk
+	 */
+	public @NotNull TimeSeries getSeries() {
+		return this.series;
+	}
+
+	/**
+	 * Downsamples the visible range on the background thread, unless a request is already queued.
+	 * May be called from any thread.
+	 */
+	public void requestRender() {
+		if (this.renderQueued.compareAndSet(false, true)) downsampler.execute(this::render);
+	}
+
+	private void render() {
+		this.renderQueued.set(false);
+		try {
+			int pixels = this.pixels;
+			if (pixels < 3) return;
+
+			TimeSeries.View[] levels = this.levelOfDetail.getLevels();
+			if (levels[0].size() == 0) {
+				this.pump.submit(new Frame(new long[0], new double[0], 0, 0, 0, 0, 0, 0));
+				return;
+			}
+
+			Viewport viewport = this.viewport;
+			long end = viewport.following() ? levels[0].getEnd() : viewport.end();
+			long start = end - viewport.span();
+
+			int level = LevelOfDetail.select(levels, start, end, pixels);
+			TimeSeries.View view = levels[level];
+			// One point past either edge, so that the line runs to the edges of the canvas
+			int from = Math.max(view.ceiling(start) - 1, 0);
+			int to = Math.min(view.ceiling(end) + 1, view.size());
+
+			int capacity = Math.min(to - from, pixels);
+			long[] times = new long[capacity];
+			double[] values = new double[capacity];
+			int size = Downsampling.lttb(view.times(), view.values(), from, to, pixels, times, values);
+
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < size; i++) {
+				min = Math.min(min, values[i]);
+				max = Math.max(max, values[i]);
+			}
+			if (max - min < 1) {
+				min -= 0.5;
+				max += 0.5;
+			}
+
+			this.pump.submit(new Frame(times, values, size, start, end, min, max, level));
+		} catch (RuntimeException e) {
+			Frontend.logger.error("Failed to downsample the chart!", e);
+		}
+	}
+
+	private void draw(@NotNull Frame frame) {
+		this.frame = frame;
+		GraphicsContext graphics = this.canvas.getGraphicsContext2D();
+		double width = this.canvas.getWidth();
+		double height = this.canvas.getHeight();
+		graphics.clearRect(0, 0, width, height);
+
+		graphics.setFill(Color.GRAY);
+		if (frame.size() == 0) {
+			graphics.fillText("No data yet", PADDING, height / 2);
+			return;
+		}
+
+		double top = PADDING;
+		double bottom = height - PADDING;
+		graphics.setStroke(Color.LIGHTGRAY);
+		graphics.setLineWidth(1);
+		graphics.strokeLine(0, top, width, top);
+		graphics.strokeLine(0, bottom, width, bottom);
+
+		UnitLocales locale = RuntimeConfiguration.get(Settings.CUSTOMIZATION__LOCALE);
+		graphics.fillText(new Temperature(frame.max(), UnitLocales.SI).in(locale).toString(), 4, top - 4);
+		graphics.fillText(new Temperature(frame.min(), UnitLocales.SI).in(locale).toString(), 4, height - 4);
+
+		double timeScale = width / Math.max(frame.end() - frame.start(), 1);
+		double valueScale = (bottom - top) / (frame.max() - frame.min());
+		graphics.setStroke(Color.BLACK);
+		graphics.setLineWidth(1.5);
+		graphics.beginPath();
+		for (int i = 0; i < frame.size(); i++) {
+			double x = (frame.times()[i] - frame.start()) * timeScale;
+			double y = bottom - (frame.values()[i] - frame.min()) * valueScale;
+			if (i == 0) graphics.moveTo(x, y);
+			else graphics.lineTo(x, y);
+		}
+		graphics.stroke();
+	}
+
+	private void zoom(@NotNull ScrollEvent event) {
+		double width = this.canvas.getWidth();
+		if (width <= 0) return;
+
+		Viewport viewport = this.viewport;
+		long end = this.resolveEnd(viewport);
+		long span = Math.clamp(Math.round(viewport.span() * Math.exp(-event.getDeltaY() * ZOOM_PER_PIXEL)), MIN_SPAN, MAX_SPAN);
+		if (viewport.following()) {
+			this.setViewport(new Viewport(end, span, true));
+			return;
+		}
+
+		// Keep the time under the cursor in place
+		double fraction = 1 - event.getX() / width;
+		long anchor = end - Math.round(fraction * viewport.span());
+		this.setViewport(new Viewport(anchor + Math.round(fraction * span), span, false));
+	}
+
+	private void startDrag(@NotNull MouseEvent event) {
+		this.dragX = event.getX();
+		this.dragEnd = this.resolveEnd(this.viewport);
+	}
+
+	private void drag(@NotNull MouseEvent event) {
+		double width = this.canvas.getWidth();
+		if (width <= 0) return;
+
+		Viewport viewport = this.viewport;
+		long end = this.dragEnd - Math.round((event.getX() - this.dragX) / width * viewport.span());
+		TimeSeries.View view = this.series.view();
+		boolean following = view.size() == 0 || end >= view.getEnd();
+		this.setViewport(new Viewport(end, viewport.span(), following));
+	}
+
+	private long resolveEnd(@NotNull Viewport viewport) {
+		if (!viewport.following()) return viewport.end();
+		TimeSeries.View view = this.series.view();
+		return view.size() == 0 ? System.currentTimeMillis() : view.getEnd();
+	}
 
+	private void setViewport(@NotNull Viewport viewport) {
+		this.viewport = viewport;
+		this.requestRender();
 	}
 }
@@ -1,11 +1,11 @@
 package dev.quinnlane.cloudy.frontend.controllers;
 
-import dev.quinnlane.cloudy.common.Constants;
+import dev.quinnlane.cloudy.common.format.Formatting;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 
-import java.util.Date;
+import java.time.Instant;
 
 public class SunsetPill extends VBox implements UIPanel {
 	@FXML
@@ -15,15 +15,15 @@ public class SunsetPill extends VBox implements UIPanel {
 
 	@FXML
 	public void initialize() {
-		setSunrise(new Date(System.currentTimeMillis()));
-		setSunset(new Date(System.currentTimeMillis()));
+		setSunrise(Instant.now());
+		setSunset(Instant.now());
 	}
 
-	public void setSunrise(Date time) {
-		this.sunrise.setText(Constants.TIME_FORMAT.format(time));
+	public void setSunrise(Instant time) {
+		this.sunrise.setText(Formatting.formatTime(time));
 	}
 
-	public void setSunset(Date time) {
-		this.sunset.setText(Constants.TIME_FORMAT.format(time));
+	public void setSunset(Instant time) {
+		this.sunset.setText(Formatting.formatTime(time));
 	}
 }
@@ -19,6 +19,10 @@ public class TemperaturePanel extends HBox implements UIPanel {
 		this.temperatureRead.setText(temperature.toString());
 	}
 
+	public void setTemperatureRead(String temperature) {
+		this.temperatureRead.setText(temperature);
+	}
+
 	public void setWeatherImage() {
 		// TODO: get and set the weather conditions image
 		//this.weatherImage = weatherImage;
@@ -1,6 +1,6 @@
 package dev.quinnlane.cloudy.frontend.controllers;
 
-import dev.quinnlane.cloudy.common.Constants;
+import dev.quinnlane.cloudy.common.format.Formatting;
 import dev.quinnlane.cloudy.common.unit.UnitLocales;
 import dev.quinnlane.cloudy.common.unit.units.Temperature;
 import javafx.fxml.FXML;
@@ -8,7 +8,7 @@ import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.layout.VBox;
 
-import java.util.Date;
+import java.time.Instant;
 
 public class WeatherPill extends VBox implements UIPanel {
 	@FXML
@@ -24,7 +24,7 @@ public class WeatherPill extends VBox implements UIPanel {
 	public void initialize() {
 		setTemperature(new Temperature(4.0, UnitLocales.CUSTOMARY));
 		setChance(49);
-		setTime(new Date(System.currentTimeMillis()));
+		setTime(Instant.now());
 	}
 
 	public void setTemperature(Temperature temperature) {
@@ -35,11 +35,11 @@ public class WeatherPill extends VBox implements UIPanel {
 		this.chance.setText(chance + "%");
 	}
 
-	public void setTime(Date time) {
-		this.time.setText(Constants.TIME_FORMAT.format(time));
+	public void setTime(Instant time) {
+		this.time.setText(Formatting.formatTime(time));
 	}
 
-	public void setDate(Date time) {
-		this.time.setText(Constants.SIMPLE_DATE_FORMAT.format(time));
+	public void setDate(Instant time) {
+		this.time.setText(Formatting.formatShortDate(time));
 	}
 }
@@ -26,10 +26,18 @@ public class WindPanel extends VBox implements UIPanel {
 		speedText.setText(speed.toString());
 	}
 
+	public void setSpeed(String speed) {
+		speedText.setText(speed);
+	}
+
 	public void setCompass(CompassRose direction) {
 		compassText.setText(direction.getHumanReadable());
 	}
 
+	public void setCompass(String direction) {
+		compassText.setText(direction);
+	}
+
 	public void setNeedleDirection(CompassRose direction) {
 		needle.getTransforms().clear();
 		needle.getTransforms().add(new Rotate(direction.toAbsoluteBearing(), 0, 0)); // TODO this shi is fucked up bruhhhhh T_T
@@ -0,0 +1,111 @@
+package dev.quinnlane.cloudy.startup;
+
+import dev.quinnlane.cloudy.Cloudy;
+import dev.quinnlane.cloudy.backend.Backend;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Orchestrates the launch of Cloudy, running independent phases in parallel and recording every
+ * phase in a {@link StartupTimeline}.
+ * <p>
+ * Phases that do not depend on each other, such as scanning the classpath for providers, reading
+ * the persisted snapshot, starting the JavaFX toolkit, and loading the main view, run on their
+ * own threads. The first frame only waits for its critical dependencies: the main view and a
+ * {@link Backend} that holds the persisted snapshot, if there is one. The first refresh of the
+ * provider, which may take as long as a network request, completes in the background and reaches
+ * the screen like every later refresh. Once the first frame has been shown and every background
+ * phase has completed, the timeline is logged and the worker threads are released.
+ */
+public class Startup {
+	private final StartupTimeline timeline = new StartupTimeline();
+	private final AtomicInteger workerCount = new AtomicInteger();
+	private final ExecutorService workers = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "Cloudy Startup Worker #" + this.workerCount.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Completed with the backend once it is ready to show the first frame.
+	 */
+	private final CompletableFuture<Backend> backend = new CompletableFuture<>();
+	private final CompletableFuture<Void> firstFrame = new CompletableFuture<>();
+
+	/**
+	 * Runs a phase on a worker thread and records it.
+	 *
+	 * @param name the name of the phase; must not be null
+	 * @param task the phase; must not be null
+	 * @param <T>  the type of the result
+	 * @return the result of the phase, once it has completed
+	 */
+	public <T> @NotNull CompletableFuture<T> supplyAsync(@NotNull String name, @NotNull Supplier<T> task) {
+		return CompletableFuture.supplyAsync(() -> this.timeline.time(name, task), this.workers);
+	}
+
+	/**
+	 * Runs a phase on a worker thread and records it.
+	 *
+	 * @param name the name of the phase; must not be null
+	 * @param task the phase; must not be null
+	 * @return completed once the phase has completed
+	 */
+	public @NotNull CompletableFuture<Void> runAsync(@NotNull String name, @NotNull Runnable task) {
+		return CompletableFuture.runAsync(() -> this.timeline.time(name, task), this.workers);
+	}
+
+	/**
+	 * @return the timeline every phase is recorded in
+	 */
+	public @NotNull StartupTimeline getTimeline() {
+		return this.timeline;
+	}
+
+	/**
+	 * Marks the backend as ready to show the first frame.
+	 *
+	 * @param backend the backend; must not be null
+	 */
+	public void backendReady(@NotNull Backend backend) {
+		this.timeline.mark("backend ready");
+		this.backend.complete(backend);
+	}
+
+	/**
+	 * @return completed with the backend once it is ready to show the first frame
+	 */
+	public @NotNull CompletableFuture<Backend> whenBackendReady() {
+		return this.backend;
+	}
+
+	/**
+	 * Marks the first frame as shown.
+	 */
+	public void firstFrameShown() {
+		this.timeline.mark("first frame");
+		this.firstFrame.complete(null);
+	}
+
+	/**
+	 * Logs the timeline and releases the worker threads once the first frame has been shown and
+	 * every given background phase has completed, successfully or not.
+	 *
+	 * @param phases the background phases to wait for; must not be null
+	 */
+	public void finish(@NotNull CompletableFuture<?> @NotNull ... phases) {
+		CompletableFuture<?>[] awaited = new CompletableFuture<?>[phases.length + 1];
+		for (int i = 0; i < phases.length; i++) awaited[i] = phases[i].exceptionally(error -> null);
+		awaited[phases.length] = this.firstFrame;
+
+		CompletableFuture.allOf(awaited).thenRun(() -> {
+			Cloudy.logger.info("%s", this.timeline.report());
+			this.workers.shutdown();
+		});
+	}
+}
@@ -0,0 +1,143 @@
+package dev.quinnlane.cloudy.startup;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records when every phase of startup ran, on which thread, and for how long, measured from the
+ * start of the JVM, so that a report can show where the launch time goes and which phases
+ * overlapped. Phases may be recorded from any thread.
+ */
+public class StartupTimeline {
+	/**
+	 * A timed phase of startup.
+	 *
+	 * @param name       the name of the phase
+	 * @param thread     the name of the thread the phase ran on
+	 * @param startNanos when the phase started, in nanoseconds since the start of the JVM
+	 * @param endNanos   when the phase ended, in nanoseconds since the start of the JVM
+	 */
+	public record Phase(String name, String thread, long startNanos, long endNanos) {
+		/**
+		 * @return how long the phase took, in nanoseconds
+		 */
+		public long durationNanos() {
+			return this.endNanos - this.startNanos;
+		}
+	}
+
+	/**
+	 * The width of the bars of the report, in characters.
+	 */
+	private static final int BAR_WIDTH = 40;
+
+	/**
+	 * The value of {@link System#nanoTime()} when the JVM started, estimated from its start time.
+	 */
+	private final long origin;
+	private final ConcurrentLinkedQueue<Phase> phases = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Constructs an empty timeline, recording the time between the start of the JVM and now as
+	 * its first phase.
+	 */
+	public StartupTimeline() {
+		long now = System.nanoTime();
+		long sinceStart = TimeUnit.MILLISECONDS.toNanos(Math.max(System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime(), 0));
+		this.origin = now - sinceStart;
+		this.phases.add(new Phase("jvm", Thread.currentThread().getName(), 0, sinceStart));
+	}
+
+	/**
+	 * Runs a phase on the calling thread and records it.
+	 *
+	 * @param name the name of the phase; must not be null
+	 * @param task the phase; must not be null
+	 * @param <T>  the type of the result
+	 * @return the result of the phase
+	 */
+	public <T> T time(@NotNull String name, @NotNull Supplier<T> task) {
+		long start = System.nanoTime();
+		try {
+			return task.get();
+		} finally {
+			this.record(name, start, System.nanoTime());
+		}
+	}
+
+	/**
+	 * Runs a phase on the calling thread and records it.
+	 *
+	 * @param name the name of the phase; must not be null
+	 * @param task the phase; must not be null
+	 */
+	public void time(@NotNull String name, @NotNull Runnable task) {
+		long start = System.nanoTime();
+		try {
+			task.run();
+		} finally {
+			this.record(name, start, System.nanoTime());
+		}
+	}
+
+	/**
+	 * Records a phase that started and ended at given times, such as one that spans threads.
+	 *
+	 * @param name       the name of the phase; must not be null
+	 * @param startNanos when the phase started, as returned by {@link System#nanoTime()}
+	 * @param endNanos   when the phase ended, as returned by {@link System#nanoTime()}
+	 */
+	public void record(@NotNull String name, long startNanos, long endNanos) {
+		this.phases.add(new Phase(name, Thread.currentThread().getName(), startNanos - this.origin, endNanos - this.origin));
+	}
+
+	/**
+	 * Records a milestone, a phase that takes no time, at the current time.
+	 *
+	 * @param name the name of the milestone; must not be null
+	 */
+	public void mark(@NotNull String name) {
+		long now = System.nanoTime();
+		this.record(name, now, now);
+	}
+
+	/**
+	 * @return every recorded phase, in the order they started
+	 */
+	public @NotNull List<Phase> getPhases() {
+		List<Phase> phases = new ArrayList<>(this.phases);
+		phases.sort(Comparator.comparingLong(Phase::startNanos).thenComparingLong(Phase::endNanos));
+		return phases;
+	}
+
+	/**
+	 * Formats every recorded phase as a table of start times, durations, and threads, with a bar
+	 * per phase showing when it ran relative to the others.
+	 *
+	 * @return the report
+	 */
+	public @NotNull String report() {
+		List<Phase> phases = this.getPhases();
+		long total = 1;
+		for (Phase phase : phases) total = Math.max(total, phase.endNanos());
+
+		StringBuilder report = new StringBuilder(String.format("Startup timeline (%.1f ms):", total / 1e6));
+		for (Phase phase : phases) {
+			int from = Math.min((int) (phase.startNanos() * BAR_WIDTH / total), BAR_WIDTH - 1);
+			int to = Math.max((int) (phase.endNanos() * BAR_WIDTH / total), from + 1);
+			report.append(String.format("%n  %8.1f ms %8.1f ms  |", phase.startNanos() / 1e6, phase.durationNanos() / 1e6))
+					.append(" ".repeat(from))
+					.append((phase.durationNanos() == 0 ? "|" : "=").repeat(Math.min(to, BAR_WIDTH) - from))
+					.append(" ".repeat(Math.max(BAR_WIDTH - to, 0)))
+					.append(String.format("|  %-28s %s", phase.name(), phase.thread()));
+		}
+		return report.toString();
+	}
+}
@@ -0,0 +1,108 @@
+package dev.quinnlane.cloudy.backend.streaming;
+
+import dev.quinnlane.cloudy.backend.Backend;
+import dev.quinnlane.cloudy.backend.dataproviders.providers.MockDataProvider;
+import dev.quinnlane.cloudy.common.datatypes.WeatherSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotEventStreamTest {
+	/**
+	 * The number of clients kept connected during the soak test.
+	 */
+	private static final int CLIENTS = 200;
+
+	/**
+	 * The number of snapshots published during the soak test.
+	 */
+	private static final int SNAPSHOTS = 50;
+
+	/**
+	 * The time between two published snapshots, well within what a client can keep up with
+	 * before its queue drops events.
+	 */
+	private static final Duration PUBLISH_INTERVAL = Duration.ofMillis(20);
+
+	@Test
+	void parsesQueryParameters() {
+		assertEquals("delta", SnapshotEventStream.parseQuery("mode=delta").get("mode"));
+		assertEquals("delta", SnapshotEventStream.parseQuery("since=4&mode=delt%61").get("mode"));
+		assertEquals("full", SnapshotEventStream.parseQuery("mode=full&mode=delta").get("mode"));
+		assertEquals("", SnapshotEventStream.parseQuery("mode").get("mode"));
+		assertNull(SnapshotEventStream.parseQuery("display_mode=delta").get("mode"));
+		assertEquals("full", SnapshotEventStream.parseQuery("note=mode%3Ddelta&mode=full").get("mode"));
+		assertEquals("mode=delta", SnapshotEventStream.parseQuery("note=mode%3Ddelta&mode=full").get("note"));
+		assertTrue(SnapshotEventStream.parseQuery(null).isEmpty());
+		assertTrue(SnapshotEventStream.parseQuery("").isEmpty());
+	}
+
+	@Test
+	@Timeout(value = 60, unit = TimeUnit.SECONDS)
+	void fansOutEverySnapshotToEveryClient() throws Exception {
+		Backend backend = new Backend();
+		backend.setProvider(MockDataProvider.class);
+
+		AtomicInteger published = new AtomicInteger();
+		AtomicLongArray lastReceived = new AtomicLongArray(CLIENTS);
+		for (int i = 0; i < CLIENTS; i++) lastReceived.set(i, -1);
+		AtomicBoolean outOfOrder = new AtomicBoolean();
+
+		backend.addSnapshotListener(snapshot -> published.incrementAndGet());
+
+		// The stream is closed first, ending every response, so that closing the client does not wait on them
+		try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+			 SnapshotEventStream stream = new SnapshotEventStream(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), Duration.ofSeconds(15))) {
+			stream.start(backend);
+
+			InetSocketAddress address = stream.getAddress();
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://" + address.getHostString() + ":" + address.getPort() + SnapshotEventStream.PATH + "?mode=delta")).build();
+			for (int i = 0; i < CLIENTS; i++) {
+				int index = i;
+				long[] id = {-1};
+				client.sendAsync(request, HttpResponse.BodyHandlers.ofLines()).thenAccept(response -> response.body().forEach(line -> {
+					if (line.startsWith("id:")) {
+						id[0] = Long.parseLong(line.substring(3).trim());
+					} else if (line.startsWith("data:")) {
+						// Each client is fed by a single thread, so only its own previous event is compared
+						if (id[0] <= lastReceived.get(index)) outOfOrder.set(true);
+						lastReceived.set(index, id[0]);
+					}
+				}));
+			}
+			while (stream.getClientCount() < CLIENTS) Thread.sleep(10);
+
+			long lastSequence = -1;
+			for (int i = 0; i < SNAPSHOTS; i++) {
+				WeatherSnapshot snapshot = backend.refreshData();
+				if (snapshot != null) lastSequence = snapshot.sequence();
+				Thread.sleep(PUBLISH_INTERVAL);
+			}
+			assertEquals(SNAPSHOTS, published.get(), "Every refresh should have published a snapshot");
+
+			for (int i = 0; i < CLIENTS; i++) {
+				while (lastReceived.get(i) < lastSequence) Thread.sleep(10);
+			}
+			for (int i = 0; i < CLIENTS; i++) assertEquals(lastSequence, lastReceived.get(i), "Client " + i + " did not receive the last snapshot");
+		}
+
+		assertFalse(outOfOrder.get(), "A client received events out of order");
+	}
+}
@@ -0,0 +1,54 @@
+package dev.quinnlane.cloudy.common.unit;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The Vector API kernels behind {@link DoubleConversion}. They compute the same operations in the
+ * same order as the scalar loops, so the results are identical; they only make the use of SIMD
+ * instructions explicit instead of relying on the JIT to auto-vectorize.
+ * <p>
+ * This class must only be loaded once {@link DoubleConversion#isVectorApiAvailable()} returned
+ * true, since {@code jdk.incubator.vector} is not resolved unless it is added with
+ * {@code --add-modules}.
+ */
+final class VectorConversions {
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	private VectorConversions() {}
+
+	/**
+	 * Computes {@code si * multiplier / divisor + offset} for every value of a range, skipping the
+	 * same no-op operations as {@link DoubleConversion#convertScalar(double[], int, double[], int, int)}.
+	 *
+	 * @param si                the values in SI units
+	 * @param offset            the index of the first value to convert
+	 * @param destination       the array receiving the converted values
+	 * @param destinationOffset the index the first converted value is written to
+	 * @param length            the number of values to convert
+	 * @param multiplier        the factor the values are multiplied by
+	 * @param divisor           the factor the values are divided by
+	 * @param shift             the amount added to the values
+	 */
+	static void convert(double @NotNull [] si, int offset, double @NotNull [] destination, int destinationOffset, int length, double multiplier, double divisor, double shift) {
+		boolean divide = divisor != 1;
+		boolean multiplyAndAdd = !divide || multiplier != 1 || shift != 0;
+
+		int i = 0;
+		for (int upperBound = SPECIES.loopBound(length); i < upperBound; i += SPECIES.length()) {
+			DoubleVector vector = DoubleVector.fromArray(SPECIES, si, offset + i);
+			if (multiplyAndAdd) vector = vector.mul(multiplier);
+			if (divide) vector = vector.div(divisor);
+			if (multiplyAndAdd) vector = vector.add(shift);
+			vector.intoArray(destination, destinationOffset + i);
+		}
+		for (; i < length; i++) {
+			double value = si[offset + i];
+			if (multiplyAndAdd) value *= multiplier;
+			if (divide) value /= divisor;
+			if (multiplyAndAdd) value += shift;
+			destination[destinationOffset + i] = value;
+		}
+	}
+}